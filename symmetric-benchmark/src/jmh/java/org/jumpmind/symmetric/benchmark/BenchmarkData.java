@@ -0,0 +1,98 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.benchmark;
+
+import java.io.StringWriter;
+
+import org.jumpmind.db.model.Table;
+import org.jumpmind.db.util.BinaryEncoding;
+import org.jumpmind.symmetric.io.data.Batch;
+import org.jumpmind.symmetric.io.data.Batch.BatchType;
+import org.jumpmind.symmetric.io.data.CsvData;
+import org.jumpmind.symmetric.io.data.DataContext;
+import org.jumpmind.symmetric.io.data.DataEventType;
+import org.jumpmind.symmetric.io.data.IDataWriter;
+import org.jumpmind.symmetric.io.data.writer.ProtocolDataWriter;
+
+/**
+ * Shared fixture data for the benchmarks. Every benchmark processes {@link #ROWS} rows per invocation and declares it with
+ * {@code @OperationsPerInvocation} so that JMH reports rows per second and the gc profiler reports bytes allocated per row.
+ */
+public final class BenchmarkData {
+    public static final int ROWS = 10000;
+    public static final String SOURCE_NODE_ID = "00000";
+    public static final String TARGET_NODE_ID = "00001";
+    public static final String CHANNEL_ID = "default";
+    public static final String TABLE_NAME = "bench_row";
+    public static final String[] KEY_NAMES = { "id" };
+    public static final String[] COLUMN_NAMES = { "id", "store_id", "name", "amount", "create_time", "notes" };
+
+    private BenchmarkData() {
+    }
+
+    public static Table buildTable() {
+        return Table.buildTable(TABLE_NAME, KEY_NAMES, COLUMN_NAMES);
+    }
+
+    public static Batch buildBatch(long batchId) {
+        return new Batch(BatchType.LOAD, batchId, CHANNEL_ID, BinaryEncoding.BASE64, SOURCE_NODE_ID, TARGET_NODE_ID, false);
+    }
+
+    public static String[] buildRow(int id, String version) {
+        return new String[] { Integer.toString(id), Integer.toString(id % 100), "name " + id + " " + version,
+                Integer.toString(id % 1000) + ".25", "2024-01-01 12:00:00.000",
+                "notes, with \"quotes\" and a\nline feed " + version };
+    }
+
+    public static String[][] buildRows(int count, String version) {
+        String[][] rows = new String[count][];
+        for (int i = 0; i < count; i++) {
+            rows[i] = buildRow(i, version);
+        }
+        return rows;
+    }
+
+    /**
+     * Write rows with the real protocol writer so the readers are fed exactly what a remote node would send.
+     */
+    public static String buildProtocolCsv(long batchId, String[][] rows) {
+        StringWriter out = new StringWriter(rows.length * 100);
+        writeInserts(new ProtocolDataWriter(SOURCE_NODE_ID, out, false, false, false), batchId, rows);
+        return out.toString();
+    }
+
+    public static void writeInserts(IDataWriter writer, long batchId, String[][] rows) {
+        Batch batch = buildBatch(batchId);
+        Table table = buildTable();
+        writer.open(new DataContext(batch));
+        try {
+            writer.start(batch);
+            writer.start(table);
+            for (String[] row : rows) {
+                writer.write(new CsvData(DataEventType.INSERT, row));
+            }
+            writer.end(table);
+            writer.end(batch, false);
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.jumpmind.db.model.Table;
+import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.io.data.CsvUtils;
+import org.jumpmind.symmetric.io.data.DataEventType;
+import org.jumpmind.symmetric.model.Data;
+import org.jumpmind.symmetric.model.DataMetaData;
+import org.jumpmind.symmetric.model.Node;
+import org.jumpmind.symmetric.model.NodeChannel;
+import org.jumpmind.symmetric.model.Router;
+import org.jumpmind.symmetric.model.TriggerHistory;
+import org.jumpmind.symmetric.route.ColumnMatchDataRouter;
+import org.jumpmind.symmetric.route.SimpleRouterContext;
+import org.jumpmind.symmetric.service.INodeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the per row work RouterService.routeData does for a column match router: parsing the captured row and evaluating the
+ * router expression against every target node. The engine is stubbed with the two services the router touches so that the
+ * benchmark does not need a running database.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ColumnMatchDataRouterBenchmark {
+    @Param({ "10", "1000" })
+    private int nodeCount;
+
+    @Param({ "STORE_ID=:EXTERNAL_ID", "STORE_ID=1 or NAME=:NODE_ID" })
+    private String routerExpression;
+
+    private ColumnMatchDataRouter dataRouter;
+    private Set<Node> nodes;
+    private Router router;
+    private TriggerHistory triggerHistory;
+    private Table table;
+    private NodeChannel nodeChannel;
+    private String[] rowData;
+
+    @Setup
+    public void setup() {
+        Node identity = new Node(BenchmarkData.SOURCE_NODE_ID, "server");
+        INodeService nodeService = (INodeService) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { INodeService.class }, (proxy, method, args) -> method.getName().equals("findIdentity") ? identity : null);
+        ISymmetricEngine engine = (ISymmetricEngine) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ISymmetricEngine.class }, (proxy, method, args) -> method.getName().equals("getNodeService") ? nodeService
+                        : null);
+        dataRouter = new ColumnMatchDataRouter(engine);
+        nodes = new HashSet<Node>();
+        for (int i = 0; i < nodeCount; i++) {
+            Node node = new Node(Integer.toString(i), "client");
+            node.setExternalId(Integer.toString(i % 100));
+            nodes.add(node);
+        }
+        router = new Router();
+        router.setRouterId("benchmark");
+        router.setRouterType("column");
+        router.setRouterExpression(routerExpression);
+        triggerHistory = new TriggerHistory(BenchmarkData.TABLE_NAME, String.join(",", BenchmarkData.KEY_NAMES).toUpperCase(),
+                String.join(",", BenchmarkData.COLUMN_NAMES).toUpperCase());
+        table = BenchmarkData.buildTable();
+        nodeChannel = new NodeChannel(BenchmarkData.CHANNEL_ID);
+        String[][] rows = BenchmarkData.buildRows(BenchmarkData.ROWS, "v1");
+        rowData = new String[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            rowData[i] = CsvUtils.escapeCsvData(rows[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.ROWS)
+    public void routeToNodes(Blackhole blackhole) {
+        SimpleRouterContext context = new SimpleRouterContext();
+        for (int i = 0; i < rowData.length; i++) {
+            Data data = new Data();
+            data.setDataId(i);
+            data.setDataEventType(DataEventType.INSERT);
+            data.setRowData(rowData[i]);
+            data.setTriggerHistory(triggerHistory);
+            DataMetaData dataMetaData = new DataMetaData(data, table, router, nodeChannel);
+            blackhole.consume(dataRouter.routeToNodes(context, dataMetaData, nodes, false, false, null));
+        }
+    }
+}
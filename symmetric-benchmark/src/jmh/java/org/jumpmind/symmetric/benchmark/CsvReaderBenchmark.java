@@ -0,0 +1,68 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.jumpmind.symmetric.csv.CsvReader;
+import org.jumpmind.symmetric.io.data.CsvUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures raw {@link CsvReader} tokenizing configured the way {@link CsvUtils#getCsvReader(java.io.Reader)} configures it for
+ * the protocol reader.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CsvReaderBenchmark {
+    private String csv;
+
+    @Setup
+    public void setup() {
+        String[][] rows = BenchmarkData.buildRows(BenchmarkData.ROWS, "v1");
+        StringBuilder builder = new StringBuilder(rows.length * 100);
+        for (String[] row : rows) {
+            builder.append(CsvUtils.escapeCsvData(row)).append("\n");
+        }
+        csv = builder.toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.ROWS)
+    public void readRecord(Blackhole blackhole) throws IOException {
+        CsvReader reader = CsvUtils.getCsvReader(new StringReader(csv));
+        try {
+            while (reader.readRecord()) {
+                blackhole.consume(reader.getValues());
+            }
+        } finally {
+            reader.close();
+        }
+    }
+}
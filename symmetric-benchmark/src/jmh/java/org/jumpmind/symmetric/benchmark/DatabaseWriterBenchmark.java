@@ -0,0 +1,141 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jumpmind.db.model.Table;
+import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.db.platform.JdbcDatabasePlatformFactory;
+import org.jumpmind.db.sql.SqlTemplateSettings;
+import org.jumpmind.db.util.BasicDataSourceFactory;
+import org.jumpmind.db.util.BasicDataSourcePropertyConstants;
+import org.jumpmind.db.util.ResettableBasicDataSource;
+import org.jumpmind.properties.TypedProperties;
+import org.jumpmind.symmetric.io.data.Batch;
+import org.jumpmind.symmetric.io.data.CsvData;
+import org.jumpmind.symmetric.io.data.DataContext;
+import org.jumpmind.symmetric.io.data.DataEventType;
+import org.jumpmind.symmetric.io.data.writer.DatabaseWriterSettings;
+import org.jumpmind.symmetric.io.data.writer.DefaultDatabaseWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures {@link DefaultDatabaseWriter} applying inserts and updates to an in-memory H2 database. The numbers include the cost
+ * of H2 itself, so they are most useful for comparing SymmetricDS versions against each other rather than as absolute figures.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DatabaseWriterBenchmark {
+    private ResettableBasicDataSource dataSource;
+    private IDatabasePlatform platform;
+    private String[][] insertRows;
+    private String[][] pkRows;
+    private String[][][] updateRows;
+    private long batchId;
+    private int updateVersion;
+
+    @Setup
+    public void setup() {
+        TypedProperties properties = new TypedProperties();
+        properties.put(BasicDataSourcePropertyConstants.DB_POOL_DRIVER, "org.h2.Driver");
+        properties.put(BasicDataSourcePropertyConstants.DB_POOL_URL, "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        properties.put(BasicDataSourcePropertyConstants.DB_POOL_USER, "sa");
+        dataSource = BasicDataSourceFactory.create(properties);
+        platform = JdbcDatabasePlatformFactory.getInstance().create(dataSource, new SqlTemplateSettings(), false, false);
+        platform.getSqlTemplate().update("create table " + BenchmarkData.TABLE_NAME + " (id integer not null primary key, "
+                + "store_id integer, name varchar(100), amount decimal(10,2), create_time timestamp, notes varchar(200))");
+        insertRows = BenchmarkData.buildRows(BenchmarkData.ROWS, "v1");
+        pkRows = new String[BenchmarkData.ROWS][];
+        for (int i = 0; i < pkRows.length; i++) {
+            pkRows[i] = new String[] { insertRows[i][0] };
+        }
+        updateRows = new String[][][] { BenchmarkData.buildRows(BenchmarkData.ROWS, "v2"),
+                BenchmarkData.buildRows(BenchmarkData.ROWS, "v3") };
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        platform.getSqlTemplate().update("drop table " + BenchmarkData.TABLE_NAME);
+        dataSource.close();
+    }
+
+    @State(Scope.Thread)
+    public static class EmptyTable {
+        @Setup(Level.Invocation)
+        public void truncate(DatabaseWriterBenchmark benchmark) {
+            benchmark.platform.getSqlTemplate().update("delete from " + BenchmarkData.TABLE_NAME);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LoadedTable {
+        @Setup(Level.Iteration)
+        public void load(DatabaseWriterBenchmark benchmark) {
+            benchmark.platform.getSqlTemplate().update("delete from " + BenchmarkData.TABLE_NAME);
+            benchmark.write(DataEventType.INSERT, benchmark.insertRows);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.ROWS)
+    public void insert(EmptyTable emptyTable) {
+        write(DataEventType.INSERT, insertRows);
+    }
+
+    /**
+     * Alternates between two sets of values so that every update actually changes the row
+     */
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.ROWS)
+    public void update(LoadedTable loadedTable) {
+        write(DataEventType.UPDATE, updateRows[updateVersion++ % updateRows.length]);
+    }
+
+    protected void write(DataEventType eventType, String[][] rows) {
+        DefaultDatabaseWriter writer = new DefaultDatabaseWriter(platform, new DatabaseWriterSettings());
+        Batch batch = BenchmarkData.buildBatch(++batchId);
+        Table table = BenchmarkData.buildTable();
+        writer.open(new DataContext(batch));
+        try {
+            writer.start(batch);
+            writer.start(table);
+            for (int i = 0; i < rows.length; i++) {
+                if (eventType == DataEventType.UPDATE) {
+                    writer.write(new CsvData(eventType, pkRows[i], rows[i]));
+                } else {
+                    writer.write(new CsvData(eventType, rows[i]));
+                }
+            }
+            writer.end(table);
+            writer.end(batch, false);
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jumpmind.db.model.Table;
+import org.jumpmind.symmetric.io.data.Batch;
+import org.jumpmind.symmetric.io.data.Batch.BatchType;
+import org.jumpmind.symmetric.io.data.CsvData;
+import org.jumpmind.symmetric.io.data.DataContext;
+import org.jumpmind.symmetric.io.data.reader.ProtocolDataReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link ProtocolDataReader#nextData()} which every incoming batch passes through on the target node.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProtocolDataReaderBenchmark {
+    private String csv;
+
+    @Setup
+    public void setup() {
+        csv = BenchmarkData.buildProtocolCsv(1, BenchmarkData.buildRows(BenchmarkData.ROWS, "v1"));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.ROWS)
+    public void readNext(Blackhole blackhole) {
+        ProtocolDataReader reader = new ProtocolDataReader(BatchType.LOAD, BenchmarkData.TARGET_NODE_ID, csv);
+        reader.open(new DataContext(reader));
+        try {
+            Batch batch = null;
+            while ((batch = reader.nextBatch()) != null) {
+                Table table = null;
+                while ((table = reader.nextTable()) != null) {
+                    CsvData data = null;
+                    while ((data = reader.nextData()) != null) {
+                        blackhole.consume(data.getParsedData(CsvData.ROW_DATA));
+                    }
+                    blackhole.consume(table);
+                }
+                blackhole.consume(batch);
+            }
+        } finally {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.jumpmind.symmetric.io.data.writer.ProtocolDataWriter;
+import org.jumpmind.symmetric.io.data.writer.StagingDataWriter;
+import org.jumpmind.symmetric.io.stage.IStagedResource;
+import org.jumpmind.symmetric.io.stage.StagingManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the output side of extraction: the protocol writer used to stream batches to a remote node and the staging writer
+ * used to stage batches in memory or on disk.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProtocolDataWriterBenchmark {
+    private static final String CATEGORY = "outgoing";
+
+    /**
+     * Zero forces every staged batch to a file, the larger value keeps a whole batch in memory
+     */
+    @Param({ "0", "104857600" })
+    private long memoryThresholdInBytes;
+
+    private String[][] rows;
+    private File stagingDir;
+    private StagingManager stagingManager;
+    private long batchId;
+
+    @Setup
+    public void setup() throws IOException {
+        rows = BenchmarkData.buildRows(BenchmarkData.ROWS, "v1");
+        stagingDir = Files.createTempDirectory("sym-benchmark-staging").toFile();
+        stagingManager = new StagingManager(stagingDir.getAbsolutePath(), false);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(stagingDir);
+    }
+
+    @TearDown(Level.Invocation)
+    public void cleanStaging() {
+        IStagedResource resource = stagingManager.find(CATEGORY, BenchmarkData.SOURCE_NODE_ID, batchId);
+        if (resource != null) {
+            resource.delete();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.ROWS)
+    public void protocolWriter() {
+        BenchmarkData.writeInserts(new ProtocolDataWriter(BenchmarkData.SOURCE_NODE_ID, Writer.nullWriter(), false, false, false),
+                ++batchId, rows);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkData.ROWS)
+    public void stagingWriter() {
+        BenchmarkData.writeInserts(new StagingDataWriter(memoryThresholdInBytes, false, BenchmarkData.SOURCE_NODE_ID, CATEGORY,
+                stagingManager, false, false), ++batchId, rows);
+    }
+}
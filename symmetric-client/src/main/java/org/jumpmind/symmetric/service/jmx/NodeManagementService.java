@@ -44,6 +44,7 @@ import org.jumpmind.symmetric.ext.ISymmetricEngineAware;
 import org.jumpmind.symmetric.model.Node;
 import org.jumpmind.symmetric.model.NodeCommunication.CommunicationType;
 import org.jumpmind.symmetric.service.IDataExtractorService;
+import org.jumpmind.symmetric.transport.ConcurrentConnectionManager.ContentionStatistics;
 import org.jumpmind.symmetric.transport.ConcurrentConnectionManager.NodeConnectionStatistics;
 import org.jumpmind.util.FormatUtils;
 import org.slf4j.Logger;
@@ -191,6 +192,24 @@ public class NodeManagementService implements IBuiltInExtensionPoint, ISymmetric
         return out.toString();
     }
 
+    @ManagedOperation(description = "Get counts of connection reservation outcomes and of retries caused by concurrent reservations")
+    public String showConcurrencyContentionStatisticsAsText() {
+        String lineFeed = "\n";
+        if (engine.getParameterService().getString(ParameterConstants.JMX_LINE_FEED).equals("html")) {
+            lineFeed = "</br>";
+        }
+        ContentionStatistics stats = engine.getConcurrentConnectionManager().getContentionStatistics();
+        StringBuilder out = new StringBuilder();
+        out.append("RESERVATION REQUESTS: ").append(stats.getReservationRequests()).append(lineFeed);
+        out.append("ACCEPTED: ").append(stats.getAccepted()).append(lineFeed);
+        out.append("BUSY: ").append(stats.getBusy()).append(lineFeed);
+        out.append("DUPLICATE: ").append(stats.getDuplicate()).append(lineFeed);
+        out.append("NOT FOUND: ").append(stats.getNotFound()).append(lineFeed);
+        out.append("RETRIES: ").append(stats.getRetries()).append(lineFeed);
+        out.append("EXPIRED: ").append(stats.getExpired()).append(lineFeed);
+        return out.toString();
+    }
+
     @ManagedOperation(description = "Clean up both incoming and outgoing resources that are older than the passed in number of milliseconds")
     @ManagedOperationParameters({ @ManagedOperationParameter(
             name = "timeToLiveInMS",
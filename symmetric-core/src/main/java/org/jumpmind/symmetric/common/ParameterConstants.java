@@ -41,6 +41,7 @@ final public class ParameterConstants {
 
     public final static String AUTO_START_ENGINE = "auto.start.engine";
     public final static String JDBC_EXECUTE_BATCH_SIZE = "db.jdbc.execute.batch.size";
+    public final static String JDBC_STATEMENT_CACHE_SIZE = "db.jdbc.statement.cache.size";
     public final static String JDBC_EXECUTE_BULK_BATCH_SIZE = "db.jdbc.bulk.execute.batch.size";
     public final static String JDBC_EXECUTE_BULK_BATCH_OVERRIDE = "db.jdbc.bulk.execute.batch.override";
     public final static String JDBC_READ_STRINGS_AS_BYTES = "db.read.strings.as.bytes";
@@ -78,9 +79,12 @@ final public class ParameterConstants {
     public final static String PULL_LOCK_TIMEOUT_MS = "pull.lock.timeout.ms";
     public final static String PULL_IMMEDIATE_IF_DATA_FOUND = "pull.immediate.if.data.found";
     public final static String PUSH_THREAD_COUNT_PER_SERVER = "push.thread.per.server.count";
+    public final static String NODE_COMMUNICATION_VIRTUAL_THREADS_ENABLED = "node.communication.virtual.threads.enabled";
+    public final static String NODE_COMMUNICATION_VIRTUAL_THREADS_DATABASE_PERMITS = "node.communication.virtual.threads.database.permits";
     public final static String PUSH_MINIMUM_PERIOD_MS = "push.period.minimum.ms";
     public final static String PUSH_LOCK_TIMEOUT_MS = "push.lock.timeout.ms";
     public final static String PUSH_IMMEDIATE_IF_DATA_FOUND = "push.immediate.if.data.found";
+    public final static String PUSH_STREAM_ACKS_ENABLED = "push.stream.acks.enabled";
     public final static String OFFLINE_PULL_THREAD_COUNT_PER_SERVER = "offline.pull.thread.per.server.count";
     public final static String OFFLINE_PULL_LOCK_TIMEOUT_MS = "offline.pull.lock.timeout.ms";
     public final static String OFFLINE_PUSH_THREAD_COUNT_PER_SERVER = "offline.push.thread.per.server.count";
@@ -155,6 +159,8 @@ final public class ParameterConstants {
     public final static String INITIAL_LOAD_CONCAT_CSV_IN_SQL_ENABLED = "initial.load.concat.csv.in.sql.enabled";
     public final static String INITIAL_LOAD_USE_COLUMN_TEMPLATES_ENABLED = "initial.load.use.column.templates.enabled";
     public final static String INITIAL_LOAD_EXTRACT_THREAD_COUNT_PER_SERVER = "initial.load.extract.thread.per.server.count";
+    public final static String INITIAL_LOAD_EXTRACT_PARTITION_ROWS = "initial.load.extract.partition.rows";
+    public final static String INITIAL_LOAD_EXTRACT_PARTITION_MAX = "initial.load.extract.partition.max";
     public final static String INITIAL_LOAD_EXTRACT_TIMEOUT_MS = "initial.load.extract.timeout.ms";
     public final static String INITIAL_LOAD_EXTRACT_USE_TWO_PASS_LOB = "initial.load.extract.use.two.pass.lob";
     public final static String INITIAL_LOAD_EXTRACT_JOB_START = "start.initial.load.extract.job";
@@ -169,6 +175,7 @@ final public class ParameterConstants {
     public final static String EXTRACT_CHECK_ROW_SIZE = "extract.check.row.size";
     public final static String EXTRACT_ROW_MAX_LENGTH = "extract.row.max.length";
     public final static String EXTRACT_ROW_CAPTURE_TIME = "extract.row.capture.time";
+    public final static String EXTRACT_AHEAD_THREAD_COUNT = "extract.ahead.thread.count";
     public final static String CREATE_TABLE_WITHOUT_DEFAULTS = "create.table.without.defaults";
     public final static String CREATE_TABLE_WITHOUT_FOREIGN_KEYS = "create.table.without.foreign.keys";
     public final static String CREATE_TABLE_WITHOUT_INDEXES = "create.table.without.indexes";
@@ -192,6 +199,7 @@ final public class ParameterConstants {
     public final static String ROUTING_MAX_GAPS_TO_QUALIFY_IN_SQL = "routing.max.gaps.to.qualify.in.sql";
     public final static String ROUTING_PEEK_AHEAD_MEMORY_THRESHOLD = "routing.peek.ahead.memory.threshold.percent";
     public final static String ROUTING_PEEK_AHEAD_WINDOW = "routing.peek.ahead.window.after.max.size";
+    public final static String ROUTING_PEEK_AHEAD_OFF_HEAP_MEGABYTES = "routing.peek.ahead.off.heap.megabytes";
     public final static String ROUTING_STALE_DATA_ID_GAP_TIME = "routing.stale.dataid.gap.time.ms";
     public final static String ROUTING_STALE_GAP_BUSY_EXPIRE_TIME = "routing.stale.gap.busy.expire.time.ms";
     public final static String ROUTING_LARGEST_GAP_SIZE = "routing.largest.gap.size";
@@ -212,7 +220,14 @@ final public class ParameterConstants {
     public final static String ROUTING_MAX_BATCH_SIZE_EXCEED_PERCENT = "routing.max.batch.size.exceed.percent";
     public final static String ROUTING_USE_CHANNEL_THREADS = "routing.use.channel.threads";
     public final static String ROUTING_THREAD_COUNT_PER_SERVER = "routing.thread.per.server.count";
+    public final static String ROUTING_PARTITION_COUNT = "routing.partition.count";
+    public final static String ROUTING_PARTITION_MIN_DATA_ID_RANGE = "routing.partition.min.data.id.range";
+    public final static String ROUTING_ADAPTIVE_BATCH_TARGET_MS = "routing.adaptive.batch.target.ms";
+    public final static String ROUTING_ADAPTIVE_BATCH_MIN_SIZE = "routing.adaptive.batch.min.size";
+    public final static String ROUTING_ADAPTIVE_BATCH_MAX_SIZE = "routing.adaptive.batch.max.size";
     public final static String ROUTING_LOCK_TIMEOUT_MS = "routing.lock.timeout.ms";
+    public final static String ROUTING_SUBSELECT_CACHE_ENABLED = "routing.subselect.cache.enabled";
+    public final static String ROUTING_SUBSELECT_CACHE_MAX_SIZE = "routing.subselect.cache.max.size";
     public final static String INCOMING_BATCH_SKIP_DUPLICATE_BATCHES_ENABLED = "incoming.batches.skip.duplicates";
     @Deprecated
     public final static String INCOMING_BATCH_DELETE_ON_LOAD = "incoming.batch.delete.on.load";
@@ -226,6 +241,8 @@ final public class ParameterConstants {
     public final static String DATA_LOADER_SEND_ACK_KEEPALIVE = "send.ack.keepalive.ms";
     public final static String DATA_LOADER_TIME_BETWEEN_ACK_RETRIES = "time.between.ack.retries.ms";
     public final static String DATA_LOADER_MAX_ROWS_BEFORE_COMMIT = "dataloader.max.rows.before.commit";
+    public final static String DATA_LOADER_PARALLEL_THREADS = "dataloader.parallel.threads";
+    public final static String DATA_LOADER_PARALLEL_PARTITION_BY_KEY = "dataloader.parallel.partition.by.key";
     public final static String DATA_LOADER_CREATE_TABLE_ALTER_TO_MATCH_DB_CASE = "dataloader.create.table.alter.to.match.db.case";
     public final static String DATA_LOADER_CREATE_TABLE_WITHOUT_DEFAULTS_ON_ERROR = "dataloader.create.table.without.defaults.on.error";
     public final static String DATA_LOADER_TEXT_COLUMN_EXPRESSION = "dataloader.text.column.expression";
@@ -263,12 +280,16 @@ final public class ParameterConstants {
     public final static String TRANSPORT_HTTP_PUSH_STREAM_SIZE = "http.push.stream.output.size";
     public final static String TRANSPORT_HTTP_USE_COMPRESSION_CLIENT = "http.compression";
     public final static String TRANSPORT_HTTP_COMPRESSION_DISABLED_SERVLET = "web.compression.disabled";
+    public final static String TRANSPORT_HTTP_ASYNC_SERVLET_ENABLED = "web.async.transfer.enabled";
+    public final static String WEB_METRICS_ENABLED = "web.metrics.enabled";
+    public final static String WEB_METRICS_BATCH_COUNTS_CACHE_MS = "web.metrics.batch.counts.cache.ms";
     public final static String TRANSPORT_HTTP_COMPRESSION_LEVEL = "compression.level";
     public final static String TRANSPORT_HTTP_COMPRESSION_STRATEGY = "compression.strategy";
     public final static String TRANSPORT_HTTP_USE_SESSION_AUTH = "http.use.session.auth";
     public final static String TRANSPORT_HTTP_SESSION_EXPIRE_SECONDS = "http.session.expire.seconds";
     public final static String TRANSPORT_HTTP_SESSION_MAX_COUNT = "http.session.max.count";
     public final static String TRANSPORT_HTTP_USE_HEADER_SECURITY_TOKEN = "http.use.header.security.token";
+    public final static String TRANSPORT_HTTP_CLIENT_HTTP2_ENABLED = "http.client.http2.enabled";
     public final static String TRANSPORT_TYPE = "transport.type";
     public final static String TRANSPORT_MAX_BYTES_TO_SYNC = "transport.max.bytes.to.sync";
     public final static String TRANSPORT_MAX_ERROR_MILLIS = "transport.max.error.millis";
@@ -324,6 +345,13 @@ final public class ParameterConstants {
     public final static String PURGE_MAX_EXPIRED_DATA_GAPS_READ = "job.purge.max.data.gaps.read";
     public final static String PURGE_FIRST_PASS = "job.purge.first.pass";
     public final static String PURGE_FIRST_PASS_OUTSTANDING_BATCHES_THRESHOLD = "job.purge.first.pass.outstanding.batches.threshold";
+    public final static String PURGE_DATA_PARTITIONS_ENABLED = "job.purge.data.partitions.enabled";
+    public final static String PURGE_DATA_PARTITION_SIZE = "job.purge.data.partition.size";
+    public final static String PURGE_DATA_PARTITIONS_AHEAD = "job.purge.data.partitions.ahead";
+    public final static String PURGE_THREAD_COUNT = "job.purge.thread.per.server.count";
+    public final static String PURGE_MAX_ROWS_PER_SECOND = "job.purge.max.rows.per.second";
+    public final static String PURGE_MAX_RUN_TIME_MS = "job.purge.max.run.time.ms";
+    public final static String PURGE_CHECKPOINT_INTERVAL_MS = "job.purge.checkpoint.interval.ms";
     public final static String JMX_LINE_FEED = "jmx.line.feed";
     public final static String IP_FILTERS = "ip.filters";
     public final static String NODE_COPY_MODE_ENABLED = "node.copy.mode.enabled";
@@ -351,6 +379,7 @@ final public class ParameterConstants {
     public final static String SYNCHRONIZE_ALL_JOBS = "jobs.synchronized.enable";
     public final static String FILE_SYNC_ENABLE = "file.sync.enable";
     public final static String FILE_SYNC_FAST_SCAN = "file.sync.fast.scan";
+    public final static String FILE_SYNC_INCREMENTAL_TRACKER = "file.sync.incremental.tracker";
     public final static String FILE_SYNC_USE_CRC = "file.sync.use.crc";
     public final static String FILE_SYNC_PREVENT_PING_BACK = "file.sync.prevent.ping.back";
     public final static String FILE_SYNC_LOCK_WAIT_MS = "file.sync.lock.wait.ms";
@@ -362,6 +391,10 @@ final public class ParameterConstants {
     public final static String FILE_SYNC_RETRY_DELAY_MS = "file.sync.retry.delay.ms";
     public final static String BSH_LOAD_FILTER_HANDLES_MISSING_TABLES = "bsh.load.filter.handles.missing.tables";
     public final static String BSH_TRANSFORM_GLOBAL_SCRIPT = "bsh.transform.global.script";
+    public final static String TRANSFORM_LOOKUP_CACHE_SIZE = "transform.lookup.cache.size";
+    public final static String TRANSFORM_LOOKUP_CACHE_TIME_MS = "transform.lookup.cache.time.ms";
+    public final static String TRANSFORM_LOOKUP_PREFETCH_MAX_BINDS = "transform.lookup.prefetch.max.binds";
+    public final static String TRANSFORM_PREFETCH_SIZE = "transform.prefetch.size";
     public final static String BSH_EXTENSION_GLOBAL_SCRIPT = "bsh.extension.global.script";
     public final static String MSSQL_ROW_LEVEL_LOCKS_ONLY = "mssql.allow.only.row.level.locks.on.runtime.tables";
     public final static String MSSQL_USE_NTYPES_FOR_SYNC = "mssql.use.ntypes.for.sync";
@@ -385,6 +418,7 @@ final public class ParameterConstants {
     public final static String SYNC_TRIGGERS_TIMEOUT_IN_SECONDS = "sync.triggers.timeout.in.seconds";
     public final static String SYNC_TRIGGERS_REG_SVR_INSTALL_WITHOUT_CONFIG = "sync.triggers.reg.svr.install.without.config";
     public final static String SYNC_TRIGGERS_FIX_DUPLICATE_ACTIVE_TRIGGER_HISTORIES = "sync.triggers.fix.duplicate.active.trigger.histories";
+    public final static String SYNC_TRIGGERS_BULK_METADATA_THRESHOLD = "sync.triggers.bulk.metadata.threshold";
     public final static String MONITOR_EVENTS_CAPTURE_ENABLED = "monitor.events.capture.enabled";
     public final static String HYBRID_PUSH_PULL_ENABLED = "hybrid.push.pull.enabled";
     public final static String HYBRID_PUSH_PULL_TIMEOUT = "hybrid.push.pull.timeout.ms";
@@ -402,6 +436,8 @@ final public class ParameterConstants {
     public final static String STAGING_MANAGER_CLASS = "staging.manager.class";
     public final static String STAGING_DIR = "staging.dir";
     public final static String STAGING_LOW_SPACE_THRESHOLD_MEGABYTES = "staging.low.space.threshold.megabytes";
+    public final static String STAGING_ZERO_COPY_TRANSFER_ENABLED = "staging.zero.copy.transfer.enabled";
+    public final static String STAGING_COMPRESSION_CODEC = "staging.compression.codec";
     public final static String STATISTIC_MANAGER_CLASS = "statistic.manager.class";
     public final static String DB2_CAPTURE_TRANSACTION_ID = "db2.capture.transaction.id";
     public final static String TREAT_BINARY_AS_LOB_ENABLED = "treat.binary.as.lob.enabled";
@@ -440,7 +476,7 @@ final public class ParameterConstants {
     public final static String SNAPSHOT_OPERATION_TIMEOUT_MS = "snapshot.operation.timeout.ms";
     public final static String POSTGRES_SECURITY_DEFINER = "postgres.security.definer";
     public final static String POSTGRES_CONVERT_INFINITY_DATE_TO_NULL = "postgres.convert.infinity.date.to.null";
-    public final static String[] ALL_JDBC_PARAMS = new String[] { DB_FETCH_SIZE, DB_QUERY_TIMEOUT_SECS, JDBC_EXECUTE_BATCH_SIZE, JDBC_ISOLATION_LEVEL,
+    public final static String[] ALL_JDBC_PARAMS = new String[] { DB_FETCH_SIZE, DB_QUERY_TIMEOUT_SECS, JDBC_EXECUTE_BATCH_SIZE, JDBC_STATEMENT_CACHE_SIZE, JDBC_ISOLATION_LEVEL,
             JDBC_READ_STRINGS_AS_BYTES, TREAT_BINARY_AS_LOB_ENABLED, LOG_SLOW_SQL_THRESHOLD_MILLIS, LOG_SQL_PARAMETERS_INLINE };
     public final static String GOOGLE_BIG_QUERY_MAX_ROWS_PER_RPC = "google.bigquery.max.rows.per.rpc";
     public final static String GOOGLE_BIG_QUERY_LOCATION = "google.bigquery.location";
@@ -33,7 +33,7 @@ import org.jumpmind.db.model.Reference;
 import org.jumpmind.db.model.Table;
 import org.jumpmind.db.platform.DatabaseInfo;
 import org.jumpmind.db.sql.ISqlReadCursor;
-import org.jumpmind.db.sql.ISqlRowMapper;
+import org.jumpmind.db.sql.ISqlRowViewMapper;
 import org.jumpmind.db.sql.Row;
 import org.jumpmind.symmetric.ISymmetricEngine;
 import org.jumpmind.symmetric.SymmetricException;
@@ -283,7 +283,7 @@ public class SelectFromTableSource extends SelectFromSource {
         boolean returnLobObjects = checkRowLength && sourceTable.containsLobColumns(symmetricDialect.getPlatform()) &&
                 !sourceTable.getNameLowerCase().startsWith(symmetricDialect.getTablePrefix());
         log.debug(sql);
-        cursor = symmetricDialectToUse.getPlatform().getSqlTemplate().queryForCursor(initialLoadSql, new ISqlRowMapper<Data>() {
+        cursor = symmetricDialectToUse.getPlatform().getSqlTemplate().queryForCursor(initialLoadSql, new ISqlRowViewMapper<Data>() {
             public Data mapRow(Row row) {
                 if (checkRowLength) {
                     // Account for double byte characters and encoding
@@ -21,6 +21,8 @@
 package org.jumpmind.symmetric.file;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -33,6 +35,12 @@ import org.jumpmind.symmetric.model.FileTriggerRouter;
 public class DirectorySnapshot extends ArrayList<FileSnapshot> {
     private static final long serialVersionUID = 1L;
     private FileTriggerRouter fileTriggerRouter;
+    static final Comparator<FileSnapshot> PATH_ORDER = new Comparator<FileSnapshot>() {
+        public int compare(FileSnapshot o1, FileSnapshot o2) {
+            int compare = o1.getRelativeDir().compareTo(o2.getRelativeDir());
+            return compare != 0 ? compare : o1.getFileName().compareTo(o2.getFileName());
+        }
+    };
 
     public DirectorySnapshot(FileTriggerRouter fileTriggerRouter, List<FileSnapshot> snapshot) {
         this(fileTriggerRouter);
@@ -110,6 +118,50 @@ public class DirectorySnapshot extends ArrayList<FileSnapshot> {
         return differences;
     }
 
+    /**
+     * Produces the same delta-change as {@link #diff(DirectorySnapshot)} by sorting both snapshots by relative directory and file name and
+     * walking them once, which avoids building search key maps for either side. Both snapshots are sorted in place.
+     * 
+     * @param anotherSnapshot
+     * @return List of differences
+     */
+    public DirectorySnapshot mergeDiff(DirectorySnapshot anotherSnapshot) {
+        Collections.sort(this, PATH_ORDER);
+        Collections.sort(anotherSnapshot, PATH_ORDER);
+        DirectorySnapshot differences = new DirectorySnapshot(anotherSnapshot.getFileTriggerRouter());
+        int thisIndex = 0;
+        int anotherIndex = 0;
+        while (thisIndex < size() || anotherIndex < anotherSnapshot.size()) {
+            FileSnapshot knownFile = thisIndex < size() ? get(thisIndex) : null;
+            FileSnapshot anotherFile = anotherIndex < anotherSnapshot.size() ? anotherSnapshot.get(anotherIndex) : null;
+            int compare = knownFile == null ? 1 : anotherFile == null ? -1 : PATH_ORDER.compare(knownFile, anotherFile);
+            if (compare < 0) {
+                if (knownFile.getLastEventType() != LastEventType.DELETE) {
+                    FileSnapshot copy = new FileSnapshot(knownFile);
+                    copy.setLastEventType(LastEventType.DELETE);
+                    differences.add(copy);
+                }
+                thisIndex++;
+            } else if (compare > 0) {
+                differences.add(anotherFile);
+                anotherIndex++;
+            } else {
+                if ((knownFile.getLastEventType() == LastEventType.MODIFY ||
+                        knownFile.getLastEventType() == LastEventType.CREATE)
+                        && anotherFile.getLastEventType() == LastEventType.CREATE) {
+                    knownFile.setLastEventType(LastEventType.MODIFY);
+                    anotherFile.setLastEventType(LastEventType.MODIFY);
+                }
+                if (!anotherFile.equals(knownFile)) {
+                    differences.add(anotherFile);
+                }
+                thisIndex++;
+                anotherIndex++;
+            }
+        }
+        return differences;
+    }
+
     public FileTriggerRouter getFileTriggerRouter() {
         return fileTriggerRouter;
     }
@@ -21,6 +21,8 @@
 package org.jumpmind.symmetric.file;
 
 import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -187,6 +189,10 @@ public class FileTriggerFileModifiedListener extends FileAlterationListenerAdapt
             return null;
         }
 
+        public Collection<String> getLastRelativeDirs() {
+            return Collections.emptyList();
+        }
+
         public int getCommitSize() {
             return commitSize;
         }
@@ -0,0 +1,276 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.file;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.file.FileTriggerFileModifiedListener.FileModifiedCallback;
+import org.jumpmind.symmetric.model.FileSnapshot;
+import org.jumpmind.symmetric.model.FileSnapshot.LastEventType;
+import org.jumpmind.symmetric.model.FileTrigger;
+import org.jumpmind.symmetric.model.FileTriggerRouter;
+import org.jumpmind.symmetric.model.ProcessInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks changes for a file trigger router one directory at a time so that neither the full tree nor the full sym_file_snapshot contents
+ * are held in memory. Each directory listing is merge-diffed against the snapshot rows for that relative directory and only the
+ * differences are handed to the callback for saving. When a {@link WatchService} is available, the tracker is kept between runs and only
+ * directories that reported events are diffed again. The tracker falls back to a full directory walk on the first run, after an event
+ * overflow, or when the platform cannot watch the tree.
+ */
+public class IncrementalFileTriggerTracker {
+    final protected Logger log = LoggerFactory.getLogger(getClass());
+    private FileTriggerRouter fileTriggerRouter;
+    private ISymmetricEngine engine;
+    private boolean useCrc;
+    private boolean useWatchService;
+    private WatchService watchService;
+    private Map<WatchKey, String> watchedDirs = new HashMap<WatchKey, String>();
+    private Set<String> watchedRelativeDirs = new HashSet<String>();
+    private boolean fullScanNeeded = true;
+
+    public IncrementalFileTriggerTracker(FileTriggerRouter fileTriggerRouter, boolean useCrc, boolean useWatchService,
+            ISymmetricEngine engine) {
+        this.fileTriggerRouter = fileTriggerRouter;
+        this.useCrc = useCrc;
+        this.useWatchService = useWatchService;
+        this.engine = engine;
+    }
+
+    synchronized public long trackChanges(ProcessInfo processInfo, FileModifiedCallback callback) {
+        long startTime = System.currentTimeMillis();
+        ChangeCollector collector = new ChangeCollector(processInfo, callback);
+        Set<String> dirtyDirs = null;
+        if (!fullScanNeeded) {
+            dirtyDirs = pollDirtyDirs();
+        }
+        if (dirtyDirs == null) {
+            openWatchService();
+            fullScan(collector);
+            fullScanNeeded = watchService == null;
+        } else {
+            for (String relativeDir : dirtyDirs) {
+                scan(relativeDir, collector, false);
+            }
+        }
+        collector.flush();
+        if (collector.changeCount > 0) {
+            log.info("Tracked {} directories in {} ms.  Found {} files changed.", collector.dirCount,
+                    System.currentTimeMillis() - startTime, collector.changeCount);
+        }
+        return collector.changeCount;
+    }
+
+    synchronized public void close() {
+        closeWatchService();
+    }
+
+    protected void fullScan(ChangeCollector collector) {
+        Set<String> visitedDirs = scan(".", collector, true);
+        for (String relativeDir : collector.callback.getLastRelativeDirs()) {
+            if (!visitedDirs.contains(relativeDir)) {
+                collector.diff(relativeDir, new DirectorySnapshot(fileTriggerRouter));
+            }
+        }
+    }
+
+    /**
+     * Diffs the start directory and, for a recursive file trigger, its sub directories. When fullTree is false, only sub directories that
+     * are not already being watched are walked, which picks up the contents of newly created directories.
+     */
+    protected Set<String> scan(String startDir, ChangeCollector collector, boolean fullTree) {
+        Set<String> visitedDirs = new HashSet<String>();
+        FileTrigger fileTrigger = fileTriggerRouter.getFileTrigger();
+        FileFilter filter = fileTrigger.createIOFileFilter();
+        Deque<String> dirs = new ArrayDeque<String>();
+        dirs.push(startDir);
+        while (!dirs.isEmpty()) {
+            String relativeDir = dirs.pop();
+            visitedDirs.add(relativeDir);
+            File dir = toFile(relativeDir);
+            DirectorySnapshot current = new DirectorySnapshot(fileTriggerRouter);
+            File[] files = dir.isDirectory() ? dir.listFiles(filter) : null;
+            if (files != null) {
+                register(dir, relativeDir);
+                Arrays.sort(files);
+                for (File file : files) {
+                    if (file.isDirectory()) {
+                        current.add(new FileSnapshot(fileTriggerRouter, file, LastEventType.CREATE, useCrc));
+                        String subDir = ".".equals(relativeDir) ? file.getName() : relativeDir + "/" + file.getName();
+                        if (fileTrigger.isRecurse() && (fullTree || !watchedRelativeDirs.contains(subDir))) {
+                            dirs.push(subDir);
+                        }
+                    } else if (!fileTrigger.isSyncOnCtlFile() || engine.getFileSyncService().getControleFile(file).exists()) {
+                        current.add(new FileSnapshot(fileTriggerRouter, file, LastEventType.CREATE, useCrc));
+                    }
+                }
+            }
+            collector.diff(relativeDir, current);
+        }
+        return visitedDirs;
+    }
+
+    protected Set<String> pollDirtyDirs() {
+        if (watchService == null) {
+            return null;
+        }
+        Set<String> dirtyDirs = new TreeSet<String>();
+        try {
+            WatchKey key = null;
+            while ((key = watchService.poll()) != null) {
+                String relativeDir = watchedDirs.get(key);
+                if (relativeDir == null) {
+                    key.cancel();
+                    continue;
+                }
+                dirtyDirs.add(relativeDir);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        log.info("File system events overflowed for {}.  Falling back to a full scan.",
+                                fileTriggerRouter.getFileTrigger().getBaseDir());
+                        return null;
+                    }
+                }
+                if (!key.reset()) {
+                    watchedRelativeDirs.remove(watchedDirs.remove(key));
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            closeWatchService();
+            return null;
+        }
+        return dirtyDirs;
+    }
+
+    protected void openWatchService() {
+        closeWatchService();
+        if (useWatchService) {
+            try {
+                watchService = FileSystems.getDefault().newWatchService();
+            } catch (IOException | UnsupportedOperationException e) {
+                log.info("Unable to watch {} for changes.  Falling back to scanning the directory.  {}",
+                        fileTriggerRouter.getFileTrigger().getBaseDir(), e.getMessage());
+                useWatchService = false;
+            }
+        }
+    }
+
+    protected void register(File dir, String relativeDir) {
+        if (watchService != null) {
+            try {
+                Path path = dir.toPath();
+                WatchKey key = path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+                if (watchedDirs.put(key, relativeDir) == null) {
+                    watchedRelativeDirs.add(relativeDir);
+                }
+            } catch (IOException | UnsupportedOperationException e) {
+                log.info("Unable to watch {} for changes.  Falling back to scanning the directory.  {}", dir.getAbsolutePath(),
+                        e.getMessage());
+                useWatchService = false;
+                closeWatchService();
+            }
+        }
+    }
+
+    protected void closeWatchService() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Failed to close watch service", e);
+            }
+            watchService = null;
+        }
+        watchedDirs.clear();
+        watchedRelativeDirs.clear();
+    }
+
+    protected File toFile(String relativeDir) {
+        File baseDir = new File(fileTriggerRouter.getFileTrigger().getBaseDir());
+        return ".".equals(relativeDir) ? baseDir : new File(baseDir, relativeDir);
+    }
+
+    protected boolean isWatching() {
+        return watchService != null;
+    }
+
+    class ChangeCollector {
+        ProcessInfo processInfo;
+        FileModifiedCallback callback;
+        DirectorySnapshot changes = new DirectorySnapshot(fileTriggerRouter);
+        long changeCount;
+        long dirCount;
+
+        ChangeCollector(ProcessInfo processInfo, FileModifiedCallback callback) {
+            this.processInfo = processInfo;
+            this.callback = callback;
+        }
+
+        void diff(String relativeDir, DirectorySnapshot current) {
+            dirCount++;
+            DirectorySnapshot last = callback.getLastDirectorySnapshot(relativeDir);
+            if (last == null) {
+                last = new DirectorySnapshot(fileTriggerRouter);
+            }
+            DirectorySnapshot differences = last.mergeDiff(current);
+            for (FileSnapshot fileSnapshot : differences) {
+                log.debug("{}, fileName: {}, relativeDir: {}", fileSnapshot.getLastEventType().getCode(), fileSnapshot.getFileName(),
+                        fileSnapshot.getRelativeDir());
+                if (processInfo != null) {
+                    processInfo.incrementCurrentDataCount();
+                }
+                changes.add(fileSnapshot);
+                changeCount++;
+            }
+            if (changes.size() >= callback.getCommitSize()) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (changes.size() > 0) {
+                callback.commit(changes);
+                changes = new DirectorySnapshot(fileTriggerRouter);
+            }
+        }
+    }
+}
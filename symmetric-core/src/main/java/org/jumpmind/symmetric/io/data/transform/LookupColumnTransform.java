@@ -22,26 +22,68 @@ package org.jumpmind.symmetric.io.data.transform;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.db.sql.ISqlRowMapper;
 import org.jumpmind.db.sql.ISqlTransaction;
+import org.jumpmind.db.sql.Row;
 import org.jumpmind.db.sql.mapper.StringMapper;
 import org.jumpmind.extension.IBuiltInExtensionPoint;
 import org.jumpmind.symmetric.common.Constants;
+import org.jumpmind.symmetric.common.ParameterConstants;
 import org.jumpmind.symmetric.io.data.DataContext;
 import org.jumpmind.symmetric.model.Data;
+import org.jumpmind.symmetric.service.IParameterService;
 import org.jumpmind.util.FormatUtils;
 import org.jumpmind.util.LinkedCaseInsensitiveMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class LookupColumnTransform implements ISingleNewAndOldValueColumnTransform, IBuiltInExtensionPoint {
+public class LookupColumnTransform implements ISingleNewAndOldValueColumnTransform, IPrefetchColumnTransform, IBuiltInExtensionPoint {
     protected final Logger log = LoggerFactory.getLogger(getClass());
     public static final String NAME = "lookup";
     protected static final StringMapper lookupColumnRowMapper = new StringMapper();
+    protected static final Pattern VARIABLE_PATTERN = Pattern.compile(":(\\w+)");
+    protected static final Pattern ORDER_BY_OR_TOP_PATTERN = Pattern.compile("\\border\\s+by\\b|\\btop\\b", Pattern.CASE_INSENSITIVE);
+    protected static final String PREFETCH_INDEX_COLUMN = "sym_lookup_index";
+    protected final String PREFETCH_KEY = String.format("%d.LookupPrefetch.", hashCode());
+    protected static final ISqlRowMapper<Object[]> prefetchRowMapper = new ISqlRowMapper<Object[]>() {
+        public Object[] mapRow(Row row) {
+            Iterator<Object> iterator = row.values().iterator();
+            Object index = iterator.next();
+            Object value = iterator.hasNext() ? iterator.next() : null;
+            return new Object[] { Integer.parseInt(index.toString()), value != null ? value.toString() : null };
+        }
+    };
+    protected IParameterService parameterService;
+    protected Set<String> prefetchFailed = ConcurrentHashMap.newKeySet();
+    protected Map<List<Object>, CachedLookup> cache = new LinkedHashMap<List<Object>, CachedLookup>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, CachedLookup> eldest) {
+            return size() > getCacheSize();
+        }
+    };
+
+    public LookupColumnTransform() {
+    }
+
+    public LookupColumnTransform(IParameterService parameterService) {
+        this.parameterService = parameterService;
+    }
 
     public String getName() {
         return NAME;
@@ -62,23 +104,20 @@ public class LookupColumnTransform implements ISingleNewAndOldValueColumnTransfo
         String sql = doTokenReplacementOnSql(context, column.getTransformExpression());
         String lookupValue = null;
         if (StringUtils.isNotBlank(sql)) {
-            ISqlTransaction transaction = context.findTransaction();
+            LinkedCaseInsensitiveMap<Object> namedParams = getNamedParams(sql, sourceValues, data.getOldSourceValues(), data.getTargetValues());
+            List<Object> key = getLookupKey(column, sql, namedParams);
             List<String> values = null;
-            LinkedCaseInsensitiveMap<Object> namedParams = new LinkedCaseInsensitiveMap<Object>(sourceValues);
-            if (data.getOldSourceValues() != null && sql.contains(":OLD_")) {
-                for (Map.Entry<String, String> oldColumn : data.getOldSourceValues().entrySet()) {
-                    namedParams.put("OLD_" + oldColumn.getKey().toUpperCase(), oldColumn.getValue());
-                }
+            @SuppressWarnings("unchecked")
+            Map<List<Object>, List<String>> prefetched = (Map<List<Object>, List<String>>) context.get(getPrefetchKey(column));
+            if (prefetched != null) {
+                values = prefetched.get(key);
             }
-            if (data.getTargetValues() != null && sql.contains(":TRM_")) {
-                for (Map.Entry<String, String> transformedCol : data.getTargetValues().entrySet()) {
-                    namedParams.put("TRM_" + transformedCol.getKey().toUpperCase(), transformedCol.getValue());
-                }
+            if (values == null) {
+                values = getCachedLookup(key);
             }
-            if (transaction != null) {
-                values = transaction.query(sql, lookupColumnRowMapper, namedParams);
-            } else {
-                values = platform.getSqlTemplate().query(sql, lookupColumnRowMapper, namedParams);
+            if (values == null) {
+                values = query(platform, context, sql, lookupColumnRowMapper, namedParams);
+                putCachedLookup(key, values);
             }
             int rowCount = values.size();
             if (rowCount == 1) {
@@ -101,6 +140,209 @@ public class LookupColumnTransform implements ISingleNewAndOldValueColumnTransfo
         return new NewAndOldValue(column, data, lookupValue);
     }
 
+    /**
+     * Run the lookup for all of the rows with as few queries as possible. The lookup SQL is repeated for each distinct set of bound values
+     * with its variables renamed, and the parts are combined with a union that is split into chunks so no query binds more than
+     * transform.lookup.prefetch.max.binds values. The queries run on the load transaction so they see the rows the batch has written so far.
+     * Only lookups that found rows are kept in the context, so a row whose lookup came back empty is looked up again when it is transformed,
+     * after the rows before it have been written. Lookup SQL that uses order by or top is not prefetched, because it cannot be wrapped in a
+     * derived table on every database. If a prefetch fails, the column is looked up one row at a time from then on.
+     */
+    public void prefetch(IDatabasePlatform platform, DataContext context, TransformColumn column, List<Map<String, String>> sourceValues,
+            List<Map<String, String>> oldSourceValues) {
+        String sql = doTokenReplacementOnSql(context, column.getTransformExpression());
+        context.remove(getPrefetchKey(column));
+        if (StringUtils.isBlank(sql) || sql.contains(":TRM_")) {
+            // transformed values are not known until the row is transformed
+            return;
+        }
+        if (ORDER_BY_OR_TOP_PATTERN.matcher(sql).find() || prefetchFailed.contains(getPrefetchFailedKey(column, sql))) {
+            return;
+        }
+        Map<List<Object>, LinkedCaseInsensitiveMap<Object>> lookups = new LinkedHashMap<List<Object>, LinkedCaseInsensitiveMap<Object>>();
+        for (int i = 0; i < sourceValues.size(); i++) {
+            if (sourceValues.get(i) != null) {
+                LinkedCaseInsensitiveMap<Object> namedParams = getNamedParams(sql, sourceValues.get(i), oldSourceValues.get(i), null);
+                List<Object> key = getLookupKey(column, sql, namedParams);
+                if (!lookups.containsKey(key) && getCachedLookup(key) == null) {
+                    lookups.put(key, namedParams);
+                }
+            }
+        }
+        if (lookups.size() > 0) {
+            int maxBinds = getPrefetchMaxBinds();
+            StringBuilder unionSql = new StringBuilder();
+            Map<String, Object> unionParams = new HashMap<String, Object>();
+            int unionBinds = 0;
+            List<List<Object>> keys = new ArrayList<List<Object>>();
+            Map<List<Object>, List<String>> prefetched = new HashMap<List<Object>, List<String>>(lookups.size());
+            int lookupCount = 0;
+            try {
+                for (Map.Entry<List<Object>, LinkedCaseInsensitiveMap<Object>> lookup : lookups.entrySet()) {
+                    int binds = countBinds(sql, lookup.getValue());
+                    if (keys.size() > 0 && unionBinds + binds > maxBinds) {
+                        prefetchChunk(platform, context, unionSql.toString(), unionParams, keys, prefetched);
+                        unionSql.setLength(0);
+                        unionParams.clear();
+                        unionBinds = 0;
+                        keys.clear();
+                    }
+                    int index = keys.size();
+                    if (index > 0) {
+                        unionSql.append(" union all ");
+                    }
+                    unionSql.append("select ").append(index).append(" as ").append(PREFETCH_INDEX_COLUMN).append(", sym_lookup.* from (")
+                            .append(renameVariables(sql, lookup.getValue(), "P" + lookupCount++ + "_", unionParams)).append(") sym_lookup");
+                    unionBinds += binds;
+                    keys.add(lookup.getKey());
+                }
+                prefetchChunk(platform, context, unionSql.toString(), unionParams, keys, prefetched);
+            } catch (RuntimeException ex) {
+                prefetchFailed.add(getPrefetchFailedKey(column, sql));
+                throw ex;
+            }
+            for (Map.Entry<List<Object>, List<String>> entry : prefetched.entrySet()) {
+                putCachedLookup(entry.getKey(), entry.getValue());
+            }
+            context.put(getPrefetchKey(column), prefetched);
+        }
+    }
+
+    protected void prefetchChunk(IDatabasePlatform platform, DataContext context, String unionSql, Map<String, Object> unionParams,
+            List<List<Object>> keys, Map<List<Object>, List<String>> prefetched) {
+        List<Object[]> rows = query(platform, context, unionSql, prefetchRowMapper, unionParams);
+        for (Object[] row : rows) {
+            List<Object> key = keys.get((Integer) row[0]);
+            List<String> values = prefetched.get(key);
+            if (values == null) {
+                values = new ArrayList<String>(1);
+                prefetched.put(key, values);
+            }
+            values.add((String) row[1]);
+        }
+    }
+
+    public void clearPrefetch(DataContext context, TransformColumn column) {
+        context.remove(getPrefetchKey(column));
+    }
+
+    protected <T> List<T> query(IDatabasePlatform platform, DataContext context, String sql, ISqlRowMapper<T> mapper,
+            Map<String, Object> namedParams) {
+        ISqlTransaction transaction = context.findTransaction();
+        if (transaction != null) {
+            return transaction.query(sql, mapper, namedParams);
+        } else {
+            return platform.getSqlTemplate().query(sql, mapper, namedParams);
+        }
+    }
+
+    protected LinkedCaseInsensitiveMap<Object> getNamedParams(String sql, Map<String, String> sourceValues, Map<String, String> oldSourceValues,
+            Map<String, String> targetValues) {
+        LinkedCaseInsensitiveMap<Object> namedParams = new LinkedCaseInsensitiveMap<Object>(sourceValues);
+        if (oldSourceValues != null && sql.contains(":OLD_")) {
+            for (Map.Entry<String, String> oldColumn : oldSourceValues.entrySet()) {
+                namedParams.put("OLD_" + oldColumn.getKey().toUpperCase(), oldColumn.getValue());
+            }
+        }
+        if (targetValues != null && sql.contains(":TRM_")) {
+            for (Map.Entry<String, String> transformedCol : targetValues.entrySet()) {
+                namedParams.put("TRM_" + transformedCol.getKey().toUpperCase(), transformedCol.getValue());
+            }
+        }
+        return namedParams;
+    }
+
+    /**
+     * The lookup key is made of the column being transformed, the SQL and the values bound to the variables in the SQL, so rows that bind the
+     * same values share a lookup.
+     */
+    protected List<Object> getLookupKey(TransformColumn column, String sql, Map<String, Object> namedParams) {
+        List<Object> key = new ArrayList<Object>();
+        key.add(column.getTransformId());
+        key.add(column.getTargetColumnName());
+        key.add(sql);
+        Matcher matcher = VARIABLE_PATTERN.matcher(sql);
+        while (matcher.find()) {
+            key.add(namedParams.get(matcher.group(1)));
+        }
+        return key;
+    }
+
+    protected String renameVariables(String sql, Map<String, Object> namedParams, String prefix, Map<String, Object> renamedParams) {
+        Matcher matcher = VARIABLE_PATTERN.matcher(sql);
+        StringBuilder renamedSql = new StringBuilder();
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            if (namedParams.containsKey(name)) {
+                String renamed = prefix + name.toUpperCase();
+                renamedParams.put(renamed, namedParams.get(name));
+                matcher.appendReplacement(renamedSql, ":" + renamed);
+            } else {
+                matcher.appendReplacement(renamedSql, Matcher.quoteReplacement(matcher.group()));
+            }
+        }
+        matcher.appendTail(renamedSql);
+        return renamedSql.toString();
+    }
+
+    protected int countBinds(String sql, Map<String, Object> namedParams) {
+        int binds = 0;
+        Matcher matcher = VARIABLE_PATTERN.matcher(sql);
+        while (matcher.find()) {
+            if (namedParams.containsKey(matcher.group(1))) {
+                binds++;
+            }
+        }
+        return binds;
+    }
+
+    protected String getPrefetchFailedKey(TransformColumn column, String sql) {
+        return column.getTransformId() + "." + column.getTargetColumnName() + "." + sql;
+    }
+
+    protected String getPrefetchKey(TransformColumn column) {
+        return PREFETCH_KEY + column.getTransformId() + "." + column.getTargetColumnName();
+    }
+
+    protected int getCacheSize() {
+        return parameterService != null ? parameterService.getInt(ParameterConstants.TRANSFORM_LOOKUP_CACHE_SIZE, 0) : 0;
+    }
+
+    protected int getPrefetchMaxBinds() {
+        int maxBinds = parameterService != null ? parameterService.getInt(ParameterConstants.TRANSFORM_LOOKUP_PREFETCH_MAX_BINDS, 1000) : 1000;
+        return maxBinds > 0 ? maxBinds : 1000;
+    }
+
+    protected List<String> getCachedLookup(List<Object> key) {
+        if (getCacheSize() > 0) {
+            synchronized (cache) {
+                CachedLookup cachedLookup = cache.get(key);
+                if (cachedLookup != null) {
+                    long cacheTimeoutInMs = parameterService.getLong(ParameterConstants.TRANSFORM_LOOKUP_CACHE_TIME_MS, 60000);
+                    if (System.currentTimeMillis() - cachedLookup.cacheTime < cacheTimeoutInMs) {
+                        return cachedLookup.values;
+                    }
+                    cache.remove(key);
+                }
+            }
+        }
+        return null;
+    }
+
+    protected void putCachedLookup(List<Object> key, List<String> values) {
+        if (getCacheSize() > 0) {
+            synchronized (cache) {
+                cache.put(key, new CachedLookup(Collections.unmodifiableList(values)));
+            }
+        }
+    }
+
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
     protected String doTokenReplacementOnSql(DataContext context, String sql) {
         if (isNotBlank(sql)) {
             Data csvData = (Data) context.get(Constants.DATA_CONTEXT_CURRENT_CSV_DATA);
@@ -115,4 +357,13 @@ public class LookupColumnTransform implements ISingleNewAndOldValueColumnTransfo
         }
         return sql;
     }
+
+    static class CachedLookup {
+        List<String> values;
+        long cacheTime = System.currentTimeMillis();
+
+        CachedLookup(List<String> values) {
+            this.values = values;
+        }
+    }
 }
@@ -46,6 +46,7 @@ public class BatchStagingManager extends StagingManager {
         super(directory, engine.getParameterService().is(ParameterConstants.CLUSTER_LOCKING_ENABLED),
                 engine.getParameterService().getLong(ParameterConstants.STAGING_LOW_SPACE_THRESHOLD_MEGABYTES, 0));
         this.engine = engine;
+        setCodec(StagingCodecs.getCodec(engine.getParameterService().getString(ParameterConstants.STAGING_COMPRESSION_CODEC)));
     }
 
     protected Map<String, Long> getBiggestBatchIds(Set<BatchId> batches) {
@@ -185,12 +185,11 @@ public class Data extends CsvData implements Serializable {
     }
 
     public String getPkDataFor(String columnName) {
-        String[] pkData = toParsedPkData();
         String[] keyNames = triggerHistory.getParsedPkColumnNames();
-        if (columnName != null && pkData != null) {
-            for (int i = 0; i < keyNames.length && i < pkData.length; i++) {
+        if (columnName != null) {
+            for (int i = 0; i < keyNames.length; i++) {
                 if (columnName.equals(keyNames[i])) {
-                    return pkData[i];
+                    return getParsedValue(PK_DATA, i);
                 }
             }
         }
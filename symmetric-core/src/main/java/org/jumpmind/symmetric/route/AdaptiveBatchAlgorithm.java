@@ -0,0 +1,112 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.route;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jumpmind.extension.IBuiltInExtensionPoint;
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.model.DataMetaData;
+import org.jumpmind.symmetric.model.NodeChannel;
+import org.jumpmind.symmetric.model.OutgoingBatch;
+import org.jumpmind.symmetric.service.IParameterService;
+
+/**
+ * Batch algorithm that sizes batches for each target node and channel so that a batch takes about the target amount of time to transfer
+ * and load. The time per row is learned from acknowledged batches. Until a node and channel has been measured, the max batch size of the
+ * channel is used. Like the default algorithm, a transaction boundary is never broken. The sizing parameters are read again only after the
+ * parameters have been refreshed, because a batch is checked for every routed row.
+ */
+public class AdaptiveBatchAlgorithm implements IBatchAlgorithm, IBuiltInExtensionPoint {
+    public static final String NAME = "adaptive";
+    protected static final double SMOOTHING_FACTOR = 0.3;
+    protected IParameterService parameterService;
+    protected Map<String, Double> millisPerRowByNodeChannel = new ConcurrentHashMap<String, Double>();
+    protected volatile Settings settings;
+
+    public AdaptiveBatchAlgorithm(IParameterService parameterService) {
+        this.parameterService = parameterService;
+    }
+
+    public boolean isBatchComplete(OutgoingBatch batch, DataMetaData dataMetaData, SimpleRouterContext routingContext) {
+        int batchSize = getBatchSize(batch.getNodeId(), dataMetaData.getNodeChannel());
+        return (batch.getDataRowCount() >= batchSize && routingContext.isEncountedTransactionBoundary()) ||
+                (routingContext.getBatchSizeNotToExceed() > 0 && batch.getDataRowCount() >= routingContext.getBatchSizeNotToExceed());
+    }
+
+    /**
+     * Record the time it took to transfer and load an acknowledged batch, which adjusts the size of future batches for the node and
+     * channel.
+     */
+    public void batchLoaded(String nodeId, String channelId, long rowCount, long millis) {
+        if (rowCount > 0 && millis >= 0) {
+            double observed = (double) millis / rowCount;
+            millisPerRowByNodeChannel.merge(getKey(nodeId, channelId), observed,
+                    (previous, current) -> previous * (1 - SMOOTHING_FACTOR) + current * SMOOTHING_FACTOR);
+        }
+    }
+
+    public int getBatchSize(String nodeId, NodeChannel nodeChannel) {
+        Double millisPerRow = millisPerRowByNodeChannel.get(getKey(nodeId, nodeChannel.getChannelId()));
+        if (millisPerRow == null) {
+            return nodeChannel.getMaxBatchSize();
+        }
+        Settings settings = getSettings();
+        double size = millisPerRow > 0 ? settings.targetMillis / millisPerRow : settings.maxSize;
+        return (int) Math.max(settings.minSize, Math.min(settings.maxSize, size));
+    }
+
+    protected Settings getSettings() {
+        Date parametersCachedTime = parameterService.getLastTimeParameterWereCached();
+        Settings settings = this.settings;
+        if (settings == null || parametersCachedTime == null || !parametersCachedTime.equals(settings.parametersCachedTime)) {
+            settings = new Settings(parameterService.getInt(ParameterConstants.ROUTING_ADAPTIVE_BATCH_MIN_SIZE, 100),
+                    parameterService.getInt(ParameterConstants.ROUTING_ADAPTIVE_BATCH_MAX_SIZE, 100000),
+                    parameterService.getLong(ParameterConstants.ROUTING_ADAPTIVE_BATCH_TARGET_MS, 30000), parametersCachedTime);
+            this.settings = settings;
+        }
+        return settings;
+    }
+
+    public void reset() {
+        millisPerRowByNodeChannel.clear();
+    }
+
+    protected String getKey(String nodeId, String channelId) {
+        return nodeId + "-" + channelId;
+    }
+
+    static class Settings {
+        final int minSize;
+        final int maxSize;
+        final long targetMillis;
+        final Date parametersCachedTime;
+
+        Settings(int minSize, int maxSize, long targetMillis, Date parametersCachedTime) {
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            this.targetMillis = targetMillis;
+            this.parametersCachedTime = parametersCachedTime;
+        }
+    }
+}
@@ -64,6 +64,7 @@ public class DataGapRouteReader implements IDataToRouteReader {
     protected ProcessInfo processInfo;
     protected double percentOfHeapToUse = .5;
     protected long peekAheadSizeInBytes = 0;
+    protected OffHeapDataStore offHeapStore;
     protected boolean finishTransactionMode = false;
     protected boolean isEachGapQueried;
     protected boolean isOracleNoOrder;
@@ -71,10 +72,26 @@ public class DataGapRouteReader implements IDataToRouteReader {
     protected long lastStatsPrintOutBaselineInMs = System.currentTimeMillis();
 
     public DataGapRouteReader(ChannelRouterContext context, ISymmetricEngine engine) {
+        this(context, engine, null);
+    }
+
+    /**
+     * @param offHeapSegmentPool
+     *            supplies the direct buffers that hold peek ahead rows off the heap, or null to allocate and free them for this reader only
+     */
+    public DataGapRouteReader(ChannelRouterContext context, ISymmetricEngine engine, OffHeapSegmentPool offHeapSegmentPool) {
         this.engine = engine;
         IParameterService parameterService = engine.getParameterService();
         this.peekAheadCount = parameterService.getInt(ParameterConstants.ROUTING_PEEK_AHEAD_WINDOW);
         this.percentOfHeapToUse = (double) parameterService.getInt(ParameterConstants.ROUTING_PEEK_AHEAD_MEMORY_THRESHOLD) / (double) 100;
+        long offHeapMegabytes = parameterService.getLong(ParameterConstants.ROUTING_PEEK_AHEAD_OFF_HEAP_MEGABYTES, 0);
+        if (offHeapMegabytes > 0) {
+            if (offHeapSegmentPool != null) {
+                this.offHeapStore = new OffHeapDataStore(offHeapMegabytes * 1024 * 1024, offHeapSegmentPool);
+            } else {
+                this.offHeapStore = new OffHeapDataStore(offHeapMegabytes * 1024 * 1024);
+            }
+        }
         this.takeTimeout = engine.getParameterService().getInt(
                 ParameterConstants.ROUTING_WAIT_FOR_DATA_TIMEOUT_SECONDS, 330);
         if (parameterService.is(ParameterConstants.SYNCHRONIZE_ALL_JOBS)) {
@@ -144,6 +161,9 @@ public class DataGapRouteReader implements IDataToRouteReader {
             if (cursor != null) {
                 cursor.close();
             }
+            if (offHeapStore != null) {
+                offHeapStore.clear();
+            }
             copyToQueue(new EOD());
             reading = false;
         }
@@ -200,6 +220,9 @@ public class DataGapRouteReader implements IDataToRouteReader {
                 log.info("The peek ahead queue has reached its max size of {} bytes.  Finishing reading the current transaction", peekAheadSizeInBytes);
                 finishTransactionMode = true;
                 peekAheadQueue.clear();
+                if (offHeapStore != null) {
+                    offHeapStore.clear();
+                }
             }
         }
     }
@@ -297,7 +320,9 @@ public class DataGapRouteReader implements IDataToRouteReader {
             if (data != null) {
                 if (process(data)) {
                     peekAheadQueue.add(data);
-                    peekAheadSizeInBytes += data.getSizeInBytes();
+                    if (offHeapStore == null || !offHeapStore.store(data)) {
+                        peekAheadSizeInBytes += data.getSizeInBytes();
+                    }
                     dataCount++;
                     context.incrementStat(System.currentTimeMillis() - ts,
                             ChannelRouterContext.STAT_READ_DATA_MS);
@@ -336,7 +361,9 @@ public class DataGapRouteReader implements IDataToRouteReader {
 
     protected void copyToQueue(Data data) {
         long ts = System.currentTimeMillis();
-        peekAheadSizeInBytes -= data.getSizeInBytes();
+        if (offHeapStore == null || !offHeapStore.restore(data)) {
+            peekAheadSizeInBytes -= data.getSizeInBytes();
+        }
         while (!dataQueue.offer(data) && reading) {
             AppUtils.sleep(50);
         }
@@ -355,6 +382,14 @@ public class DataGapRouteReader implements IDataToRouteReader {
         }
     }
 
+    public double getPercentOfHeapToUse() {
+        return percentOfHeapToUse;
+    }
+
+    public void setPercentOfHeapToUse(double percentOfHeapToUse) {
+        this.percentOfHeapToUse = percentOfHeapToUse;
+    }
+
     public BlockingQueue<Data> getDataQueue() {
         return dataQueue;
     }
@@ -0,0 +1,88 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.route;
+
+import java.util.Collection;
+
+import org.jumpmind.symmetric.model.DataMetaData;
+import org.jumpmind.symmetric.model.TriggerRouter;
+
+/**
+ * The nodes that a trigger router decided a row of data should be routed to. Routes are decided before batches are assigned, so the routing of a
+ * partitioned channel can be done by several threads while batches are still assigned in order.
+ */
+public class DataRoute {
+    /**
+     * Attribute of a {@link org.jumpmind.symmetric.model.Data} that holds the list of routes decided ahead of time
+     */
+    public static final String ATTRIBUTE_DATA_ROUTES = "dataRoutes";
+    private DataMetaData dataMetaData;
+    private TriggerRouter triggerRouter;
+    private Collection<String> nodeIds;
+    private IDataRouter dataRouter;
+    private long routerTimeMs;
+    private boolean forceNonCommon;
+
+    public DataRoute(DataMetaData dataMetaData, TriggerRouter triggerRouter) {
+        this.dataMetaData = dataMetaData;
+        this.triggerRouter = triggerRouter;
+    }
+
+    public DataMetaData getDataMetaData() {
+        return dataMetaData;
+    }
+
+    public TriggerRouter getTriggerRouter() {
+        return triggerRouter;
+    }
+
+    public Collection<String> getNodeIds() {
+        return nodeIds;
+    }
+
+    public void setNodeIds(Collection<String> nodeIds) {
+        this.nodeIds = nodeIds;
+    }
+
+    public IDataRouter getDataRouter() {
+        return dataRouter;
+    }
+
+    public void setDataRouter(IDataRouter dataRouter) {
+        this.dataRouter = dataRouter;
+    }
+
+    public long getRouterTimeMs() {
+        return routerTimeMs;
+    }
+
+    public void setRouterTimeMs(long routerTimeMs) {
+        this.routerTimeMs = routerTimeMs;
+    }
+
+    public boolean isForceNonCommon() {
+        return forceNonCommon;
+    }
+
+    public void setForceNonCommon(boolean forceNonCommon) {
+        this.forceNonCommon = forceNonCommon;
+    }
+}
@@ -0,0 +1,251 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.route;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.jumpmind.symmetric.model.Data;
+
+/**
+ * Holds the row, old and primary key data of rows waiting in the routing peek ahead queue in direct buffers outside of the heap. The rest of the
+ * {@link Data} stays on the heap, so the reader can still look at transaction IDs while it reads ahead. Rows are written into segments, and a segment
+ * is reused once all of its rows have been restored. Segments come from an {@link OffHeapSegmentPool} when one is given, and go back to it when the
+ * store is cleared, otherwise they are freed. This class is not thread safe and is meant to be used by the reader thread only.
+ */
+public class OffHeapDataStore {
+    public static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024;
+    protected int segmentSize;
+    protected long maxSizeInBytes;
+    protected long allocatedSizeInBytes;
+    protected long storedSizeInBytes;
+    protected Segment currentSegment;
+    protected Deque<Segment> freeSegments = new ArrayDeque<Segment>();
+    protected Set<Segment> segments = new HashSet<Segment>();
+    protected Map<Data, Entry> entries = new IdentityHashMap<Data, Entry>();
+    protected OffHeapSegmentPool pool;
+
+    public OffHeapDataStore(long maxSizeInBytes) {
+        this(maxSizeInBytes, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public OffHeapDataStore(long maxSizeInBytes, int segmentSize) {
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.segmentSize = segmentSize;
+    }
+
+    public OffHeapDataStore(long maxSizeInBytes, OffHeapSegmentPool pool) {
+        this(maxSizeInBytes, pool.getSegmentSize());
+        this.pool = pool;
+    }
+
+    /**
+     * Move the data of the row into off-heap memory and clear it from the row. Returns false and leaves the row alone when there is no room.
+     */
+    public boolean store(Data data) {
+        if (entries.containsKey(data)) {
+            return true;
+        }
+        byte[] rowData = toBytes(data.getRowData());
+        byte[] oldData = toBytes(data.getOldData());
+        byte[] pkData = toBytes(data.getPkData());
+        int length = 12 + length(rowData) + length(oldData) + length(pkData);
+        Segment segment = getSegment(length);
+        if (segment == null) {
+            return false;
+        }
+        Entry entry = new Entry(segment, segment.buffer.position(), length);
+        put(segment.buffer, rowData);
+        put(segment.buffer, oldData);
+        put(segment.buffer, pkData);
+        segment.liveCount++;
+        storedSizeInBytes += length;
+        entries.put(data, entry);
+        data.setRowData(null);
+        data.setOldData(null);
+        data.setPkData(null);
+        return true;
+    }
+
+    /**
+     * Put the data of the row back on the heap. Returns false if the row was not stored off-heap.
+     */
+    public boolean restore(Data data) {
+        Entry entry = entries.remove(data);
+        if (entry == null) {
+            return false;
+        }
+        ByteBuffer buffer = entry.segment.buffer.duplicate();
+        buffer.position(entry.offset);
+        data.setRowData(get(buffer));
+        data.setOldData(get(buffer));
+        data.setPkData(get(buffer));
+        release(entry);
+        return true;
+    }
+
+    /**
+     * Forget about the row without restoring its data.
+     */
+    public void discard(Data data) {
+        Entry entry = entries.remove(data);
+        if (entry != null) {
+            release(entry);
+        }
+    }
+
+    /**
+     * Forget about all rows and give back the memory of all segments.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            dispose(segment.buffer);
+        }
+        segments.clear();
+        entries.clear();
+        freeSegments.clear();
+        currentSegment = null;
+        allocatedSizeInBytes = 0;
+        storedSizeInBytes = 0;
+    }
+
+    public int getCount() {
+        return entries.size();
+    }
+
+    public long getStoredSizeInBytes() {
+        return storedSizeInBytes;
+    }
+
+    public long getAllocatedSizeInBytes() {
+        return allocatedSizeInBytes;
+    }
+
+    protected Segment getSegment(int length) {
+        if (length > segmentSize) {
+            // large rows get a segment of their own that is released as soon as the row is restored
+            if (allocatedSizeInBytes + length > maxSizeInBytes) {
+                return null;
+            }
+            allocatedSizeInBytes += length;
+            return newSegment(ByteBuffer.allocateDirect(length));
+        }
+        if (currentSegment == null || currentSegment.buffer.remaining() < length) {
+            // the current segment still holds rows, otherwise it would have been cleared when its last row was released
+            Segment next = freeSegments.poll();
+            if (next == null) {
+                if (allocatedSizeInBytes + segmentSize > maxSizeInBytes) {
+                    return null;
+                }
+                allocatedSizeInBytes += segmentSize;
+                next = newSegment(pool != null ? pool.acquire() : ByteBuffer.allocateDirect(segmentSize));
+            }
+            currentSegment = next;
+        }
+        return currentSegment;
+    }
+
+    protected void release(Entry entry) {
+        Segment segment = entry.segment;
+        segment.liveCount--;
+        storedSizeInBytes -= entry.length;
+        if (segment.liveCount == 0 && segment == currentSegment) {
+            segment.buffer.clear();
+        } else if (segment.liveCount == 0) {
+            if (segment.buffer.capacity() == segmentSize) {
+                segment.buffer.clear();
+                freeSegments.add(segment);
+            } else {
+                allocatedSizeInBytes -= segment.buffer.capacity();
+                segments.remove(segment);
+                OffHeapSegmentPool.free(segment.buffer);
+            }
+        }
+    }
+
+    protected Segment newSegment(ByteBuffer buffer) {
+        Segment segment = new Segment(buffer);
+        segments.add(segment);
+        return segment;
+    }
+
+    protected void dispose(ByteBuffer buffer) {
+        if (pool != null) {
+            pool.release(buffer);
+        } else {
+            OffHeapSegmentPool.free(buffer);
+        }
+    }
+
+    protected static byte[] toBytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    protected static int length(byte[] bytes) {
+        return bytes != null ? bytes.length : 0;
+    }
+
+    protected static void put(ByteBuffer buffer, byte[] bytes) {
+        if (bytes != null) {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        } else {
+            buffer.putInt(-1);
+        }
+    }
+
+    protected static String get(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static class Segment {
+        ByteBuffer buffer;
+        int liveCount;
+
+        Segment(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+    static class Entry {
+        Segment segment;
+        int offset;
+        int length;
+
+        Entry(Segment segment, int offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.route;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the direct buffers used by {@link OffHeapDataStore} between routing passes, so a pass does not have to allocate them again and their
+ * memory does not wait on the garbage collector to be freed. Buffers beyond the pooled size, and all of the pooled buffers when the pool is
+ * closed, are freed right away. This class is thread safe, so readers of different channels and partitions can share it.
+ */
+public class OffHeapSegmentPool {
+    private static final Logger log = LoggerFactory.getLogger(OffHeapSegmentPool.class);
+    private static Object unsafe;
+    private static Method invokeCleaner;
+    static {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (Exception ex) {
+            log.debug("Direct buffers will be freed by the garbage collector", ex);
+        }
+    }
+    protected int segmentSize;
+    protected long maxPooledSizeInBytes;
+    protected Deque<ByteBuffer> segments = new ArrayDeque<ByteBuffer>();
+    protected boolean closed;
+
+    public OffHeapSegmentPool(long maxPooledSizeInBytes) {
+        this(maxPooledSizeInBytes, OffHeapDataStore.DEFAULT_SEGMENT_SIZE);
+    }
+
+    public OffHeapSegmentPool(long maxPooledSizeInBytes, int segmentSize) {
+        this.maxPooledSizeInBytes = maxPooledSizeInBytes;
+        this.segmentSize = segmentSize;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public long getMaxPooledSizeInBytes() {
+        return maxPooledSizeInBytes;
+    }
+
+    public synchronized ByteBuffer acquire() {
+        ByteBuffer buffer = segments.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(segmentSize);
+    }
+
+    /**
+     * Take the buffer back for the next store to use, or free it if the pool is full, closed or the buffer is not a segment.
+     */
+    public synchronized void release(ByteBuffer buffer) {
+        if (!closed && buffer.capacity() == segmentSize && (long) (segments.size() + 1) * segmentSize <= maxPooledSizeInBytes) {
+            buffer.clear();
+            segments.push(buffer);
+        } else {
+            free(buffer);
+        }
+    }
+
+    public synchronized int getPooledCount() {
+        return segments.size();
+    }
+
+    public synchronized void close() {
+        closed = true;
+        ByteBuffer buffer = null;
+        while ((buffer = segments.poll()) != null) {
+            free(buffer);
+        }
+    }
+
+    /**
+     * Free the memory of a direct buffer now instead of when it is collected. The buffer must not be used afterwards.
+     */
+    public static void free(ByteBuffer buffer) {
+        if (invokeCleaner != null && buffer.isDirect()) {
+            try {
+                invokeCleaner.invoke(unsafe, buffer);
+            } catch (Exception ex) {
+                log.debug("Could not free a direct buffer", ex);
+            }
+        }
+    }
+}
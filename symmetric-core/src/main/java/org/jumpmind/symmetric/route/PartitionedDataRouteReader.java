@@ -0,0 +1,226 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.route;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.SymmetricException;
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.model.Data;
+import org.jumpmind.symmetric.model.DataGap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * Reads and routes a channel in partitions of data_id ranges at the same time. Each partition has its own {@link DataGapRouteReader} and a thread that
+ * decides the routes for each row. The rows are handed out one partition after another, so batches are still assigned in data_id order by a single
+ * thread. If a partition stops early because it reached the max data to route for the channel, the partitions after it are discarded and routed on
+ * the next run. Each partition holds at most a peek ahead window of routed rows and gets an equal share of the peek ahead memory threshold, so
+ * the channel uses no more memory than a single reader would. The partitions are expected to start on a transaction boundary and to use only
+ * routers that do nothing when a batch is completed, because the batches are completed with the context of the channel.
+ */
+public abstract class PartitionedDataRouteReader implements IDataToRouteReader {
+    private static final Logger log = LoggerFactory.getLogger(PartitionedDataRouteReader.class);
+    protected static final Data END = new Data();
+    protected ChannelRouterContext context;
+    protected ISymmetricEngine engine;
+    protected ExecutorService executor;
+    protected List<Partition> partitions = new ArrayList<Partition>();
+    protected int currentPartition;
+    protected int takeTimeout;
+    protected int peekAheadCount;
+    protected volatile boolean reading = true;
+
+    public PartitionedDataRouteReader(ChannelRouterContext context, ISymmetricEngine engine, List<List<DataGap>> dataGapPartitions,
+            ExecutorService executor) {
+        this.context = context;
+        this.engine = engine;
+        this.executor = executor;
+        this.takeTimeout = engine.getParameterService().getInt(ParameterConstants.ROUTING_WAIT_FOR_DATA_TIMEOUT_SECONDS, 330);
+        this.peekAheadCount = Math.max(1, engine.getParameterService().getInt(ParameterConstants.ROUTING_PEEK_AHEAD_WINDOW));
+        for (List<DataGap> dataGaps : dataGapPartitions) {
+            partitions.add(new Partition(dataGaps));
+        }
+    }
+
+    /**
+     * Decide the routes for a row using the context of the partition it was read from.
+     */
+    protected abstract List<DataRoute> route(Data data, ChannelRouterContext partitionContext);
+
+    protected DataGapRouteReader newReader(ChannelRouterContext partitionContext) {
+        return new DataGapRouteReader(partitionContext, engine);
+    }
+
+    public void run() {
+        for (Partition partition : partitions) {
+            executor.execute(partition);
+        }
+    }
+
+    public Data take() throws InterruptedException {
+        while (currentPartition < partitions.size()) {
+            Partition partition = partitions.get(currentPartition);
+            Data data = partition.queue.poll(takeTimeout, TimeUnit.SECONDS);
+            if (data == null) {
+                if (!reading) {
+                    throw new SymmetricException("The read of the data to route queue has timed out");
+                }
+            } else if (data != END) {
+                return data;
+            } else {
+                finish(partition);
+                if (partition.dataCount >= context.getChannel().getMaxDataToRoute()) {
+                    if (currentPartition < partitions.size() - 1) {
+                        log.debug("Partition {} of channel '{}' reached max data to route, so the remaining partitions will be routed next time",
+                                currentPartition + 1, context.getChannel().getChannelId());
+                    }
+                    currentPartition = partitions.size();
+                } else {
+                    currentPartition++;
+                }
+            }
+        }
+        return null;
+    }
+
+    protected void finish(Partition partition) {
+        ChannelRouterContext partitionContext = partition.context;
+        if (partitionContext != null) {
+            context.transferStats(partitionContext);
+            context.incrementDataReadCount(partitionContext.getDataReadCount());
+            context.incrementPeekAheadFillCount(partitionContext.getPeekAheadFillCount());
+            if (context.getMaxPeekAheadQueueSize() < partitionContext.getMaxPeekAheadQueueSize()) {
+                context.setMaxPeekAheadQueueSize(partitionContext.getMaxPeekAheadQueueSize());
+            }
+            if (context.getStartDataId() == 0) {
+                context.setStartDataId(partitionContext.getStartDataId());
+            }
+            if (partitionContext.getEndDataId() > 0) {
+                context.setEndDataId(partitionContext.getEndDataId());
+            }
+        }
+        if (partition.error instanceof RuntimeException) {
+            throw (RuntimeException) partition.error;
+        } else if (partition.error instanceof Error) {
+            throw (Error) partition.error;
+        } else if (partition.error != null) {
+            throw new SymmetricException(partition.error);
+        }
+    }
+
+    public boolean isReading() {
+        return reading;
+    }
+
+    public void setReading(boolean reading) {
+        this.reading = reading;
+        if (!reading) {
+            for (Partition partition : partitions) {
+                DataGapRouteReader reader = partition.reader;
+                if (reader != null) {
+                    reader.setReading(false);
+                }
+            }
+        }
+    }
+
+    class Partition implements Runnable {
+        List<DataGap> dataGaps;
+        BlockingQueue<Data> queue = new LinkedBlockingQueue<Data>(peekAheadCount);
+        volatile ChannelRouterContext context;
+        volatile DataGapRouteReader reader;
+        volatile Throwable error;
+        volatile long dataCount;
+
+        Partition(List<DataGap> dataGaps) {
+            this.dataGaps = dataGaps;
+        }
+
+        public void run() {
+            MDC.put("engineName", engine.getParameterService().getEngineName());
+            ChannelRouterContext parentContext = PartitionedDataRouteReader.this.context;
+            try {
+                context = new ChannelRouterContext(parentContext.getSourceNodeId(), parentContext.getChannel(),
+                        engine.getSymmetricDialect().getPlatform().getSqlTemplate().startSqlTransaction(), null);
+                context.setDataGaps(dataGaps);
+                context.setOverrideContainsBigLob(parentContext.isOverrideContainsBigLob());
+                reader = newReader(context);
+                reader.setPercentOfHeapToUse(reader.getPercentOfHeapToUse() / partitions.size());
+                if (!reading) {
+                    reader.setReading(false);
+                }
+                executor.execute(reader);
+                Data data = reader.take();
+                while (data != null && reading) {
+                    if (!data.isPreRouted()) {
+                        data.putAttribute(DataRoute.ATTRIBUTE_DATA_ROUTES, route(data, context));
+                    }
+                    put(data);
+                    dataCount++;
+                    data = reader.take();
+                }
+            } catch (Throwable ex) {
+                error = ex;
+            } finally {
+                if (reader != null) {
+                    reader.setReading(false);
+                }
+                if (context != null) {
+                    try {
+                        context.cleanup();
+                    } catch (Exception ex) {
+                        log.warn("Failed to close the routing transaction for a partition", ex);
+                    }
+                }
+                try {
+                    put(END);
+                } catch (InterruptedException ex) {
+                    queue.clear();
+                    queue.add(END);
+                }
+            }
+        }
+
+        /**
+         * Wait for room in the queue while the rows are still being taken. Once reading has stopped, rows are dropped and only the end marker is
+         * kept.
+         */
+        protected void put(Data data) throws InterruptedException {
+            while (!queue.offer(data, 1, TimeUnit.SECONDS)) {
+                if (!reading) {
+                    if (data == END) {
+                        queue.clear();
+                        queue.add(END);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
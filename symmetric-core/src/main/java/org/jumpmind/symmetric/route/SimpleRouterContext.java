@@ -133,11 +133,7 @@ public class SimpleRouterContext extends Context {
     synchronized public void transferStats(SimpleRouterContext ctx) {
         Set<String> keys = new HashSet<String>(ctx.stats.keySet());
         for (String key : keys) {
-            Long value = stats.get(key);
-            if (value == null) {
-                value = 0l;
-            }
-            incrementStat(value, key);
+            incrementStat(ctx.getStat(key), key);
         }
     }
 
@@ -20,16 +20,23 @@
  */
 package org.jumpmind.symmetric.route;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jumpmind.db.sql.ISqlTemplate;
 import org.jumpmind.db.sql.InvalidSqlException;
 import org.jumpmind.db.sql.mapper.StringMapper;
 import org.jumpmind.extension.IBuiltInExtensionPoint;
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.common.TableConstants;
 import org.jumpmind.symmetric.db.ISymmetricDialect;
 import org.jumpmind.symmetric.model.DataMetaData;
 import org.jumpmind.symmetric.model.Node;
@@ -55,9 +62,17 @@ import org.jumpmind.util.FormatUtils;
  * <code>
  * c.external_id in (select home_store from employee where employee_id in (:EMPLOYEE_ID, :OLD_EMPLOYEE_ID))
  * </code>
+ * <P/>
+ * When {@link ParameterConstants#ROUTING_SUBSELECT_CACHE_ENABLED} is on, the selected nodes are cached for the duration of a routing pass, keyed by the
+ * values of the variables referenced in the router_expression. Rows that share those values are then routed without a call back to the database.
  */
 public class SubSelectDataRouter extends AbstractDataRouter implements IBuiltInExtensionPoint {
     private static final String SQL = "select c.node_id from $(prefixName)_node c where c.node_group_id=:NODE_GROUP_ID and c.sync_enabled=1 and ";
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile(":(\\w+)");
+    final static String CACHE_KEY = String.format("%s.Cache", SubSelectDataRouter.class.getName());
+    final static String VARIABLES_KEY = String.format("%s.Variables.", SubSelectDataRouter.class.getName());
+    public static final String STAT_CACHE_HIT_COUNT = "subselect.cache.hit.count";
+    public static final String STAT_CACHE_MISS_COUNT = "subselect.cache.miss.count";
     private ISymmetricDialect symmetricDialect;
 
     public SubSelectDataRouter(ISymmetricDialect symmetricDialect) {
@@ -79,6 +94,19 @@ public class SubSelectDataRouter extends AbstractDataRouter implements IBuiltInE
                 sqlParams.put("DATA_EVENT_TYPE", dataMetaData.getData().getDataEventType().name());
                 sqlParams.put("TABLE_NAME", dataMetaData.getData().getTableName());
                 sqlParams.put("SOURCE_NODE_ID", dataMetaData.getData().getSourceNodeId());
+                ResultCache cache = null;
+                List<Object> cacheKey = null;
+                if (symmetricDialect.getParameterService().is(ParameterConstants.ROUTING_SUBSELECT_CACHE_ENABLED)) {
+                    cache = getResultCache(routingContext);
+                    cache.addExpression(subSelect);
+                    cacheKey = getCacheKey(dataMetaData, subSelect, sqlParams, routingContext);
+                    Set<String> cachedNodeIds = cache.get(cacheKey);
+                    if (cachedNodeIds != null) {
+                        routingContext.incrementStat(1, STAT_CACHE_HIT_COUNT);
+                        return new HashSet<String>(cachedNodeIds);
+                    }
+                    routingContext.incrementStat(1, STAT_CACHE_MISS_COUNT);
+                }
                 ISqlTemplate template = symmetricDialect.getPlatform().getSqlTemplate();
                 long queryStartTime = System.currentTimeMillis();
                 List<String> ids = template.query(String.format("%s(%s)", sql, subSelect),
@@ -92,6 +120,9 @@ public class SubSelectDataRouter extends AbstractDataRouter implements IBuiltInE
                 }
                 if (ids != null) {
                     nodeIds = new HashSet<String>(ids);
+                    if (cache != null) {
+                        cache.put(cacheKey, new HashSet<String>(nodeIds));
+                    }
                 }
             } catch (InvalidSqlException ex) {
                 log.error("The subselect expression was invalid for the {} subselect router for the '{}' event for table '{}'",
@@ -107,4 +138,96 @@ public class SubSelectDataRouter extends AbstractDataRouter implements IBuiltInE
         }
         return nodeIds;
     }
+
+    /**
+     * The cache is kept in the context so it is discarded at the end of each routing pass of a channel.
+     */
+    protected ResultCache getResultCache(SimpleRouterContext routingContext) {
+        ResultCache cache = (ResultCache) routingContext.getContextCache().get(CACHE_KEY);
+        if (cache == null) {
+            cache = new ResultCache(TableConstants.getTableName(symmetricDialect.getTablePrefix(), TableConstants.SYM_NODE),
+                    symmetricDialect.getParameterService().getInt(ParameterConstants.ROUTING_SUBSELECT_CACHE_MAX_SIZE, 10000));
+            routingContext.getContextCache().put(CACHE_KEY, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Called for every row routed in the context. A change to the node table or to a table that a cached subselect reads from may change which nodes
+     * are selected, so everything that was cached is forgotten.
+     */
+    public static void invalidateResultCache(SimpleRouterContext routingContext, String tableName) {
+        ResultCache cache = (ResultCache) routingContext.getContextCache().get(CACHE_KEY);
+        if (cache != null && tableName != null && cache.isAffectedBy(tableName)) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * The key is the router plus the values of only those variables the router expression references, so rows that differ in other columns share an
+     * entry.
+     */
+    protected List<Object> getCacheKey(DataMetaData dataMetaData, String subSelect, Map<String, Object> sqlParams,
+            SimpleRouterContext routingContext) {
+        String routerId = dataMetaData.getRouter().getRouterId();
+        Set<String> variables = getReferencedVariables(routerId, subSelect, routingContext);
+        List<Object> key = new ArrayList<Object>(variables.size() + 2);
+        key.add(routerId);
+        key.add(sqlParams.get("NODE_GROUP_ID"));
+        for (String variable : variables) {
+            key.add(sqlParams.get(variable));
+        }
+        return key;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Set<String> getReferencedVariables(String routerId, String subSelect, SimpleRouterContext routingContext) {
+        final String KEY = VARIABLES_KEY + routerId;
+        Set<String> variables = (Set<String>) routingContext.getContextCache().get(KEY);
+        if (variables == null) {
+            variables = new LinkedHashSet<String>();
+            Matcher matcher = VARIABLE_PATTERN.matcher(subSelect);
+            while (matcher.find()) {
+                variables.add(matcher.group(1).toUpperCase());
+            }
+            routingContext.getContextCache().put(KEY, variables);
+        }
+        return variables;
+    }
+
+    static class ResultCache extends LinkedHashMap<List<Object>, Set<String>> {
+        private static final long serialVersionUID = 1L;
+        private final String nodeTableName;
+        private final int maxSize;
+        private final Set<String> expressions = new HashSet<String>();
+
+        public ResultCache(String nodeTableName, int maxSize) {
+            super(16, 0.75f, true);
+            this.nodeTableName = nodeTableName;
+            this.maxSize = maxSize;
+        }
+
+        public void addExpression(String expression) {
+            expressions.add(expression);
+        }
+
+        public boolean isAffectedBy(String tableName) {
+            if (size() > 0) {
+                if (tableName.equalsIgnoreCase(nodeTableName)) {
+                    return true;
+                }
+                for (String expression : expressions) {
+                    if (StringUtils.containsIgnoreCase(expression, tableName)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, Set<String>> eldest) {
+            return size() > maxSize;
+        }
+    }
 }
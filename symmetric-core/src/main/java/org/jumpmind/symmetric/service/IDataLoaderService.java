@@ -50,6 +50,8 @@ public interface IDataLoaderService {
 
     public void loadDataFromPush(Node sourceNode, String channelId, InputStream in, OutputStream out) throws IOException;
 
+    public void loadDataFromPush(Node sourceNode, String channelId, InputStream in, OutputStream out, boolean streamAcks) throws IOException;
+
     public List<IncomingBatch> loadDataFromTransport(ProcessInfo processInfo, Node sourceNode, IIncomingTransport transport) throws IOException;
 
     public List<IncomingBatch> loadDataFromOfflineTransport(Node remote, RemoteNodeStatus status, IIncomingTransport transport) throws IOException;
@@ -22,6 +22,7 @@ package org.jumpmind.symmetric.service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.jumpmind.symmetric.model.NodeCommunication;
 import org.jumpmind.symmetric.model.NodeCommunication.CommunicationType;
@@ -39,6 +40,10 @@ public interface INodeCommunicationService {
 
     public int getAvailableThreads(CommunicationType communicationType);
 
+    public int getActiveThreads(CommunicationType communicationType);
+
+    public int getMaxThreads(CommunicationType communicationType);
+
     public void stop();
 
     public void updateBatchToSendCounts(String nodeId, Map<String, Integer> batchesCountToQueues);
@@ -47,6 +52,12 @@ public interface INodeCommunicationService {
 
     public void persistToTableForSnapshot();
 
+    /**
+     * Wrap database bound work of a node communication job, like extracting or loading a batch, so it waits for a database permit when
+     * the job runs on virtual threads. Otherwise the work is returned unchanged.
+     */
+    public <T> Callable<T> limitDatabaseWork(Callable<T> work);
+
     public interface INodeCommunicationExecutor {
         public void execute(NodeCommunication nodeCommunication, RemoteNodeStatus status);
     }
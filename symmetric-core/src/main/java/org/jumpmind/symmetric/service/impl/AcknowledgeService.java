@@ -38,9 +38,13 @@ import org.jumpmind.symmetric.model.BatchAckResult;
 import org.jumpmind.symmetric.model.Channel;
 import org.jumpmind.symmetric.model.OutgoingBatch;
 import org.jumpmind.symmetric.model.OutgoingBatches;
+import org.jumpmind.symmetric.route.AdaptiveBatchAlgorithm;
+import org.jumpmind.symmetric.route.IBatchAlgorithm;
 import org.jumpmind.symmetric.service.IAcknowledgeService;
 import org.jumpmind.symmetric.service.IOutgoingBatchService;
 import org.jumpmind.symmetric.service.IRegistrationService;
+import org.jumpmind.symmetric.statistic.IStatisticManager;
+import org.jumpmind.symmetric.statistic.LatencyHistogram.Stage;
 import org.jumpmind.symmetric.statistic.RouterStats;
 import org.jumpmind.symmetric.transport.IAcknowledgeEventListener;
 
@@ -205,6 +209,7 @@ public class AcknowledgeService extends AbstractService implements IAcknowledgeS
                         if (isFirstTimeAsOkStatus) {
                             engine.getStatisticManager().incrementDataLoadedOutgoing(outgoingBatch.getChannelId(), outgoingBatch.getLoadRowCount());
                             engine.getStatisticManager().incrementDataBytesLoadedOutgoing(outgoingBatch.getChannelId(), outgoingBatch.getByteCount());
+                            addLatencies(outgoingBatch);
                         }
                         if (parameterService.is(ParameterConstants.STREAM_TO_FILE_ENABLED)) {
                             purgeBatchesFromStaging(outgoingBatch);
@@ -215,6 +220,14 @@ public class AcknowledgeService extends AbstractService implements IAcknowledgeS
                             engine.getFileSyncService().acknowledgeFiles(outgoingBatch);
                         }
                         engine.getStatisticManager().removeRouterStatsByBatch(batch.getBatchId());
+                        if (isFirstTimeAsOkStatus && !outgoingBatch.isLoadFlag()) {
+                            IBatchAlgorithm batchAlgorithm = engine.getExtensionService().getExtensionPointMap(IBatchAlgorithm.class)
+                                    .get(AdaptiveBatchAlgorithm.NAME);
+                            if (batchAlgorithm instanceof AdaptiveBatchAlgorithm) {
+                                ((AdaptiveBatchAlgorithm) batchAlgorithm).batchLoaded(outgoingBatch.getNodeId(), outgoingBatch.getChannelId(),
+                                        outgoingBatch.getDataRowCount(), outgoingBatch.getNetworkMillis() + outgoingBatch.getLoadMillis());
+                            }
+                        }
                     }
                 } catch (Error ex) {
                     if (transaction != null) {
@@ -238,6 +251,19 @@ public class AcknowledgeService extends AbstractService implements IAcknowledgeS
         return result;
     }
 
+    protected void addLatencies(OutgoingBatch outgoingBatch) {
+        IStatisticManager statisticManager = engine.getStatisticManager();
+        String nodeId = outgoingBatch.getNodeId();
+        String channelId = outgoingBatch.getChannelId();
+        statisticManager.addLatency(Stage.ROUTE, nodeId, channelId, outgoingBatch.getRouterMillis());
+        statisticManager.addLatency(Stage.EXTRACT, nodeId, channelId, outgoingBatch.getExtractMillis());
+        statisticManager.addLatency(Stage.TRANSFER, nodeId, channelId, outgoingBatch.getNetworkMillis());
+        statisticManager.addLatency(Stage.LOAD, nodeId, channelId, outgoingBatch.getLoadMillis());
+        if (outgoingBatch.getTransferStartTime() != null) {
+            statisticManager.addLatency(Stage.ACK, nodeId, channelId, System.currentTimeMillis() - outgoingBatch.getTransferStartTime().getTime());
+        }
+    }
+
     protected void purgeBatchesFromStaging(OutgoingBatch outgoingBatch) {
         long threshold = parameterService.getLong(ParameterConstants.INITIAL_LOAD_PURGE_STAGE_IMMEDIATE_THRESHOLD_ROWS);
         if (threshold >= 0 && outgoingBatch.isLoadFlag() && !outgoingBatch.isCommonFlag()) {
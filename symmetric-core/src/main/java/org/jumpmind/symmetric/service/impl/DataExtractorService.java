@@ -25,11 +25,19 @@ import static org.jumpmind.symmetric.common.Constants.LOG_PROCESS_SUMMARY_THRESH
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
@@ -111,9 +119,11 @@ import org.jumpmind.symmetric.io.data.writer.TransformWriter;
 import org.jumpmind.symmetric.io.stage.IStagedResource;
 import org.jumpmind.symmetric.io.stage.IStagedResource.State;
 import org.jumpmind.symmetric.io.stage.IStagingManager;
+import org.jumpmind.symmetric.io.stage.StagingCodecs;
 import org.jumpmind.symmetric.io.stage.StagingFileLock;
 import org.jumpmind.symmetric.io.stage.StagingLowFreeSpace;
 import org.jumpmind.symmetric.model.AbstractBatch.Status;
+import org.jumpmind.symmetric.model.BatchAck;
 import org.jumpmind.symmetric.model.Channel;
 import org.jumpmind.symmetric.model.ChannelMap;
 import org.jumpmind.symmetric.model.Data;
@@ -159,6 +169,8 @@ import org.jumpmind.symmetric.service.impl.TransformService.TransformTableNodeGr
 import org.jumpmind.symmetric.statistic.IStatisticManager;
 import org.jumpmind.symmetric.transport.BatchBufferedWriter;
 import org.jumpmind.symmetric.transport.IOutgoingTransport;
+import org.jumpmind.symmetric.transport.IOutgoingWithResponseTransport;
+import org.jumpmind.symmetric.transport.StreamBufferedWriter;
 import org.jumpmind.util.AppUtils;
 import org.jumpmind.util.CustomizableThreadFactory;
 import org.jumpmind.util.ExceptionUtils;
@@ -417,7 +429,8 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
                 IDataWriter dataWriter = new ProtocolDataWriter(nodeService.findIdentityNodeId(),
                         writer, targetNode.requires13Compatiblity(), targetNode.allowCaptureTimeInProtocol(),
                         parameterService.is(ParameterConstants.EXTRACT_ROW_CAPTURE_TIME, true));
-                return extract(extractInfo, targetNode, activeBatches, dataWriter, writer, ExtractMode.FOR_SYM_CLIENT);
+                return extract(extractInfo, targetNode, activeBatches, dataWriter, writer, ExtractMode.FOR_SYM_CLIENT,
+                        transport instanceof IOutgoingWithResponseTransport ? (IOutgoingWithResponseTransport) transport : null);
             }
         }
         return Collections.emptyList();
@@ -510,12 +523,23 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
 
     protected List<OutgoingBatch> extract(final ProcessInfo extractInfo, final Node targetNode,
             final List<OutgoingBatch> activeBatches, final IDataWriter dataWriter, final BufferedWriter writer, final ExtractMode mode) {
+        return extract(extractInfo, targetNode, activeBatches, dataWriter, writer, mode, null);
+    }
+
+    /**
+     * Extracts and sends the batches. When the transport reads acks streamed back by the remote node, the acks are checked before each batch
+     * is sent, and the remaining batches are not sent once a batch failed to load, because the remote node would not load them.
+     */
+    protected List<OutgoingBatch> extract(final ProcessInfo extractInfo, final Node targetNode,
+            final List<OutgoingBatch> activeBatches, final IDataWriter dataWriter, final BufferedWriter writer, final ExtractMode mode,
+            final IOutgoingWithResponseTransport responseTransport) {
         if (activeBatches.size() > 0) {
             final List<OutgoingBatch> processedBatches = new ArrayList<OutgoingBatch>(activeBatches.size());
             Set<String> channelsProcessed = new HashSet<String>();
             long batchesSelectedAtMs = System.currentTimeMillis();
             OutgoingBatch currentBatch = null;
             ExecutorService executor = null;
+            List<Future<FutureOutgoingBatch>> futures = new ArrayList<Future<FutureOutgoingBatch>>();
             try {
                 final boolean streamToFileEnabled = parameterService.is(ParameterConstants.STREAM_TO_FILE_ENABLED);
                 long keepAliveMillis = parameterService.getLong(ParameterConstants.DATA_LOADER_SEND_ACK_KEEPALIVE);
@@ -524,21 +548,26 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
                 if (this.threadPoolFactory == null) {
                     this.threadPoolFactory = new CustomizableThreadFactory(String.format("%s-dataextractor", parameterService.getEngineName().toLowerCase()));
                 }
-                executor = streamToFileEnabled ? Executors.newFixedThreadPool(1, this.threadPoolFactory) : null;
-                List<Future<FutureOutgoingBatch>> futures = new ArrayList<Future<FutureOutgoingBatch>>();
+                int extractAheadThreadCount = Math.max(1, parameterService.getInt(ParameterConstants.EXTRACT_AHEAD_THREAD_COUNT, 2));
+                executor = streamToFileEnabled ? Executors.newFixedThreadPool(extractAheadThreadCount, this.threadPoolFactory) : null;
+                List<ProcessInfo> batchExtractInfos = new ArrayList<ProcessInfo>();
                 extractInfo.setTotalBatchCount(activeBatches.size());
                 for (int i = 0; i < activeBatches.size(); i++) {
                     currentBatch = activeBatches.get(i);
                     channelsProcessed.add(currentBatch.getChannelId());
                     final OutgoingBatch extractBatch = currentBatch;
+                    final ProcessInfo batchExtractInfo = executor != null && extractAheadThreadCount > 1 ? new ProcessInfo(extractInfo.getKey())
+                            : extractInfo;
                     Callable<FutureOutgoingBatch> callable = () -> {
                         MDC.put("engineName", engine.getParameterService().getEngineName());
                         OutgoingBatch refreshedBatch = requeryIfEnoughTimeHasPassed(batchesSelectedAtMs, extractBatch);
-                        return extractBatch(refreshedBatch, status, extractInfo, targetNode, dataWriter, mode, activeBatches);
+                        return extractBatch(refreshedBatch, status, batchExtractInfo, targetNode, dataWriter, mode, activeBatches);
                     };
+                    callable = engine.getNodeCommunicationService().limitDatabaseWork(callable);
                     if (status.shouldExtractSkip) {
                         break;
                     }
+                    batchExtractInfos.add(batchExtractInfo);
                     if (executor != null) {
                         futures.add(executor.submit(callable));
                     } else {
@@ -569,8 +598,9 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
                 final long initialLoadMaxBytesToSync = parameterService.getLong(ParameterConstants.INITIAL_LOAD_TRANSPORT_MAX_BYTES_TO_SYNC);
                 long totalBytesSend = 0;
                 boolean logMaxBytesReached = false;
+                boolean stopSending = false;
                 Iterator<OutgoingBatch> activeBatchIter = activeBatches.iterator();
-                for (int i = 0; i < futures.size(); i++) {
+                for (int i = 0; i < futures.size() && !stopSending; i++) {
                     Future<FutureOutgoingBatch> future = futures.get(i);
                     currentBatch = activeBatchIter.next();
                     boolean isProcessed = false;
@@ -578,6 +608,9 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
                     while (!isProcessed) {
                         try {
                             FutureOutgoingBatch extractBatch = future.get(keepAliveMillis, TimeUnit.MILLISECONDS);
+                            if (batchExtractInfos.get(i) != extractInfo) {
+                                mergeExtractInfo(extractInfo, batchExtractInfos.get(i));
+                            }
                             transferInfo = statisticManager.newProcessInfo(new ProcessInfoKey(nodeService.findIdentityNodeId(),
                                     extractInfo.getQueue(), targetNode.getNodeId(), extractInfo.getProcessType() == ProcessType.PUSH_JOB_EXTRACT
                                             ? ProcessType.PUSH_JOB_TRANSFER
@@ -591,6 +624,15 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
                             }
                             if (extractBatch.isExtractSkipped) {
                                 transferInfo.setStatus(ProcessStatus.OK);
+                                status.shouldExtractSkip = stopSending = true;
+                                break;
+                            }
+                            BatchAck failedAck = readFailedStreamedAck(responseTransport);
+                            if (failedAck != null) {
+                                log.info("Stopped sending batches to node '{}' after {} of {} batches because batch {} failed to load",
+                                        new Object[] { targetNode.getNodeId(), i, futures.size(), failedAck.getBatchId() });
+                                transferInfo.setStatus(ProcessStatus.OK);
+                                status.shouldExtractSkip = stopSending = true;
                                 break;
                             }
                             if (streamToFileEnabled || mode == ExtractMode.FOR_PAYLOAD_CLIENT || (currentBatch.isExtractJobFlag() && parameterService.is(
@@ -604,6 +646,7 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
                                                 new Object[] { i, futures.size(), targetNode.getNodeId(), totalBytesSend, initialLoadMaxBytesToSync });
                                     }
                                     transferInfo.setStatus(ProcessStatus.OK);
+                                    status.shouldExtractSkip = stopSending = true;
                                     break;
                                 }
                                 transferInfo.setStatus(ProcessInfo.ProcessStatus.TRANSFERRING);
@@ -651,6 +694,18 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
                         }
                     }
                 }
+                if (stopSending && executor != null) {
+                    /* Let batches already being extracted finish before the next sync extracts them again */
+                    cancelUnsentBatches(futures);
+                    executor.shutdown();
+                    try {
+                        while (!executor.awaitTermination(keepAliveMillis, TimeUnit.MILLISECONDS)) {
+                            writeKeepAliveAck(writer, sourceNode, streamToFileEnabled);
+                        }
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
             } catch (RuntimeException e) {
                 if (currentBatch != null) {
                     boolean isNewErrorStaging = false;
@@ -704,6 +759,7 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
                 }
             } finally {
                 if (executor != null) {
+                    cancelUnsentBatches(futures);
                     executor.shutdown();
                 }
             }
@@ -724,6 +780,31 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
         }
     }
 
+    protected BatchAck readFailedStreamedAck(IOutgoingWithResponseTransport responseTransport) {
+        if (responseTransport != null) {
+            try {
+                for (BatchAck ack : responseTransport.readStreamedAcks()) {
+                    if (!ack.isOk()) {
+                        return ack;
+                    }
+                }
+            } catch (IOException e) {
+                log.debug("Could not read streamed acks", e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Once a batch is skipped or fails, the batches after it must not be sent ahead of it, so the batches still waiting to be extracted are
+     * cancelled. A batch already being extracted finishes into staging and is sent on a subsequent sync.
+     */
+    protected void cancelUnsentBatches(List<Future<FutureOutgoingBatch>> futures) {
+        for (Future<FutureOutgoingBatch> future : futures) {
+            future.cancel(false);
+        }
+    }
+
     protected FutureOutgoingBatch extractBatch(OutgoingBatch extractBatch, FutureExtractStatus status, ProcessInfo extractInfo,
             Node targetNode, IDataWriter dataWriter, ExtractMode mode, List<OutgoingBatch> activeBatches) throws Exception {
         extractInfo.setThread(Thread.currentThread());
@@ -761,15 +842,18 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
                     outgoingBatch = new FutureOutgoingBatch(
                             extractOutgoingBatch(extractInfo, targetNode, dataWriter, extractBatch, streamToFileEnabled, true, mode, null),
                             isRetry);
-                    status.batchExtractCount++;
-                    status.byteExtractCount += extractBatch.getByteCount();
-                    if (status.byteExtractCount >= maxBytesToSync && status.batchExtractCount < activeBatches.size()) {
-                        log.info(
-                                "Reached the total byte threshold after {} of {} batches were extracted for node '{}' (extracted {} bytes, the max is {}).  "
-                                        + "The remaining batches will be extracted on a subsequent sync.",
-                                new Object[] { status.batchExtractCount, activeBatches.size(), targetNode.getNodeId(), status.byteExtractCount,
-                                        maxBytesToSync });
-                        status.shouldExtractSkip = true;
+                    synchronized (status) {
+                        status.batchExtractCount++;
+                        status.byteExtractCount += extractBatch.getByteCount();
+                        if (status.byteExtractCount >= maxBytesToSync && status.batchExtractCount < activeBatches.size()
+                                && !status.shouldExtractSkip) {
+                            log.info(
+                                    "Reached the total byte threshold after {} of {} batches were extracted for node '{}' (extracted {} bytes, the max is {}).  "
+                                            + "The remaining batches will be extracted on a subsequent sync.",
+                                    new Object[] { status.batchExtractCount, activeBatches.size(), targetNode.getNodeId(), status.byteExtractCount,
+                                            maxBytesToSync });
+                            status.shouldExtractSkip = true;
+                        }
                     }
                 } catch (Exception e) {
                     status.shouldExtractSkip = outgoingBatch.isExtractSkipped = true;
@@ -782,6 +866,21 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
         return outgoingBatch;
     }
 
+    /**
+     * When batches are extracted ahead by several threads, each batch is extracted with its own process info so the threads do not overwrite
+     * each other's progress. The progress of a finished batch is copied to the process info of the extract in the order the batches are sent.
+     */
+    protected void mergeExtractInfo(ProcessInfo extractInfo, ProcessInfo batchExtractInfo) {
+        if (batchExtractInfo.getStatus() != ProcessStatus.NEW) {
+            extractInfo.setCurrentBatchId(batchExtractInfo.getCurrentBatchId());
+            extractInfo.setCurrentChannelId(batchExtractInfo.getCurrentChannelId());
+            extractInfo.setCurrentTableName(batchExtractInfo.getCurrentTableName());
+            extractInfo.setCurrentLoadId(batchExtractInfo.getCurrentLoadId());
+            extractInfo.setTotalDataCount(batchExtractInfo.getTotalDataCount());
+            extractInfo.setCurrentDataCount(batchExtractInfo.getCurrentDataCount());
+        }
+    }
+
     protected void writeKeepAliveAck(BufferedWriter writer, Node sourceNode, boolean streamToFileEnabled) {
         try {
             if (writer != null && streamToFileEnabled) {
@@ -1275,11 +1374,12 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
     protected void transferFromStaging(ExtractMode mode, BatchType batchType, OutgoingBatch batch, boolean isRetry, IStagedResource stagedResource,
             BufferedWriter writer, DataContext context, BigDecimal maxKBytesPerSec, ProcessInfo processInfo) {
         final int MAX_WRITE_LENGTH = 32768;
-        BufferedReader reader = stagedResource.getReader();
+        BufferedReader reader = null;
         try {
             // Retry means we've sent this batch before, so let's ask to
             // retry the batch from the target's staging
             if (isRetry) {
+                reader = stagedResource.getReader();
                 String line = null;
                 while ((line = reader.readLine()) != null) {
                     if (line.startsWith(CsvConstants.BATCH)) {
@@ -1301,7 +1401,9 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
                 }
                 writer.flush();
                 processInfo.setCurrentDataCount(batch.getDataRowCount());
-            } else {
+            } else if (!isZeroCopyTransfer(stagedResource, writer, maxKBytesPerSec)
+                    || !transferBytesFromStaging(mode, batch, stagedResource, (StreamBufferedWriter) writer, processInfo)) {
+                reader = stagedResource.getReader();
                 long totalBytes = stagedResource.getSize();
                 long totalCharsRead = 0, totalBytesRead = 0;
                 int numCharsRead = 0, numBytesRead = 0;
@@ -1378,6 +1480,74 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
         }
     }
 
+    protected boolean isZeroCopyTransfer(IStagedResource stagedResource, BufferedWriter writer, BigDecimal maxKBytesPerSec) {
+        return writer instanceof StreamBufferedWriter && StandardCharsets.UTF_8.equals(((StreamBufferedWriter) writer).getCharset())
+                && stagedResource.isFileResource() && (maxKBytesPerSec == null || maxKBytesPerSec.compareTo(BigDecimal.ZERO) <= 0)
+                && parameterService.is(ParameterConstants.STAGING_ZERO_COPY_TRANSFER_ENABLED, true)
+                && StagingCodecs.getCodecName(stagedResource.getFile()) == null;
+    }
+
+    /**
+     * Copy a staged batch to the transport as bytes, without decoding and encoding it. The batch stats are written after the batch line, so
+     * only the header is read into memory. Returns false without writing anything if the batch line is not found in the header.
+     */
+    protected boolean transferBytesFromStaging(ExtractMode mode, OutgoingBatch batch, IStagedResource stagedResource, StreamBufferedWriter writer,
+            ProcessInfo processInfo) throws IOException {
+        final int MAX_HEADER_LENGTH = 65536;
+        final long MAX_TRANSFER_LENGTH = 8388608;
+        try (FileChannel channel = FileChannel.open(stagedResource.getFile().toPath(), StandardOpenOption.READ)) {
+            long totalBytes = channel.size();
+            long position = 0;
+            byte[] stats = null;
+            if (nodeService.findNode(batch.getNodeId(), true).isVersionGreaterThanOrEqualTo(3, 9, 0)) {
+                ByteBuffer header = ByteBuffer.allocate((int) Math.min(MAX_HEADER_LENGTH, totalBytes));
+                int numBytesRead = 0;
+                while (header.hasRemaining() && numBytesRead >= 0) {
+                    numBytesRead = channel.read(header);
+                }
+                int index = findStatsIndex(new String(header.array(), 0, header.position(), StandardCharsets.ISO_8859_1), "");
+                if (index < 0) {
+                    return false;
+                }
+                position = index;
+                stats = (getBatchStatsColumns() + System.lineSeparator() + getBatchStats(batch) + System.lineSeparator())
+                        .getBytes(StandardCharsets.UTF_8);
+            }
+            writer.flush();
+            OutputStream out = writer.getOutputStream();
+            WritableByteChannel target = out instanceof FileOutputStream ? ((FileOutputStream) out).getChannel() : Channels.newChannel(out);
+            if (stats != null) {
+                channel.transferTo(0, position, target);
+                out.write(stats);
+            }
+            long startTime = System.currentTimeMillis(), ts = startTime;
+            long batchStatusUpdateMillis = parameterService.getLong(ParameterConstants.OUTGOING_BATCH_UPDATE_STATUS_MILLIS);
+            while (position < totalBytes) {
+                position += channel.transferTo(position, Math.min(MAX_TRANSFER_LENGTH, totalBytes - position), target);
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IoException("This thread was interrupted");
+                }
+                if (System.currentTimeMillis() - ts > batchStatusUpdateMillis && batch.getStatus() != Status.SE && batch.getStatus() != Status.RS) {
+                    changeBatchStatus(Status.SE, batch, mode);
+                }
+                if (System.currentTimeMillis() - ts > LOG_PROCESS_SUMMARY_THRESHOLD) {
+                    log.info(
+                            "Batch '{}', for node '{}', for process 'send from stage' has been processing for {} seconds.  "
+                                    + "The following stats have been gathered: {}",
+                            new Object[] { batch.getBatchId(), batch.getNodeId(), (System.currentTimeMillis() - startTime) / 1000,
+                                    "BYTES=" + position });
+                    ts = System.currentTimeMillis();
+                }
+                processInfo.setCurrentDataCount((long) ((position / (double) totalBytes) * batch.getDataRowCount()));
+            }
+            if (batch.getSentCount() == 1) {
+                statisticManager.incrementDataSent(batch.getChannelId(), batch.getDataRowCount());
+                statisticManager.incrementDataBytesSent(batch.getChannelId(), totalBytes + (stats != null ? stats.length : 0));
+            }
+        }
+        return true;
+    }
+
     protected int findStatsIndex(String bufferString, String prevBuffer) {
         int index = -1;
         String fullBuffer = prevBuffer + bufferString;
@@ -1587,6 +1757,7 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
                 .toArray(new TransformTable[transformsList.size()]) : null;
         TransformWriter transformExtractWriter = new TransformWriter(symmetricDialect.getTargetPlatform(), TransformPoint.EXTRACT, extractWriter,
                 transformService.getColumnTransforms(), transforms);
+        transformExtractWriter.setPrefetchSize(parameterService.getInt(ParameterConstants.TRANSFORM_PREFETCH_SIZE, 0));
         return transformExtractWriter;
     }
 
@@ -2068,7 +2239,7 @@ public class DataExtractorService extends AbstractService implements IDataExtrac
     }
 
     static class FutureExtractStatus {
-        boolean shouldExtractSkip;
+        volatile boolean shouldExtractSkip;
         int batchExtractCount;
         int byteExtractCount;
     }
@@ -34,6 +34,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.StringReader;
+import java.io.Writer;
 import java.net.ConnectException;
 import java.net.MalformedURLException;
 import java.net.UnknownHostException;
@@ -89,9 +90,11 @@ import org.jumpmind.symmetric.io.data.writer.Conflict.DetectConflict;
 import org.jumpmind.symmetric.io.data.writer.Conflict.PingBack;
 import org.jumpmind.symmetric.io.data.writer.Conflict.ResolveConflict;
 import org.jumpmind.symmetric.io.data.writer.ConflictException;
+import org.jumpmind.symmetric.io.data.writer.DefaultDatabaseWriter;
 import org.jumpmind.symmetric.io.data.writer.IDatabaseWriterErrorHandler;
 import org.jumpmind.symmetric.io.data.writer.IDatabaseWriterFilter;
 import org.jumpmind.symmetric.io.data.writer.IProtocolDataWriterListener;
+import org.jumpmind.symmetric.io.data.writer.ParallelDataWriter;
 import org.jumpmind.symmetric.io.data.writer.ResolvedData;
 import org.jumpmind.symmetric.io.data.writer.TransformWriter;
 import org.jumpmind.symmetric.io.stage.IStagedResource;
@@ -385,13 +388,22 @@ public class DataLoaderService extends AbstractService implements IDataLoaderSer
      */
     public void loadDataFromPush(Node sourceNode, String queue, InputStream in, OutputStream out)
             throws IOException {
+        loadDataFromPush(sourceNode, queue, in, out, false);
+    }
+
+    /**
+     * Load database from input stream and write acknowledgment to output stream. When streamAcks is true, the acknowledgement of each batch is
+     * also written as soon as the batch is loaded, so the pushing node learns about a failed batch while it is still sending.
+     */
+    public void loadDataFromPush(Node sourceNode, String queue, InputStream in, OutputStream out, boolean streamAcks)
+            throws IOException {
         Node local = nodeService.findIdentity();
         if (sourceNode != null && sourceNode.getNodeId() != null) {
             ProcessInfo transferInfo = statisticManager.newProcessInfo(new ProcessInfoKey(sourceNode
                     .getNodeId(), queue, local != null ? local.getNodeId() : null, PUSH_HANDLER_TRANSFER));
             try {
                 List<IncomingBatch> batchList = loadDataFromTransport(transferInfo, sourceNode,
-                        new InternalIncomingTransport(in), out);
+                        new InternalIncomingTransport(in), out, streamAcks && local != null);
                 logDataReceivedFromPush(sourceNode, batchList, transferInfo);
                 if (local == null) {
                     local = nodeService.findIdentity(false);
@@ -536,6 +548,11 @@ public class DataLoaderService extends AbstractService implements IDataLoaderSer
      */
     protected List<IncomingBatch> loadDataFromTransport(final ProcessInfo transferInfo,
             final Node sourceNode, IIncomingTransport transport, OutputStream out) throws IOException {
+        return loadDataFromTransport(transferInfo, sourceNode, transport, out, false);
+    }
+
+    protected List<IncomingBatch> loadDataFromTransport(final ProcessInfo transferInfo,
+            final Node sourceNode, IIncomingTransport transport, OutputStream out, boolean streamAcks) throws IOException {
         final ManageIncomingBatchListener listener = new ManageIncomingBatchListener(transferInfo, engine);
         final DataContext ctx = new DataContext();
         Throwable error = null;
@@ -565,8 +582,12 @@ public class DataLoaderService extends AbstractService implements IDataLoaderSer
                     threadFactory = new CustomizableThreadFactory(parameterService.getEngineName().toLowerCase() + "-dataloader");
                 }
                 ExecutorService executor = Executors.newFixedThreadPool(1, threadFactory);
+                OutputStreamWriter outWriter = out != null ? new OutputStreamWriter(out, StandardCharsets.UTF_8) : null;
+                StreamedAckWriter ackWriter = streamAcks && outWriter != null && targetNode != null
+                        ? new StreamedAckWriter(outWriter, sourceNode, targetNode)
+                        : null;
                 LoadIntoDatabaseOnArrivalListener loadListener = new LoadIntoDatabaseOnArrivalListener(transferInfo,
-                        sourceNode.getNodeId(), listener, executor);
+                        sourceNode.getNodeId(), listener, executor, ackWriter);
                 SimpleStagingDataWriter stageWriter = null;
                 try {
                     stageWriter = new SimpleStagingDataWriter(transferInfo, transport.openReader(), stagingManager, Constants.STAGING_CATEGORY_INCOMING,
@@ -576,14 +597,14 @@ public class DataLoaderService extends AbstractService implements IDataLoaderSer
                     /* Previously submitted tasks will still be executed */
                     executor.shutdown();
                 }
-                OutputStreamWriter outWriter = null;
-                if (out != null) {
+                if (outWriter != null) {
                     try {
-                        outWriter = new OutputStreamWriter(out, StandardCharsets.UTF_8);
                         long keepAliveMillis = parameterService.getLong(ParameterConstants.DATA_LOADER_SEND_ACK_KEEPALIVE);
                         while (!executor.awaitTermination(keepAliveMillis, TimeUnit.MILLISECONDS)) {
-                            outWriter.write("1=1&");
-                            outWriter.flush();
+                            synchronized (outWriter) {
+                                outWriter.write("1=1&");
+                                outWriter.flush();
+                            }
                         }
                     } catch (Exception ex) {
                         log.info("Could not send keep alives to " + sourceNode + " " + ex);
@@ -741,9 +762,30 @@ public class DataLoaderService extends AbstractService implements IDataLoaderSer
         transforms = transformsList != null ? transformsList.toArray(new TransformTable[transformsList.size()]) : null;
         TransformWriter transformWriter = new TransformWriter(this.engine.getSymmetricDialect().getTargetPlatform(), TransformPoint.LOAD, null,
                 transformService.getColumnTransforms(), transforms);
-        IDataWriter targetWriter = getFactory(channelId).getDataWriter(sourceNodeId,
+        transformWriter.setPrefetchSize(parameterService.getInt(ParameterConstants.TRANSFORM_PREFETCH_SIZE, 0));
+        IDataLoaderFactory factory = getFactory(channelId);
+        List<ConflictNodeGroupLink> conflictSettings = getConflictSettingsNodeGroupLinks(link, false);
+        IDataWriter targetWriter = factory.getDataWriter(sourceNodeId,
                 this.engine.getSymmetricDialect(), transformWriter, dynamicFilters, dynamicErrorHandlers,
-                getConflictSettingsNodeGroupLinks(link, false), resolvedDatas);
+                conflictSettings, resolvedDatas);
+        int parallelThreads = parameterService.getInt(ParameterConstants.DATA_LOADER_PARALLEL_THREADS, 1);
+        Channel channel = configurationService.getChannel(channelId);
+        if (parallelThreads > 1 && channel != null && channel.isReloadFlag() && !isRetry && resolvedDatas.size() == 0
+                && targetWriter instanceof DefaultDatabaseWriter) {
+            List<IDataWriter> workerWriters = new ArrayList<IDataWriter>(parallelThreads);
+            for (int i = 0; i < parallelThreads; i++) {
+                TransformWriter workerTransformWriter = new TransformWriter(this.engine.getSymmetricDialect().getTargetPlatform(),
+                        TransformPoint.LOAD, null, transformService.getColumnTransforms(), transforms);
+                IDataWriter workerWriter = factory.getDataWriter(sourceNodeId, this.engine.getSymmetricDialect(), workerTransformWriter,
+                        dynamicFilters, dynamicErrorHandlers, conflictSettings, resolvedDatas);
+                workerTransformWriter.setNestedWriter(workerWriter);
+                workerWriters.add(workerWriter);
+            }
+            targetWriter = new ParallelDataWriter(this.engine.getSymmetricDialect().getTargetPlatform(), targetWriter, workerWriters,
+                    parameterService.is(ParameterConstants.DATA_LOADER_PARALLEL_PARTITION_BY_KEY, true),
+                    Executors.newFixedThreadPool(parallelThreads, new CustomizableThreadFactory(parameterService.getEngineName().toLowerCase()
+                            + "-dataloader-parallel")));
+        }
         transformWriter.setNestedWriter(new ProcessInfoDataWriter(targetWriter, processInfo));
         return transformWriter;
     }
@@ -1004,6 +1046,38 @@ public class DataLoaderService extends AbstractService implements IDataLoaderSer
         }
     }
 
+    /**
+     * Writes the acknowledgement of each loaded batch to the response of a push while the rest of the push is still arriving. Keep alives are
+     * written to the same writer, so both synchronize on it.
+     */
+    class StreamedAckWriter {
+        private Writer writer;
+        private Node sourceNode;
+        private Node local;
+        private boolean failed;
+
+        public StreamedAckWriter(Writer writer, Node sourceNode, Node local) {
+            this.writer = writer;
+            this.sourceNode = sourceNode;
+            this.local = local;
+        }
+
+        public void write(IncomingBatch batch) {
+            if (batch != null) {
+                synchronized (writer) {
+                    if (!failed) {
+                        try {
+                            transportManager.writeStreamedAcknowledgement(writer, sourceNode, batch, local);
+                        } catch (IOException e) {
+                            failed = true;
+                            log.info("Could not stream the ack of batch {} to {} {}", batch.getNodeBatchId(), sourceNode, e.toString());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     class LoadIntoDatabaseOnArrivalListener implements IProtocolDataWriterListener {
         private ManageIncomingBatchListener listener;
         private long batchStartsToArriveTimeInMs;
@@ -1013,13 +1087,20 @@ public class DataLoaderService extends AbstractService implements IDataLoaderSer
         private ExecutorService executor;
         private List<Future<IncomingBatch>> futures = new ArrayList<Future<IncomingBatch>>();
         private boolean isError;
+        private StreamedAckWriter ackWriter;
 
         public LoadIntoDatabaseOnArrivalListener(ProcessInfo transferInfo, String sourceNodeId,
                 ManageIncomingBatchListener listener, ExecutorService executor) {
+            this(transferInfo, sourceNodeId, listener, executor, null);
+        }
+
+        public LoadIntoDatabaseOnArrivalListener(ProcessInfo transferInfo, String sourceNodeId,
+                ManageIncomingBatchListener listener, ExecutorService executor, StreamedAckWriter ackWriter) {
             this.sourceNodeId = sourceNodeId;
             this.listener = listener;
             this.executor = executor;
             this.transferInfo = transferInfo;
+            this.ackWriter = ackWriter;
         }
 
         public void start(DataContext ctx, Batch batch) {
@@ -1139,7 +1220,22 @@ public class DataLoaderService extends AbstractService implements IDataLoaderSer
                 }
                 isError = true;
             } else {
-                futures.add(executor.submit(loadBatchFromStage));
+                Callable<IncomingBatch> loadBatch = loadBatchFromStage;
+                if (ackWriter != null) {
+                    loadBatch = () -> {
+                        try {
+                            IncomingBatch incomingBatch = loadBatchFromStage.call();
+                            ackWriter.write(incomingBatch);
+                            return incomingBatch;
+                        } catch (Exception e) {
+                            if (listener.currentBatch != null && listener.currentBatch.getStatus() == Status.ER) {
+                                ackWriter.write(listener.currentBatch);
+                            }
+                            throw e;
+                        }
+                    };
+                }
+                futures.add(executor.submit(engine.getNodeCommunicationService().limitDatabaseWork(loadBatch)));
             }
         }
 
@@ -56,6 +56,7 @@ import org.jumpmind.db.sql.DmlStatement;
 import org.jumpmind.db.sql.DmlStatement.DmlType;
 import org.jumpmind.db.sql.ISqlReadCursor;
 import org.jumpmind.db.sql.ISqlRowMapper;
+import org.jumpmind.db.sql.ISqlRowViewMapper;
 import org.jumpmind.db.sql.ISqlTransaction;
 import org.jumpmind.db.sql.InvalidSqlException;
 import org.jumpmind.db.sql.Row;
@@ -1537,6 +1538,20 @@ public class DataService extends AbstractService implements IDataService {
                             rowCount = getDataCountForReload(table, targetNode, selectSql);
                         }
                         long transformMultiplier = getTransformMultiplier(table, triggerRouter);
+                        List<String> partitionSelects = null;
+                        if (parameterService.is(ParameterConstants.INITIAL_LOAD_USE_EXTRACT_JOB) && parentRequestId == 0
+                                && !triggerHistory.getSourceTableNameLowerCase().startsWith(tablePrefix)) {
+                            partitionSelects = getPartitionSelectsForReload(table, targetNode, selectSql, rowCount);
+                        }
+                        if (partitionSelects != null) {
+                            firstBatchId = insertPartitionedLoadBatchesForReload(transaction, targetNode, triggerRouter, triggerHistory, table,
+                                    partitionSelects, loadId, createBy, reloadChannel, channel, rowCount, transformMultiplier, firstBatchId,
+                                    sourceNodeId, processInfo);
+                            if (!transactional) {
+                                transaction.commit();
+                            }
+                            continue;
+                        }
                         long startBatchId = 0;
                         long numberOfBatches = 1;
                         if (parameterService.is(ParameterConstants.INITIAL_LOAD_USE_EXTRACT_JOB)) {
@@ -1575,7 +1590,7 @@ public class DataService extends AbstractService implements IDataService {
             }
         }
         // Needs to have a "data batch" to give point of reference for setup/finalize batches if no actual data batches
-        if (requests.size() == 0) {
+        if (requests.size() == 0 && firstBatchId == 0) {
             long startBatchId = 0;
             if (platform.supportsMultiThreadedTransactions()) {
                 startBatchId = engine.getSequenceService().nextRange(Constants.SEQUENCE_OUTGOING_BATCH, 1);
@@ -1588,6 +1603,114 @@ public class DataService extends AbstractService implements IDataService {
         return requests;
     }
 
+    /**
+     * Inserts requested batches and an extract request for each primary key range of a large table. Each range after the first is put
+     * on its own extract queue so that the ranges are extracted by separate threads and database sessions.
+     * 
+     * @return the first batch id of the load
+     */
+    protected long insertPartitionedLoadBatchesForReload(ISqlTransaction transaction, Node targetNode, TriggerRouter triggerRouter,
+            TriggerHistory triggerHistory, Table table, List<String> partitionSelects, long loadId, String createBy, String reloadChannel,
+            Channel channel, long rowCount, long transformMultiplier, long firstBatchId, String sourceNodeId, ProcessInfo processInfo) {
+        int partitionCount = partitionSelects.size();
+        log.info("Splitting the load of {} rows from table {} for node {} into {} primary key ranges", rowCount, table.getName(),
+                targetNode.getNodeId(), partitionCount);
+        processInfo.setCurrentRowCount(processInfo.getCurrentRowCount() + rowCount);
+        for (int i = 0; i < partitionCount; i++) {
+            long partitionRowCount = rowCount / partitionCount + (i < rowCount % partitionCount ? 1 : 0);
+            long numberOfBatches = Math.max(1, (long) Math.ceil((partitionRowCount * transformMultiplier) / (channel.getMaxBatchSize() * 1f)));
+            processInfo.setCurrentBatchCount(processInfo.getCurrentBatchCount() + numberOfBatches);
+            long startBatchId = insertRequestedOutgoingBatches(transaction, targetNode, triggerRouter, triggerHistory, partitionSelects.get(i),
+                    loadId, createBy, reloadChannel, partitionRowCount, channel.getMaxBatchSize(), numberOfBatches);
+            long endBatchId = startBatchId + numberOfBatches - 1;
+            firstBatchId = firstBatchId == 0 ? startBatchId : firstBatchId;
+            updateTableReloadStatusDataCounts(platform.supportsMultiThreadedTransactions() ? null : transaction,
+                    loadId, sourceNodeId, firstBatchId, endBatchId, numberOfBatches, partitionRowCount);
+            engine.getDataExtractorService().requestExtractRequest(transaction, targetNode.getNodeId(),
+                    getPartitionQueue(channel.getQueue(), i), triggerRouter, startBatchId, endBatchId, loadId, table.getName(),
+                    partitionRowCount, 0);
+        }
+        return firstBatchId;
+    }
+
+    /**
+     * Splits the initial load select for a table into primary key ranges when the table has more rows than
+     * initial.load.extract.partition.rows and a single integer primary key.
+     * 
+     * @return the select for each range, or null if the table should be extracted by a single request
+     */
+    protected List<String> getPartitionSelectsForReload(Table table, Node targetNode, String selectSql, long rowCount) {
+        long partitionRows = parameterService.getLong(ParameterConstants.INITIAL_LOAD_EXTRACT_PARTITION_ROWS, 0);
+        int maxPartitions = parameterService.getInt(ParameterConstants.INITIAL_LOAD_EXTRACT_PARTITION_MAX, 8);
+        if (partitionRows <= 0 || rowCount <= partitionRows || maxPartitions < 2) {
+            return null;
+        }
+        Column[] pkColumns = table.getPrimaryKeyColumns();
+        if (pkColumns.length != 1 || !isIntegerColumn(pkColumns[0])) {
+            return null;
+        }
+        DatabaseInfo dbInfo = getTargetPlatform().getDatabaseInfo();
+        String quote = dbInfo.getDelimiterToken();
+        String pkColumn = "t." + quote + pkColumns[0].getName() + quote;
+        String whereClause = StringUtils.isBlank(selectSql) ? Constants.ALWAYS_TRUE_CONDITION : selectSql.trim();
+        if (whereClause.toUpperCase().startsWith("WHERE")) {
+            whereClause = whereClause.substring(5);
+        }
+        String sql = String.format("select min(%s) as min_id, max(%s) as max_id from %s t where %s", pkColumn, pkColumn,
+                table.getQualifiedTableName(quote, dbInfo.getCatalogSeparator(), dbInfo.getSchemaSeparator()), whereClause);
+        sql = replaceReloadVariables(sql, table, targetNode);
+        Row row = null;
+        try {
+            row = getTargetPlatform().getSqlTemplateDirty().queryForRow(sql);
+        } catch (SqlException ex) {
+            log.warn("Failed to find the primary key range of table {}, so it will be extracted by a single request.  {}", table.getName(),
+                    ex.getMessage());
+            return null;
+        }
+        if (row == null || row.get("min_id") == null || row.get("max_id") == null) {
+            return null;
+        }
+        long minId = row.getLong("min_id");
+        long maxId = row.getLong("max_id");
+        long span = maxId - minId + 1;
+        if (span <= 1) {
+            return null;
+        }
+        int partitionCount = (int) Math.min(Math.min(maxPartitions, (rowCount + partitionRows - 1) / partitionRows), span);
+        long step = span / partitionCount + (span % partitionCount == 0 ? 0 : 1);
+        List<String> partitionSelects = new ArrayList<String>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            long fromId = minId + i * step;
+            long toId = i == partitionCount - 1 ? maxId : fromId + step - 1;
+            partitionSelects.add("(" + whereClause + ") and " + pkColumn + " >= " + fromId + " and " + pkColumn + " <= " + toId);
+        }
+        return partitionSelects;
+    }
+
+    protected boolean isIntegerColumn(Column column) {
+        int typeCode = column.getMappedTypeCode();
+        return typeCode == Types.TINYINT || typeCode == Types.SMALLINT || typeCode == Types.INTEGER || typeCode == Types.BIGINT
+                || ((typeCode == Types.NUMERIC || typeCode == Types.DECIMAL) && column.getScale() == 0);
+    }
+
+    protected String getPartitionQueue(String queue, int partition) {
+        if (partition == 0) {
+            return queue;
+        }
+        String suffix = "-" + partition;
+        return StringUtils.left(queue, 25 - suffix.length()) + suffix;
+    }
+
+    protected String replaceReloadVariables(String sql, Table table, Node targetNode) {
+        sql = FormatUtils.replace("groupId", targetNode.getNodeGroupId(), sql);
+        sql = FormatUtils.replace("externalId", targetNode.getExternalId(), sql);
+        sql = FormatUtils.replace("nodeId", targetNode.getNodeId(), sql);
+        for (IReloadVariableFilter filter : extensionService.getExtensionPointList(IReloadVariableFilter.class)) {
+            sql = filter.filterPurgeSql(sql, targetNode, table);
+        }
+        return sql;
+    }
+
     protected long getDataCountForReload(Table table, Node targetNode, String selectSql) throws SqlException {
         long rowCount = -1;
         if (parameterService.is(ParameterConstants.INITIAL_LOAD_USE_ESTIMATED_COUNTS) &&
@@ -1604,12 +1727,7 @@ public class DataService extends AbstractService implements IDataService {
             }
             String sql = String.format("select count(*) from %s t where %s", table
                     .getQualifiedTableName(quote, catalogSeparator, schemaSeparator), selectSql);
-            sql = FormatUtils.replace("groupId", targetNode.getNodeGroupId(), sql);
-            sql = FormatUtils.replace("externalId", targetNode.getExternalId(), sql);
-            sql = FormatUtils.replace("nodeId", targetNode.getNodeId(), sql);
-            for (IReloadVariableFilter filter : extensionService.getExtensionPointList(IReloadVariableFilter.class)) {
-                sql = filter.filterPurgeSql(sql, targetNode, table);
-            }
+            sql = replaceReloadVariables(sql, table, targetNode);
             try {
                 rowCount = getTargetPlatform().getSqlTemplateDirty().queryForLong(sql);
             } catch (SqlException ex) {
@@ -3311,7 +3429,7 @@ public class DataService extends AbstractService implements IDataService {
         }
     }
 
-    public class DataMapper implements ISqlRowMapper<Data> {
+    public class DataMapper implements ISqlRowViewMapper<Data> {
         private List<TriggerRouter> triggerRouters;
         private List<TriggerHistory> activeTriggerHistories;
         private Collection<TriggerHistory> allTriggerHistories;
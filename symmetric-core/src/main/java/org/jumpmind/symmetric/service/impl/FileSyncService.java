@@ -28,7 +28,10 @@ import java.nio.charset.Charset;
 import java.nio.file.FileSystemException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -45,6 +48,7 @@ import org.jumpmind.db.sql.ISqlReadCursor;
 import org.jumpmind.db.sql.ISqlRowMapper;
 import org.jumpmind.db.sql.ISqlTransaction;
 import org.jumpmind.db.sql.Row;
+import org.jumpmind.db.sql.mapper.StringMapper;
 import org.jumpmind.exception.IoException;
 import org.jumpmind.symmetric.AbstractSymmetricEngine;
 import org.jumpmind.symmetric.ISymmetricEngine;
@@ -61,6 +65,7 @@ import org.jumpmind.symmetric.file.FileTriggerFileModifiedListener;
 import org.jumpmind.symmetric.file.FileTriggerFileModifiedListener.FileModifiedCallback;
 import org.jumpmind.symmetric.file.FileTriggerTracker;
 import org.jumpmind.symmetric.file.IFileSourceTracker;
+import org.jumpmind.symmetric.file.IncrementalFileTriggerTracker;
 import org.jumpmind.symmetric.io.data.Batch;
 import org.jumpmind.symmetric.io.data.CsvData;
 import org.jumpmind.symmetric.io.data.DataEventType;
@@ -113,6 +118,7 @@ public class FileSyncService extends AbstractOfflineDetectorService implements I
     private ISymmetricEngine engine;
     private Date lastUpdateTime;
     private ICacheManager cacheManager;
+    private Map<String, IncrementalFileTriggerTracker> incrementalTrackers = new HashMap<String, IncrementalFileTriggerTracker>();
 
     public FileSyncService(ISymmetricEngine engine) {
         super(engine.getParameterService(), engine.getSymmetricDialect(), engine.getExtensionService());
@@ -190,25 +196,54 @@ public class FileSyncService extends AbstractOfflineDetectorService implements I
         }
         Date currentDate = new Date();
         List<IFileSourceTracker> fileTrackers = engine.getExtensionService().getExtensionPointList(IFileSourceTracker.class);
+        boolean incremental = engine.getParameterService().is(ParameterConstants.FILE_SYNC_INCREMENTAL_TRACKER);
+        int maxRowsBeforeCommit = engine.getParameterService().getInt(ParameterConstants.FILESYNCTRACKER_MAX_ROWS_BEFORE_COMMIT);
+        Set<String> activeTrackers = new HashSet<String>();
         List<FileTriggerRouter> fileTriggerRouters = getFileTriggerRoutersForCurrentNode(false);
-        for (FileTriggerRouter fileTriggerRouter : fileTriggerRouters) {
+        for (final FileTriggerRouter fileTriggerRouter : fileTriggerRouters) {
             if (fileTriggerRouter.isEnabled()) {
                 try {
                     FileTrigger fileTrigger = fileTriggerRouter.getFileTrigger();
-                    DirectorySnapshot lastSnapshot = getDirectorySnapshot(fileTriggerRouter);
                     DirectorySnapshot dirSnapshot = null;
                     boolean needsHandled = true;
                     for (IFileSourceTracker tracker : fileTrackers) {
                         if (tracker.handlesDir(fileTrigger.getBaseDir())) {
                             needsHandled = false;
                             if (tracker.checkSourceDir(fileTrigger.getBaseDir())) {
+                                DirectorySnapshot lastSnapshot = getDirectorySnapshot(fileTriggerRouter);
                                 dirSnapshot = tracker.trackChanges(fileTriggerRouter, lastSnapshot, processInfo, useCrc);
                             }
                             break;
                         }
                     }
-                    if (needsHandled) {
+                    if (needsHandled && incremental) {
+                        if (checkSourceDir(fileTriggerRouter)) {
+                            String key = getIncrementalTrackerKey(fileTriggerRouter, useCrc);
+                            activeTrackers.add(key);
+                            IncrementalFileTriggerTracker tracker = incrementalTrackers.get(key);
+                            if (tracker == null) {
+                                tracker = new IncrementalFileTriggerTracker(fileTriggerRouter, useCrc, true, engine);
+                                incrementalTrackers.put(key, tracker);
+                            }
+                            final boolean ignoreFiles = shouldIgnoreInitialFiles(fileTriggerRouter, fileTrigger, ctxDate);
+                            tracker.trackChanges(processInfo, new FileModifiedCallback(maxRowsBeforeCommit) {
+                                public void commit(DirectorySnapshot dirSnapshot) {
+                                    saveDirectorySnapshot(fileTriggerRouter, dirSnapshot, ignoreFiles);
+                                }
+
+                                public DirectorySnapshot getLastDirectorySnapshot(String relativeDir) {
+                                    return getDirectorySnapshot(fileTriggerRouter, relativeDir);
+                                }
+
+                                public Collection<String> getLastRelativeDirs() {
+                                    return getDirectorySnapshotRelativeDirs(fileTriggerRouter);
+                                }
+                            });
+                            engine.getContextService().save(ContextConstants.FILE_SYNC_FAST_SCAN_TRACK_TIME, String.valueOf(currentDate.getTime()));
+                        }
+                    } else if (needsHandled) {
                         if (checkSourceDir(fileTriggerRouter)) {
+                            DirectorySnapshot lastSnapshot = getDirectorySnapshot(fileTriggerRouter);
                             FileTriggerTracker tracker = new FileTriggerTracker(fileTriggerRouter, lastSnapshot,
                                     processInfo, useCrc, engine);
                             dirSnapshot = tracker.trackChanges();
@@ -226,6 +261,21 @@ public class FileSyncService extends AbstractOfflineDetectorService implements I
                 }
             }
         }
+        closeIncrementalTrackers(activeTrackers);
+    }
+
+    protected String getIncrementalTrackerKey(FileTriggerRouter fileTriggerRouter, boolean useCrc) {
+        return fileTriggerRouter.getFileTrigger().getTriggerId() + "::" + fileTriggerRouter.getRouter().getRouterId() + "::"
+                + fileTriggerRouter.getLastUpdateTime().getTime() + "::" + fileTriggerRouter.getFileTrigger().getLastUpdateTime().getTime()
+                + "::" + useCrc;
+    }
+
+    protected void closeIncrementalTrackers(Set<String> activeTrackers) {
+        for (String key : new ArrayList<String>(incrementalTrackers.keySet())) {
+            if (!activeTrackers.contains(key)) {
+                incrementalTrackers.remove(key).close();
+            }
+        }
     }
 
     protected void trackChangesFastScan(ProcessInfo processInfo, boolean useCrc) {
@@ -505,6 +555,11 @@ public class FileSyncService extends AbstractOfflineDetectorService implements I
                                 .getRouterId()));
     }
 
+    public List<String> getDirectorySnapshotRelativeDirs(FileTriggerRouter fileTriggerRouter) {
+        return sqlTemplate.query(getSql("selectFileSnapshotRelativeDirsSql"), new StringMapper(), fileTriggerRouter
+                .getFileTrigger().getTriggerId(), fileTriggerRouter.getRouter().getRouterId());
+    }
+
     public DirectorySnapshot getDirectorySnapshot(FileTriggerRouter fileTriggerRouter, String relativeDir) {
         return new DirectorySnapshot(fileTriggerRouter, sqlTemplate.query(
                 getSql("selectFileSnapshotSql", "relativeDirWhere"), new FileSnapshotMapper(), fileTriggerRouter
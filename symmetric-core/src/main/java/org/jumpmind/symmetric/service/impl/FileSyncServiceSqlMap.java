@@ -69,6 +69,9 @@ public class FileSyncServiceSqlMap extends AbstractSqlMap {
         
         putSql("relativeDirWhere", "and relative_dir=?");
 
+        putSql("selectFileSnapshotRelativeDirsSql",
+                " select distinct relative_dir from $(file_snapshot) where trigger_id=? and router_id=? ");
+
         putSql("updateFileSnapshotSql",
                 " update $(file_snapshot) set   " +
                         "  last_event_type=?, crc32_checksum=?,                                 " +
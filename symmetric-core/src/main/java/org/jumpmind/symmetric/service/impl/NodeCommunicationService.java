@@ -31,9 +31,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -65,6 +67,8 @@ import org.jumpmind.util.RandomTimeSlot;
 import org.slf4j.MDC;
 
 public class NodeCommunicationService extends AbstractService implements INodeCommunicationService {
+    protected static final boolean VIRTUAL_THREADS_SUPPORTED = AppUtils.newVirtualThreadFactory("") != null;
+    private static final ThreadLocal<Boolean> isDatabaseWorkLimited = new ThreadLocal<Boolean>();
     private Map<CommunicationType, ThreadPoolExecutor> executors = new HashMap<NodeCommunication.CommunicationType, ThreadPoolExecutor>();
     private INodeService nodeService;
     private IClusterService clusterService;
@@ -72,6 +76,8 @@ public class NodeCommunicationService extends AbstractService implements INodeCo
     private boolean initialized = false;
     private Map<CommunicationType, Set<String>> currentlyExecuting;
     private Map<CommunicationType, Map<String, NodeCommunication>> lockCache;
+    private Semaphore databasePermits;
+    private int databasePermitCount;
 
     public NodeCommunicationService(IClusterService clusterService, INodeService nodeService, IParameterService parameterService,
             IConfigurationService configurationService, ISymmetricDialect symmetricDialect) {
@@ -444,11 +450,16 @@ public class NodeCommunicationService extends AbstractService implements INodeCo
                 break;
         }
         int threadCount = parameterService.getInt(threadCountParameter, 1);
-        if (service != null && service.getCorePoolSize() != threadCount) {
+        boolean useVirtualThreads = parameterService.is(ParameterConstants.NODE_COMMUNICATION_VIRTUAL_THREADS_ENABLED, false);
+        if (useVirtualThreads && !VIRTUAL_THREADS_SUPPORTED) {
+            logOnce("Virtual threads are not supported by this JVM, so node communication will use platform threads");
+            useVirtualThreads = false;
+        }
+        if (service != null && (service.getCorePoolSize() != threadCount || useVirtualThreads == service.getThreadFactory() instanceof ChannelThreadFactory)) {
             synchronized (this) {
                 if (service != null) {
-                    log.info("{} has changed from {} to {}.  Restarting thread pool for {}", threadCountParameter, service.getCorePoolSize(), threadCount,
-                            communicationType.name());
+                    log.info("{} has changed from {} to {} or virtual threads were toggled.  Restarting thread pool for {}", threadCountParameter,
+                            service.getCorePoolSize(), threadCount, communicationType.name());
                     service.shutdown();
                     executors.remove(communicationType);
                     service = null;
@@ -467,8 +478,10 @@ public class NodeCommunicationService extends AbstractService implements INodeCo
                         log.info("{} will use {} threads", communicationType.name().toLowerCase(),
                                 threadCount);
                     }
-                    service = (ThreadPoolExecutor) Executors.newFixedThreadPool(threadCount,
-                            new ChannelThreadFactory(parameterService.getEngineName(), communicationType.name()));
+                    ChannelThreadFactory channelThreadFactory = new ChannelThreadFactory(parameterService.getEngineName(), communicationType.name());
+                    ThreadFactory threadFactory = useVirtualThreads ? AppUtils.newVirtualThreadFactory(channelThreadFactory.getThreadPrefix())
+                            : channelThreadFactory;
+                    service = (ThreadPoolExecutor) Executors.newFixedThreadPool(threadCount, threadFactory);
                     service.setKeepAliveTime(1, TimeUnit.MINUTES);
                     service.allowCoreThreadTimeOut(true);
                     executors.put(communicationType, service);
@@ -483,6 +496,16 @@ public class NodeCommunicationService extends AbstractService implements INodeCo
         return service.getMaximumPoolSize() - service.getActiveCount();
     }
 
+    public int getActiveThreads(CommunicationType communicationType) {
+        ThreadPoolExecutor service = executors.get(communicationType);
+        return service != null ? service.getActiveCount() : 0;
+    }
+
+    public int getMaxThreads(CommunicationType communicationType) {
+        ThreadPoolExecutor service = executors.get(communicationType);
+        return service != null ? service.getMaximumPoolSize() : 0;
+    }
+
     protected Date getLockTimeoutDate(CommunicationType communicationType) {
         String parameter = "";
         switch (communicationType) {
@@ -534,12 +557,18 @@ public class NodeCommunicationService extends AbstractService implements INodeCo
                 nodeCommunication.setLastLockTime(now);
                 nodeCommunication.setLockingServerId(clusterService.getServerId());
                 final RemoteNodeStatus status = statuses.add(nodeCommunication.getNodeId(), nodeCommunication.getQueue());
+                final ThreadPoolExecutor service = parameterService.is(ParameterConstants.SYNCHRONIZE_ALL_JOBS) ? null
+                        : getExecutor(nodeCommunication.getCommunicationType(), nodeCommunication.getQueue());
+                final boolean isVirtual = service != null && !(service.getThreadFactory() instanceof ChannelThreadFactory);
                 Runnable r = new Runnable() {
                     public void run() {
                         long ts = System.currentTimeMillis();
                         boolean failed = false;
                         try {
                             MDC.put("engineName", parameterService.getEngineName());
+                            if (isVirtual) {
+                                isDatabaseWorkLimited.set(Boolean.TRUE);
+                            }
                             String name = parameterService.getEngineName().toLowerCase() + "-" + nodeCommunication.getCommunicationType().name().toLowerCase() +
                                     "-" + nodeCommunication.getQueue().toLowerCase();
                             Thread thread = Thread.currentThread();
@@ -551,17 +580,16 @@ public class NodeCommunicationService extends AbstractService implements INodeCo
                             log.error(String.format("Failed to execute %s for node %s and channel %s", nodeCommunication.getCommunicationType().name(),
                                     nodeCommunication.getNodeId(), nodeCommunication.getQueue()), ex);
                         } finally {
+                            isDatabaseWorkLimited.remove();
                             status.setComplete(true);
                             executing.remove(nodeCommunication.getIdentifier());
                             unlock(nodeCommunication, failed, ts);
                         }
                     }
                 };
-                if (parameterService.is(ParameterConstants.SYNCHRONIZE_ALL_JOBS)) {
+                if (service == null) {
                     r.run();
                 } else {
-                    ThreadPoolExecutor service = getExecutor(nodeCommunication.getCommunicationType(),
-                            nodeCommunication.getQueue());
                     service.execute(r);
                 }
             }
@@ -575,6 +603,32 @@ public class NodeCommunicationService extends AbstractService implements INodeCo
         }
     }
 
+    public <T> Callable<T> limitDatabaseWork(final Callable<T> work) {
+        if (!Boolean.TRUE.equals(isDatabaseWorkLimited.get())) {
+            return work;
+        }
+        final Semaphore permits = getDatabasePermits();
+        return new Callable<T>() {
+            public T call() throws Exception {
+                permits.acquire();
+                try {
+                    return work.call();
+                } finally {
+                    permits.release();
+                }
+            }
+        };
+    }
+
+    protected synchronized Semaphore getDatabasePermits() {
+        int permitCount = Math.max(1, parameterService.getInt(ParameterConstants.NODE_COMMUNICATION_VIRTUAL_THREADS_DATABASE_PERMITS, 20));
+        if (databasePermits == null || databasePermitCount != permitCount) {
+            databasePermits = new Semaphore(permitCount, true);
+            databasePermitCount = permitCount;
+        }
+        return databasePermits;
+    }
+
     protected boolean lock(NodeCommunication nodeCommunication, Date lockTime) {
         Date lockTimeout = getLockTimeoutDate(nodeCommunication.getCommunicationType());
         if (clusterService.isClusteringEnabled()) {
@@ -33,6 +33,7 @@ import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 import org.jumpmind.db.sql.ISqlReadCursor;
 import org.jumpmind.db.sql.ISqlRowMapper;
+import org.jumpmind.db.sql.ISqlRowViewMapper;
 import org.jumpmind.db.sql.ISqlTransaction;
 import org.jumpmind.db.sql.Row;
 import org.jumpmind.db.sql.mapper.LongMapper;
@@ -858,7 +859,7 @@ public class OutgoingBatchService extends AbstractService implements IOutgoingBa
         }
     }
 
-    class OutgoingBatchMapper implements ISqlRowMapper<OutgoingBatch> {
+    class OutgoingBatchMapper implements ISqlRowViewMapper<OutgoingBatch> {
         private boolean statusOnly = false;
         private boolean includeDisabledChannels = false;
         private Map<String, Channel> channels;
@@ -27,21 +27,33 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.LongConsumer;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DateUtils;
 import org.apache.commons.lang3.time.FastDateFormat;
+import org.jumpmind.db.model.Table;
+import org.jumpmind.db.model.TablePartition;
 import org.jumpmind.db.platform.DatabaseNamesConstants;
+import org.jumpmind.db.platform.IDdlBuilder;
 import org.jumpmind.db.sql.ISqlReadCursor;
 import org.jumpmind.db.sql.ISqlRowMapper;
 import org.jumpmind.db.sql.ISqlTemplate;
 import org.jumpmind.db.sql.Row;
+import org.jumpmind.db.sql.SqlScript;
 import org.jumpmind.db.sql.mapper.LongMapper;
 import org.jumpmind.db.sql.mapper.StringMapper;
 import org.jumpmind.symmetric.common.Constants;
 import org.jumpmind.symmetric.common.ContextConstants;
 import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.common.TableConstants;
 import org.jumpmind.symmetric.db.ISymmetricDialect;
 import org.jumpmind.symmetric.ext.IPurgeListener;
 import org.jumpmind.symmetric.model.DataGap;
@@ -58,6 +70,8 @@ import org.jumpmind.symmetric.service.IParameterService;
 import org.jumpmind.symmetric.service.IPurgeService;
 import org.jumpmind.symmetric.service.ISequenceService;
 import org.jumpmind.symmetric.statistic.IStatisticManager;
+import org.jumpmind.util.AppUtils;
+import org.jumpmind.util.CustomizableThreadFactory;
 
 /**
  * @see IPurgeService
@@ -145,6 +159,7 @@ public class PurgeService extends AbstractService implements IPurgeService {
                 } else {
                     OutgoingContext context = buildOutgoingContext(retentionCutoff);
                     rowsPurged += purgeStrandedBatches();
+                    purgeDataPartitions(context);
                     rowsPurged += purgeDataRows(context);
                     rowsPurged += purgeOutgoingBatch(context);
                     rowsPurged += purgeLingeringBatches(context);
@@ -420,6 +435,105 @@ public class PurgeService extends AbstractService implements IPurgeService {
         return dataDeletedCount;
     }
 
+    /**
+     * When sym_data_event and sym_data are range partitioned on data_id, drop the partitions whose data_ids are all at or below the last
+     * data_id that is past retention, routed and not part of an outstanding batch, so those rows don't need to be deleted one range at a
+     * time. Empty partitions are added ahead of the current data_id so capture always has a partition to insert into.
+     */
+    protected void purgeDataPartitions(OutgoingContext context) {
+        if (!parameterService.is(ParameterConstants.PURGE_DATA_PARTITIONS_ENABLED, false)) {
+            return;
+        }
+        long maxPurgeableDataId = context.getMaxDataId();
+        if (context.getMinDataGapStartId() > 0) {
+            maxPurgeableDataId = Math.min(maxPurgeableDataId, context.getMinDataGapStartId() - 1);
+        }
+        if (maxPurgeableDataId > 0) {
+            log.info("Getting first data_id for outstanding batches to purge partitions");
+            long minNotOkDataId = sqlTemplateDirty.queryForLong(getSql("selectDataEventMinNotStatusSql"), OutgoingBatch.Status.OK.name());
+            if (minNotOkDataId > 0) {
+                maxPurgeableDataId = Math.min(maxPurgeableDataId, minNotOkDataId - 1);
+            }
+        }
+        long maxDataId = sqlTemplateDirty.queryForLong(getSql("maxDataId"));
+        long purgedToDataId = -1;
+        for (String tableSuffix : new String[] { TableConstants.SYM_DATA_EVENT, TableConstants.SYM_DATA }) {
+            Table table = platform.getTableFromCache(TableConstants.getTableName(tablePrefix, tableSuffix), false);
+            if (table == null) {
+                continue;
+            }
+            List<TablePartition> partitions = platform.getDdlReader().getTablePartitions(table.getCatalog(), table.getSchema(), table.getName());
+            if (partitions.size() == 0) {
+                log.debug("Table {} is not range partitioned, so it will be purged with deletes", table.getName());
+                continue;
+            }
+            addDataPartitions(table, partitions, maxDataId);
+            long droppedToDataId = dropDataPartitions(table, partitions, maxPurgeableDataId);
+            if (tableSuffix.equals(TableConstants.SYM_DATA)) {
+                purgedToDataId = droppedToDataId;
+            }
+        }
+        if (purgedToDataId >= context.getMinDataId()) {
+            context.setMinDataId(purgedToDataId + 1);
+        }
+    }
+
+    protected void addDataPartitions(Table table, List<TablePartition> partitions, long maxDataId) {
+        long partitionSize = parameterService.getLong(ParameterConstants.PURGE_DATA_PARTITION_SIZE, 10000000);
+        int partitionsAhead = parameterService.getInt(ParameterConstants.PURGE_DATA_PARTITIONS_AHEAD, 2);
+        long lastUpperBound = -1;
+        for (TablePartition partition : partitions) {
+            if (partition.getUpperBound() == null && partition.getLowerBound() != null) {
+                log.debug("Table {} has a partition for all remaining values, so no partitions will be added", table.getName());
+                return;
+            } else if (partition.getUpperBound() != null) {
+                lastUpperBound = Math.max(lastUpperBound, partition.getUpperBound());
+            }
+        }
+        if (partitionSize <= 0 || partitionsAhead <= 0 || lastUpperBound < 0) {
+            return;
+        }
+        IDdlBuilder ddlBuilder = platform.getDdlBuilder();
+        String prefix = table.getName() + (table.getName().equals(table.getName().toUpperCase()) ? "_P" : "_p");
+        while (lastUpperBound <= maxDataId + partitionSize * partitionsAhead) {
+            String ddl = ddlBuilder.createTablePartition(table, prefix + lastUpperBound, lastUpperBound, lastUpperBound + partitionSize);
+            if (ddl == null) {
+                return;
+            }
+            log.info("Adding partition {} to {} for data_id {} to {}", prefix + lastUpperBound, table.getName(), lastUpperBound,
+                    lastUpperBound + partitionSize - 1);
+            executePartitionDdl(ddl);
+            partitions.add(new TablePartition(prefix + lastUpperBound, lastUpperBound, lastUpperBound + partitionSize));
+            lastUpperBound += partitionSize;
+        }
+    }
+
+    /**
+     * @return the highest data_id covered by the dropped partitions, or -1 if none were dropped
+     */
+    protected long dropDataPartitions(Table table, List<TablePartition> partitions, long maxPurgeableDataId) {
+        IDdlBuilder ddlBuilder = platform.getDdlBuilder();
+        long droppedToDataId = -1;
+        int remainingCount = partitions.size();
+        for (TablePartition partition : partitions) {
+            if (partition.getUpperBound() != null && partition.getUpperBound() - 1 <= maxPurgeableDataId && remainingCount > 1) {
+                String ddl = ddlBuilder.dropTablePartition(table, partition);
+                if (ddl == null) {
+                    break;
+                }
+                log.info("Dropping partition {} of {} because all of its data is purgeable", partition, table.getName());
+                executePartitionDdl(ddl);
+                droppedToDataId = Math.max(droppedToDataId, partition.getUpperBound() - 1);
+                remainingCount--;
+            }
+        }
+        return droppedToDataId;
+    }
+
+    protected void executePartitionDdl(String ddl) {
+        new SqlScript(ddl, platform.getSqlTemplate(), true, null).execute(true);
+    }
+
     /**
      * Purge old rows from sym_data_event for batch_ids that are less than min batch_id in sym_outgoing_batch. Stranded rows in sym_data start at the min
      * data_id and end at the lesser of the min data_id in sym_data_event or sym_data_gap. If an expired data gap is within stranded range, then it is repaired
@@ -562,121 +676,219 @@ public class PurgeService extends AbstractService implements IPurgeService {
     }
 
     private int purgeByMinMax(long[] minMax, MinMaxDeleteSql identifier, OutgoingContext context, int maxNumtoPurgeinTx, LongConsumer statConsumer) {
+        identifier = getIdentifierIfUsingExists(identifier);
+        String name = getIdentifierName(identifier);
+        if (minMax[0] > minMax[1] || minMax[0] <= 0) {
+            log.debug("Ending purge early for {} using range {} through {}", name, minMax[0], minMax[1]);
+            return 0;
+        }
+        if (context.isRunTimeExceeded()) {
+            log.info("Skipping purge of {} because the purge reached its max run time, it will resume at {} next time", name, minMax[0]);
+            return 0;
+        }
+        int threadCount = parameterService.getInt(ParameterConstants.PURGE_THREAD_COUNT, 1);
+        if (threadCount > 1 && maxNumtoPurgeinTx > 0 && isRangeIndependent(identifier) && (minMax[1] - minMax[0]) / maxNumtoPurgeinTx > 1) {
+            return purgeByMinMaxInParallel(minMax, identifier, context, maxNumtoPurgeinTx, statConsumer, threadCount);
+        }
         long minId = minMax[0];
         long maxId = 0;
+        long lastPurgedId = -1;
         long purgeUpToId = minMax[1];
         long ts = System.currentTimeMillis();
+        long checkpointInterval = parameterService.getLong(ParameterConstants.PURGE_CHECKPOINT_INTERVAL_MS, DateUtils.MILLIS_PER_MINUTE * 5);
         int totalCount = 0;
         int totalDeleteStmts = 0;
-        int idSqlType = symmetricDialect.getSqlTypeForIds();
         Timestamp cutoffTime = new Timestamp(context.getRetentionCutoff().getTime().getTime());
-        identifier = getIdentifierIfUsingExists(identifier);
-        String name = getIdentifierName(identifier);
-        if (minMax[0] > minMax[1] || minMax[0] <= 0) {
-            log.debug("Ending purge early for {} using range {} through {}", name, minMax[0], minMax[1]);
-            return 0;
-        }
         List<DataGap> dataGapsExpired = new ArrayList<DataGap>(context.getDataGapsExpired());
         log.info("About to purge {} using range {} through {}", name, minMax[0], minMax[1]);
         while (minId <= purgeUpToId) {
+            if (context.isRunTimeExceeded()) {
+                log.info("Stopping purge of {} because the purge reached its max run time, it will resume at {} next time", name, minId);
+                break;
+            }
             totalDeleteStmts++;
             maxId = minId + maxNumtoPurgeinTx;
             if (maxId > purgeUpToId) {
                 maxId = purgeUpToId;
             }
-            String deleteSql = null;
-            Object[] args = null;
-            int[] argTypes = null;
-            switch (identifier) {
-                case DATA:
-                    deleteSql = getSql("deleteDataSql");
-                    args = new Object[] { minId, maxId, minId, maxId, minId, maxId, OutgoingBatch.Status.OK.name() };
-                    argTypes = new int[] { idSqlType, idSqlType, idSqlType, idSqlType, idSqlType, idSqlType, Types.VARCHAR };
-                    break;
-                case DATA_EXISTS:
-                    deleteSql = getSql("deleteDataExistsSql");
-                    args = new Object[] { minId, maxId, OutgoingBatch.Status.OK.name() };
-                    argTypes = new int[] { idSqlType, idSqlType, Types.VARCHAR };
-                    break;
-                case DATA_RANGE:
-                    deleteSql = getSql("deleteDataByRangeSql");
-                    long[] minMaxAvoidGaps = getMinMaxAvoidGaps(minId, maxId, dataGapsExpired);
-                    if (minMaxAvoidGaps[1] < 0) {
-                        minId = -minMaxAvoidGaps[1];
-                        continue;
-                    }
-                    args = new Object[] { minId = minMaxAvoidGaps[0], maxId = minMaxAvoidGaps[1] };
-                    argTypes = new int[] { idSqlType, idSqlType };
-                    break;
-                case DATA_EVENT:
-                    deleteSql = getSql("deleteDataEventSql");
-                    args = new Object[] { minId, maxId, OutgoingBatch.Status.OK.name(), minId, maxId };
-                    argTypes = new int[] { idSqlType, idSqlType, Types.VARCHAR, idSqlType, idSqlType };
-                    break;
-                case DATA_EVENT_EXISTS:
-                    deleteSql = getSql("deleteDataEventExistsSql");
-                    args = new Object[] { minId, maxId, OutgoingBatch.Status.OK.name() };
-                    argTypes = new int[] { idSqlType, idSqlType, Types.VARCHAR };
-                    break;
-                case DATA_EVENT_RANGE:
-                    deleteSql = getSql("deleteDataEventByRangeSql");
-                    args = new Object[] { minId, maxId };
-                    argTypes = new int[] { idSqlType, idSqlType };
-                    break;
-                case OUTGOING_BATCH:
-                    deleteSql = getSql("deleteOutgoingBatchSql");
-                    args = new Object[] { OutgoingBatch.Status.OK.name(), minId, maxId, minId, maxId };
-                    argTypes = new int[] { Types.VARCHAR, idSqlType, idSqlType, idSqlType, idSqlType };
-                    break;
-                case OUTGOING_BATCH_EXISTS:
-                    deleteSql = getSql("deleteOutgoingBatchExistsSql");
-                    args = new Object[] { OutgoingBatch.Status.OK.name(), minId, maxId };
-                    argTypes = new int[] { Types.VARCHAR, idSqlType, idSqlType };
-                    break;
-                case OUTGOING_BATCH_RANGE:
-                    deleteSql = getSql("deleteOutgoingBatchByRangeSql");
-                    args = new Object[] { minId, maxId };
-                    argTypes = new int[] { idSqlType, idSqlType };
-                    break;
-                case STRANDED_DATA:
-                    deleteSql = getSql("deleteStrandedData");
-                    minMaxAvoidGaps = getMinMaxAvoidGaps(minId, maxId, dataGapsExpired);
-                    if (minMaxAvoidGaps[1] < 0) {
-                        minId = -minMaxAvoidGaps[1];
-                        continue;
-                    }
-                    args = new Object[] { minId = minMaxAvoidGaps[0], maxId = minMaxAvoidGaps[1], cutoffTime };
-                    argTypes = new int[] { idSqlType, idSqlType, Types.TIMESTAMP };
+            if (identifier == MinMaxDeleteSql.DATA_RANGE || identifier == MinMaxDeleteSql.STRANDED_DATA) {
+                long[] minMaxAvoidGaps = getMinMaxAvoidGaps(minId, maxId, dataGapsExpired);
+                if (minMaxAvoidGaps[1] < 0) {
+                    minId = -minMaxAvoidGaps[1];
+                    continue;
+                }
+                minId = minMaxAvoidGaps[0];
+                maxId = minMaxAvoidGaps[1];
+                if (identifier == MinMaxDeleteSql.STRANDED_DATA) {
                     dataService.reCaptureData(minId, maxId);
-                    break;
-                case STRANDED_DATA_EVENT:
-                    deleteSql = getSql("deleteStrandedDataEvent");
-                    args = new Object[] { minId, maxId, cutoffTime };
-                    argTypes = new int[] { idSqlType, idSqlType, Types.TIMESTAMP };
-                    break;
+                }
             }
-            log.debug("Running the following statement: {} with the following arguments: {}", deleteSql, Arrays.toString(args));
-            int count = sqlTemplate.update(deleteSql, args, argTypes);
-            log.debug("Deleted {} rows", count);
+            int count = deleteByMinMax(identifier, minId, maxId, cutoffTime);
+            lastPurgedId = maxId;
             statConsumer.accept(count);
             totalCount += count;
+            context.getRateLimiter().throttle(count);
             if (count == 0 && (identifier == MinMaxDeleteSql.STRANDED_DATA || identifier == MinMaxDeleteSql.STRANDED_DATA_EVENT)) {
                 log.info("Ending purge of {} early at {} after finding empty space", name, maxId);
                 break;
             }
-            if (System.currentTimeMillis() - ts > DateUtils.MILLIS_PER_MINUTE * 5) {
+            if (System.currentTimeMillis() - ts > checkpointInterval) {
                 log.info("Purged {} of {} rows so far using {} statements", new Object[] { totalCount, name, totalDeleteStmts });
                 ts = System.currentTimeMillis();
                 clusterService.refreshLock(ClusterConstants.PURGE_OUTGOING);
-                saveContextLastId(identifier, maxId);
+                saveContextLastId(identifier, lastPurgedId);
             }
             minId = maxId + 1;
         }
-        saveContextLastId(identifier, maxId);
+        if (lastPurgedId >= 0) {
+            saveContextLastId(identifier, lastPurgedId);
+        }
         log.info("Done purging {} of {} rows", totalCount, name);
         return totalCount;
     }
 
+    /**
+     * Ranges of these deletes can be purged in any order because each delete only looks at its own range of ids and does not step around data
+     * gaps or stop at the first empty range.
+     */
+    protected boolean isRangeIndependent(MinMaxDeleteSql identifier) {
+        return identifier != MinMaxDeleteSql.DATA_RANGE && identifier != MinMaxDeleteSql.STRANDED_DATA
+                && identifier != MinMaxDeleteSql.STRANDED_DATA_EVENT;
+    }
+
+    /**
+     * Splits the range into chunks of maxNumtoPurgeinTx ids that are deleted by a pool of workers, taking the chunks in ascending order. The
+     * saved checkpoint is the highest id below which every chunk is done, so a purge that is stopped resumes without skipping any chunk.
+     */
+    private int purgeByMinMaxInParallel(final long[] minMax, final MinMaxDeleteSql identifier, final OutgoingContext context,
+            final int maxNumtoPurgeinTx, final LongConsumer statConsumer, int threadCount) {
+        final String name = getIdentifierName(identifier);
+        final Timestamp cutoffTime = new Timestamp(context.getRetentionCutoff().getTime().getTime());
+        final long checkpointInterval = parameterService.getLong(ParameterConstants.PURGE_CHECKPOINT_INTERVAL_MS, DateUtils.MILLIS_PER_MINUTE * 5);
+        final AtomicLong nextMinId = new AtomicLong(minMax[0]);
+        final AtomicLong totalCount = new AtomicLong();
+        final RangeCheckpoint checkpoint = new RangeCheckpoint(minMax[0], checkpointInterval);
+        log.info("About to purge {} using range {} through {} with {} threads", name, minMax[0], minMax[1], threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount,
+                new CustomizableThreadFactory(String.format("%s-purge-outgoing", parameterService.getEngineName().toLowerCase())));
+        List<Future<?>> futures = new ArrayList<Future<?>>(threadCount);
+        try {
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(new Runnable() {
+                    public void run() {
+                        long minId = 0;
+                        while ((minId = nextMinId.getAndAdd(maxNumtoPurgeinTx + 1)) <= minMax[1] && !context.isRunTimeExceeded()) {
+                            long maxId = Math.min(minId + maxNumtoPurgeinTx, minMax[1]);
+                            int count = deleteByMinMax(identifier, minId, maxId, cutoffTime);
+                            statConsumer.accept(count);
+                            totalCount.addAndGet(count);
+                            synchronized (checkpoint) {
+                                if (checkpoint.complete(minId, maxId)) {
+                                    log.info("Purged {} of {} rows so far", totalCount.get(), name);
+                                    clusterService.refreshLock(ClusterConstants.PURGE_OUTGOING);
+                                    saveContextLastId(identifier, checkpoint.getCheckpointId());
+                                }
+                            }
+                            context.getRateLimiter().throttle(count);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new RuntimeException(e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            if (checkpoint.isMoved()) {
+                saveContextLastId(identifier, checkpoint.getCheckpointId());
+            }
+        }
+        if (checkpoint.getCheckpointId() < minMax[1]) {
+            log.info("Stopping purge of {} because the purge reached its max run time, it will resume at {} next time", name,
+                    checkpoint.getCheckpointId() + 1);
+        }
+        log.info("Done purging {} of {} rows", totalCount.get(), name);
+        return (int) totalCount.get();
+    }
+
+    protected int deleteByMinMax(MinMaxDeleteSql identifier, long minId, long maxId, Timestamp cutoffTime) {
+        int idSqlType = symmetricDialect.getSqlTypeForIds();
+        String deleteSql = null;
+        Object[] args = null;
+        int[] argTypes = null;
+        switch (identifier) {
+            case DATA:
+                deleteSql = getSql("deleteDataSql");
+                args = new Object[] { minId, maxId, minId, maxId, minId, maxId, OutgoingBatch.Status.OK.name() };
+                argTypes = new int[] { idSqlType, idSqlType, idSqlType, idSqlType, idSqlType, idSqlType, Types.VARCHAR };
+                break;
+            case DATA_EXISTS:
+                deleteSql = getSql("deleteDataExistsSql");
+                args = new Object[] { minId, maxId, OutgoingBatch.Status.OK.name() };
+                argTypes = new int[] { idSqlType, idSqlType, Types.VARCHAR };
+                break;
+            case DATA_RANGE:
+                deleteSql = getSql("deleteDataByRangeSql");
+                args = new Object[] { minId, maxId };
+                argTypes = new int[] { idSqlType, idSqlType };
+                break;
+            case DATA_EVENT:
+                deleteSql = getSql("deleteDataEventSql");
+                args = new Object[] { minId, maxId, OutgoingBatch.Status.OK.name(), minId, maxId };
+                argTypes = new int[] { idSqlType, idSqlType, Types.VARCHAR, idSqlType, idSqlType };
+                break;
+            case DATA_EVENT_EXISTS:
+                deleteSql = getSql("deleteDataEventExistsSql");
+                args = new Object[] { minId, maxId, OutgoingBatch.Status.OK.name() };
+                argTypes = new int[] { idSqlType, idSqlType, Types.VARCHAR };
+                break;
+            case DATA_EVENT_RANGE:
+                deleteSql = getSql("deleteDataEventByRangeSql");
+                args = new Object[] { minId, maxId };
+                argTypes = new int[] { idSqlType, idSqlType };
+                break;
+            case OUTGOING_BATCH:
+                deleteSql = getSql("deleteOutgoingBatchSql");
+                args = new Object[] { OutgoingBatch.Status.OK.name(), minId, maxId, minId, maxId };
+                argTypes = new int[] { Types.VARCHAR, idSqlType, idSqlType, idSqlType, idSqlType };
+                break;
+            case OUTGOING_BATCH_EXISTS:
+                deleteSql = getSql("deleteOutgoingBatchExistsSql");
+                args = new Object[] { OutgoingBatch.Status.OK.name(), minId, maxId };
+                argTypes = new int[] { Types.VARCHAR, idSqlType, idSqlType };
+                break;
+            case OUTGOING_BATCH_RANGE:
+                deleteSql = getSql("deleteOutgoingBatchByRangeSql");
+                args = new Object[] { minId, maxId };
+                argTypes = new int[] { idSqlType, idSqlType };
+                break;
+            case STRANDED_DATA:
+                deleteSql = getSql("deleteStrandedData");
+                args = new Object[] { minId, maxId, cutoffTime };
+                argTypes = new int[] { idSqlType, idSqlType, Types.TIMESTAMP };
+                break;
+            case STRANDED_DATA_EVENT:
+                deleteSql = getSql("deleteStrandedDataEvent");
+                args = new Object[] { minId, maxId, cutoffTime };
+                argTypes = new int[] { idSqlType, idSqlType, Types.TIMESTAMP };
+                break;
+        }
+        log.debug("Running the following statement: {} with the following arguments: {}", deleteSql, Arrays.toString(args));
+        int count = sqlTemplate.update(deleteSql, args, argTypes);
+        log.debug("Deleted {} rows", count);
+        return count;
+    }
+
     protected MinMaxDeleteSql getIdentifierIfUsingExists(MinMaxDeleteSql identifier) {
         if (symmetricDialect.getPlatform().getDdlBuilder().getDatabaseInfo().canDeleteUsingExists()) {
             if (identifier == MinMaxDeleteSql.DATA) {
@@ -945,6 +1157,8 @@ public class PurgeService extends AbstractService implements IPurgeService {
         }
         context.setMinDataGapStartId(sqlTemplateDirty.queryForLong(getSql("minDataGapStartId")));
         context.setDataGapsExpired(dataService.findDataGapsExpired());
+        context.setMaxRunTime(parameterService.getLong(ParameterConstants.PURGE_MAX_RUN_TIME_MS, 0));
+        context.setRateLimiter(new RateLimiter(parameterService.getLong(ParameterConstants.PURGE_MAX_ROWS_PER_SECOND, 0)));
         if (context.getMinBatchId() == context.getMinEventBatchId()) {
             log.info("Eligible ranges: outgoing batch [{} - {}], data [{} - {}], first data gap [{}]", context.getMinBatchId(), context.getMaxBatchId(),
                     context.getMinDataId(), context.getMaxDataId(), context.getMinDataGapStartId());
@@ -965,11 +1179,29 @@ public class PurgeService extends AbstractService implements IPurgeService {
         private long maxBatchId;
         private long minEventBatchId;
         private List<DataGap> dataGapsExpired;
+        private long runTimeDeadline;
+        private RateLimiter rateLimiter = new RateLimiter(0);
 
         public OutgoingContext(Calendar retentionCutoff) {
             this.retentionCutoff = retentionCutoff;
         }
 
+        public void setMaxRunTime(long maxRunTimeMs) {
+            this.runTimeDeadline = maxRunTimeMs > 0 ? System.currentTimeMillis() + maxRunTimeMs : 0;
+        }
+
+        public boolean isRunTimeExceeded() {
+            return runTimeDeadline > 0 && System.currentTimeMillis() > runTimeDeadline;
+        }
+
+        public RateLimiter getRateLimiter() {
+            return rateLimiter;
+        }
+
+        public void setRateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+        }
+
         public Calendar getRetentionCutoff() {
             return retentionCutoff;
         }
@@ -1058,4 +1290,81 @@ public class PurgeService extends AbstractService implements IPurgeService {
             return minBatchId;
         }
     }
+
+    /**
+     * Tracks chunks of an id range that finish out of order and keeps the highest id below which every chunk is done.
+     */
+    static class RangeCheckpoint {
+        private long checkpointId;
+        private long checkpointInterval;
+        private long lastCheckpointTime = System.currentTimeMillis();
+        private long startId;
+        private long lastSavedId;
+        private TreeMap<Long, Long> completedRanges = new TreeMap<Long, Long>();
+
+        public RangeCheckpoint(long startId, long checkpointInterval) {
+            this.startId = startId;
+            this.checkpointId = startId - 1;
+            this.lastSavedId = checkpointId;
+            this.checkpointInterval = checkpointInterval;
+        }
+
+        /**
+         * @return true when the checkpoint moved and it is time to save it
+         */
+        public synchronized boolean complete(long minId, long maxId) {
+            completedRanges.put(minId, maxId);
+            Map.Entry<Long, Long> first = null;
+            while ((first = completedRanges.firstEntry()) != null && first.getKey() <= checkpointId + 1) {
+                checkpointId = Math.max(checkpointId, first.getValue());
+                completedRanges.pollFirstEntry();
+            }
+            if (checkpointId > lastSavedId && System.currentTimeMillis() - lastCheckpointTime > checkpointInterval) {
+                lastSavedId = checkpointId;
+                lastCheckpointTime = System.currentTimeMillis();
+                return true;
+            }
+            return false;
+        }
+
+        public synchronized long getCheckpointId() {
+            return checkpointId;
+        }
+
+        /**
+         * @return true when at least the first range has been purged, so the checkpoint is safe to save
+         */
+        public synchronized boolean isMoved() {
+            return checkpointId >= startId;
+        }
+    }
+
+    /**
+     * Slows purge deletes down to a maximum number of rows per second, shared by all purge threads.
+     */
+    static class RateLimiter {
+        private long maxRowsPerSecond;
+        private long startTime = System.currentTimeMillis();
+        private long totalRows;
+
+        public RateLimiter(long maxRowsPerSecond) {
+            this.maxRowsPerSecond = maxRowsPerSecond;
+        }
+
+        public void throttle(long rows) {
+            long sleepMillis = getSleepMillis(rows);
+            if (sleepMillis > 0) {
+                AppUtils.sleep(sleepMillis);
+            }
+        }
+
+        protected synchronized long getSleepMillis(long rows) {
+            if (maxRowsPerSecond <= 0) {
+                return 0;
+            }
+            totalRows += rows;
+            long expectedMillis = totalRows * 1000 / maxRowsPerSecond;
+            return expectedMillis - (System.currentTimeMillis() - startTime);
+        }
+    }
 }
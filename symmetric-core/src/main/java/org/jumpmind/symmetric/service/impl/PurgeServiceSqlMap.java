@@ -66,6 +66,7 @@ public class PurgeServiceSqlMap extends AbstractSqlMap {
         putSql("minDataId", "select min(data_id) from $(data)");
 
         putSql("minDataEventId", "select min(data_id) from $(data_event)");
+        putSql("maxDataId", "select max(data_id) from $(data)");
         
         putSql("maxBatchIdByChannel", "select max(batch_id) from $(outgoing_batch) where batch_id between ? and ? and create_time < ? group by channel_id");
 
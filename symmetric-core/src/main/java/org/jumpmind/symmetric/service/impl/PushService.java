@@ -198,6 +198,9 @@ public class PushService extends AbstractOfflineDetectorService implements IPush
                 .getNodeId(), status.getQueue(), remote.getNodeId(), ProcessType.PUSH_JOB_EXTRACT));
         Map<String, String> requestProperties = new HashMap<String, String>();
         requestProperties.put(WebConstants.CHANNEL_QUEUE, status.getQueue());
+        if (parameterService.is(ParameterConstants.PUSH_STREAM_ACKS_ENABLED, true)) {
+            requestProperties.put(WebConstants.HEADER_STREAM_ACKS, Boolean.TRUE.toString());
+        }
         try {
             List<OutgoingBatch> extractedBatches = null;
             if (nodeSecurity != null && nodeSecurity.isRegistrationEnabled()) {
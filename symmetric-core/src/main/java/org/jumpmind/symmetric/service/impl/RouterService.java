@@ -77,6 +77,7 @@ import org.jumpmind.symmetric.model.TriggerHistory;
 import org.jumpmind.symmetric.model.TriggerReBuildReason;
 import org.jumpmind.symmetric.model.TriggerRouter;
 import org.jumpmind.symmetric.route.AbstractFileParsingRouter;
+import org.jumpmind.symmetric.route.AdaptiveBatchAlgorithm;
 import org.jumpmind.symmetric.route.AuditTableDataRouter;
 import org.jumpmind.symmetric.route.BshDataRouter;
 import org.jumpmind.symmetric.route.CSVRouter;
@@ -89,6 +90,7 @@ import org.jumpmind.symmetric.route.DBFRouter;
 import org.jumpmind.symmetric.route.DataGapDetector;
 import org.jumpmind.symmetric.route.DataGapFastDetector;
 import org.jumpmind.symmetric.route.DataGapRouteReader;
+import org.jumpmind.symmetric.route.DataRoute;
 import org.jumpmind.symmetric.route.DefaultBatchAlgorithm;
 import org.jumpmind.symmetric.route.DefaultDataRouter;
 import org.jumpmind.symmetric.route.DelayRoutingException;
@@ -99,6 +101,8 @@ import org.jumpmind.symmetric.route.IDataToRouteReader;
 import org.jumpmind.symmetric.route.JavaDataRouter;
 import org.jumpmind.symmetric.route.LookupTableDataRouter;
 import org.jumpmind.symmetric.route.NonTransactionalBatchAlgorithm;
+import org.jumpmind.symmetric.route.OffHeapSegmentPool;
+import org.jumpmind.symmetric.route.PartitionedDataRouteReader;
 import org.jumpmind.symmetric.route.SimpleRouterContext;
 import org.jumpmind.symmetric.route.SubSelectDataRouter;
 import org.jumpmind.symmetric.route.TPSRouter;
@@ -117,6 +121,7 @@ import org.jumpmind.util.FormatUtils;
  */
 public class RouterService extends AbstractService implements IRouterService, INodeCommunicationExecutor {
     final int MAX_LOGGING_LENGTH = 512;
+    final static Set<String> PARTITION_SAFE_ROUTER_TYPES = new HashSet<String>(Arrays.asList("default", "column", "subselect", "lookuptable", "bsh"));
     protected Map<Integer, CounterStat> missingTriggerRouter = new ConcurrentHashMap<Integer, CounterStat>();
     protected Map<String, CounterStat> invalidRouterType = new ConcurrentHashMap<String, CounterStat>();
     protected Map<Integer, CounterStat> missingColumns = new ConcurrentHashMap<Integer, CounterStat>();
@@ -127,6 +132,7 @@ public class RouterService extends AbstractService implements IRouterService, IN
     protected long defaultRoutersCacheTime;
     protected Map<String, Boolean> isAllDataReadByChannel = new ConcurrentHashMap<String, Boolean>();
     protected Map<String, Boolean> hasMaxDataRoutedByChannel = new ConcurrentHashMap<String, Boolean>();
+    protected OffHeapSegmentPool offHeapSegmentPool;
     protected transient ExecutorService readThread = null;
     protected ISymmetricEngine engine;
     protected IExtensionService extensionService;
@@ -142,6 +148,7 @@ public class RouterService extends AbstractService implements IRouterService, IN
         extensionService.addExtensionPoint(DefaultBatchAlgorithm.NAME, new DefaultBatchAlgorithm());
         extensionService.addExtensionPoint(NonTransactionalBatchAlgorithm.NAME, new NonTransactionalBatchAlgorithm());
         extensionService.addExtensionPoint(TransactionalBatchAlgorithm.NAME, new TransactionalBatchAlgorithm());
+        extensionService.addExtensionPoint(AdaptiveBatchAlgorithm.NAME, new AdaptiveBatchAlgorithm(parameterService));
         extensionService.addExtensionPoint(ConfigurationChangedDataRouter.ROUTER_TYPE, new ConfigurationChangedDataRouter(engine));
         extensionService.addExtensionPoint("java", new JavaDataRouter(engine));
         extensionService.addExtensionPoint("bsh", new BshDataRouter(engine));
@@ -184,6 +191,10 @@ public class RouterService extends AbstractService implements IRouterService, IN
                 log.error("", ex);
             }
         }
+        if (offHeapSegmentPool != null) {
+            offHeapSegmentPool.close();
+            offHeapSegmentPool = null;
+        }
     }
 
     public void flushCache() {
@@ -746,31 +757,160 @@ public class RouterService extends AbstractService implements IRouterService, IN
     }
 
     protected IDataToRouteReader startReading(ChannelRouterContext context) {
-        IDataToRouteReader reader = new DataGapRouteReader(context, engine);
+        IDataToRouteReader reader = null;
+        List<List<DataGap>> partitions = getRoutingPartitions(context);
+        if (partitions != null) {
+            log.debug("Routing the {} channel in {} partitions", context.getChannel().getChannelId(), partitions.size());
+            reader = new PartitionedDataRouteReader(context, engine, partitions, getReadThreadPool()) {
+                @Override
+                protected List<DataRoute> route(Data data, ChannelRouterContext partitionContext) {
+                    return routeToNodes(data, partitionContext);
+                }
+
+                @Override
+                protected DataGapRouteReader newReader(ChannelRouterContext partitionContext) {
+                    return new DataGapRouteReader(partitionContext, engine, getOffHeapSegmentPool());
+                }
+            };
+        } else {
+            reader = new DataGapRouteReader(context, engine, getOffHeapSegmentPool());
+        }
         if (parameterService.is(ParameterConstants.SYNCHRONIZE_ALL_JOBS)) {
             reader.run();
         } else {
-            if (readThread == null) {
-                readThread = Executors.newCachedThreadPool(new ThreadFactory() {
-                    final AtomicInteger threadNumber = new AtomicInteger(1);
-                    final String namePrefix = parameterService.getEngineName().toLowerCase() + "-router-reader-";
+            getReadThreadPool().execute(reader);
+        }
+        return reader;
+    }
 
-                    public Thread newThread(Runnable r) {
-                        Thread t = new Thread(r);
-                        t.setName(namePrefix + threadNumber.getAndIncrement());
-                        if (t.isDaemon()) {
-                            t.setDaemon(false);
-                        }
-                        if (t.getPriority() != Thread.NORM_PRIORITY) {
-                            t.setPriority(Thread.NORM_PRIORITY);
-                        }
-                        return t;
+    /**
+     * The pool of direct buffers shared by the readers when peek ahead rows are held off the heap, or null when they are not.
+     */
+    protected synchronized OffHeapSegmentPool getOffHeapSegmentPool() {
+        long offHeapMegabytes = parameterService.getLong(ParameterConstants.ROUTING_PEEK_AHEAD_OFF_HEAP_MEGABYTES, 0);
+        if (offHeapMegabytes <= 0) {
+            if (offHeapSegmentPool != null) {
+                offHeapSegmentPool.close();
+                offHeapSegmentPool = null;
+            }
+        } else if (offHeapSegmentPool == null || offHeapSegmentPool.getMaxPooledSizeInBytes() != offHeapMegabytes * 1024 * 1024) {
+            if (offHeapSegmentPool != null) {
+                offHeapSegmentPool.close();
+            }
+            offHeapSegmentPool = new OffHeapSegmentPool(offHeapMegabytes * 1024 * 1024);
+        }
+        return offHeapSegmentPool;
+    }
+
+    protected synchronized ExecutorService getReadThreadPool() {
+        if (readThread == null) {
+            readThread = Executors.newCachedThreadPool(new ThreadFactory() {
+                final AtomicInteger threadNumber = new AtomicInteger(1);
+                final String namePrefix = parameterService.getEngineName().toLowerCase() + "-router-reader-";
+
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r);
+                    t.setName(namePrefix + threadNumber.getAndIncrement());
+                    if (t.isDaemon()) {
+                        t.setDaemon(false);
+                    }
+                    if (t.getPriority() != Thread.NORM_PRIORITY) {
+                        t.setPriority(Thread.NORM_PRIORITY);
                     }
-                });
+                    return t;
+                }
+            });
+        }
+        return readThread;
+    }
+
+    /**
+     * Split the unrouted data_id range of the channel into partitions that can be read and routed at the same time. Returns null when the channel
+     * should be routed by a single reader.
+     */
+    protected List<List<DataGap>> getRoutingPartitions(ChannelRouterContext context) {
+        int partitionCount = parameterService.getInt(ParameterConstants.ROUTING_PARTITION_COUNT, 1);
+        NodeChannel nodeChannel = context.getChannel();
+        List<DataGap> dataGaps = context.getDataGaps();
+        if (partitionCount <= 1 || dataGaps == null || dataGaps.size() == 0 || parameterService.is(ParameterConstants.SYNCHRONIZE_ALL_JOBS)
+                || nodeChannel.isReloadFlag() || nodeChannel.isFileSyncFlag() || Constants.CHANNEL_CONFIG.equals(nodeChannel.getChannelId())) {
+            return null;
+        }
+        if (!isPartitionSafe(nodeChannel.getChannelId(), engine.getTriggerRouterService().getTriggerRouters(false))) {
+            log.debug("Routing the {} channel with a single reader because it uses a router that keeps state until the batch is completed",
+                    nodeChannel.getChannelId());
+            return null;
+        }
+        long startId = dataGaps.get(0).getStartId();
+        long endId = Math.min(dataGaps.get(dataGaps.size() - 1).getEndId(), engine.getDataService().findMaxDataId());
+        long minRange = Math.max(1, parameterService.getLong(ParameterConstants.ROUTING_PARTITION_MIN_DATA_ID_RANGE, 10000));
+        long range = endId - startId + 1;
+        int count = (int) Math.min(partitionCount, range / minRange);
+        if (count <= 1) {
+            return null;
+        }
+        long partitionRange = (range + count - 1) / count;
+        int peekAheadWindow = Math.max(1, parameterService.getInt(ParameterConstants.ROUTING_PEEK_AHEAD_WINDOW));
+        List<Long> startIds = new ArrayList<Long>(count);
+        startIds.add(startId);
+        for (int i = 1; i < count; i++) {
+            long boundaryId = findTransactionBoundary(nodeChannel.getChannelId(), startId + i * partitionRange, peekAheadWindow);
+            if (boundaryId > startIds.get(startIds.size() - 1) && boundaryId <= endId) {
+                startIds.add(boundaryId);
             }
-            readThread.execute(reader);
         }
-        return reader;
+        List<List<DataGap>> partitions = new ArrayList<List<DataGap>>(startIds.size());
+        for (int i = 0; i < startIds.size(); i++) {
+            long partitionStartId = startIds.get(i);
+            long partitionEndId = i < startIds.size() - 1 ? startIds.get(i + 1) - 1 : endId;
+            List<DataGap> partitionGaps = new ArrayList<DataGap>();
+            for (DataGap dataGap : dataGaps) {
+                if (dataGap.getEndId() >= partitionStartId && dataGap.getStartId() <= partitionEndId) {
+                    partitionGaps.add(new DataGap(Math.max(dataGap.getStartId(), partitionStartId), Math.min(dataGap.getEndId(), partitionEndId)));
+                }
+            }
+            if (partitionGaps.size() > 0) {
+                partitions.add(partitionGaps);
+            }
+        }
+        return partitions.size() > 1 ? partitions : null;
+    }
+
+    /**
+     * Move a partition boundary forward until no transaction has rows on both sides of it. Only rows within the peek ahead window on each side are
+     * checked, because the reader does not keep a transaction together beyond that window either. Returns -1 when no boundary was found.
+     */
+    protected long findTransactionBoundary(String channelId, long dataId, int peekAheadWindow) {
+        long boundaryId = dataId;
+        for (int i = 0; i < 10; i++) {
+            long lastDataId = sqlTemplateDirty.queryForLong(getSql("selectLastDataIdOfTransactionsBeforeSql"), channelId, boundaryId,
+                    boundaryId + peekAheadWindow - 1, channelId, boundaryId - peekAheadWindow, boundaryId - 1);
+            if (lastDataId < boundaryId) {
+                return boundaryId;
+            }
+            boundaryId = lastDataId + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Routers that only decide the nodes for each row and do nothing when the batch is completed, so a channel that uses no other router can be read
+     * and routed in partitions.
+     */
+    protected boolean isPartitionSafe(String channelId, List<TriggerRouter> triggerRouters) {
+        if (triggerRouters != null) {
+            for (TriggerRouter triggerRouter : triggerRouters) {
+                Trigger trigger = triggerRouter.getTrigger();
+                if (trigger != null && triggerRouter.getRouter() != null
+                        && (channelId.equals(trigger.getChannelId()) || isNotBlank(trigger.getChannelExpression()))) {
+                    String routerType = triggerRouter.getRouter().getRouterType();
+                    if (!StringUtils.isBlank(routerType) && !PARTITION_SAFE_ROUTER_TYPES.contains(routerType)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
     }
 
     /**
@@ -895,7 +1035,22 @@ public class RouterService extends AbstractService implements IRouterService, IN
     }
 
     protected int routeData(ProcessInfo processInfo, Data data, ChannelRouterContext context) {
-        int numberOfDataEventsInserted = 0;
+        List<DataRoute> routes = data.getAttribute(DataRoute.ATTRIBUTE_DATA_ROUTES);
+        if (routes == null) {
+            routes = routeToNodes(data, context);
+        } else {
+            data.getAttributes().remove(DataRoute.ATTRIBUTE_DATA_ROUTES);
+        }
+        return insertDataEvents(processInfo, context, routes);
+    }
+
+    /**
+     * Decide which nodes the data goes to for each of its trigger routers without assigning it to batches. This can be called by the threads of a
+     * {@link PartitionedDataRouteReader} with the context of their partition.
+     */
+    protected List<DataRoute> routeToNodes(Data data, ChannelRouterContext context) {
+        List<DataRoute> routes = new ArrayList<DataRoute>();
+        SubSelectDataRouter.invalidateResultCache(context, data.getTableName());
         List<TriggerRouter> triggerRouters = getTriggerRoutersForData(data, context);
         Table table = null;
         if (!isUsingTargetExternalId && data.getTriggerHistory() != null) {
@@ -909,6 +1064,7 @@ public class RouterService extends AbstractService implements IRouterService, IN
             for (TriggerRouter triggerRouter : triggerRouters) {
                 DataMetaData dataMetaData = new DataMetaData(data, table, triggerRouter.getRouter(),
                         context.getChannel());
+                DataRoute route = new DataRoute(dataMetaData, triggerRouter);
                 Collection<String> nodeIds = null;
                 if (!context.getChannel().isIgnoreEnabled()
                         && triggerRouter.isRouted(data.getDataEventType())) {
@@ -939,8 +1095,8 @@ public class RouterService extends AbstractService implements IRouterService, IN
                                     triggerRouter);
                             ts = System.currentTimeMillis() - ts;
                             context.incrementStat(ts, ChannelRouterContext.STAT_DATA_ROUTER_MS);
-                            context.addUsedDataRouter(dataRouter);
-                            context.addTimesByRouter(triggerRouter.getRouterId(), ts);
+                            route.setDataRouter(dataRouter);
+                            route.setRouterTimeMs(ts);
                         } catch (DelayRoutingException ex) {
                             throw ex;
                         } catch (RuntimeException ex) {
@@ -960,23 +1116,15 @@ public class RouterService extends AbstractService implements IRouterService, IN
                         if (!triggerRouter.isPingBackEnabled() && data.getSourceNodeId() != null && !data.getSourceNodeId().equals("")) {
                             nodeIds.remove(data.getSourceNodeId());
                             if (context.isNonCommonForIncoming()) {
-                                context.setForceNonCommon(true);
+                                route.setForceNonCommon(true);
                             }
                         }
                         // should never route to self
                         nodeIds.remove(engine.getNodeService().findIdentityNodeId());
                     }
                 }
-                if (nodeIds != null && nodeIds.size() > 0) {
-                    numberOfDataEventsInserted += insertDataEvents(processInfo, context, dataMetaData, nodeIds, triggerRouter);
-                }
-                if (context.isForceNonCommon()) {
-                    context.setForceNonCommon(false);
-                }
-            }
-            if (numberOfDataEventsInserted == 0) {
-                DataMetaData dataMetaData = new DataMetaData(data, table, null, context.getChannel());
-                numberOfDataEventsInserted += insertDataEvents(processInfo, context, dataMetaData, null, null);
+                route.setNodeIds(nodeIds);
+                routes.add(route);
             }
         } else {
             Integer triggerHistId = data.getTriggerHistory() != null ? data.getTriggerHistory().getTriggerHistoryId() : -1;
@@ -986,8 +1134,42 @@ public class RouterService extends AbstractService implements IRouterService, IN
                 missingTriggerRouter.put(triggerHistId, counterStat);
             }
             counterStat.incrementCount();
-            numberOfDataEventsInserted += insertDataEvents(processInfo, context, new DataMetaData(data, table,
-                    null, context.getChannel()), new HashSet<String>(0), null);
+            DataRoute route = new DataRoute(new DataMetaData(data, table, null, context.getChannel()), null);
+            route.setNodeIds(new HashSet<String>(0));
+            routes.add(route);
+        }
+        return routes;
+    }
+
+    protected int insertDataEvents(ProcessInfo processInfo, ChannelRouterContext context, List<DataRoute> routes) {
+        int numberOfDataEventsInserted = 0;
+        boolean hasTriggerRouters = false;
+        for (DataRoute route : routes) {
+            TriggerRouter triggerRouter = route.getTriggerRouter();
+            Collection<String> nodeIds = route.getNodeIds();
+            if (triggerRouter == null) {
+                numberOfDataEventsInserted += insertDataEvents(processInfo, context, route.getDataMetaData(), nodeIds, null);
+                continue;
+            }
+            hasTriggerRouters = true;
+            if (route.getDataRouter() != null) {
+                context.addUsedDataRouter(route.getDataRouter());
+                context.addTimesByRouter(triggerRouter.getRouterId(), route.getRouterTimeMs());
+            }
+            if (route.isForceNonCommon()) {
+                context.setForceNonCommon(true);
+            }
+            if (nodeIds != null && nodeIds.size() > 0) {
+                numberOfDataEventsInserted += insertDataEvents(processInfo, context, route.getDataMetaData(), nodeIds, triggerRouter);
+            }
+            if (context.isForceNonCommon()) {
+                context.setForceNonCommon(false);
+            }
+        }
+        if (hasTriggerRouters && numberOfDataEventsInserted == 0) {
+            DataMetaData routedMetaData = routes.get(0).getDataMetaData();
+            DataMetaData dataMetaData = new DataMetaData(routedMetaData.getData(), routedMetaData.getTable(), null, context.getChannel());
+            numberOfDataEventsInserted += insertDataEvents(processInfo, context, dataMetaData, null, null);
         }
         context.incrementStat(numberOfDataEventsInserted,
                 ChannelRouterContext.STAT_DATA_EVENTS_INSERTED);
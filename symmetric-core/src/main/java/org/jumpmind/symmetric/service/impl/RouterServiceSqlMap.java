@@ -42,6 +42,9 @@ public class RouterServiceSqlMap extends AbstractSqlMap {
         putSql("selectDistinctDataIdFromDataEventUsingGapsSql",
                 "select distinct data_id from $(data_event) where data_id >=? and data_id <= ? order by data_id asc ");
         putSql("selectUnroutedCountForChannelSql", "select count(*) from $(data) where channel_id=? and data_id >=? ");
+        putSql("selectLastDataIdOfTransactionsBeforeSql",
+                "select max(data_id) from $(data) where channel_id=? and data_id >= ? and data_id <= ? and transaction_id in "
+                        + "(select transaction_id from $(data) where channel_id=? and data_id >= ? and data_id <= ? and transaction_id is not null)");
         putSql("selectLastDataIdRoutedUsingDataGapSql", "select max(start_id) from $(data_gap) ");
         putSql("selectOracleNextValueSql", "select nextvalue from gv$_sequences where sequence_name = ?");
     }
@@ -1540,6 +1540,7 @@ public class TriggerRouterService extends AbstractService implements ITriggerRou
                         ts = System.currentTimeMillis();
                         List<TriggerHistory> activeTriggerHistories = getActiveTriggerHistories();
                         context.incrementActiveTriggerHistoriesTime(System.currentTimeMillis() - ts);
+                        cacheTableSnapshots(triggersForCurrentNode);
                         inactivateTriggers(triggersForCurrentNode, sqlBuffer, activeTriggerHistories, context);
                         updateOrCreateDatabaseTriggers(triggersForCurrentNode, sqlBuffer, force,
                                 true, activeTriggerHistories, true, context);
@@ -1584,6 +1585,48 @@ public class TriggerRouterService extends AbstractService implements ITriggerRou
         return true;
     }
 
+    /**
+     * Reads the table metadata in bulk for each catalog and schema that has enough triggers, so the table cache is filled in a
+     * few queries instead of several queries per table.
+     */
+    protected void cacheTableSnapshots(List<Trigger> triggers) {
+        int threshold = parameterService.getInt(ParameterConstants.SYNC_TRIGGERS_BULK_METADATA_THRESHOLD);
+        if (threshold <= 0 || triggers.size() < threshold) {
+            return;
+        }
+        Map<String, String[]> schemas = new HashMap<String, String[]>();
+        Map<String, Set<String>> tableNames = new HashMap<String, Set<String>>();
+        for (Trigger trigger : triggers) {
+            if (trigger.isSourceWildCarded() || trigger.isSourceTableNameExpanded()
+                    || getTargetPlatform(trigger.getSourceTableName()) != platform) {
+                continue;
+            }
+            String catalogName = isBlank(trigger.getSourceCatalogName()) ? platform.getDefaultCatalog()
+                    : trigger.getSourceCatalogNameUnescaped();
+            String schemaName = isBlank(trigger.getSourceSchemaName()) ? platform.getDefaultSchema()
+                    : trigger.getSourceSchemaNameUnescaped();
+            String key = Table.getFullyQualifiedTablePrefix(catalogName, schemaName);
+            schemas.put(key, new String[] { catalogName, schemaName });
+            Set<String> names = tableNames.get(key);
+            if (names == null) {
+                names = new HashSet<String>();
+                tableNames.put(key, names);
+            }
+            names.add(trigger.getSourceTableNameUnescaped());
+        }
+        for (Map.Entry<String, String[]> entry : schemas.entrySet()) {
+            Set<String> names = tableNames.get(entry.getKey());
+            if (names.size() >= threshold) {
+                String[] schema = entry.getValue();
+                try {
+                    platform.cacheTableSnapshot(schema[0], schema[1], names);
+                } catch (Exception e) {
+                    log.warn("Failed to read table metadata in bulk for {}, so tables will be read one at a time", entry.getKey(), e);
+                }
+            }
+        }
+    }
+
     public void clearCache() {
         cacheManager.flushTriggerRoutersByNodeGroupId();
         cacheManager.flushTriggerRoutersByChannel();
@@ -23,9 +23,9 @@ package org.jumpmind.symmetric.statistic;
 import java.util.Date;
 
 abstract public class AbstractNodeHostStats {
-    private String nodeId;
+    private volatile String nodeId;
     private String hostName;
-    private Date startTime;
+    private volatile Date startTime;
     private Date endTime;
 
     public AbstractNodeHostStats() {
@@ -21,24 +21,25 @@
 package org.jumpmind.symmetric.statistic;
 
 import java.util.Date;
+import java.util.concurrent.atomic.LongAdder;
 
 public class ChannelStats extends AbstractNodeHostStats {
     private String channelId;
-    private long dataRouted;
-    private long dataUnRouted;
-    private long dataExtracted;
-    private long dataBytesExtracted;
-    private long dataExtractedErrors;
-    private long dataEventInserted;
-    private long dataSent;
-    private long dataBytesSent;
-    private long dataSentErrors;
-    private long dataLoaded;
-    private long dataBytesLoaded;
-    private long dataLoadedErrors;
-    private long dataLoadedOutgoing;
-    private long dataBytesLoadedOutgoing;
-    private long dataLoadedOutgoingErrors;
+    private final LongAdder dataRouted = new LongAdder();
+    private final LongAdder dataUnRouted = new LongAdder();
+    private final LongAdder dataExtracted = new LongAdder();
+    private final LongAdder dataBytesExtracted = new LongAdder();
+    private final LongAdder dataExtractedErrors = new LongAdder();
+    private final LongAdder dataEventInserted = new LongAdder();
+    private final LongAdder dataSent = new LongAdder();
+    private final LongAdder dataBytesSent = new LongAdder();
+    private final LongAdder dataSentErrors = new LongAdder();
+    private final LongAdder dataLoaded = new LongAdder();
+    private final LongAdder dataBytesLoaded = new LongAdder();
+    private final LongAdder dataLoadedErrors = new LongAdder();
+    private final LongAdder dataLoadedOutgoing = new LongAdder();
+    private final LongAdder dataBytesLoadedOutgoing = new LongAdder();
+    private final LongAdder dataLoadedOutgoingErrors = new LongAdder();
 
     public ChannelStats() {
     }
@@ -50,27 +51,53 @@ public class ChannelStats extends AbstractNodeHostStats {
     }
 
     public void add(ChannelStats stats) {
-        dataRouted += stats.getDataRouted();
-        dataUnRouted += stats.getDataUnRouted();
-        dataExtracted += stats.getDataExtracted();
-        dataBytesExtracted += stats.getDataBytesExtracted();
-        dataExtractedErrors += stats.getDataExtractedErrors();
-        dataEventInserted += stats.getDataEventInserted();
-        dataSent += stats.getDataSent();
-        dataBytesSent += stats.getDataBytesSent();
-        dataSentErrors += stats.getDataSentErrors();
-        dataLoaded += stats.getDataLoaded();
-        dataBytesLoaded += stats.getDataBytesLoaded();
-        dataLoadedErrors += stats.getDataLoadedErrors();
-        dataLoadedOutgoing += stats.getDataLoadedOutgoing();
-        dataBytesLoadedOutgoing += stats.getDataBytesLoadedOutgoing();
-        dataLoadedOutgoingErrors += stats.getDataLoadedOutgoingErrors();
+        dataRouted.add(stats.getDataRouted());
+        dataUnRouted.add(stats.getDataUnRouted());
+        dataExtracted.add(stats.getDataExtracted());
+        dataBytesExtracted.add(stats.getDataBytesExtracted());
+        dataExtractedErrors.add(stats.getDataExtractedErrors());
+        dataEventInserted.add(stats.getDataEventInserted());
+        dataSent.add(stats.getDataSent());
+        dataBytesSent.add(stats.getDataBytesSent());
+        dataSentErrors.add(stats.getDataSentErrors());
+        dataLoaded.add(stats.getDataLoaded());
+        dataBytesLoaded.add(stats.getDataBytesLoaded());
+        dataLoadedErrors.add(stats.getDataLoadedErrors());
+        dataLoadedOutgoing.add(stats.getDataLoadedOutgoing());
+        dataBytesLoadedOutgoing.add(stats.getDataBytesLoadedOutgoing());
+        dataLoadedOutgoingErrors.add(stats.getDataLoadedOutgoingErrors());
     }
 
     public boolean isNonZero() {
-        return dataRouted > 0 || dataUnRouted > 0 || dataExtracted > 0 || dataBytesExtracted > 0 || dataExtractedErrors > 0 || dataEventInserted > 0
-                || dataSent > 0 || dataBytesSent > 0 || dataSentErrors > 0 || dataLoaded > 0 || dataBytesLoaded > 0 || dataLoadedErrors > 0
-                || dataLoadedOutgoing > 0 || dataBytesLoadedOutgoing > 0 || dataLoadedOutgoingErrors > 0;
+        return dataRouted.sum() > 0 || dataUnRouted.sum() > 0 || dataExtracted.sum() > 0 || dataBytesExtracted.sum() > 0 || dataExtractedErrors.sum() > 0 || dataEventInserted.sum() > 0
+                || dataSent.sum() > 0 || dataBytesSent.sum() > 0 || dataSentErrors.sum() > 0 || dataLoaded.sum() > 0 || dataBytesLoaded.sum() > 0 || dataLoadedErrors.sum() > 0
+                || dataLoadedOutgoing.sum() > 0 || dataBytesLoadedOutgoing.sum() > 0 || dataLoadedOutgoingErrors.sum() > 0;
+    }
+
+    /**
+     * Moves the current counts into a new instance that ends at the given time and starts
+     * a new interval on this one. Counts added concurrently land in either the returned
+     * snapshot or the new interval, so nothing is lost or counted twice.
+     */
+    public ChannelStats snapshotAndReset(Date endTime) {
+        ChannelStats snapshot = new ChannelStats(getNodeId(), getHostName(), getStartTime(), endTime, channelId);
+        snapshot.dataRouted.add(dataRouted.sumThenReset());
+        snapshot.dataUnRouted.add(dataUnRouted.sumThenReset());
+        snapshot.dataExtracted.add(dataExtracted.sumThenReset());
+        snapshot.dataBytesExtracted.add(dataBytesExtracted.sumThenReset());
+        snapshot.dataExtractedErrors.add(dataExtractedErrors.sumThenReset());
+        snapshot.dataEventInserted.add(dataEventInserted.sumThenReset());
+        snapshot.dataSent.add(dataSent.sumThenReset());
+        snapshot.dataBytesSent.add(dataBytesSent.sumThenReset());
+        snapshot.dataSentErrors.add(dataSentErrors.sumThenReset());
+        snapshot.dataLoaded.add(dataLoaded.sumThenReset());
+        snapshot.dataBytesLoaded.add(dataBytesLoaded.sumThenReset());
+        snapshot.dataLoadedErrors.add(dataLoadedErrors.sumThenReset());
+        snapshot.dataLoadedOutgoing.add(dataLoadedOutgoing.sumThenReset());
+        snapshot.dataBytesLoadedOutgoing.add(dataBytesLoadedOutgoing.sumThenReset());
+        snapshot.dataLoadedOutgoingErrors.add(dataLoadedOutgoingErrors.sumThenReset());
+        setStartTime(endTime);
+        return snapshot;
     }
 
     public String getChannelId() {
@@ -82,182 +109,197 @@ public class ChannelStats extends AbstractNodeHostStats {
     }
 
     public long getDataRouted() {
-        return dataRouted;
+        return dataRouted.sum();
     }
 
     public void setDataRouted(long dataRouted) {
-        this.dataRouted = dataRouted;
+        this.dataRouted.reset();
+        this.dataRouted.add(dataRouted);
     }
 
     public void incrementDataRouted(long count) {
-        this.dataRouted += count;
+        this.dataRouted.add(count);
     }
 
     public long getDataUnRouted() {
-        return dataUnRouted;
+        return dataUnRouted.sum();
     }
 
     public void setDataUnRouted(long dataUnRouted) {
-        this.dataUnRouted = dataUnRouted;
+        this.dataUnRouted.reset();
+        this.dataUnRouted.add(dataUnRouted);
     }
 
     public void incrementDataUnRouted(long count) {
-        this.dataUnRouted += count;
+        this.dataUnRouted.add(count);
     }
 
     public long getDataBytesExtracted() {
-        return dataBytesExtracted;
+        return dataBytesExtracted.sum();
     }
 
     public void setDataBytesExtracted(long dataExtracted) {
-        this.dataBytesExtracted = dataExtracted;
+        this.dataBytesExtracted.reset();
+        this.dataBytesExtracted.add(dataExtracted);
     }
 
     public void incrementDataBytesExtracted(long count) {
-        this.dataBytesExtracted += count;
+        this.dataBytesExtracted.add(count);
     }
 
     public long getDataExtractedErrors() {
-        return dataExtractedErrors;
+        return dataExtractedErrors.sum();
     }
 
     public void setDataExtractedErrors(long dataExtractedErrors) {
-        this.dataExtractedErrors = dataExtractedErrors;
+        this.dataExtractedErrors.reset();
+        this.dataExtractedErrors.add(dataExtractedErrors);
     }
 
     public void incrementDataExtractedErrors(long count) {
-        this.dataExtractedErrors += count;
+        this.dataExtractedErrors.add(count);
     }
 
     public long getDataEventInserted() {
-        return dataEventInserted;
+        return dataEventInserted.sum();
     }
 
     public void setDataEventInserted(long dataEventInserted) {
-        this.dataEventInserted = dataEventInserted;
+        this.dataEventInserted.reset();
+        this.dataEventInserted.add(dataEventInserted);
     }
 
     public void incrementDataEventInserted(long count) {
-        this.dataEventInserted += count;
+        this.dataEventInserted.add(count);
     }
 
     public long getDataBytesSent() {
-        return dataBytesSent;
+        return dataBytesSent.sum();
     }
 
     public void setDataBytesSent(long dataTransmitted) {
-        this.dataBytesSent = dataTransmitted;
+        this.dataBytesSent.reset();
+        this.dataBytesSent.add(dataTransmitted);
     }
 
     public void incrementDataBytesSent(long count) {
-        this.dataBytesSent += count;
+        this.dataBytesSent.add(count);
     }
 
     public void setDataSentErrors(long dataTransmittedErrors) {
-        this.dataSentErrors = dataTransmittedErrors;
+        this.dataSentErrors.reset();
+        this.dataSentErrors.add(dataTransmittedErrors);
     }
 
     public long getDataSentErrors() {
-        return dataSentErrors;
+        return dataSentErrors.sum();
     }
 
     public void incrementDataSentErrors(long count) {
-        this.dataSentErrors += count;
+        this.dataSentErrors.add(count);
     }
 
     public long getDataBytesLoaded() {
-        return dataBytesLoaded;
+        return dataBytesLoaded.sum();
     }
 
     public void setDataBytesLoaded(long dataLoaded) {
-        this.dataBytesLoaded = dataLoaded;
+        this.dataBytesLoaded.reset();
+        this.dataBytesLoaded.add(dataLoaded);
     }
 
     public void incrementDataBytesLoaded(long count) {
-        this.dataBytesLoaded += count;
+        this.dataBytesLoaded.add(count);
     }
 
     public long getDataLoadedErrors() {
-        return dataLoadedErrors;
+        return dataLoadedErrors.sum();
     }
 
     public void setDataLoadedErrors(long dataLoadedErrors) {
-        this.dataLoadedErrors = dataLoadedErrors;
+        this.dataLoadedErrors.reset();
+        this.dataLoadedErrors.add(dataLoadedErrors);
     }
 
     public void incrementDataLoadedErrors(long count) {
-        this.dataLoadedErrors += count;
+        this.dataLoadedErrors.add(count);
     }
 
     public void setDataExtracted(long dataExtracted) {
-        this.dataExtracted = dataExtracted;
+        this.dataExtracted.reset();
+        this.dataExtracted.add(dataExtracted);
     }
 
     public long getDataExtracted() {
-        return dataExtracted;
+        return dataExtracted.sum();
     }
 
     public void incrementDataExtracted(long count) {
-        this.dataExtracted += count;
+        this.dataExtracted.add(count);
     }
 
     public void setDataLoaded(long dataLoaded) {
-        this.dataLoaded = dataLoaded;
+        this.dataLoaded.reset();
+        this.dataLoaded.add(dataLoaded);
     }
 
     public long getDataLoaded() {
-        return dataLoaded;
+        return dataLoaded.sum();
     }
 
     public void incrementDataLoaded(long count) {
-        this.dataLoaded += count;
+        this.dataLoaded.add(count);
     }
 
     public void setDataSent(long dataTransmitted) {
-        this.dataSent = dataTransmitted;
+        this.dataSent.reset();
+        this.dataSent.add(dataTransmitted);
     }
 
     public long getDataSent() {
-        return dataSent;
+        return dataSent.sum();
     }
 
     public void incrementDataSent(long count) {
-        this.dataSent += count;
+        this.dataSent.add(count);
     }
 
     public long getDataLoadedOutgoing() {
-        return dataLoadedOutgoing;
+        return dataLoadedOutgoing.sum();
     }
 
     public void setDataLoadedOutgoing(long dataLoadedOutgoing) {
-        this.dataLoadedOutgoing = dataLoadedOutgoing;
+        this.dataLoadedOutgoing.reset();
+        this.dataLoadedOutgoing.add(dataLoadedOutgoing);
     }
 
     public void incrementDataLoadedOutgoing(long dataLoadedOutgoing) {
-        this.dataLoadedOutgoing += dataLoadedOutgoing;
+        this.dataLoadedOutgoing.add(dataLoadedOutgoing);
     }
 
     public long getDataBytesLoadedOutgoing() {
-        return dataBytesLoadedOutgoing;
+        return dataBytesLoadedOutgoing.sum();
     }
 
     public void setDataBytesLoadedOutgoing(long dataBytesLoadedOutgoing) {
-        this.dataBytesLoadedOutgoing = dataBytesLoadedOutgoing;
+        this.dataBytesLoadedOutgoing.reset();
+        this.dataBytesLoadedOutgoing.add(dataBytesLoadedOutgoing);
     }
 
     public void incrementDataBytesLoadedOutgoing(long dataBytesLoadedOutgoing) {
-        this.dataBytesLoadedOutgoing += dataBytesLoadedOutgoing;
+        this.dataBytesLoadedOutgoing.add(dataBytesLoadedOutgoing);
     }
 
     public long getDataLoadedOutgoingErrors() {
-        return dataLoadedOutgoingErrors;
+        return dataLoadedOutgoingErrors.sum();
     }
 
     public void setDataLoadedOutgoingErrors(long dataLoadedOutgoingErrors) {
-        this.dataLoadedOutgoingErrors = dataLoadedOutgoingErrors;
+        this.dataLoadedOutgoingErrors.reset();
+        this.dataLoadedOutgoingErrors.add(dataLoadedOutgoingErrors);
     }
 
     public void incrementDataLoadedOutgoingErrors(long dataLoadedOutgoingErrors) {
-        this.dataLoadedOutgoingErrors += dataLoadedOutgoingErrors;
+        this.dataLoadedOutgoingErrors.add(dataLoadedOutgoingErrors);
     }
 }
\ No newline at end of file
@@ -31,6 +31,7 @@ import org.jumpmind.symmetric.model.DataGap;
 import org.jumpmind.symmetric.model.OutgoingBatch;
 import org.jumpmind.symmetric.model.ProcessInfo;
 import org.jumpmind.symmetric.model.ProcessInfoKey;
+import org.jumpmind.symmetric.statistic.LatencyHistogram.Stage;
 
 /**
  * This manager provides an API record statistics
@@ -137,6 +138,12 @@ public interface IStatisticManager {
 
     public HostStats getWorkingHostStats();
 
+    public void addLatency(Stage stage, String nodeId, String channelId, long millis);
+
+    public Map<String, LatencyHistogram> getChannelLatencies(Stage stage);
+
+    public Map<String, LatencyHistogram> getNodeLatencies(Stage stage);
+
     public TreeMap<Date, Map<String, ChannelStats>> getNodeStatsForPeriod(Date start, Date end, String nodeId, int periodSizeInMinutes);
 
     public String getMostRecentActiveTableSynced();
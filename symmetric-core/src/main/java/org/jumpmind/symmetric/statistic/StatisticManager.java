@@ -24,16 +24,19 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.jumpmind.symmetric.common.Constants;
 import org.jumpmind.symmetric.common.ParameterConstants;
@@ -49,6 +52,7 @@ import org.jumpmind.symmetric.service.IConfigurationService;
 import org.jumpmind.symmetric.service.INodeService;
 import org.jumpmind.symmetric.service.IParameterService;
 import org.jumpmind.symmetric.service.IStatisticService;
+import org.jumpmind.symmetric.statistic.LatencyHistogram.Stage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,20 +62,18 @@ import org.slf4j.LoggerFactory;
 public class StatisticManager implements IStatisticManager {
     protected Logger log = LoggerFactory.getLogger(getClass());
     private static final String UNKNOWN = "Unknown";
-    private static final int NUMBER_OF_PERMITS = 1000;
-    private Map<String, ChannelStats> channelStats = new ConcurrentHashMap<String, ChannelStats>();
-    private List<JobStats> jobStats = new ArrayList<JobStats>();
-    private HostStats hostStats;
+    private final Map<String, ChannelStats> channelStats = new ConcurrentHashMap<String, ChannelStats>();
+    private volatile boolean channelStatsLoaded;
+    private final Queue<JobStats> jobStats = new ConcurrentLinkedQueue<JobStats>();
+    private final AtomicReference<HostStats> hostStats = new AtomicReference<HostStats>();
+    private final Map<Stage, Map<String, LatencyHistogram>> channelLatencies = newLatencyMap();
+    private final Map<Stage, Map<String, LatencyHistogram>> nodeLatencies = newLatencyMap();
     private ConcurrentHashMap<Long, RouterStats> routerStatsByBatch = new ConcurrentHashMap<Long, RouterStats>();
     protected INodeService nodeService;
     protected IStatisticService statisticService;
     protected IParameterService parameterService;
     protected IConfigurationService configurationService;
     protected IClusterService clusterService;
-    protected Semaphore channelStatsLock = new Semaphore(NUMBER_OF_PERMITS, true);
-    protected Semaphore hostStatsLock = new Semaphore(NUMBER_OF_PERMITS, true);
-    protected Semaphore jobStatsLock = new Semaphore(NUMBER_OF_PERMITS, true);
-    protected Semaphore tableStatsLock = new Semaphore(NUMBER_OF_PERMITS, true);
     protected Map<ProcessInfoKey, ProcessInfo> processInfos = new ConcurrentHashMap<ProcessInfoKey, ProcessInfo>();
     protected Map<ProcessInfoKey, ProcessInfo> processInfosThatHaveDoneWork = new ConcurrentHashMap<ProcessInfoKey, ProcessInfo>();
     private Map<Date, Map<String, ChannelStats>> baseChannelStatsInMemory = new LinkedHashMap<Date, Map<String, ChannelStats>>();
@@ -148,43 +150,23 @@ public class StatisticManager implements IStatisticManager {
     }
 
     public void addJobStats(String jobName, long startTime, long endTime, long processedCount) {
-        jobStatsLock.acquireUninterruptibly();
-        try {
-            JobStats stats = new JobStats(jobName, startTime, endTime, processedCount);
-            jobStats.add(stats);
-        } finally {
-            jobStatsLock.release();
-        }
+        JobStats stats = new JobStats(jobName, startTime, endTime, processedCount);
+        jobStats.add(stats);
     }
 
     public void addJobStats(String jobName, long startTime, long endTime, long processedCount, String errorMessage) {
-        jobStatsLock.acquireUninterruptibly();
-        try {
-            JobStats stats = new JobStats(jobName, startTime, endTime, processedCount, errorMessage);
-            jobStats.add(stats);
-        } finally {
-            jobStatsLock.release();
-        }
+        JobStats stats = new JobStats(jobName, startTime, endTime, processedCount, errorMessage);
+        jobStats.add(stats);
     }
 
     public void addJobStats(String jobName, long startTime, long endTime, long processedCount, Exception e) {
-        jobStatsLock.acquireUninterruptibly();
-        try {
-            JobStats stats = new JobStats(jobName, startTime, endTime, processedCount, e);
-            jobStats.add(stats);
-        } finally {
-            jobStatsLock.release();
-        }
+        JobStats stats = new JobStats(jobName, startTime, endTime, processedCount, e);
+        jobStats.add(stats);
     }
 
     public void addJobStats(String targetNodeId, int targetNodeCount, String jobName, long startTime, long endTime, long processedCount) {
-        jobStatsLock.acquireUninterruptibly();
-        try {
-            JobStats stats = new JobStats(targetNodeId, targetNodeCount, startTime, endTime, jobName, processedCount);
-            jobStats.add(stats);
-        } finally {
-            jobStatsLock.release();
-        }
+        JobStats stats = new JobStats(targetNodeId, targetNodeCount, startTime, endTime, jobName, processedCount);
+        jobStats.add(stats);
     }
 
     public RouterStats getRouterStatsByBatch(Long batchId) {
@@ -208,309 +190,164 @@ public class StatisticManager implements IStatisticManager {
     }
 
     public void incrementDataRouted(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataRouted(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStats(channelId).incrementDataRouted(count);
     }
 
     public void setDataUnRouted(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).setDataUnRouted(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStats(channelId).setDataUnRouted(count);
     }
 
     public void incrementDataExtracted(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataExtracted(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStats(channelId).incrementDataExtracted(count);
     }
 
     public void incrementDataBytesExtracted(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataBytesExtracted(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStats(channelId).incrementDataBytesExtracted(count);
     }
 
     public void incrementDataExtractedErrors(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataExtractedErrors(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStats(channelId).incrementDataExtractedErrors(count);
     }
 
     public void incrementDataEventInserted(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataEventInserted(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStats(channelId).incrementDataEventInserted(count);
     }
 
     public void incrementDataSent(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataSent(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStats(channelId).incrementDataSent(count);
     }
 
     public void incrementDataBytesSent(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataBytesSent(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStats(channelId).incrementDataBytesSent(count);
     }
 
     public void incrementDataSentErrors(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataSentErrors(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStats(channelId).incrementDataSentErrors(count);
     }
 
     public void incrementDataLoaded(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataLoaded(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStats(channelId).incrementDataLoaded(count);
     }
 
     public void incrementDataBytesLoaded(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataBytesLoaded(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStats(channelId).incrementDataBytesLoaded(count);
     }
 
     public void incrementDataLoadedErrors(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataLoadedErrors(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStats(channelId).incrementDataLoadedErrors(count);
     }
 
     public void incrementDataLoadedOutgoing(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataLoadedOutgoing(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStats(channelId).incrementDataLoadedOutgoing(count);
     }
 
     public void incrementDataBytesLoadedOutgoing(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataBytesLoadedOutgoing(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStats(channelId).incrementDataBytesLoadedOutgoing(count);
     }
 
     public void incrementDataLoadedOutgoingErrors(String channelId, long count) {
-        channelStatsLock.acquireUninterruptibly();
-        try {
-            getChannelStats(channelId).incrementDataLoadedOutgoingErrors(count);
-        } finally {
-            channelStatsLock.release();
-        }
+        getChannelStats(channelId).incrementDataLoadedOutgoingErrors(count);
     }
 
     public void incrementRestart() {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementRestarted(1);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementRestarted(1);
     }
 
     public void incrementNodesPulled(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementNodesPulled(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementNodesPulled(count);
     }
 
     public void incrementNodesPushed(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementNodesPushed(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementNodesPushed(count);
     }
 
     public void incrementTotalNodesPulledTime(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementTotalNodesPullTime(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementTotalNodesPullTime(count);
     }
 
     public void incrementTotalNodesPushedTime(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementTotalNodesPushTime(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementTotalNodesPushTime(count);
     }
 
     public void incrementNodesRejected(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementNodesRejected(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementNodesRejected(count);
     }
 
     public void incrementNodesRegistered(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementNodesRegistered(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementNodesRegistered(count);
     }
 
     public void incrementNodesLoaded(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementNodesLoaded(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementNodesLoaded(count);
     }
 
     public void incrementNodesDisabled(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementNodesDisabled(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementNodesDisabled(count);
     }
 
     public void incrementPurgedBatchIncomingRows(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementPurgedBatchIncomingRows(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementPurgedBatchIncomingRows(count);
     }
 
     public void incrementPurgedBatchOutgoingRows(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementPurgedBatchOutgoingRows(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementPurgedBatchOutgoingRows(count);
     }
 
     public void incrementPurgedDataRows(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementPurgedDataRows(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementPurgedDataRows(count);
     }
 
     public void incrementPurgedDataEventRows(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementPurgedDataEventRows(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementPurgedDataEventRows(count);
     }
 
     public void incrementPurgedStrandedDataRows(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementPurgedStrandedDataRows(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementPurgedStrandedDataRows(count);
     }
 
     public void incrementPurgedStrandedDataEventRows(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementPurgedStrandedDataEventRows(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementPurgedStrandedDataEventRows(count);
     }
 
     public void incrementPurgedExpiredDataRows(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementPurgedExpiredDataRows(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementPurgedExpiredDataRows(count);
     }
 
     public void incrementTriggersRemovedCount(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementTriggersRemovedCount(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementTriggersRemovedCount(count);
     }
 
     public void incrementTriggersRebuiltCount(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementTriggersRebuiltCount(count);
-        } finally {
-            hostStatsLock.release();
-        }
+        getHostStats().incrementTriggersRebuiltCount(count);
     }
 
     public void incrementTriggersCreatedCount(long count) {
-        hostStatsLock.acquireUninterruptibly();
-        try {
-            getHostStats().incrementTriggersCreatedCount(count);
-        } finally {
-            hostStatsLock.release();
+        getHostStats().incrementTriggersCreatedCount(count);
+    }
+
+    public void addLatency(Stage stage, String nodeId, String channelId, long millis) {
+        if (channelId != null) {
+            channelLatencies.get(stage).computeIfAbsent(channelId, id -> new LatencyHistogram()).record(millis);
         }
+        if (nodeId != null) {
+            nodeLatencies.get(stage).computeIfAbsent(nodeId, id -> new LatencyHistogram()).record(millis);
+        }
+    }
+
+    public Map<String, LatencyHistogram> getChannelLatencies(Stage stage) {
+        return Collections.unmodifiableMap(channelLatencies.get(stage));
+    }
+
+    public Map<String, LatencyHistogram> getNodeLatencies(Stage stage) {
+        return Collections.unmodifiableMap(nodeLatencies.get(stage));
+    }
+
+    protected static Map<Stage, Map<String, LatencyHistogram>> newLatencyMap() {
+        Map<Stage, Map<String, LatencyHistogram>> map = new EnumMap<Stage, Map<String, LatencyHistogram>>(Stage.class);
+        for (Stage stage : Stage.values()) {
+            map.put(stage, new ConcurrentHashMap<String, LatencyHistogram>());
+        }
+        return map;
     }
 
     protected void saveAdditionalStats(Date endTime, ChannelStats stats) {
@@ -524,30 +361,23 @@ public class StatisticManager implements IStatisticManager {
         boolean recordStatistics = parameterService.is(ParameterConstants.STATISTIC_RECORD_ENABLE,
                 false);
         long recordStatisticsCountThreshold = parameterService.getLong(ParameterConstants.STATISTIC_RECORD_COUNT_THRESHOLD, -1);
-        if (channelStats != null) {
-            channelStatsLock.acquireUninterruptibly(NUMBER_OF_PERMITS);
-            try {
-                if (recordStatistics) {
-                    Date endTime = new Date();
-                    for (ChannelStats stats : channelStats.values()) {
-                        if (stats.getNodeId().equals(UNKNOWN)) {
-                            Node node = nodeService.getCachedIdentity();
-                            if (node != null) {
-                                stats.setNodeId(node.getNodeId());
-                            }
-                        }
-                        stats.setEndTime(endTime);
-                        saveAdditionalStats(endTime, stats);
-                        if (stats.isNonZero()) {
-                            statisticService.save(stats);
-                        }
+        Date endTime = new Date();
+        for (ChannelStats workingStats : channelStats.values()) {
+            ChannelStats stats = workingStats.snapshotAndReset(endTime);
+            if (recordStatistics) {
+                if (stats.getNodeId().equals(UNKNOWN)) {
+                    Node node = nodeService.getCachedIdentity();
+                    if (node != null) {
+                        stats.setNodeId(node.getNodeId());
                     }
                 }
-                resetChannelStats(true);
-            } finally {
-                channelStatsLock.release(NUMBER_OF_PERMITS);
+                saveAdditionalStats(endTime, stats);
+                if (stats.isNonZero()) {
+                    statisticService.save(stats);
+                }
             }
         }
+        resetChannelStats(true);
         int rowsLoaded = 0;
         int rowsSent = 0;
         for (Map.Entry<Date, Map<String, ChannelStats>> entry : baseChannelStatsInMemory.entrySet()) {
@@ -565,44 +395,34 @@ public class StatisticManager implements IStatisticManager {
                 log.debug("===================================");
             }
         }
-        if (hostStats != null) {
-            hostStatsLock.acquireUninterruptibly(NUMBER_OF_PERMITS);
-            try {
-                if (recordStatistics && hostStats.isNonZero()) {
-                    if (hostStats.getNodeId().equals(UNKNOWN)) {
-                        Node node = nodeService.getCachedIdentity();
-                        if (node != null) {
-                            hostStats.setNodeId(node.getNodeId());
-                        }
-                    }
-                    hostStats.setEndTime(new Date());
-                    statisticService.save(hostStats);
+        HostStats workingHostStats = hostStats.get();
+        if (workingHostStats != null) {
+            if (workingHostStats.getNodeId().equals(UNKNOWN)) {
+                Node node = nodeService.getCachedIdentity();
+                if (node != null) {
+                    workingHostStats.setNodeId(node.getNodeId());
                 }
-                hostStats = null;
-            } finally {
-                hostStatsLock.release(NUMBER_OF_PERMITS);
             }
-        }
-        if (jobStats != null) {
-            List<JobStats> toFlush = null;
-            jobStatsLock.acquireUninterruptibly(NUMBER_OF_PERMITS);
-            try {
-                toFlush = jobStats;
-                jobStats = new ArrayList<JobStats>();
-            } finally {
-                jobStatsLock.release(NUMBER_OF_PERMITS);
+            HostStats stats = workingHostStats.snapshotAndReset(new Date());
+            if (recordStatistics && stats.isNonZero()) {
+                statisticService.save(stats);
             }
-            if (toFlush != null && recordStatistics) {
-                Node node = nodeService.getCachedIdentity();
-                if (node != null) {
-                    String nodeId = node.getNodeId();
-                    String serverId = clusterService.getServerId();
-                    for (JobStats stats : toFlush) {
-                        if (recordStatisticsCountThreshold != -1 && (stats.isErrorFlag() || stats.getProcessedCount() > recordStatisticsCountThreshold)) {
-                            stats.setNodeId(nodeId);
-                            stats.setHostName(serverId);
-                            statisticService.save(stats);
-                        }
+        }
+        List<JobStats> toFlush = new ArrayList<JobStats>();
+        JobStats jobStat = null;
+        while ((jobStat = jobStats.poll()) != null) {
+            toFlush.add(jobStat);
+        }
+        if (recordStatistics && toFlush.size() > 0) {
+            Node node = nodeService.getCachedIdentity();
+            if (node != null) {
+                String nodeId = node.getNodeId();
+                String serverId = clusterService.getServerId();
+                for (JobStats stats : toFlush) {
+                    if (recordStatisticsCountThreshold != -1 && (stats.isErrorFlag() || stats.getProcessedCount() > recordStatisticsCountThreshold)) {
+                        stats.setNodeId(nodeId);
+                        stats.setHostName(serverId);
+                        statisticService.save(stats);
                     }
                 }
             }
@@ -622,49 +442,50 @@ public class StatisticManager implements IStatisticManager {
     }
 
     public Map<String, ChannelStats> getWorkingChannelStats() {
-        if (channelStats != null) {
-            HashMap<String, ChannelStats> stats = new HashMap<String, ChannelStats>();
-            for (ChannelStats stat : channelStats.values()) {
-                ChannelStats newStat = new ChannelStats(stat.getNodeId(), stat.getHostName(), stat.getStartTime(),
-                        stat.getEndTime(), stat.getChannelId());
-                newStat.add(stat);
-                stats.put(newStat.getChannelId(), newStat);
-            }
-            return stats;
-        } else {
-            return new HashMap<String, ChannelStats>();
+        HashMap<String, ChannelStats> stats = new HashMap<String, ChannelStats>();
+        for (ChannelStats stat : channelStats.values()) {
+            ChannelStats newStat = new ChannelStats(stat.getNodeId(), stat.getHostName(), stat.getStartTime(),
+                    stat.getEndTime(), stat.getChannelId());
+            newStat.add(stat);
+            stats.put(newStat.getChannelId(), newStat);
         }
+        return stats;
     }
 
     public List<JobStats> getWorkingJobStats() {
-        if (jobStats != null) {
-            List<JobStats> stats = new ArrayList<JobStats>();
-            for (JobStats stat : jobStats) {
-                stats.add(new JobStats(stat));
-            }
-            return stats;
+        List<JobStats> stats = new ArrayList<JobStats>();
+        for (JobStats stat : jobStats) {
+            stats.add(new JobStats(stat));
         }
-        return new ArrayList<JobStats>();
+        return stats;
     }
 
     public HostStats getWorkingHostStats() {
-        if (this.hostStats != null) {
-            return new HostStats(this.hostStats);
+        HostStats stats = hostStats.get();
+        if (stats != null) {
+            return new HostStats(stats);
         } else {
             return new HostStats();
         }
     }
 
+    /**
+     * Makes sure there is an entry for every configured channel. When forced, entries for
+     * channels that are no longer configured are dropped. Entries are never replaced, so
+     * threads incrementing counters do not need to coordinate with a flush.
+     */
     protected void resetChannelStats(boolean force) {
-        if (force) {
-            channelStats = null;
-        }
-        if (channelStats == null) {
+        if (force || !channelStatsLoaded) {
+            channelStatsLoaded = true;
             List<NodeChannel> channels = configurationService.getNodeChannels(false);
-            channelStats = new HashMap<String, ChannelStats>(channels.size());
+            Set<String> channelIds = new HashSet<String>(channels.size());
             for (NodeChannel nodeChannel : channels) {
+                channelIds.add(nodeChannel.getChannelId());
                 getChannelStats(nodeChannel.getChannelId());
             }
+            if (force) {
+                channelStats.keySet().retainAll(channelIds);
+            }
         }
     }
 
@@ -674,9 +495,8 @@ public class StatisticManager implements IStatisticManager {
         if (stats == null) {
             Node node = nodeService.getCachedIdentity();
             if (node != null) {
-                stats = new ChannelStats(node.getNodeId(), clusterService.getServerId(),
-                        new Date(), null, channelId);
-                channelStats.put(channelId, stats);
+                stats = channelStats.computeIfAbsent(channelId, id -> new ChannelStats(node.getNodeId(),
+                        clusterService.getServerId(), new Date(), null, id));
             } else {
                 stats = new ChannelStats(UNKNOWN, clusterService.getServerId(), new Date(), null,
                         channelId);
@@ -686,16 +506,20 @@ public class StatisticManager implements IStatisticManager {
     }
 
     protected HostStats getHostStats() {
-        if (hostStats == null) {
+        HostStats stats = hostStats.get();
+        if (stats == null) {
             Node node = nodeService.getCachedIdentity();
             if (node != null) {
-                hostStats = new HostStats(node.getNodeId(), clusterService.getServerId(),
+                stats = new HostStats(node.getNodeId(), clusterService.getServerId(),
                         new Date(), null);
             } else {
-                hostStats = new HostStats(UNKNOWN, clusterService.getServerId(), new Date(), null);
+                stats = new HostStats(UNKNOWN, clusterService.getServerId(), new Date(), null);
+            }
+            if (!hostStats.compareAndSet(null, stats)) {
+                stats = hostStats.get();
             }
         }
-        return hostStats;
+        return stats;
     }
 
     @Override
@@ -27,12 +27,14 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,6 +46,7 @@ import org.jumpmind.symmetric.common.Constants;
 import org.jumpmind.symmetric.model.AbstractBatch.Status;
 import org.jumpmind.symmetric.model.BatchAck;
 import org.jumpmind.symmetric.model.IncomingBatch;
+import org.jumpmind.symmetric.model.Node;
 import org.jumpmind.symmetric.service.IExtensionService;
 import org.jumpmind.symmetric.web.WebConstants;
 import org.slf4j.Logger;
@@ -143,6 +146,20 @@ abstract public class AbstractTransportManager {
         return builder.toString();
     }
 
+    /**
+     * Writes the acknowledgement of one batch while the push is still being received. The parameters are written ahead of the final
+     * acknowledgement on the same line, followed by a marker that tells the sender the acknowledgement of the batch is complete. A sender that
+     * reads the response only at the end parses them with the rest of the line.
+     */
+    public void writeStreamedAcknowledgement(Writer writer, Node remote, IncomingBatch batch, Node local) throws IOException {
+        StringBuilder builder = new StringBuilder(getAcknowledgementData(remote.requires13Compatiblity(), local.getNodeId(),
+                Collections.singletonList(batch)));
+        append(builder, WebConstants.ACK_STREAMED_BATCH, batch.getBatchId());
+        builder.append("&");
+        writer.write(builder.toString());
+        writer.flush();
+    }
+
     protected static void append(StringBuilder builder, String name, Object value) {
         try {
             int len = builder.length();
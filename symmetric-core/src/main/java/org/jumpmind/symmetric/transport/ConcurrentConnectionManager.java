@@ -20,11 +20,17 @@
  */
 package org.jumpmind.symmetric.transport;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.jumpmind.symmetric.common.ParameterConstants;
 import org.jumpmind.symmetric.service.IParameterService;
@@ -33,15 +39,22 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Hands out connection reservations without a shared lock. Each pool keeps its reservations in a concurrent map and an atomic count of
+ * them that is claimed with compare-and-set before a new reservation is added, so the pool size is never exceeded. Timed out soft
+ * reservations are swept at most once per {@link #EXPIRE_INTERVAL_MS} by whichever request gets there first, or right away when a pool
+ * looks full, instead of on every request.
+ * 
  * @see IConcurrentConnectionManager
  */
 public class ConcurrentConnectionManager implements IConcurrentConnectionManager {
     private static final Logger log = LoggerFactory.getLogger(ConcurrentConnectionManager.class);
+    protected static final long EXPIRE_INTERVAL_MS = 1000;
     protected IParameterService parameterService;
-    protected Map<String, Map<String, Reservation>> activeReservationsByNodeByPool = new HashMap<String, Map<String, Reservation>>();
-    protected Map<String, Map<String, NodeConnectionStatistics>> nodeConnectionStatistics = new HashMap<String, Map<String, NodeConnectionStatistics>>();
-    protected Set<String> whiteList = new HashSet<String>();
-    protected Map<String, Long> transportErrorTimeByNode = new HashMap<String, Long>();
+    protected ConcurrentMap<String, ReservationPool> reservationPools = new ConcurrentHashMap<String, ReservationPool>();
+    protected ConcurrentMap<String, Map<String, NodeConnectionStatistics>> nodeConnectionStatistics = new ConcurrentHashMap<String, Map<String, NodeConnectionStatistics>>();
+    protected Set<String> whiteList = ConcurrentHashMap.newKeySet();
+    protected ConcurrentMap<String, Long> transportErrorTimeByNode = new ConcurrentHashMap<String, Long>();
+    protected ContentionStatistics contentionStatistics = new ContentionStatistics();
 
     public ConcurrentConnectionManager(IParameterService parameterService,
             IStatisticManager statisticManager) {
@@ -49,36 +62,41 @@ public class ConcurrentConnectionManager implements IConcurrentConnectionManager
     }
 
     protected void logTooBusyRejection(String nodeId, String poolId) {
-        getNodeConnectionStatistics(nodeId, poolId).numOfRejections++;
+        getNodeConnectionStatistics(nodeId, poolId).numOfRejections.incrementAndGet();
     }
 
     protected void logConnectedTimePeriod(String nodeId, long startMs, long endMs, String poolId) {
         NodeConnectionStatistics stats = getNodeConnectionStatistics(nodeId, poolId);
-        stats.totalConnectionCount++;
-        stats.totalConnectionTimeMs += endMs - startMs;
+        stats.totalConnectionCount.increment();
+        stats.totalConnectionTimeMs.add(endMs - startMs);
         stats.lastConnectionTimeMs = startMs;
     }
 
-    private synchronized NodeConnectionStatistics getNodeConnectionStatistics(String nodeId,
+    private NodeConnectionStatistics getNodeConnectionStatistics(String nodeId,
             String poolId) {
         Map<String, NodeConnectionStatistics> statsMap = nodeConnectionStatistics.get(poolId);
         if (statsMap == null) {
-            statsMap = new HashMap<String, NodeConnectionStatistics>();
-            nodeConnectionStatistics.put(poolId, statsMap);
+            statsMap = new ConcurrentHashMap<String, NodeConnectionStatistics>();
+            Map<String, NodeConnectionStatistics> existing = nodeConnectionStatistics.putIfAbsent(poolId, statsMap);
+            if (existing != null) {
+                statsMap = existing;
+            }
         }
         NodeConnectionStatistics stats = statsMap.get(nodeId);
         if (stats == null) {
             stats = new NodeConnectionStatistics();
-            statsMap.put(nodeId, stats);
+            NodeConnectionStatistics existing = statsMap.putIfAbsent(nodeId, stats);
+            if (existing != null) {
+                stats = existing;
+            }
         }
         return stats;
     }
 
-    public synchronized boolean releaseConnection(String nodeId, String channelId, String poolId) {
+    public boolean releaseConnection(String nodeId, String channelId, String poolId) {
         String reservationId = getReservationIdentifier(nodeId, channelId);
         log.debug("Releasing connection for {} {}", poolId, reservationId);
-        Map<String, Reservation> reservations = getReservationMap(poolId);
-        Reservation reservation = reservations.remove(reservationId);
+        Reservation reservation = getReservationPool(poolId).remove(reservationId);
         if (reservation != null) {
             logConnectedTimePeriod(reservationId, reservation.createTime, System.currentTimeMillis(),
                     poolId);
@@ -89,9 +107,8 @@ public class ConcurrentConnectionManager implements IConcurrentConnectionManager
         }
     }
 
-    public synchronized boolean releaseConnection(String nodeId, String poolId) {
-        Map<String, Reservation> reservations = getReservationMap(poolId);
-        Reservation reservation = reservations.remove(nodeId);
+    public boolean releaseConnection(String nodeId, String poolId) {
+        Reservation reservation = getReservationPool(poolId).remove(nodeId);
         if (reservation != null) {
             logConnectedTimePeriod(nodeId, reservation.createTime, System.currentTimeMillis(),
                     poolId);
@@ -101,58 +118,87 @@ public class ConcurrentConnectionManager implements IConcurrentConnectionManager
         }
     }
 
-    public synchronized void addToWhitelist(String nodeId) {
+    public void addToWhitelist(String nodeId) {
         whiteList.add(nodeId);
     }
 
-    public synchronized void removeFromWhiteList(String nodeId) {
+    public void removeFromWhiteList(String nodeId) {
         whiteList.remove(nodeId);
     }
 
-    public synchronized String[] getWhiteList() {
-        return whiteList.toArray(new String[whiteList.size()]);
+    public String[] getWhiteList() {
+        return whiteList.toArray(new String[0]);
     }
 
-    public synchronized int getReservationCount(String poolId) {
-        return getReservationMap(poolId).size();
+    public int getReservationCount(String poolId) {
+        return getReservationPool(poolId).count.get();
     }
 
-    public synchronized ReservationStatus reserveConnection(String nodeId, String channelId, String poolId,
+    public ReservationStatus reserveConnection(String nodeId, String channelId, String poolId,
             ReservationType reservationRequest, boolean requiresExistingReservation) {
         String reservationId = getReservationIdentifier(nodeId, channelId);
         log.debug("Reserving connection for {} {}", poolId, reservationId);
-        Map<String, Reservation> reservations = getReservationMap(poolId);
+        ReservationPool pool = getReservationPool(poolId);
         int maxPoolSize = parameterService.getInt(ParameterConstants.CONCURRENT_WORKERS);
         long timeout = parameterService.getLong(ParameterConstants.CONCURRENT_RESERVATION_TIMEOUT);
-        removeTimedOutReservations(reservations);
-        Reservation existingReservation = reservations.get(reservationId);
-        if (requiresExistingReservation && existingReservation == null) {
-            String message = "Node '{}' Channel '{}' requested a {} connection, but was rejected because it was missing a reservation";
-            if (shouldLogTransportError(nodeId)) {
-                log.warn(message, nodeId, channelId, poolId);
-            } else {
-                log.info(message, nodeId, channelId, poolId);
+        boolean whiteListed = whiteList.contains(nodeId);
+        contentionStatistics.reservationRequests.increment();
+        expireReservations(pool, false);
+        ReservationStatus status = null;
+        while (status == null) {
+            long currentTime = System.currentTimeMillis();
+            Reservation existingReservation = pool.reservations.get(reservationId);
+            if (existingReservation != null && existingReservation.timeToLiveInMs < currentTime) {
+                pool.remove(reservationId, existingReservation);
+                continue;
             }
-            return ReservationStatus.NOT_FOUND;
-        } else if (reservations.size() < maxPoolSize || existingReservation != null || whiteList.contains(nodeId)) {
-            if (existingReservation == null || existingReservation.getType() == ReservationType.SOFT) {
-                reservations.put(reservationId, new Reservation(reservationId,
-                        reservationRequest == ReservationType.SOFT ? System.currentTimeMillis()
-                                + timeout : Long.MAX_VALUE, reservationRequest));
-                transportErrorTimeByNode.remove(nodeId);
-                return ReservationStatus.ACCEPTED;
-            } else {
-                String message = "Node '{}' Channel '{}' requested a {} connection, but was rejected because it already has one";
+            Reservation reservation = new Reservation(reservationId,
+                    reservationRequest == ReservationType.SOFT ? currentTime + timeout : Long.MAX_VALUE, reservationRequest);
+            if (requiresExistingReservation && existingReservation == null) {
+                String message = "Node '{}' Channel '{}' requested a {} connection, but was rejected because it was missing a reservation";
                 if (shouldLogTransportError(nodeId)) {
                     log.warn(message, nodeId, channelId, poolId);
                 } else {
                     log.info(message, nodeId, channelId, poolId);
                 }
-                return ReservationStatus.DUPLICATE;
+                status = ReservationStatus.NOT_FOUND;
+            } else if (existingReservation != null) {
+                if (existingReservation.getType() == ReservationType.SOFT) {
+                    if (pool.replace(reservationId, existingReservation, reservation)) {
+                        status = ReservationStatus.ACCEPTED;
+                    } else {
+                        contentionStatistics.retries.increment();
+                    }
+                } else {
+                    String message = "Node '{}' Channel '{}' requested a {} connection, but was rejected because it already has one";
+                    if (shouldLogTransportError(nodeId)) {
+                        log.warn(message, nodeId, channelId, poolId);
+                    } else {
+                        log.info(message, nodeId, channelId, poolId);
+                    }
+                    status = ReservationStatus.DUPLICATE;
+                }
+            } else if (whiteListed || pool.tryAcquire(maxPoolSize)
+                    || (expireReservations(pool, true) > 0 && pool.tryAcquire(maxPoolSize))) {
+                if (whiteListed) {
+                    pool.count.incrementAndGet();
+                }
+                if (pool.reservations.putIfAbsent(reservationId, reservation) == null) {
+                    status = ReservationStatus.ACCEPTED;
+                } else {
+                    pool.count.decrementAndGet();
+                    contentionStatistics.retries.increment();
+                }
+            } else {
+                logTooBusyRejection(reservationId, poolId);
+                status = ReservationStatus.BUSY;
             }
-        } else {
-            return ReservationStatus.BUSY;
         }
+        if (status == ReservationStatus.ACCEPTED) {
+            transportErrorTimeByNode.remove(nodeId);
+        }
+        contentionStatistics.increment(status);
+        return status;
     }
 
     public Map<String, Date> getPullReservationsByNodeId() {
@@ -165,15 +211,11 @@ public class ConcurrentConnectionManager implements IConcurrentConnectionManager
 
     protected Map<String, Date> getReservationsByNodeId(String urlPath) {
         Map<String, Date> byNodeId = new HashMap<String, Date>();
-        Set<String> poolIds = activeReservationsByNodeByPool.keySet();
-        for (String poolId : poolIds) {
-            if (poolId.endsWith(urlPath)) {
-                Map<String, Reservation> reservations = activeReservationsByNodeByPool.get(poolId);
-                Set<String> nodeIds = new HashSet<String>(reservations.keySet());
-                for (String nodeId : nodeIds) {
-                    Reservation reservation = reservations.get(nodeId);
-                    if (reservation != null && reservation.getType() == ReservationType.HARD) {
-                        byNodeId.put(nodeId, new Date(reservation.getCreateTime()));
+        for (Map.Entry<String, ReservationPool> entry : reservationPools.entrySet()) {
+            if (entry.getKey().endsWith(urlPath)) {
+                for (Reservation reservation : entry.getValue().reservations.values()) {
+                    if (reservation.getType() == ReservationType.HARD) {
+                        byNodeId.put(reservation.getNodeId(), new Date(reservation.getCreateTime()));
                     }
                 }
             }
@@ -181,26 +223,114 @@ public class ConcurrentConnectionManager implements IConcurrentConnectionManager
         return byNodeId;
     }
 
-    protected void removeTimedOutReservations(Map<String, Reservation> reservations) {
+    /**
+     * Sweeps timed out reservations from the pool when the sweep interval has passed or when forced, and only by one caller at a time.
+     * 
+     * @return the number of reservations that were removed
+     */
+    protected int expireReservations(ReservationPool pool, boolean force) {
         long currentTime = System.currentTimeMillis();
-        String[] keys = reservations.keySet().toArray(new String[reservations.size()]);
-        if (keys != null) {
-            for (String key : keys) {
-                Reservation reservation = reservations.get(key);
-                if (reservation.timeToLiveInMs < currentTime) {
-                    reservations.remove(key);
-                }
+        long nextExpireTime = pool.nextExpireTime.get();
+        if ((force || currentTime >= nextExpireTime)
+                && pool.nextExpireTime.compareAndSet(nextExpireTime, currentTime + EXPIRE_INTERVAL_MS)) {
+            int removed = removeTimedOutReservations(pool.reservations);
+            if (removed > 0) {
+                pool.count.addAndGet(-removed);
+                contentionStatistics.expired.add(removed);
+            }
+            return removed;
+        }
+        return 0;
+    }
+
+    protected int removeTimedOutReservations(Map<String, Reservation> reservations) {
+        long currentTime = System.currentTimeMillis();
+        int removed = 0;
+        for (Map.Entry<String, Reservation> entry : new ArrayList<Map.Entry<String, Reservation>>(reservations.entrySet())) {
+            Reservation reservation = entry.getValue();
+            if (reservation.timeToLiveInMs < currentTime && removeSame(reservations, entry.getKey(), reservation)) {
+                removed++;
             }
         }
+        return removed;
     }
 
-    private Map<String, Reservation> getReservationMap(String poolId) {
-        Map<String, Reservation> reservations = activeReservationsByNodeByPool.get(poolId);
-        if (reservations == null) {
-            reservations = new HashMap<String, Reservation>();
-            activeReservationsByNodeByPool.put(poolId, reservations);
+    /**
+     * Removes the reservation only if the map still holds that same instance. {@link Reservation#equals(Object)} compares node ids, so
+     * {@link Map#remove(Object, Object)} would also remove a newer reservation that replaced it.
+     */
+    protected static boolean removeSame(Map<String, Reservation> reservations, String reservationId, Reservation expected) {
+        boolean[] removed = new boolean[1];
+        reservations.computeIfPresent(reservationId, (key, current) -> {
+            if (current == expected) {
+                removed[0] = true;
+                return null;
+            }
+            return current;
+        });
+        return removed[0];
+    }
+
+    protected ReservationPool getReservationPool(String poolId) {
+        ReservationPool pool = reservationPools.get(poolId);
+        if (pool == null) {
+            pool = new ReservationPool();
+            ReservationPool existing = reservationPools.putIfAbsent(poolId, pool);
+            if (existing != null) {
+                pool = existing;
+            }
+        }
+        return pool;
+    }
+
+    protected class ReservationPool {
+        ConcurrentMap<String, Reservation> reservations = new ConcurrentHashMap<String, Reservation>();
+        AtomicInteger count = new AtomicInteger();
+        AtomicLong nextExpireTime = new AtomicLong();
+
+        boolean tryAcquire(int maxPoolSize) {
+            int current = count.get();
+            while (current < maxPoolSize) {
+                if (count.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+                contentionStatistics.retries.increment();
+                current = count.get();
+            }
+            return false;
+        }
+
+        Reservation remove(String reservationId) {
+            Reservation reservation = reservations.remove(reservationId);
+            if (reservation != null) {
+                count.decrementAndGet();
+            }
+            return reservation;
+        }
+
+        boolean remove(String reservationId, Reservation reservation) {
+            if (removeSame(reservations, reservationId, reservation)) {
+                count.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Replaces the reservation only if the pool still holds that same instance, so only one of several concurrent upgrades of a
+         * reservation succeeds.
+         */
+        boolean replace(String reservationId, Reservation expected, Reservation replacement) {
+            boolean[] replaced = new boolean[1];
+            reservations.computeIfPresent(reservationId, (key, current) -> {
+                if (current == expected) {
+                    replaced[0] = true;
+                    return replacement;
+                }
+                return current;
+            });
+            return replaced[0];
         }
-        return reservations;
     }
 
     public static class Reservation {
@@ -271,30 +401,30 @@ public class ConcurrentConnectionManager implements IConcurrentConnectionManager
 
     protected boolean shouldLogTransportError(String nodeId) {
         long maxErrorMillis = parameterService.getLong(ParameterConstants.TRANSPORT_MAX_ERROR_MILLIS, 300000);
-        Long errorTime = transportErrorTimeByNode.get(nodeId);
+        long currentTime = System.currentTimeMillis();
+        Long errorTime = transportErrorTimeByNode.putIfAbsent(nodeId, currentTime);
         if (errorTime == null) {
-            errorTime = System.currentTimeMillis();
-            transportErrorTimeByNode.put(nodeId, errorTime);
+            errorTime = currentTime;
         }
-        return System.currentTimeMillis() - errorTime >= maxErrorMillis;
+        return currentTime - errorTime >= maxErrorMillis;
     }
 
     public static class NodeConnectionStatistics {
-        int numOfRejections;
-        long totalConnectionCount;
-        long totalConnectionTimeMs;
-        long lastConnectionTimeMs;
+        AtomicInteger numOfRejections = new AtomicInteger();
+        LongAdder totalConnectionCount = new LongAdder();
+        LongAdder totalConnectionTimeMs = new LongAdder();
+        volatile long lastConnectionTimeMs;
 
         public int getNumOfRejections() {
-            return numOfRejections;
+            return numOfRejections.get();
         }
 
         public long getTotalConnectionCount() {
-            return totalConnectionCount;
+            return totalConnectionCount.sum();
         }
 
         public long getTotalConnectionTimeMs() {
-            return totalConnectionTimeMs;
+            return totalConnectionTimeMs.sum();
         }
 
         public long getLastConnectionTimeMs() {
@@ -302,7 +432,68 @@ public class ConcurrentConnectionManager implements IConcurrentConnectionManager
         }
     }
 
+    /**
+     * Counts reservation outcomes and how often a request had to retry because another request changed the same pool at the same time.
+     */
+    public static class ContentionStatistics {
+        LongAdder reservationRequests = new LongAdder();
+        LongAdder accepted = new LongAdder();
+        LongAdder busy = new LongAdder();
+        LongAdder duplicate = new LongAdder();
+        LongAdder notFound = new LongAdder();
+        LongAdder retries = new LongAdder();
+        LongAdder expired = new LongAdder();
+
+        void increment(ReservationStatus status) {
+            if (status == ReservationStatus.ACCEPTED) {
+                accepted.increment();
+            } else if (status == ReservationStatus.BUSY) {
+                busy.increment();
+            } else if (status == ReservationStatus.DUPLICATE) {
+                duplicate.increment();
+            } else if (status == ReservationStatus.NOT_FOUND) {
+                notFound.increment();
+            }
+        }
+
+        public long getReservationRequests() {
+            return reservationRequests.sum();
+        }
+
+        public long getAccepted() {
+            return accepted.sum();
+        }
+
+        public long getBusy() {
+            return busy.sum();
+        }
+
+        public long getDuplicate() {
+            return duplicate.sum();
+        }
+
+        public long getNotFound() {
+            return notFound.sum();
+        }
+
+        public long getRetries() {
+            return retries.sum();
+        }
+
+        public long getExpired() {
+            return expired.sum();
+        }
+    }
+
+    public ContentionStatistics getContentionStatistics() {
+        return contentionStatistics;
+    }
+
     public Map<String, Map<String, Reservation>> getActiveReservationsByNodeByPool() {
-        return activeReservationsByNodeByPool;
+        Map<String, Map<String, Reservation>> reservationsByPool = new HashMap<String, Map<String, Reservation>>();
+        for (Map.Entry<String, ReservationPool> entry : reservationPools.entrySet()) {
+            reservationsByPool.put(entry.getKey(), Collections.unmodifiableMap(entry.getValue().reservations));
+        }
+        return reservationsByPool;
     }
 }
\ No newline at end of file
@@ -23,6 +23,7 @@ package org.jumpmind.symmetric.transport;
 import java.util.Date;
 import java.util.Map;
 
+import org.jumpmind.symmetric.transport.ConcurrentConnectionManager.ContentionStatistics;
 import org.jumpmind.symmetric.transport.ConcurrentConnectionManager.NodeConnectionStatistics;
 import org.jumpmind.symmetric.transport.ConcurrentConnectionManager.Reservation;
 
@@ -77,6 +78,8 @@ public interface IConcurrentConnectionManager {
 
     public Map<String, Map<String, Reservation>> getActiveReservationsByNodeByPool();
 
+    public ContentionStatistics getContentionStatistics();
+
     public void addToWhitelist(String nodeId);
 
     public String[] getWhiteList();
@@ -22,7 +22,16 @@ package org.jumpmind.symmetric.transport;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.util.List;
+
+import org.jumpmind.symmetric.model.BatchAck;
 
 public interface IOutgoingWithResponseTransport extends IOutgoingTransport {
     public BufferedReader readResponse() throws IOException;
+
+    /**
+     * Returns the acknowledgements the remote node streamed back since the last call, without waiting for more. Transports that can only read
+     * the response after the request is sent return an empty list.
+     */
+    public List<BatchAck> readStreamedAcks() throws IOException;
 }
\ No newline at end of file
@@ -23,6 +23,7 @@ package org.jumpmind.symmetric.transport;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 
@@ -38,6 +39,8 @@ public interface ITransportManager {
 
     public void writeAcknowledgement(OutputStream out, Node remote, List<IncomingBatch> list, Node local, String securityToken) throws IOException;
 
+    public void writeStreamedAcknowledgement(Writer writer, Node remote, IncomingBatch batch, Node local) throws IOException;
+
     public List<BatchAck> readAcknowledgement(String parameterString1, String parameterString2) throws IOException;
 
     public IIncomingTransport getFilePullTransport(Node remote, Node local, String securityToken,
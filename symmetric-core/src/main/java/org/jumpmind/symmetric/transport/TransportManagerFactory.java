@@ -47,6 +47,7 @@ import org.jumpmind.symmetric.common.Constants;
 import org.jumpmind.symmetric.common.ParameterConstants;
 import org.jumpmind.symmetric.common.ServerConstants;
 import org.jumpmind.symmetric.transport.file.FileTransportManager;
+import org.jumpmind.symmetric.transport.http.Http2TransportManager;
 import org.jumpmind.symmetric.transport.http.HttpTransportManager;
 import org.jumpmind.symmetric.transport.http.SelfSignedX509TrustManager;
 import org.jumpmind.symmetric.transport.http.SimpleHostnameVerifier;
@@ -57,6 +58,7 @@ import org.slf4j.LoggerFactory;
 public class TransportManagerFactory {
     private static final Logger log = LoggerFactory.getLogger(TransportManagerFactory.class);
     private static boolean isStaticInitialized;
+    private static SSLContext sslContext;
     private ISymmetricEngine symmetricEngine;
 
     public TransportManagerFactory(ISymmetricEngine symmetricEngine) {
@@ -109,6 +111,9 @@ public class TransportManagerFactory {
     protected HttpTransportManager createHttpTransportManager(ISymmetricEngine symmetricEngine) {
         String impl = symmetricEngine.getParameterService().getString(ServerConstants.HTTP_TRANSPORT_MANAGER_CLASS);
         if (StringUtils.isEmpty(impl)) {
+            if (symmetricEngine.getParameterService().is(ParameterConstants.TRANSPORT_HTTP_CLIENT_HTTP2_ENABLED, false)) {
+                return new Http2TransportManager(symmetricEngine);
+            }
             return new HttpTransportManager(symmetricEngine);
         } else {
             String className = impl.trim();
@@ -159,5 +164,13 @@ public class TransportManagerFactory {
         context.init(keyManagers, new TrustManager[] { trustManager }, new SecureRandom());
         SSLSocketFactory sslSocketFactory = context.getSocketFactory();
         HttpsURLConnection.setDefaultSSLSocketFactory(sslSocketFactory);
+        sslContext = context;
+    }
+
+    /**
+     * The SSL context that accepts self signed certificates, or null when they are not allowed.
+     */
+    public static SSLContext getSslContext() {
+        return sslContext;
     }
 }
\ No newline at end of file
@@ -26,7 +26,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
@@ -41,7 +40,7 @@ public class TransportUtils {
     }
 
     public static BufferedWriter toWriter(OutputStream os) {
-        return new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+        return new StreamBufferedWriter(os, StandardCharsets.UTF_8);
     }
 
     public static String toCSV(Map<?, ?> map) {
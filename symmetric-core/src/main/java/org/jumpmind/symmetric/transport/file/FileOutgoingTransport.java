@@ -29,8 +29,10 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import org.jumpmind.symmetric.model.BatchAck;
 import org.jumpmind.symmetric.model.ChannelMap;
 import org.jumpmind.symmetric.model.Node;
 import org.jumpmind.symmetric.model.OutgoingBatch;
@@ -102,6 +104,11 @@ public class FileOutgoingTransport implements IOutgoingWithResponseTransport {
         return new BufferedReader(new StringReader(resp.toString()));
     }
 
+    @Override
+    public List<BatchAck> readStreamedAcks() {
+        return Collections.emptyList();
+    }
+
     @Override
     public void close() {
         try {
@@ -0,0 +1,354 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.transport.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.security.cert.Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSocketFactory;
+
+import org.jumpmind.symmetric.web.WebConstants;
+
+/**
+ * A connection that sends its request with a shared {@link HttpClient}, so requests to the same node are multiplexed over one HTTP/2
+ * connection (or reuse a kept alive HTTP/1.1 connection when the server does not support HTTP/2). The request body is streamed through a
+ * pipe while the client sends it, so pushes are not buffered in memory. Connect timeout, SSL and redirects are settings of the shared
+ * client.
+ */
+public class Http2Connection extends HttpConnection {
+    protected HttpClient client;
+    protected String method = "GET";
+    protected Map<String, List<String>> requestHeaders = new LinkedHashMap<String, List<String>>();
+    protected int readTimeout;
+    protected OutputStream outputStream;
+    protected Pipe.SourceChannel source;
+    protected CompletableFuture<HttpResponse<InputStream>> futureResponse;
+    protected HttpResponse<InputStream> response;
+
+    public Http2Connection(HttpClient client, URL url) {
+        super(url, null);
+        this.client = client;
+    }
+
+    @Override
+    public void disconnect() {
+        closeOutputStream();
+        if (futureResponse != null && !futureResponse.isDone()) {
+            futureResponse.cancel(true);
+        }
+        if (response != null) {
+            try {
+                response.body().close();
+            } catch (IOException e) {
+            }
+        }
+    }
+
+    @Override
+    public String getContentEncoding() {
+        return getHeaderField("Content-Encoding");
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        int code = getResponseCode();
+        if (code >= 400) {
+            throw new IOException("Server returned HTTP response code: " + code + " for URL: " + url);
+        }
+        return response.body();
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            Pipe pipe = Pipe.open();
+            source = pipe.source();
+            InputStream in = Channels.newInputStream(source);
+            outputStream = Channels.newOutputStream(pipe.sink());
+            boolean streamAcks = requestHeaders.containsKey(WebConstants.HEADER_STREAM_ACKS);
+            futureResponse = client.sendAsync(buildRequest(new CloseOnCancelBodyPublisher(BodyPublishers.ofInputStream(() -> in)), false),
+                    BodyHandlers.ofInputStream());
+            /*
+             * If the server answers or fails early, stop a writer that is blocked on a full pipe. A server that streams acks answers with OK
+             * early and keeps reading the body, so the pipe is only closed if the client stops sending it.
+             */
+            futureResponse.whenComplete((r, e) -> {
+                if (e != null || r.statusCode() != HTTP_OK || !streamAcks) {
+                    closeSource();
+                }
+            });
+        }
+        return outputStream;
+    }
+
+    @Override
+    public InputStream getInputStreamIfResponded() throws IOException {
+        if (response == null && futureResponse != null && futureResponse.isDone() && !futureResponse.isCompletedExceptionally()) {
+            HttpResponse<InputStream> earlyResponse = futureResponse.join();
+            if (earlyResponse.statusCode() == HTTP_OK && !earlyResponse.headers().firstValue("Content-Encoding").isPresent()) {
+                return earlyResponse.body();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The connect timeout is set on the shared client when it is built.
+     */
+    @Override
+    public void setConnectTimeout(int timeout) {
+    }
+
+    @Override
+    public void setReadTimeout(int timeout) {
+        this.readTimeout = timeout;
+    }
+
+    @Override
+    public void setDoInput(boolean doinput) {
+    }
+
+    @Override
+    public void setDoOutput(boolean dooutput) {
+    }
+
+    @Override
+    public void setAllowUserInteraction(boolean allowuserinteraction) {
+    }
+
+    @Override
+    public void setUseCaches(boolean usecaches) {
+    }
+
+    @Override
+    public void setRequestProperty(String key, String value) {
+        List<String> values = new ArrayList<String>(1);
+        values.add(value);
+        requestHeaders.put(key, values);
+    }
+
+    @Override
+    public void addRequestProperty(String key, String value) {
+        requestHeaders.computeIfAbsent(key, k -> new ArrayList<String>(1)).add(value);
+    }
+
+    @Override
+    public void setChunkedStreamingMode(int chunklen) {
+    }
+
+    @Override
+    public String getHeaderField(String name) {
+        try {
+            getResponseCode();
+        } catch (IOException e) {
+            return null;
+        }
+        return response.headers().firstValue(name).orElse(null);
+    }
+
+    @Override
+    public Map<String, List<String>> getHeaderFields() {
+        try {
+            getResponseCode();
+        } catch (IOException e) {
+            return Collections.emptyMap();
+        }
+        return response.headers().map();
+    }
+
+    @Override
+    public void setInstanceFollowRedirects(boolean followRedirects) {
+    }
+
+    @Override
+    public void setRequestMethod(String method) {
+        this.method = method;
+    }
+
+    @Override
+    public int getResponseCode() throws IOException {
+        if (response == null) {
+            try {
+                if (futureResponse == null) {
+                    response = client.send(buildRequest(BodyPublishers.noBody(), true), BodyHandlers.ofInputStream());
+                } else {
+                    closeOutputStream();
+                    response = readTimeout > 0 ? futureResponse.get(readTimeout, TimeUnit.MILLISECONDS) : futureResponse.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException(e.getCause() != null ? e.getCause() : e);
+            } catch (TimeoutException e) {
+                throw new HttpTimeoutException("Timed out waiting " + readTimeout + "ms for a response from " + url);
+            }
+        }
+        return response.statusCode();
+    }
+
+    /**
+     * The shared client always verifies host names, so {@link Http2TransportManager} does not use this connection for https when verification
+     * is relaxed.
+     */
+    @Override
+    public void setHostnameVerifier(HostnameVerifier hostnameVerifier) {
+    }
+
+    @Override
+    public void setSslSocketFactory(SSLSocketFactory sslSocketFactory) {
+    }
+
+    @Override
+    public Certificate[] getServerCertificates() {
+        try {
+            getResponseCode();
+            if (response.sslSession().isPresent()) {
+                return response.sslSession().get().getPeerCertificates();
+            }
+        } catch (SSLPeerUnverifiedException e) {
+        } catch (IOException e) {
+        }
+        return new Certificate[] {};
+    }
+
+    /**
+     * The read timeout applies until the response headers arrive for requests without a body. When a body is streamed, the timeout starts after the
+     * body has been sent instead, so a long push is not cut off.
+     */
+    protected HttpRequest buildRequest(BodyPublisher bodyPublisher, boolean useTimeout) throws IOException {
+        HttpRequest.Builder builder;
+        try {
+            builder = HttpRequest.newBuilder(url.toURI()).method(method, bodyPublisher);
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+        if (useTimeout && readTimeout > 0) {
+            builder.timeout(Duration.ofMillis(readTimeout));
+        }
+        for (Map.Entry<String, List<String>> header : requestHeaders.entrySet()) {
+            for (String value : header.getValue()) {
+                builder.header(header.getKey(), value);
+            }
+        }
+        return builder.build();
+    }
+
+    protected void closeSource() {
+        try {
+            source.close();
+        } catch (IOException ex) {
+        }
+    }
+
+    /**
+     * Closes the pipe when the client cancels sending the body, for example when the server resets the request, so a writer blocked on a
+     * full pipe fails instead of waiting forever.
+     */
+    protected class CloseOnCancelBodyPublisher implements BodyPublisher {
+        protected BodyPublisher publisher;
+
+        public CloseOnCancelBodyPublisher(BodyPublisher publisher) {
+            this.publisher = publisher;
+        }
+
+        @Override
+        public long contentLength() {
+            return publisher.contentLength();
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            publisher.subscribe(new Flow.Subscriber<ByteBuffer>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscriber.onSubscribe(new Flow.Subscription() {
+                        @Override
+                        public void request(long n) {
+                            subscription.request(n);
+                        }
+
+                        @Override
+                        public void cancel() {
+                            subscription.cancel();
+                            closeSource();
+                        }
+                    });
+                }
+
+                @Override
+                public void onNext(ByteBuffer item) {
+                    subscriber.onNext(item);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    subscriber.onError(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    subscriber.onComplete();
+                }
+            });
+        }
+    }
+
+    protected void closeOutputStream() {
+        if (outputStream != null) {
+            try {
+                outputStream.close();
+            } catch (IOException e) {
+            }
+        }
+    }
+}
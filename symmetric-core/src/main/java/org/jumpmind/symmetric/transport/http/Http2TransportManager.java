@@ -0,0 +1,79 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.transport.http;
+
+import java.io.IOException;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.common.ServerConstants;
+import org.jumpmind.symmetric.transport.TransportManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transport manager that sends every request through one {@link HttpClient}, so the pushes, pulls, acks and pings to a node share
+ * HTTP/2 connections instead of opening a new connection and TLS session for each request. The {@link HttpClient} always verifies host
+ * names, so when https.verified.server.names relaxes verification, https requests fall back to HTTP/1.1 connections.
+ */
+public class Http2TransportManager extends HttpTransportManager {
+    private static final Logger log = LoggerFactory.getLogger(Http2TransportManager.class);
+    protected HttpClient client;
+    protected boolean hostnameVerificationRelaxed;
+
+    public Http2TransportManager(ISymmetricEngine engine) {
+        super(engine);
+        HttpClient.Builder builder = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER).proxy(ProxySelector.getDefault());
+        int connectTimeout = getHttpConnectTimeOutInMs();
+        if (connectTimeout > 0) {
+            builder.connectTimeout(Duration.ofMillis(connectTimeout));
+        }
+        SSLContext sslContext = TransportManagerFactory.getSslContext();
+        if (sslContext != null) {
+            builder.sslContext(sslContext);
+        }
+        if (CookieHandler.getDefault() != null) {
+            builder.cookieHandler(CookieHandler.getDefault());
+        }
+        client = builder.build();
+        hostnameVerificationRelaxed = StringUtils.isNotBlank(engine.getParameterService().getString(ServerConstants.HTTPS_VERIFIED_SERVERS));
+        if (hostnameVerificationRelaxed) {
+            log.info("The HTTP/2 client is only used for http URLs because {} relaxes host name verification, which the HTTP/2 client does not support",
+                    ServerConstants.HTTPS_VERIFIED_SERVERS);
+        }
+    }
+
+    @Override
+    protected HttpConnection newConnection(URL url) throws IOException {
+        if (hostnameVerificationRelaxed && "https".equalsIgnoreCase(url.getProtocol())) {
+            return super.newConnection(url);
+        }
+        return new Http2Connection(client, url);
+    }
+}
@@ -47,6 +47,11 @@ public class HttpConnection implements Closeable {
         conn = (HttpURLConnection) url.openConnection();
     }
 
+    protected HttpConnection(URL url, HttpURLConnection conn) {
+        this.url = url;
+        this.conn = conn;
+    }
+
     public void disconnect() {
         conn.disconnect();
     }
@@ -127,6 +132,14 @@ public class HttpConnection implements Closeable {
         return conn.getResponseCode();
     }
 
+    /**
+     * Returns the response body if the server already answered while the request body is still being sent, otherwise null. An
+     * HttpURLConnection only reads the response after the request body is sent, so it always returns null.
+     */
+    public InputStream getInputStreamIfResponded() throws IOException {
+        return null;
+    }
+
     public void setHostnameVerifier(HostnameVerifier hostnameVerifier) {
         if (conn instanceof HttpsURLConnection) {
             ((HttpsURLConnection) conn).setHostnameVerifier(hostnameVerifier);
@@ -22,19 +22,25 @@ package org.jumpmind.symmetric.transport.http;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
+import java.io.SequenceInputStream;
 import java.net.URL;
 import java.net.URLConnection;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.zip.GZIPOutputStream;
 
 import org.apache.commons.io.IOUtils;
 import org.jumpmind.exception.HttpException;
 import org.jumpmind.exception.IoException;
+import org.jumpmind.symmetric.model.BatchAck;
 import org.jumpmind.symmetric.model.ChannelMap;
 import org.jumpmind.symmetric.model.Node;
 import org.jumpmind.symmetric.service.IConfigurationService;
@@ -50,7 +56,9 @@ import org.jumpmind.symmetric.transport.IOutgoingWithResponseTransport;
 import org.jumpmind.symmetric.transport.NoReservationException;
 import org.jumpmind.symmetric.transport.ServiceNotReadyException;
 import org.jumpmind.symmetric.transport.ServiceUnavailableException;
+import org.jumpmind.symmetric.transport.StreamBufferedWriter;
 import org.jumpmind.symmetric.transport.SyncDisabledException;
+import org.jumpmind.symmetric.transport.TransportUtils;
 import org.jumpmind.symmetric.web.WebConstants;
 
 public class HttpOutgoingTransport implements IOutgoingWithResponseTransport {
@@ -73,6 +81,10 @@ public class HttpOutgoingTransport implements IOutgoingWithResponseTransport {
     private int streamOutputChunkSize = 30720;
     private boolean fileUpload = false;
     private Map<String, String> requestProperties;
+    private ByteArrayOutputStream streamedResponse;
+    private StringBuilder streamedParameter = new StringBuilder();
+    private StringBuilder streamedAck = new StringBuilder();
+    private boolean streamedAckLineEnded;
 
     public HttpOutgoingTransport(HttpTransportManager httpTransportManager, URL url, int httpTimeout, int httpConnectTimeout, boolean useCompression,
             int compressionStrategy, int compressionLevel, String nodeId,
@@ -245,8 +257,7 @@ public class HttpOutgoingTransport implements IOutgoingWithResponseTransport {
     }
 
     public BufferedWriter openWriter() {
-        OutputStreamWriter wout = new OutputStreamWriter(openStream(), StandardCharsets.UTF_8);
-        writer = new BufferedWriter(wout);
+        writer = new StreamBufferedWriter(openStream(), StandardCharsets.UTF_8);
         return writer;
     }
 
@@ -292,10 +303,53 @@ public class HttpOutgoingTransport implements IOutgoingWithResponseTransport {
         closeOutputStream(false);
         analyzeResponseCode(connection.getResponseCode());
         httpTransportManager.updateSession(connection);
-        this.reader = HttpTransportManager.getReaderFrom(connection);
+        if (streamedResponse != null && streamedResponse.size() > 0) {
+            /* Acks already read while sending are still part of the response */
+            this.reader = TransportUtils.toReader(new SequenceInputStream(new ByteArrayInputStream(streamedResponse.toByteArray()),
+                    connection.getInputStream()));
+        } else {
+            this.reader = HttpTransportManager.getReaderFrom(connection);
+        }
         return this.reader;
     }
 
+    /**
+     * Reads the acks the server already sent while the request is still being sent, without blocking. The bytes read are kept so
+     * {@link #readResponse()} still returns the whole response.
+     */
+    public List<BatchAck> readStreamedAcks() throws IOException {
+        List<BatchAck> acks = new ArrayList<BatchAck>();
+        InputStream in = connection != null && reader == null && !streamedAckLineEnded ? connection.getInputStreamIfResponded() : null;
+        if (in != null) {
+            if (streamedResponse == null) {
+                streamedResponse = new ByteArrayOutputStream();
+            }
+            while (!streamedAckLineEnded && in.available() > 0) {
+                int b = in.read();
+                if (b < 0) {
+                    streamedAckLineEnded = true;
+                } else {
+                    streamedResponse.write(b);
+                    if (b == '\n') {
+                        streamedAckLineEnded = true;
+                    } else if (b == '&') {
+                        String parameter = streamedParameter.toString();
+                        streamedParameter.setLength(0);
+                        if (parameter.startsWith(WebConstants.ACK_STREAMED_BATCH + "=")) {
+                            acks.addAll(httpTransportManager.readAcknowledgement(streamedAck.toString()));
+                            streamedAck.setLength(0);
+                        } else {
+                            streamedAck.append(parameter).append("&");
+                        }
+                    } else {
+                        streamedParameter.append((char) b);
+                    }
+                }
+            }
+        }
+        return acks;
+    }
+
     public boolean isOpen() {
         return connection != null;
     }
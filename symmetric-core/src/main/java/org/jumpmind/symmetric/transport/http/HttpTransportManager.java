@@ -167,7 +167,7 @@ public class HttpTransportManager extends AbstractTransportManager implements IT
 
     public HttpConnection openConnection(URL url, String nodeId, String securityToken)
             throws IOException {
-        HttpConnection conn = new HttpConnection(url);
+        HttpConnection conn = newConnection(url);
         conn.setRequestProperty(WebConstants.HEADER_ACCEPT_CHARSET, StandardCharsets.UTF_8.name());
         boolean hasSession = false;
         if (useSessionAuth) {
@@ -183,6 +183,10 @@ public class HttpTransportManager extends AbstractTransportManager implements IT
         return conn;
     }
 
+    protected HttpConnection newConnection(URL url) throws IOException {
+        return new HttpConnection(url);
+    }
+
     public void updateSession(HttpConnection conn) {
         if (useSessionAuth) {
             String sessionId = conn.getHeaderField(WebConstants.HEADER_SET_SESSION_ID);
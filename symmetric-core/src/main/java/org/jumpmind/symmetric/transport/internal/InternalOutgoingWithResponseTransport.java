@@ -25,7 +25,10 @@ import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
 
+import org.jumpmind.symmetric.model.BatchAck;
 import org.jumpmind.symmetric.model.ChannelMap;
 import org.jumpmind.symmetric.model.Node;
 import org.jumpmind.symmetric.service.IConfigurationService;
@@ -58,6 +61,10 @@ public class InternalOutgoingWithResponseTransport implements IOutgoingWithRespo
         return reader;
     }
 
+    public List<BatchAck> readStreamedAcks() {
+        return Collections.emptyList();
+    }
+
     public void close() {
         try {
             if (os != null) {
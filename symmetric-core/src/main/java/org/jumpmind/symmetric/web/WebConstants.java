@@ -81,6 +81,7 @@ public class WebConstants {
     public static final String ACK_IGNORE_ROW_COUNT = "ignoreRowCount-";
     public static final String ACK_MISSING_DELETE_COUNT = "missingDeleteCount-";
     public static final String ACK_SKIP_COUNT = "skipCount-";
+    public static final String ACK_STREAMED_BATCH = "streamedBatch";
     public static final String NODE_ID = "nodeId";
     public static final String NODE_GROUP_ID = "nodeGroupId";
     public static final String EXTERNAL_ID = "externalId";
@@ -102,6 +103,7 @@ public class WebConstants {
     public static final String SESSION_PREFIX = "JSESSIONID_";
     public static final String HEADER_SECURITY_TOKEN = "Security-Token";
     public static final String HEADER_SESSION_ID = "Session-ID";
+    public static final String HEADER_STREAM_ACKS = "Stream-Acks";
     public static final String HEADER_SET_SESSION_ID = "Set-Session-ID";
     public static final String REG_USER_ID = "regUserId";
     public static final String REG_PASSWORD = "regPassword";
@@ -181,4 +181,38 @@ public class DirectorySnapshotTest {
         assertTrue(50 > runTimeMs);
         // System.out.println("testDiff_LotsOfFilesAndFewChanges done; Runtime ms=" + (runTimeMs));
     }
+
+    /**
+     * The sorted merge diff must report the same creates, modifies and deletes as the map based diff.
+     */
+    @Test
+    public void testMergeDiff_SameAsDiff() {
+        DirectorySnapshot sourceDir = new DirectorySnapshot(fileTriggerRouter1);
+        DirectorySnapshot targetDir = new DirectorySnapshot(fileTriggerRouter1);
+        DirectorySnapshot sortedSourceDir = new DirectorySnapshot(fileTriggerRouter1);
+        DirectorySnapshot sortedTargetDir = new DirectorySnapshot(fileTriggerRouter1);
+        for (int i = 20; i > 0; i--) {
+            File file = new File(sourceDirectory, String.format("temp%d.test", i));
+            if (i % 5 != 0) {
+                FileSnapshot sourceFileShapshot = new FileSnapshot(fileTriggerRouter1, file, LastEventType.CREATE, false);
+                if (i % 7 == 0) {
+                    sourceFileShapshot.setFileModifiedTime(System.currentTimeMillis());
+                }
+                sourceDir.add(sourceFileShapshot);
+                sortedSourceDir.add(new FileSnapshot(sourceFileShapshot));
+            }
+            if (i % 3 != 0) {
+                FileSnapshot targetFileShapshot = new FileSnapshot(fileTriggerRouter1, file, LastEventType.MODIFY, false);
+                targetDir.add(targetFileShapshot);
+                sortedTargetDir.add(new FileSnapshot(targetFileShapshot));
+            }
+        }
+        DirectorySnapshot expected = targetDir.diff(sourceDir);
+        DirectorySnapshot differences = sortedTargetDir.mergeDiff(sortedSourceDir);
+        assertEquals(10, expected.size());
+        assertEquals(expected.size(), differences.size());
+        for (FileSnapshot fileSnapshot : expected) {
+            assertTrue(differences.contains(fileSnapshot));
+        }
+    }
 }
@@ -22,10 +22,15 @@ package org.jumpmind.symmetric.file;
 
 import java.io.File;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.junit.Assert.*;
 
 import org.apache.commons.io.FileUtils;
+import org.jumpmind.symmetric.file.FileTriggerFileModifiedListener.FileModifiedCallback;
 import org.jumpmind.symmetric.model.FileSnapshot;
 import org.jumpmind.symmetric.model.FileSnapshot.LastEventType;
 import org.jumpmind.symmetric.model.FileTrigger;
@@ -112,6 +117,78 @@ public class FileTriggerTrackerTest {
     public void testTakeSnapshotAfterRestart() throws Exception {
     }
 
+    @Test
+    public void testIncrementalTrackChanges() throws Exception {
+        FileTrigger fileTrigger = new FileTrigger(directory.getAbsolutePath(), true, null, null);
+        Router router = new Router();
+        FileTriggerRouter fileTriggerRouter = new FileTriggerRouter(fileTrigger, router);
+        SnapshotCallback callback = new SnapshotCallback(fileTriggerRouter);
+        IncrementalFileTriggerTracker tracker = new IncrementalFileTriggerTracker(fileTriggerRouter, false, false, null);
+        assertEquals(4, tracker.trackChanges(null, callback));
+        assertEquals(0, tracker.trackChanges(null, callback));
+        FileUtils.deleteQuietly(fileInDirectory1);
+        assertEquals(1, tracker.trackChanges(null, callback));
+        assertEquals(LastEventType.DELETE, callback.lastCommit.get(0).getLastEventType());
+        assertEquals(fileInDirectory1.getName(), callback.lastCommit.get(0).getFileName());
+    }
+
+    @Test
+    public void testIncrementalTrackDeletedDirectory() throws Exception {
+        FileTrigger fileTrigger = new FileTrigger(directory.getAbsolutePath(), true, null, null);
+        Router router = new Router();
+        FileTriggerRouter fileTriggerRouter = new FileTriggerRouter(fileTrigger, router);
+        SnapshotCallback callback = new SnapshotCallback(fileTriggerRouter);
+        IncrementalFileTriggerTracker tracker = new IncrementalFileTriggerTracker(fileTriggerRouter, false, false, null);
+        tracker.trackChanges(null, callback);
+        FileUtils.deleteQuietly(subdirectory);
+        assertEquals(2, tracker.trackChanges(null, callback));
+        for (FileSnapshot change : callback.lastCommit) {
+            assertEquals(LastEventType.DELETE, change.getLastEventType());
+        }
+        assertEquals(2, callback.snapshots.get(".").size());
+        assertTrue(callback.snapshots.get("a").isEmpty());
+    }
+
+    static class SnapshotCallback extends FileModifiedCallback {
+        FileTriggerRouter fileTriggerRouter;
+        Map<String, DirectorySnapshot> snapshots = new HashMap<String, DirectorySnapshot>();
+        DirectorySnapshot lastCommit;
+
+        SnapshotCallback(FileTriggerRouter fileTriggerRouter) {
+            super(1000);
+            this.fileTriggerRouter = fileTriggerRouter;
+        }
+
+        public void commit(DirectorySnapshot dirSnapshot) {
+            lastCommit = dirSnapshot;
+            for (FileSnapshot change : dirSnapshot) {
+                DirectorySnapshot snapshot = getLastDirectorySnapshot(change.getRelativeDir());
+                snapshot.remove(change);
+                for (FileSnapshot existing : new ArrayList<FileSnapshot>(snapshot)) {
+                    if (existing.getFileName().equals(change.getFileName())) {
+                        snapshot.remove(existing);
+                    }
+                }
+                if (change.getLastEventType() != LastEventType.DELETE) {
+                    snapshot.add(change);
+                }
+            }
+        }
+
+        public DirectorySnapshot getLastDirectorySnapshot(String relativeDir) {
+            DirectorySnapshot snapshot = snapshots.get(relativeDir);
+            if (snapshot == null) {
+                snapshot = new DirectorySnapshot(fileTriggerRouter);
+                snapshots.put(relativeDir, snapshot);
+            }
+            return snapshot;
+        }
+
+        public Collection<String> getLastRelativeDirs() {
+            return new ArrayList<String>(snapshots.keySet());
+        }
+    }
+
     protected void recreateDirectorySpecAndFiles() throws Exception {
         FileUtils.deleteQuietly(snapshotDirectory);
         FileUtils.deleteQuietly(directory);
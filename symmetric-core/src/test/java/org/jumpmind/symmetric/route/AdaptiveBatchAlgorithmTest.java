@@ -0,0 +1,83 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.route;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.model.NodeChannel;
+import org.jumpmind.symmetric.service.IParameterService;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveBatchAlgorithmTest {
+    @Test
+    public void testBatchSizeFromLoadTime() {
+        IParameterService parameterService = mock(IParameterService.class);
+        when(parameterService.getInt(eq(ParameterConstants.ROUTING_ADAPTIVE_BATCH_MIN_SIZE), anyInt())).thenReturn(100);
+        when(parameterService.getInt(eq(ParameterConstants.ROUTING_ADAPTIVE_BATCH_MAX_SIZE), anyInt())).thenReturn(50000);
+        when(parameterService.getLong(eq(ParameterConstants.ROUTING_ADAPTIVE_BATCH_TARGET_MS), anyLong())).thenReturn(10000L);
+        AdaptiveBatchAlgorithm algorithm = new AdaptiveBatchAlgorithm(parameterService);
+        NodeChannel nodeChannel = new NodeChannel("default");
+        nodeChannel.setMaxBatchSize(1000);
+        assertEquals(1000, algorithm.getBatchSize("001", nodeChannel));
+
+        algorithm.batchLoaded("001", "default", 1000, 1000);
+        assertEquals(10000, algorithm.getBatchSize("001", nodeChannel));
+        assertEquals(1000, algorithm.getBatchSize("002", nodeChannel));
+
+        algorithm.batchLoaded("001", "default", 1000, 11000);
+        assertEquals(2500, algorithm.getBatchSize("001", nodeChannel));
+
+        algorithm.batchLoaded("002", "default", 1000, 1);
+        assertEquals(50000, algorithm.getBatchSize("002", nodeChannel));
+        algorithm.batchLoaded("003", "default", 10, 100000);
+        assertEquals(100, algorithm.getBatchSize("003", nodeChannel));
+    }
+
+    @Test
+    public void testParametersReadOnlyAfterRefresh() {
+        IParameterService parameterService = mock(IParameterService.class);
+        when(parameterService.getInt(eq(ParameterConstants.ROUTING_ADAPTIVE_BATCH_MIN_SIZE), anyInt())).thenReturn(100);
+        when(parameterService.getInt(eq(ParameterConstants.ROUTING_ADAPTIVE_BATCH_MAX_SIZE), anyInt())).thenReturn(50000);
+        when(parameterService.getLong(eq(ParameterConstants.ROUTING_ADAPTIVE_BATCH_TARGET_MS), anyLong())).thenReturn(10000L);
+        when(parameterService.getLastTimeParameterWereCached()).thenReturn(new Date(1000));
+        AdaptiveBatchAlgorithm algorithm = new AdaptiveBatchAlgorithm(parameterService);
+        NodeChannel nodeChannel = new NodeChannel("default");
+        algorithm.batchLoaded("001", "default", 1000, 1000);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(10000, algorithm.getBatchSize("001", nodeChannel));
+        }
+        verify(parameterService, times(1)).getLong(eq(ParameterConstants.ROUTING_ADAPTIVE_BATCH_TARGET_MS), anyLong());
+
+        when(parameterService.getLastTimeParameterWereCached()).thenReturn(new Date(2000));
+        when(parameterService.getLong(eq(ParameterConstants.ROUTING_ADAPTIVE_BATCH_TARGET_MS), anyLong())).thenReturn(20000L);
+        assertEquals(20000, algorithm.getBatchSize("001", nodeChannel));
+    }
+}
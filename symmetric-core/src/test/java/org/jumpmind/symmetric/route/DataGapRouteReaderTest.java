@@ -21,15 +21,20 @@
 package org.jumpmind.symmetric.route;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.jumpmind.db.platform.IDatabasePlatform;
 import org.jumpmind.db.sql.ISqlRowMapper;
@@ -60,7 +65,9 @@ import org.jumpmind.util.AppUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DataGapRouteReaderTest {
@@ -359,4 +366,82 @@ public class DataGapRouteReaderTest {
         thread2.join(1000);
         assertFalse(thread2.isAlive());
     }
+
+    @Test
+    public void testPartitionedReaderKeepsPartitionOrder() throws Exception {
+        List<Long> ids = readPartitioned(100);
+        assertEquals(6, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i + 1, ids.get(i).longValue());
+        }
+    }
+
+    @Test
+    public void testPartitionedReaderWithSmallPeekAheadWindow() throws Exception {
+        List<Long> ids = readPartitioned(100, 1);
+        assertEquals(6, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i + 1, ids.get(i).longValue());
+        }
+    }
+
+    @Test
+    public void testPartitionedReaderStopsAfterTruncatedPartition() throws Exception {
+        List<Long> ids = readPartitioned(2);
+        assertFalse(ids.isEmpty());
+        for (Long id : ids) {
+            assertTrue(id <= 3);
+        }
+    }
+
+    protected List<Long> readPartitioned(int maxDataToRoute) throws Exception {
+        return readPartitioned(maxDataToRoute, 100);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected List<Long> readPartitioned(int maxDataToRoute, int peekAheadWindow) throws Exception {
+        nodeChannel.setBatchAlgorithm(DefaultBatchAlgorithm.NAME);
+        nodeChannel.setMaxDataToRoute(maxDataToRoute);
+        when(parameterService.getInt(ParameterConstants.ROUTING_PEEK_AHEAD_WINDOW)).thenReturn(peekAheadWindow);
+        when(parameterService.getInt(ParameterConstants.ROUTING_WAIT_FOR_DATA_TIMEOUT_SECONDS, 330)).thenReturn(10);
+        when(sqlTemplate.startSqlTransaction()).thenReturn(mock(ISqlTransaction.class));
+        final List<Data> data = new ArrayList<Data>();
+        for (int i = 1; i <= 6; i++) {
+            data.add(new Data(i, null, null, null, TABLE1, null, null, null, String.valueOf(i), null));
+        }
+        when(sqlTemplate.queryForCursor((String) any(), (ISqlRowMapper<Data>) any(), (Object[]) any(), (int[]) any()))
+                .thenAnswer(new Answer<ListReadCursor>() {
+                    public ListReadCursor answer(InvocationOnMock invocation) {
+                        return new ListReadCursor(data);
+                    }
+                });
+        List<DataGap> dataGaps = new ArrayList<DataGap>();
+        dataGaps.add(new DataGap(1, 6));
+        DataGapRouteReader dataGapRouteReader = buildReader(50, dataGaps, false);
+        List<List<DataGap>> partitions = new ArrayList<List<DataGap>>();
+        partitions.add(Arrays.asList(new DataGap(1, 3)));
+        partitions.add(Arrays.asList(new DataGap(4, 6)));
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            PartitionedDataRouteReader reader = new PartitionedDataRouteReader(dataGapRouteReader.context, dataGapRouteReader.engine, partitions,
+                    executor) {
+                @Override
+                protected List<DataRoute> route(Data data, ChannelRouterContext partitionContext) {
+                    return new ArrayList<DataRoute>();
+                }
+            };
+            reader.run();
+            List<Long> ids = new ArrayList<Long>();
+            Data next = reader.take();
+            while (next != null) {
+                assertNotNull(next.getAttribute(DataRoute.ATTRIBUTE_DATA_ROUTES));
+                ids.add(next.getDataId());
+                next = reader.take();
+            }
+            reader.setReading(false);
+            return ids;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
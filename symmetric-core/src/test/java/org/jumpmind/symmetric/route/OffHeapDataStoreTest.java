@@ -0,0 +1,105 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.route;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.jumpmind.symmetric.model.Data;
+import org.junit.jupiter.api.Test;
+
+public class OffHeapDataStoreTest {
+    @Test
+    public void testStoreAndRestore() throws Exception {
+        OffHeapDataStore store = new OffHeapDataStore(1024, 256);
+        Data data = new Data(1, "\"1\"", "\"1\",\"caf\u00e9\"", null, "table1", null, null, null, "1", null);
+        assertTrue(store.store(data));
+        assertNull(data.getRowData());
+        assertNull(data.getPkData());
+        assertEquals("1", data.getTransactionId());
+        assertEquals(1, store.getCount());
+        assertTrue(store.restore(data));
+        assertEquals("\"1\",\"caf\u00e9\"", data.getRowData());
+        assertEquals("\"1\"", data.getPkData());
+        assertNull(data.getOldData());
+        assertEquals(0, store.getCount());
+        assertEquals(0, store.getStoredSizeInBytes());
+        assertFalse(store.restore(data));
+    }
+
+    @Test
+    public void testFallsBackWhenFull() throws Exception {
+        OffHeapDataStore store = new OffHeapDataStore(256, 128);
+        Data[] datas = new Data[10];
+        int stored = 0;
+        for (int i = 0; i < datas.length; i++) {
+            datas[i] = new Data(i, "\"" + i + "\"", "\"" + i + "\",\"0123456789012345678901234567890123456789\"", null, "table1", null, null,
+                    null, "1", null);
+            if (store.store(datas[i])) {
+                stored++;
+            } else {
+                assertEquals("\"" + i + "\"", datas[i].getPkData());
+            }
+        }
+        assertTrue(stored > 0 && stored < datas.length);
+        assertEquals(256, store.getAllocatedSizeInBytes());
+        for (int i = 0; i < stored; i++) {
+            assertTrue(store.restore(datas[i]));
+        }
+        assertTrue(store.store(datas[stored]));
+        assertEquals(256, store.getAllocatedSizeInBytes());
+    }
+
+    @Test
+    public void testLargeRowGetsOwnSegment() throws Exception {
+        OffHeapDataStore store = new OffHeapDataStore(4096, 64);
+        StringBuilder rowData = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            rowData.append("x");
+        }
+        Data data = new Data(1, "\"1\"", rowData.toString(), null, "table1", null, null, null, "1", null);
+        assertTrue(store.store(data));
+        assertTrue(store.getAllocatedSizeInBytes() > 64);
+        assertTrue(store.restore(data));
+        assertEquals(rowData.toString(), data.getRowData());
+        assertEquals(0, store.getAllocatedSizeInBytes());
+    }
+
+    @Test
+    public void testSegmentsAreReturnedToPool() throws Exception {
+        OffHeapSegmentPool pool = new OffHeapSegmentPool(256, 128);
+        for (int pass = 0; pass < 3; pass++) {
+            OffHeapDataStore store = new OffHeapDataStore(1024, pool);
+            for (int i = 0; i < 10; i++) {
+                store.store(new Data(i, "\"" + i + "\"", "\"" + i + "\",\"0123456789012345678901234567890123456789\"", null, "table1", null,
+                        null, null, "1", null));
+            }
+            assertTrue(store.getAllocatedSizeInBytes() > 256);
+            store.clear();
+            assertEquals(0, store.getAllocatedSizeInBytes());
+            assertEquals(2, pool.getPooledCount());
+        }
+        pool.close();
+        assertEquals(0, pool.getPooledCount());
+    }
+}
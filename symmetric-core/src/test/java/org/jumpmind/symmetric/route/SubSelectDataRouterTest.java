@@ -0,0 +1,146 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.route;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jumpmind.db.model.Table;
+import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.db.sql.ISqlTemplate;
+import org.jumpmind.db.sql.mapper.StringMapper;
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.db.ISymmetricDialect;
+import org.jumpmind.symmetric.io.data.DataEventType;
+import org.jumpmind.symmetric.model.Data;
+import org.jumpmind.symmetric.model.DataMetaData;
+import org.jumpmind.symmetric.model.Node;
+import org.jumpmind.symmetric.model.NodeChannel;
+import org.jumpmind.symmetric.model.NodeGroupLink;
+import org.jumpmind.symmetric.model.Router;
+import org.jumpmind.symmetric.model.TriggerHistory;
+import org.jumpmind.symmetric.service.IParameterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SubSelectDataRouterTest {
+    ISqlTemplate sqlTemplate;
+    IParameterService parameterService;
+    SubSelectDataRouter router;
+    Router routerConfig;
+    TriggerHistory triggerHistory;
+    Set<Node> nodes = new HashSet<Node>();
+
+    @BeforeEach
+    public void setUp() {
+        ISymmetricDialect symmetricDialect = mock(ISymmetricDialect.class);
+        IDatabasePlatform platform = mock(IDatabasePlatform.class);
+        sqlTemplate = mock(ISqlTemplate.class);
+        parameterService = mock(IParameterService.class);
+        when(symmetricDialect.getTablePrefix()).thenReturn("sym");
+        when(symmetricDialect.getPlatform()).thenReturn(platform);
+        when(symmetricDialect.getParameterService()).thenReturn(parameterService);
+        when(platform.getSqlTemplate()).thenReturn(sqlTemplate);
+        when(platform.getObjectValues(any(), any(Table.class), any(String[].class), any(String[].class))).thenAnswer(i -> i.getArguments()[3]);
+        when(sqlTemplate.query(anyString(), any(StringMapper.class), anyMap())).thenReturn(Arrays.asList("100"));
+        when(parameterService.getInt(eq(ParameterConstants.ROUTING_SUBSELECT_CACHE_MAX_SIZE), anyInt())).thenReturn(2);
+        router = new SubSelectDataRouter(symmetricDialect);
+        routerConfig = new Router("route1", new NodeGroupLink("corp", "store"));
+        routerConfig.setRouterExpression("c.external_id in (select store_id from employee where employee_id=:EMPLOYEE_ID)");
+        triggerHistory = new TriggerHistory("password", "PASSWORD_ID", "PASSWORD_ID,EMPLOYEE_ID,PASSWORD");
+        nodes.add(new Node("100", "store"));
+    }
+
+    @Test
+    public void testNoCacheQueriesEveryRow() {
+        SimpleRouterContext context = new SimpleRouterContext();
+        route(context, "1,10,secret");
+        route(context, "2,10,secret");
+        verify(sqlTemplate, times(2)).query(anyString(), any(StringMapper.class), anyMap());
+    }
+
+    @Test
+    public void testCacheKeyedOnReferencedColumns() {
+        when(parameterService.is(ParameterConstants.ROUTING_SUBSELECT_CACHE_ENABLED)).thenReturn(true);
+        SimpleRouterContext context = new SimpleRouterContext();
+        Set<String> nodeIds = route(context, "1,10,secret");
+        assertEquals(1, nodeIds.size());
+        assertTrue(nodeIds.contains("100"));
+        nodeIds = route(context, "2,10,other secret");
+        assertEquals(1, nodeIds.size());
+        assertTrue(nodeIds.contains("100"));
+        verify(sqlTemplate, times(1)).query(anyString(), any(StringMapper.class), anyMap());
+        route(context, "3,11,secret");
+        verify(sqlTemplate, times(2)).query(anyString(), any(StringMapper.class), anyMap());
+        assertEquals(1, context.getStat(SubSelectDataRouter.STAT_CACHE_HIT_COUNT));
+        assertEquals(2, context.getStat(SubSelectDataRouter.STAT_CACHE_MISS_COUNT));
+    }
+
+    @Test
+    public void testCacheBoundedInSize() {
+        when(parameterService.is(ParameterConstants.ROUTING_SUBSELECT_CACHE_ENABLED)).thenReturn(true);
+        SimpleRouterContext context = new SimpleRouterContext();
+        route(context, "1,10,secret");
+        route(context, "2,11,secret");
+        route(context, "3,12,secret");
+        route(context, "4,10,secret");
+        verify(sqlTemplate, times(4)).query(anyString(), any(StringMapper.class), anyMap());
+    }
+
+    @Test
+    public void testCacheInvalidatedByReferencedTable() {
+        when(parameterService.is(ParameterConstants.ROUTING_SUBSELECT_CACHE_ENABLED)).thenReturn(true);
+        SimpleRouterContext context = new SimpleRouterContext();
+        route(context, "1,10,secret");
+        SubSelectDataRouter.invalidateResultCache(context, "customer");
+        route(context, "2,10,secret");
+        verify(sqlTemplate, times(1)).query(anyString(), any(StringMapper.class), anyMap());
+        SubSelectDataRouter.invalidateResultCache(context, "EMPLOYEE");
+        route(context, "3,10,secret");
+        verify(sqlTemplate, times(2)).query(anyString(), any(StringMapper.class), anyMap());
+        SubSelectDataRouter.invalidateResultCache(context, "sym_node");
+        route(context, "4,10,secret");
+        verify(sqlTemplate, times(3)).query(anyString(), any(StringMapper.class), anyMap());
+    }
+
+    protected Set<String> route(SimpleRouterContext context, String rowData) {
+        Data data = new Data();
+        data.setDataEventType(DataEventType.INSERT);
+        data.setTableName("password");
+        data.setRowData(rowData);
+        data.setTriggerHistory(triggerHistory);
+        DataMetaData dataMetaData = new DataMetaData(data, new Table(), routerConfig, new NodeChannel());
+        return router.routeToNodes(context, dataMetaData, nodes, false, false, null);
+    }
+}
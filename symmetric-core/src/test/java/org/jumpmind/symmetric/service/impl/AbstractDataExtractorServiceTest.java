@@ -20,16 +20,21 @@
  */
 package org.jumpmind.symmetric.service.impl;
 
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.sql.Date;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jumpmind.symmetric.TestConstants;
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.model.BatchAck;
 import org.jumpmind.symmetric.model.OutgoingBatch;
 import org.jumpmind.symmetric.model.ProcessInfo;
 import org.jumpmind.symmetric.model.Router;
@@ -37,6 +42,7 @@ import org.jumpmind.symmetric.model.Trigger;
 import org.jumpmind.symmetric.model.TriggerRouter;
 import org.jumpmind.symmetric.service.IDataExtractorService;
 import org.jumpmind.symmetric.service.ITriggerRouterService;
+import org.jumpmind.symmetric.transport.IOutgoingWithResponseTransport;
 import org.jumpmind.symmetric.transport.internal.InternalOutgoingTransport;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -108,12 +114,127 @@ public abstract class AbstractDataExtractorServiceTest extends AbstractServiceTe
         assertNumberOfLinesThatStartWith(1, "commit," + batchId, results.getCsv());
     }
 
+    @Test
+    public void testExtractAheadWithSeveralThreads() {
+        boolean streamToFile = getParameterService().is(ParameterConstants.STREAM_TO_FILE_ENABLED);
+        int threadCount = getParameterService().getInt(ParameterConstants.EXTRACT_AHEAD_THREAD_COUNT, 1);
+        getParameterService().saveParameter(ParameterConstants.STREAM_TO_FILE_ENABLED, true, "test");
+        getParameterService().saveParameter(ParameterConstants.EXTRACT_AHEAD_THREAD_COUNT, 3, "test");
+        try {
+            for (int i = 0; i < 5; i++) {
+                save(new TestExtract(id++, "abc " + i, "abcdefghijklmnopqrstuvwxyz", new Timestamp(
+                        System.currentTimeMillis()), new Date(System.currentTimeMillis()), true,
+                        i, new BigDecimal(Double.toString(Math.PI))));
+                routeAndCreateGaps();
+            }
+            ProcessInfo processInfo = new ProcessInfo();
+            ExtractResults results = extract(processInfo);
+            assertEquals(5, results.getBatches().size());
+            assertNumberOfLinesThatStartWith(5, "insert,", results.getCsv());
+            for (OutgoingBatch batch : results.getBatches()) {
+                assertNumberOfLinesThatStartWith(1, "commit," + batch.getBatchId(), results.getCsv());
+            }
+            assertEquals(results.getBatches().get(4).getBatchId(), processInfo.getCurrentBatchId());
+            assertEquals(1l, processInfo.getCurrentDataCount());
+        } finally {
+            getParameterService().saveParameter(ParameterConstants.STREAM_TO_FILE_ENABLED, streamToFile, "test");
+            getParameterService().saveParameter(ParameterConstants.EXTRACT_AHEAD_THREAD_COUNT, threadCount, "test");
+        }
+    }
+
+    @Test
+    public void testExtractAheadSendsNoBatchAfterSkippedBatch() {
+        boolean streamToFile = getParameterService().is(ParameterConstants.STREAM_TO_FILE_ENABLED);
+        int threadCount = getParameterService().getInt(ParameterConstants.EXTRACT_AHEAD_THREAD_COUNT, 2);
+        long maxBytes = getParameterService().getLong(ParameterConstants.TRANSPORT_MAX_BYTES_TO_SYNC);
+        getParameterService().saveParameter(ParameterConstants.STREAM_TO_FILE_ENABLED, true, "test");
+        getParameterService().saveParameter(ParameterConstants.EXTRACT_AHEAD_THREAD_COUNT, 3, "test");
+        getParameterService().saveParameter(ParameterConstants.TRANSPORT_MAX_BYTES_TO_SYNC, 1, "test");
+        try {
+            for (int i = 0; i < 6; i++) {
+                save(new TestExtract(id++, "abc " + i, "abcdefghijklmnopqrstuvwxyz", new Timestamp(
+                        System.currentTimeMillis()), new Date(System.currentTimeMillis()), true,
+                        i, new BigDecimal(Double.toString(Math.PI))));
+                routeAndCreateGaps();
+            }
+            List<Long> pendingBatchIds = new ArrayList<Long>();
+            for (OutgoingBatch batch : getOutgoingBatchService().getOutgoingBatches(TestConstants.TEST_CLIENT_EXTERNAL_ID, false).getBatches()) {
+                pendingBatchIds.add(batch.getBatchId());
+            }
+            Collections.sort(pendingBatchIds);
+            assertEquals(6, pendingBatchIds.size());
+            ExtractResults results = extract();
+            assertTrue(results.getBatches().size() > 0);
+            List<Long> sentBatchIds = new ArrayList<Long>();
+            for (OutgoingBatch batch : results.getBatches()) {
+                sentBatchIds.add(batch.getBatchId());
+            }
+            // a batch is only sent if every batch before it was sent
+            assertEquals(pendingBatchIds.subList(0, sentBatchIds.size()), sentBatchIds);
+            assertNumberOfLinesThatStartWith(sentBatchIds.size(), "commit,", results.getCsv());
+        } finally {
+            getParameterService().saveParameter(ParameterConstants.STREAM_TO_FILE_ENABLED, streamToFile, "test");
+            getParameterService().saveParameter(ParameterConstants.EXTRACT_AHEAD_THREAD_COUNT, threadCount, "test");
+            getParameterService().saveParameter(ParameterConstants.TRANSPORT_MAX_BYTES_TO_SYNC, maxBytes, "test");
+        }
+    }
+
+    @Test
+    public void testExtractStopsSendingAfterStreamedFailedAck() {
+        boolean streamToFile = getParameterService().is(ParameterConstants.STREAM_TO_FILE_ENABLED);
+        getParameterService().saveParameter(ParameterConstants.STREAM_TO_FILE_ENABLED, true, "test");
+        try {
+            for (int i = 0; i < 3; i++) {
+                save(new TestExtract(id++, "abc " + i, "abcdefghijklmnopqrstuvwxyz", new Timestamp(
+                        System.currentTimeMillis()), new Date(System.currentTimeMillis()), true,
+                        i, new BigDecimal(Double.toString(Math.PI))));
+                routeAndCreateGaps();
+            }
+            StringWriter writer = new StringWriter();
+            StreamedAckTransport transport = new StreamedAckTransport(new BufferedWriter(writer));
+            List<OutgoingBatch> batches = getDataExtractorService().extract(new ProcessInfo(), TestConstants.TEST_CLIENT_NODE, transport);
+            transport.close();
+            assertEquals(1, batches.size());
+            assertNumberOfLinesThatStartWith(1, "commit," + batches.get(0).getBatchId(), writer.getBuffer().toString());
+            assertNumberOfLinesThatStartWith(1, "commit,", writer.getBuffer().toString());
+        } finally {
+            getParameterService().saveParameter(ParameterConstants.STREAM_TO_FILE_ENABLED, streamToFile, "test");
+        }
+    }
+
+    /**
+     * Reports a failed load of the first batch on the second read, after the first batch was sent.
+     */
+    static class StreamedAckTransport extends InternalOutgoingTransport implements IOutgoingWithResponseTransport {
+        int reads;
+
+        public StreamedAckTransport(BufferedWriter writer) {
+            super(writer);
+        }
+
+        public BufferedReader readResponse() {
+            return null;
+        }
+
+        public List<BatchAck> readStreamedAcks() {
+            List<BatchAck> acks = new ArrayList<BatchAck>();
+            if (++reads == 2) {
+                acks.add(new BatchAck(1, 1));
+            }
+            return acks;
+        }
+    }
+
     protected ExtractResults extract() {
+        return extract(new ProcessInfo());
+    }
+
+    protected ExtractResults extract(ProcessInfo processInfo) {
         IDataExtractorService service = getDataExtractorService();
         StringWriter writer = new StringWriter();
         InternalOutgoingTransport transport = new InternalOutgoingTransport(new BufferedWriter(
                 writer));
-        List<OutgoingBatch> batches = service.extract(new ProcessInfo(), TestConstants.TEST_CLIENT_NODE, transport);
+        List<OutgoingBatch> batches = service.extract(processInfo, TestConstants.TEST_CLIENT_NODE, transport);
         transport.close();
         return new ExtractResults(batches, writer.getBuffer().toString());
     }
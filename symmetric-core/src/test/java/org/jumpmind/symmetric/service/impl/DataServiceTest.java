@@ -21,6 +21,7 @@
 package org.jumpmind.symmetric.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -30,6 +31,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -724,4 +726,37 @@ public class DataServiceTest {
         }
         when(sqlTransaction.queryForRow(ArgumentMatchers.eq("queryData"))).thenReturn(row);
     }
+
+    @Test
+    public void testGetPartitionSelectsForReload() throws Exception {
+        when(parameterService.getLong(ParameterConstants.INITIAL_LOAD_EXTRACT_PARTITION_ROWS, 0)).thenReturn(100L);
+        when(parameterService.getInt(ParameterConstants.INITIAL_LOAD_EXTRACT_PARTITION_MAX, 8)).thenReturn(4);
+        when(symmetricDialect.getTargetDialect()).thenReturn(symmetricDialect);
+        when(platform.getSqlTemplateDirty()).thenReturn(sqlTemplate);
+        Row range = new Row(2);
+        range.put("min_id", 1);
+        range.put("max_id", 1000);
+        when(sqlTemplate.queryForRow(ArgumentMatchers.anyString())).thenReturn(range);
+        Column id = new Column("id", true);
+        id.setMappedTypeCode(Types.INTEGER);
+        Table table = new Table("big_table", id, new Column("name"));
+        Node targetNode = new Node("2", "client");
+        DataService service = (DataService) dataService;
+        assertNull(service.getPartitionSelectsForReload(table, targetNode, "1=1", 100));
+        List<String> selects = service.getPartitionSelectsForReload(table, targetNode, "1=1", 1000);
+        assertEquals(4, selects.size());
+        assertEquals("(1=1) and t.\"id\" >= 1 and t.\"id\" <= 250", selects.get(0));
+        assertEquals("(1=1) and t.\"id\" >= 751 and t.\"id\" <= 1000", selects.get(3));
+        assertEquals(3, service.getPartitionSelectsForReload(table, targetNode, "1=1", 250).size());
+        Table noPkTable = new Table("no_pk_table", new Column("name"));
+        assertNull(service.getPartitionSelectsForReload(noPkTable, targetNode, "1=1", 1000));
+    }
+
+    @Test
+    public void testGetPartitionQueue() throws Exception {
+        DataService service = (DataService) dataService;
+        assertEquals("reload", service.getPartitionQueue("reload", 0));
+        assertEquals("reload-3", service.getPartitionQueue("reload", 3));
+        assertEquals(25, service.getPartitionQueue("abcdefghijklmnopqrstuvwxy", 12).length());
+    }
 }
@@ -20,10 +20,34 @@
  */
 package org.jumpmind.symmetric.service.impl;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.db.sql.ISqlTemplate;
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.db.ISymmetricDialect;
 import org.jumpmind.symmetric.model.NodeCommunication;
 import org.jumpmind.symmetric.model.NodeCommunication.CommunicationType;
+import org.jumpmind.symmetric.model.RemoteNodeStatuses;
+import org.jumpmind.symmetric.service.IClusterService;
+import org.jumpmind.symmetric.service.IConfigurationService;
+import org.jumpmind.symmetric.service.INodeService;
+import org.jumpmind.symmetric.service.IParameterService;
+import org.jumpmind.symmetric.service.impl.NodeCommunicationService.ChannelThreadFactory;
 import org.junit.jupiter.api.Test;
 
 public class NodeCommunicationServiceTest {
@@ -35,4 +59,69 @@ public class NodeCommunicationServiceTest {
             assertTrue(msg, communicationType.name().length() <= MAX_LENGTH_IN_DB);
         }
     }
+
+    @Test
+    public void testVirtualThreadsToggle() {
+        IParameterService parameterService = mockParameterService(true);
+        NodeCommunicationService service = newNodeCommunicationService(parameterService);
+        try {
+            ThreadPoolExecutor virtualExecutor = service.getExecutor(CommunicationType.PUSH);
+            assertEquals(NodeCommunicationService.VIRTUAL_THREADS_SUPPORTED, !(virtualExecutor.getThreadFactory() instanceof ChannelThreadFactory));
+            when(parameterService.is(eq(ParameterConstants.NODE_COMMUNICATION_VIRTUAL_THREADS_ENABLED), anyBoolean())).thenReturn(false);
+            ThreadPoolExecutor platformExecutor = service.getExecutor(CommunicationType.PUSH);
+            assertTrue(platformExecutor.getThreadFactory() instanceof ChannelThreadFactory);
+            if (NodeCommunicationService.VIRTUAL_THREADS_SUPPORTED) {
+                assertNotSame(virtualExecutor, platformExecutor);
+                assertTrue(virtualExecutor.isShutdown());
+            } else {
+                assertSame(virtualExecutor, platformExecutor);
+            }
+        } finally {
+            service.stop();
+        }
+    }
+
+    @Test
+    public void testDatabaseWorkLimitedOnlyOnVirtualThreads() throws Exception {
+        IParameterService parameterService = mockParameterService(true);
+        NodeCommunicationService service = newNodeCommunicationService(parameterService);
+        Callable<String> work = () -> "loaded";
+        assertSame(work, service.limitDatabaseWork(work));
+        AtomicReference<Callable<String>> limitedWork = new AtomicReference<Callable<String>>();
+        CountDownLatch done = new CountDownLatch(1);
+        NodeCommunication nodeCommunication = new NodeCommunication();
+        nodeCommunication.setNodeId("00001");
+        nodeCommunication.setCommunicationType(CommunicationType.PUSH);
+        try {
+            assertTrue(service.execute(nodeCommunication, new RemoteNodeStatuses(null), (communication, status) -> {
+                limitedWork.set(service.limitDatabaseWork(work));
+                done.countDown();
+            }));
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(NodeCommunicationService.VIRTUAL_THREADS_SUPPORTED, limitedWork.get() != work);
+            assertEquals("loaded", limitedWork.get().call());
+            assertEquals(2, service.getDatabasePermits().availablePermits());
+        } finally {
+            service.stop();
+        }
+    }
+
+    protected IParameterService mockParameterService(boolean virtualThreadsEnabled) {
+        IParameterService parameterService = mock(IParameterService.class);
+        when(parameterService.getEngineName()).thenReturn("test");
+        when(parameterService.getTablePrefix()).thenReturn("sym");
+        when(parameterService.getInt(eq(ParameterConstants.PUSH_THREAD_COUNT_PER_SERVER), anyInt())).thenReturn(2);
+        when(parameterService.getInt(eq(ParameterConstants.NODE_COMMUNICATION_VIRTUAL_THREADS_DATABASE_PERMITS), anyInt())).thenReturn(2);
+        when(parameterService.is(eq(ParameterConstants.NODE_COMMUNICATION_VIRTUAL_THREADS_ENABLED), anyBoolean())).thenReturn(virtualThreadsEnabled);
+        return parameterService;
+    }
+
+    protected NodeCommunicationService newNodeCommunicationService(IParameterService parameterService) {
+        ISymmetricDialect symmetricDialect = mock(ISymmetricDialect.class);
+        IDatabasePlatform platform = mock(IDatabasePlatform.class);
+        when(symmetricDialect.getPlatform()).thenReturn(platform);
+        when(platform.getSqlTemplate()).thenReturn(mock(ISqlTemplate.class));
+        return new NodeCommunicationService(mock(IClusterService.class), mock(INodeService.class), parameterService,
+                mock(IConfigurationService.class), symmetricDialect);
+    }
 }
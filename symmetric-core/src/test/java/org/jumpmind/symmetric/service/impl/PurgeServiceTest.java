@@ -1,6 +1,8 @@
 package org.jumpmind.symmetric.service.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,4 +28,30 @@ public class PurgeServiceTest {
         assertEquals(1846, minMax[1]);
         assertEquals(gaps.size(), 0);
     }
+
+    @Test
+    public void testRangeCheckpointOutOfOrder() {
+        PurgeService.RangeCheckpoint checkpoint = new PurgeService.RangeCheckpoint(100, 0);
+        assertEquals(99, checkpoint.getCheckpointId());
+        assertFalse(checkpoint.isMoved());
+        assertFalse(checkpoint.complete(111, 120));
+        assertFalse(checkpoint.complete(121, 130));
+        assertEquals(99, checkpoint.getCheckpointId());
+        assertFalse(checkpoint.isMoved());
+        assertTrue(checkpoint.complete(100, 110));
+        assertTrue(checkpoint.isMoved());
+        assertEquals(130, checkpoint.getCheckpointId());
+        assertFalse(checkpoint.complete(141, 150));
+        assertEquals(130, checkpoint.getCheckpointId());
+        assertTrue(checkpoint.complete(131, 140));
+        assertEquals(150, checkpoint.getCheckpointId());
+    }
+
+    @Test
+    public void testRateLimiter() {
+        PurgeService.RateLimiter unlimited = new PurgeService.RateLimiter(0);
+        assertEquals(0, unlimited.getSleepMillis(1000000));
+        PurgeService.RateLimiter limiter = new PurgeService.RateLimiter(1000);
+        assertTrue(limiter.getSleepMillis(5000) > 4000);
+    }
 }
@@ -134,4 +134,28 @@ public class RouterServiceTest {
         triggerRouters.add(new TriggerRouter(tableTrigger3, new Router("test", TARGET_NODE_GROUP, SOURCE_NODE_GROUP, "default")));
         assertTrue(routerService.producesCommonBatches(CHANNEL_2_TEST, SOURCE_NODE_GROUP, triggerRouters));
     }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testPartitionSafeWithStatelessRouters() {
+        List<TriggerRouter> triggerRouters = new ArrayList<TriggerRouter>();
+        triggerRouters.add(new TriggerRouter(new Trigger("a", CHANNEL_2_TEST.getChannelId()), new Router("test1", SOURCE_NODE_GROUP, TARGET_NODE_GROUP,
+                "default")));
+        triggerRouters.add(new TriggerRouter(new Trigger("b", CHANNEL_2_TEST.getChannelId()), new Router("test2", SOURCE_NODE_GROUP, TARGET_NODE_GROUP,
+                "column")));
+        triggerRouters.add(new TriggerRouter(new Trigger("c", "anotherchannel"), new Router("test3", SOURCE_NODE_GROUP, TARGET_NODE_GROUP,
+                "convertToReload")));
+        assertTrue(routerService.isPartitionSafe(CHANNEL_2_TEST.getChannelId(), triggerRouters));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testNotPartitionSafeWithStatefulRouter() {
+        List<TriggerRouter> triggerRouters = new ArrayList<TriggerRouter>();
+        triggerRouters.add(new TriggerRouter(new Trigger("a", CHANNEL_2_TEST.getChannelId()), new Router("test1", SOURCE_NODE_GROUP, TARGET_NODE_GROUP,
+                "default")));
+        triggerRouters.add(new TriggerRouter(new Trigger("b", CHANNEL_2_TEST.getChannelId()), new Router("test2", SOURCE_NODE_GROUP, TARGET_NODE_GROUP,
+                "convertToReload")));
+        assertTrue(!routerService.isPartitionSafe(CHANNEL_2_TEST.getChannelId(), triggerRouters));
+    }
 }
@@ -0,0 +1,91 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.statistic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ChannelStatsTest {
+    @Test
+    public void testSnapshotAndReset() {
+        Date startTime = new Date(1000);
+        Date endTime = new Date(2000);
+        ChannelStats stats = new ChannelStats("00000", "host", startTime, null, "default");
+        stats.incrementDataRouted(5);
+        stats.incrementDataLoaded(3);
+        stats.setDataUnRouted(7);
+        ChannelStats snapshot = stats.snapshotAndReset(endTime);
+        assertEquals(5, snapshot.getDataRouted());
+        assertEquals(3, snapshot.getDataLoaded());
+        assertEquals(7, snapshot.getDataUnRouted());
+        assertEquals(startTime, snapshot.getStartTime());
+        assertEquals(endTime, snapshot.getEndTime());
+        assertEquals("default", snapshot.getChannelId());
+        assertTrue(snapshot.isNonZero());
+        assertFalse(stats.isNonZero());
+        assertEquals(endTime, stats.getStartTime());
+    }
+
+    @Test
+    public void testConcurrentIncrementsAreNotLost() throws Exception {
+        final ChannelStats stats = new ChannelStats("00000", "host", new Date(), null, "default");
+        final int threadCount = 4;
+        final int incrementsPerThread = 100000;
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < incrementsPerThread; j++) {
+                    stats.incrementDataSent(1);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        long total = 0;
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            total += stats.snapshotAndReset(new Date()).getDataSent();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        total += stats.snapshotAndReset(new Date()).getDataSent();
+        assertEquals(threadCount * incrementsPerThread, total);
+    }
+
+    @Test
+    public void testHostStatsSnapshotAndReset() {
+        HostStats stats = new HostStats("00000", "host", new Date(), null);
+        stats.incrementNodesPulled(2);
+        stats.incrementTotalNodesPullTime(100);
+        HostStats snapshot = stats.snapshotAndReset(new Date());
+        assertEquals(2, snapshot.getNodesPulled());
+        assertEquals(100, snapshot.getTotalNodesPullTime());
+        assertEquals(0, stats.getNodesPulled());
+        assertFalse(stats.isNonZero());
+    }
+}
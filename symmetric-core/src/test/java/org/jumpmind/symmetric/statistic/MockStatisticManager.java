@@ -21,6 +21,7 @@
 package org.jumpmind.symmetric.statistic;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +32,7 @@ import org.jumpmind.symmetric.model.DataGap;
 import org.jumpmind.symmetric.model.OutgoingBatch;
 import org.jumpmind.symmetric.model.ProcessInfo;
 import org.jumpmind.symmetric.model.ProcessInfoKey;
+import org.jumpmind.symmetric.statistic.LatencyHistogram.Stage;
 
 public class MockStatisticManager implements IStatisticManager {
     public List<ProcessInfo> getProcessInfos() {
@@ -223,4 +225,18 @@ public class MockStatisticManager implements IStatisticManager {
     public void addJobStats(String jobName, long startTime, long endTime, long processedCount, String errorMessage) {
         // TODO Auto-generated method stub
     }
+
+    @Override
+    public void addLatency(Stage stage, String nodeId, String channelId, long millis) {
+    }
+
+    @Override
+    public Map<String, LatencyHistogram> getChannelLatencies(Stage stage) {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public Map<String, LatencyHistogram> getNodeLatencies(Stage stage) {
+        return Collections.emptyMap();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.db.sql.ISqlRowMapper;
+import org.jumpmind.db.sql.ISqlTransaction;
+import org.jumpmind.db.sql.Row;
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.io.data.DataContext;
+import org.jumpmind.symmetric.io.data.DataEventType;
+import org.jumpmind.symmetric.io.data.transform.LookupColumnTransform;
+import org.jumpmind.symmetric.io.data.transform.TransformColumn;
+import org.jumpmind.symmetric.io.data.transform.TransformPoint;
+import org.jumpmind.symmetric.io.data.transform.TransformTable;
+import org.jumpmind.symmetric.io.data.transform.TransformedData;
+import org.jumpmind.symmetric.service.IParameterService;
+import org.jumpmind.util.LinkedCaseInsensitiveMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LookupColumnTransformTest {
+    static final String LOOKUP_SQL = "select name from lookup_table where id=:ID";
+    static final Pattern UNION_PART = Pattern.compile("select (\\d+) as sym_lookup_index, sym_lookup\\.\\* from \\(select name from lookup_table where id=:(\\w+)\\)");
+    IDatabasePlatform platform;
+    ISqlTransaction transaction;
+    IParameterService parameterService;
+    DataContext context;
+    Map<String, String> lookupTable;
+    List<Map<String, Object>> queryParams;
+    TransformColumn column;
+    TransformTable table;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        platform = mock(IDatabasePlatform.class);
+        transaction = mock(ISqlTransaction.class);
+        parameterService = mock(IParameterService.class);
+        when(parameterService.getInt(eq(ParameterConstants.TRANSFORM_LOOKUP_CACHE_SIZE), anyInt())).thenReturn(0);
+        when(parameterService.getInt(eq(ParameterConstants.TRANSFORM_LOOKUP_PREFETCH_MAX_BINDS), anyInt())).thenReturn(2);
+        context = new DataContext() {
+            @Override
+            public ISqlTransaction findTransaction() {
+                return transaction;
+            }
+        };
+        lookupTable = new HashMap<String, String>();
+        queryParams = new ArrayList<Map<String, Object>>();
+        when(transaction.query(anyString(), any(), anyMap())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            ISqlRowMapper<?> mapper = invocation.getArgument(1);
+            Map<String, Object> params = invocation.getArgument(2);
+            queryParams.add(new LinkedCaseInsensitiveMap<Object>(params));
+            List<Object> rows = new ArrayList<Object>();
+            if (sql.equals(LOOKUP_SQL)) {
+                String name = lookupTable.get(params.get("ID"));
+                if (name != null) {
+                    rows.add(mapper.mapRow(new Row("name", name)));
+                }
+            } else {
+                Matcher matcher = UNION_PART.matcher(sql);
+                while (matcher.find()) {
+                    String name = lookupTable.get(params.get(matcher.group(2)));
+                    if (name != null) {
+                        rows.add(mapper.mapRow(new Row(new String[] { "sym_lookup_index", "name" }, new Object[] { matcher.group(1), name })));
+                    }
+                }
+            }
+            return rows;
+        });
+        column = new TransformColumn("id", "name", false, LookupColumnTransform.NAME, LOOKUP_SQL);
+        column.setTransformId("lookup");
+        table = new TransformTable("source_table", "target_table", TransformPoint.LOAD, column);
+    }
+
+    @Test
+    public void testPrefetchSplitsUnionByMaxBinds() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            lookupTable.put(String.valueOf(i), "name " + i);
+        }
+        LookupColumnTransform transform = new LookupColumnTransform(parameterService);
+        prefetch(transform, "1", "2", "3", "4", "5");
+        assertEquals(3, queryParams.size());
+        for (Map<String, Object> params : queryParams) {
+            assertTrue(params.size() <= 2);
+        }
+        for (int i = 1; i <= 5; i++) {
+            assertEquals("name " + i, transform(transform, String.valueOf(i)));
+        }
+        assertEquals(3, queryParams.size());
+        verify(platform, never()).getSqlTemplate();
+        verify(platform, never()).getSqlTemplateDirty();
+    }
+
+    @Test
+    public void testPrefetchMissIsLookedUpAgainForRow() throws Exception {
+        lookupTable.put("1", "name 1");
+        LookupColumnTransform transform = new LookupColumnTransform(parameterService);
+        prefetch(transform, "1", "2");
+        assertEquals(1, queryParams.size());
+        // written by an earlier row of the batch after the prefetch ran
+        lookupTable.put("2", "name 2");
+        assertEquals("name 1", transform(transform, "1"));
+        assertEquals(1, queryParams.size());
+        assertEquals("name 2", transform(transform, "2"));
+        assertEquals(2, queryParams.size());
+        assertEquals("2", queryParams.get(1).get("ID"));
+    }
+
+    protected void prefetch(LookupColumnTransform transform, String... ids) {
+        List<Map<String, String>> sourceValues = new ArrayList<Map<String, String>>();
+        List<Map<String, String>> oldSourceValues = new ArrayList<Map<String, String>>();
+        for (String id : ids) {
+            sourceValues.add(getSourceValues(id));
+            oldSourceValues.add(null);
+        }
+        transform.prefetch(platform, context, column, sourceValues, oldSourceValues);
+    }
+
+    protected String transform(LookupColumnTransform transform, String id) throws Exception {
+        Map<String, String> sourceValues = getSourceValues(id);
+        TransformedData data = new TransformedData(table, DataEventType.INSERT, sourceValues, null, sourceValues);
+        return transform.transform(platform, context, column, data, sourceValues, id, null).getNewValue();
+    }
+
+    protected Map<String, String> getSourceValues(String id) {
+        Map<String, String> sourceValues = new HashMap<String, String>();
+        sourceValues.put("id", id);
+        return sourceValues;
+    }
+}
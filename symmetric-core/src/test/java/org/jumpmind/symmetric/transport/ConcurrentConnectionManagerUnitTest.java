@@ -20,13 +20,28 @@
  */
 package org.jumpmind.symmetric.transport;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.service.IParameterService;
 import org.jumpmind.symmetric.statistic.MockStatisticManager;
 import org.jumpmind.symmetric.transport.ConcurrentConnectionManager.Reservation;
+import org.jumpmind.symmetric.transport.IConcurrentConnectionManager.ReservationStatus;
 import org.jumpmind.symmetric.transport.IConcurrentConnectionManager.ReservationType;
 import org.junit.jupiter.api.Test;
 
@@ -48,4 +63,148 @@ public class ConcurrentConnectionManagerUnitTest {
         mgr.removeTimedOutReservations(reservations);
         assertEquals(1, reservations.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testReserveAndRelease() {
+        ConcurrentConnectionManager mgr = new ConcurrentConnectionManager(mockParameterService(2, 10000), new MockStatisticManager());
+        assertEquals(ReservationStatus.ACCEPTED, mgr.reserveConnection("1", null, "pull", ReservationType.SOFT, false));
+        assertEquals(ReservationStatus.ACCEPTED, mgr.reserveConnection("1", null, "pull", ReservationType.HARD, true));
+        assertEquals(ReservationStatus.DUPLICATE, mgr.reserveConnection("1", null, "pull", ReservationType.HARD, true));
+        assertEquals(ReservationStatus.NOT_FOUND, mgr.reserveConnection("2", null, "pull", ReservationType.HARD, true));
+        assertEquals(ReservationStatus.ACCEPTED, mgr.reserveConnection("2", null, "pull", ReservationType.SOFT, false));
+        assertEquals(ReservationStatus.BUSY, mgr.reserveConnection("3", null, "pull", ReservationType.SOFT, false));
+        mgr.addToWhitelist("3");
+        assertEquals(ReservationStatus.ACCEPTED, mgr.reserveConnection("3", null, "pull", ReservationType.SOFT, false));
+        assertEquals(3, mgr.getReservationCount("pull"));
+        assertTrue(mgr.releaseConnection("1", "pull"));
+        assertFalse(mgr.releaseConnection("1", "pull"));
+        assertEquals(2, mgr.getReservationCount("pull"));
+        assertEquals(1, mgr.getContentionStatistics().getBusy());
+        assertEquals(1, mgr.getNodeConnectionStatisticsByPoolByNodeId().get("pull").get("3").getNumOfRejections());
+    }
+
+    @Test
+    public void testTimedOutReservationFreesPool() throws Exception {
+        ConcurrentConnectionManager mgr = new ConcurrentConnectionManager(mockParameterService(1, -1), new MockStatisticManager());
+        assertEquals(ReservationStatus.ACCEPTED, mgr.reserveConnection("1", null, "push", ReservationType.SOFT, false));
+        Thread.sleep(5);
+        assertEquals(ReservationStatus.ACCEPTED, mgr.reserveConnection("2", null, "push", ReservationType.SOFT, false));
+        assertEquals(1, mgr.getReservationCount("push"));
+        assertEquals(1, mgr.getContentionStatistics().getExpired());
+    }
+
+    @Test
+    public void testConcurrentReservationsDoNotExceedPool() throws Exception {
+        final ConcurrentConnectionManager mgr = new ConcurrentConnectionManager(mockParameterService(5, 10000), new MockStatisticManager());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ReservationStatus>> futures = new ArrayList<Future<ReservationStatus>>();
+            for (int i = 0; i < 50; i++) {
+                final String nodeId = Integer.toString(i);
+                futures.add(executor.submit(new Callable<ReservationStatus>() {
+                    public ReservationStatus call() {
+                        return mgr.reserveConnection(nodeId, null, "pull", ReservationType.HARD, false);
+                    }
+                }));
+            }
+            int accepted = 0;
+            for (Future<ReservationStatus> future : futures) {
+                if (future.get() == ReservationStatus.ACCEPTED) {
+                    accepted++;
+                }
+            }
+            assertEquals(5, accepted);
+            assertEquals(5, mgr.getReservationCount("pull"));
+            assertEquals(5, mgr.getActiveReservationsByNodeByPool().get("pull").size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testConcurrentUpgradesOfSoftReservationAcceptOnlyOne() throws Exception {
+        final ConcurrentConnectionManager mgr = new ConcurrentConnectionManager(mockParameterService(5, 10000), new MockStatisticManager());
+        final int threads = 4;
+        final CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < 200; i++) {
+                final String nodeId = Integer.toString(i);
+                assertEquals(ReservationStatus.ACCEPTED, mgr.reserveConnection(nodeId, null, "pull", ReservationType.SOFT, false));
+                List<Future<ReservationStatus>> futures = new ArrayList<Future<ReservationStatus>>();
+                for (int j = 0; j < threads; j++) {
+                    futures.add(executor.submit(new Callable<ReservationStatus>() {
+                        public ReservationStatus call() throws Exception {
+                            barrier.await();
+                            return mgr.reserveConnection(nodeId, null, "pull", ReservationType.HARD, true);
+                        }
+                    }));
+                }
+                int accepted = 0;
+                int duplicate = 0;
+                for (Future<ReservationStatus> future : futures) {
+                    ReservationStatus status = future.get();
+                    if (status == ReservationStatus.ACCEPTED) {
+                        accepted++;
+                    } else if (status == ReservationStatus.DUPLICATE) {
+                        duplicate++;
+                    }
+                }
+                assertEquals(1, accepted);
+                assertEquals(threads - 1, duplicate);
+                assertTrue(mgr.releaseConnection(nodeId, "pull"));
+            }
+            assertEquals(0, mgr.getReservationCount("pull"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSweepDoesNotRemoveReservationThatReplacedExpiredOne() throws Exception {
+        final ConcurrentConnectionManager mgr = new ConcurrentConnectionManager(mockParameterService(5, 10000), new MockStatisticManager());
+        final String nodeId = "1";
+        final Reservation expired = new Reservation(nodeId, System.currentTimeMillis() - 10000, ReservationType.SOFT);
+        final Reservation hard = new Reservation(nodeId, Long.MAX_VALUE, ReservationType.HARD);
+        final CyclicBarrier snapshotTaken = new CyclicBarrier(2);
+        final CyclicBarrier replaced = new CyclicBarrier(2);
+        @SuppressWarnings("serial")
+        final Map<String, Reservation> reservations = new ConcurrentHashMap<String, Reservation>() {
+            @Override
+            public Set<Map.Entry<String, Reservation>> entrySet() {
+                Set<Map.Entry<String, Reservation>> entries = new HashSet<Map.Entry<String, Reservation>>(super.entrySet());
+                try {
+                    snapshotTaken.await();
+                    replaced.await();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+                return entries;
+            }
+        };
+        reservations.put(nodeId, expired);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> sweep = executor.submit(new Callable<Integer>() {
+                public Integer call() {
+                    return mgr.removeTimedOutReservations(reservations);
+                }
+            });
+            snapshotTaken.await();
+            assertTrue(reservations.replace(nodeId, expired, hard));
+            replaced.await();
+            assertEquals(0, sweep.get().intValue());
+            assertSame(hard, reservations.get(nodeId));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    protected IParameterService mockParameterService(int maxWorkers, long reservationTimeout) {
+        IParameterService parameterService = mock(IParameterService.class);
+        when(parameterService.getInt(ParameterConstants.CONCURRENT_WORKERS)).thenReturn(maxWorkers);
+        when(parameterService.getLong(ParameterConstants.CONCURRENT_RESERVATION_TIMEOUT)).thenReturn(reservationTimeout);
+        when(parameterService.getLong(ParameterConstants.TRANSPORT_MAX_ERROR_MILLIS, 300000)).thenReturn(300000L);
+        return parameterService;
+    }
+}
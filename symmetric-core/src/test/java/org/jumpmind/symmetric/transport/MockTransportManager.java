@@ -23,6 +23,7 @@ package org.jumpmind.symmetric.transport;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 
@@ -87,6 +88,9 @@ public class MockTransportManager implements ITransportManager {
             throws IOException {
     }
 
+    public void writeStreamedAcknowledgement(Writer writer, Node remote, IncomingBatch batch, Node local) throws IOException {
+    }
+
     public IIncomingTransport getIncomingTransport() {
         return incomingTransport;
     }
@@ -0,0 +1,110 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.transport.http;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class Http2ConnectionTest {
+    HttpServer server;
+    HttpClient client;
+    String baseUrl;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", exchange -> {
+            byte[] body = IOUtils.toByteArray(exchange.getRequestBody());
+            String response = exchange.getRequestMethod() + ":" + exchange.getRequestHeaders().getFirst("X-Test") + ":"
+                    + new String(body, StandardCharsets.UTF_8);
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("X-Reply", "ok");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+        });
+        server.createContext("/busy", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+    }
+
+    @AfterEach
+    public void teardown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        Http2Connection conn = new Http2Connection(client, new URL(baseUrl + "/echo"));
+        conn.setRequestProperty("X-Test", "get");
+        conn.setReadTimeout(10000);
+        assertEquals(200, conn.getResponseCode());
+        assertEquals("ok", conn.getHeaderField("X-Reply"));
+        try (InputStream is = conn.getInputStream()) {
+            assertEquals("GET:get:", IOUtils.toString(is, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testStreamedPut() throws Exception {
+        Http2Connection conn = new Http2Connection(client, new URL(baseUrl + "/echo"));
+        conn.setRequestMethod("PUT");
+        conn.setRequestProperty("X-Test", "put");
+        conn.setReadTimeout(10000);
+        StringBuilder expected = new StringBuilder();
+        try (OutputStream os = conn.getOutputStream()) {
+            for (int i = 0; i < 20000; i++) {
+                String line = "line " + i + "\n";
+                expected.append(line);
+                os.write(line.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(200, conn.getResponseCode());
+        try (InputStream is = conn.getInputStream()) {
+            assertEquals("PUT:put:" + expected, IOUtils.toString(is, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testErrorResponseCode() throws Exception {
+        Http2Connection conn = new Http2Connection(client, new URL(baseUrl + "/busy"));
+        conn.setRequestMethod("HEAD");
+        assertEquals(503, conn.getResponseCode());
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.transport.http;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URL;
+
+import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.common.ServerConstants;
+import org.jumpmind.symmetric.service.IParameterService;
+import org.junit.jupiter.api.Test;
+
+public class Http2TransportManagerTest {
+    @Test
+    public void testHttpsUsesHttp2WhenHostnamesAreVerified() throws Exception {
+        Http2TransportManager manager = newTransportManager("");
+        assertTrue(manager.newConnection(new URL("https://localhost:31417/sync")) instanceof Http2Connection);
+        assertTrue(manager.newConnection(new URL("http://localhost:31415/sync")) instanceof Http2Connection);
+    }
+
+    @Test
+    public void testHttpsFallsBackWhenHostnameVerificationIsRelaxed() throws Exception {
+        Http2TransportManager manager = newTransportManager("all");
+        assertFalse(manager.newConnection(new URL("https://localhost:31417/sync")) instanceof Http2Connection);
+        assertTrue(manager.newConnection(new URL("http://localhost:31415/sync")) instanceof Http2Connection);
+    }
+
+    protected Http2TransportManager newTransportManager(String verifiedServerNames) {
+        ISymmetricEngine engine = mock(ISymmetricEngine.class);
+        IParameterService parameterService = mock(IParameterService.class);
+        when(engine.getParameterService()).thenReturn(parameterService);
+        when(parameterService.getString(ServerConstants.HTTPS_VERIFIED_SERVERS)).thenReturn(verifiedServerNames);
+        return new Http2TransportManager(engine);
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.transport.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.StringWriter;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.jumpmind.symmetric.model.AbstractBatch.Status;
+import org.jumpmind.symmetric.model.BatchAck;
+import org.jumpmind.symmetric.model.IncomingBatch;
+import org.jumpmind.symmetric.model.Node;
+import org.junit.jupiter.api.Test;
+
+public class HttpOutgoingTransportTest {
+    @Test
+    public void testReadStreamedAcks() throws Exception {
+        HttpTransportManager transportManager = new HttpTransportManager();
+        Node remote = new Node("00001", "client");
+        Node local = new Node("00000", "server");
+        StringWriter streamed = new StringWriter();
+        streamed.write("1=1&");
+        transportManager.writeStreamedAcknowledgement(streamed, remote, newBatch(1, Status.OK), local);
+        transportManager.writeStreamedAcknowledgement(streamed, remote, newBatch(2, Status.ER), local);
+        StringWriter last = new StringWriter();
+        transportManager.writeStreamedAcknowledgement(last, remote, newBatch(3, Status.OK), local);
+        String sentEarly = streamed.toString() + last.toString().substring(0, 5);
+        String sentLater = last.toString().substring(5) + "batch-1=ok&batch-2=3&batch-3=ok\n\n";
+        FakeConnection connection = new FakeConnection(new URL("http://localhost/push"), new SequenceInputStream(
+                new ByteArrayInputStream(sentEarly.getBytes(StandardCharsets.UTF_8)),
+                new ByteArrayInputStream(sentLater.getBytes(StandardCharsets.UTF_8))));
+        HttpOutgoingTransport transport = new HttpOutgoingTransport(new HttpTransportManager() {
+            @Override
+            protected HttpConnection newConnection(URL url) {
+                return connection;
+            }
+        }, connection.getURL(), 10000, 10000, false, 0, 0, "00000", "token", false, 0, false);
+        transport.openWriter();
+        List<BatchAck> acks = transport.readStreamedAcks();
+        assertEquals(2, acks.size());
+        assertEquals(1, acks.get(0).getBatchId());
+        assertTrue(acks.get(0).isOk());
+        assertEquals(2, acks.get(1).getBatchId());
+        assertFalse(acks.get(1).isOk());
+        assertEquals(0, transport.readStreamedAcks().size());
+        BufferedReader reader = transport.readResponse();
+        String line = reader.readLine();
+        assertEquals(sentEarly + sentLater.substring(0, sentLater.indexOf('\n')), line);
+        assertEquals(3, transportManager.readAcknowledgement(line, reader.readLine()).size());
+        transport.close();
+    }
+
+    protected IncomingBatch newBatch(long batchId, Status status) {
+        IncomingBatch batch = new IncomingBatch();
+        batch.setBatchId(batchId);
+        batch.setStatus(status);
+        batch.setFailedRowNumber(3);
+        return batch;
+    }
+
+    static class FakeConnection extends HttpConnection {
+        InputStream response;
+        OutputStream request = new ByteArrayOutputStream();
+
+        public FakeConnection(URL url, InputStream response) {
+            super(url, null);
+            this.response = response;
+        }
+
+        @Override
+        public InputStream getInputStreamIfResponded() {
+            return response;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return response;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return request;
+        }
+
+        @Override
+        public int getResponseCode() {
+            return HTTP_OK;
+        }
+
+        @Override
+        public String getContentEncoding() {
+            return null;
+        }
+
+        @Override
+        public String getHeaderField(String name) {
+            return null;
+        }
+
+        @Override
+        public void setRequestProperty(String key, String value) {
+        }
+
+        @Override
+        public void addRequestProperty(String key, String value) {
+        }
+
+        @Override
+        public void setRequestMethod(String method) {
+        }
+
+        @Override
+        public void setDoInput(boolean doinput) {
+        }
+
+        @Override
+        public void setDoOutput(boolean dooutput) {
+        }
+
+        @Override
+        public void setUseCaches(boolean usecaches) {
+        }
+
+        @Override
+        public void setConnectTimeout(int timeout) {
+        }
+
+        @Override
+        public void setReadTimeout(int timeout) {
+        }
+
+        @Override
+        public void disconnect() {
+        }
+    }
+}
@@ -31,6 +31,7 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.text.NumberFormat;
+import java.util.Arrays;
 import java.util.HashMap;
 
 /**
@@ -63,6 +64,13 @@ public class CsvReader implements AutoCloseable {
     private int columnsCount = 0;
     private long currentRecord = 0;
     private String[] values = new String[StaticSettings.INITIAL_COLUMN_COUNT];
+    // value start, value end and field end of each column in the raw record, see setLazyColumnStart
+    private int[] rawBounds = new int[StaticSettings.INITIAL_COLUMN_COUNT * 3];
+    private boolean[] isLazy = new boolean[StaticSettings.INITIAL_COLUMN_COUNT];
+    private int lazyColumnStart = Integer.MAX_VALUE;
+    private int columnRawStart = -1;
+    private int columnRawEnd = -1;
+    private boolean columnComplex = false;
     private boolean initialized = false;
     private boolean closed = false;
     /**
@@ -192,6 +200,63 @@ public class CsvReader implements AutoCloseable {
         return rawRecord;
     }
 
+    /**
+     * Columns at or after this index are not turned into strings while a record is read when they hold plain text. Their bounds in
+     * the raw record are kept instead, and the value is only created when it is requested. Columns that use escapes are read as
+     * usual. Turning this on also captures the raw record.
+     * 
+     * @param lazyColumnStart
+     *            The index of the first column to read lazily.
+     */
+    public void setLazyColumnStart(int lazyColumnStart) {
+        this.lazyColumnStart = lazyColumnStart;
+        if (lazyColumnStart < Integer.MAX_VALUE) {
+            userSettings.CaptureRawRecord = true;
+        }
+    }
+
+    /**
+     * @return Whether the value of the column has not been created yet and is held as bounds in the raw record.
+     */
+    public boolean isLazy(int columnIndex) {
+        return columnIndex > -1 && columnIndex < columnsCount && isLazy[columnIndex];
+    }
+
+    /**
+     * @return The offset in the raw record of the first character of a lazy column's value.
+     */
+    public int getRawValueStart(int columnIndex) {
+        return rawBounds[columnIndex * 3];
+    }
+
+    /**
+     * @return The offset in the raw record after the last character of a lazy column's value.
+     */
+    public int getRawValueEnd(int columnIndex) {
+        return rawBounds[columnIndex * 3 + 1];
+    }
+
+    /**
+     * @return The offset in the raw record of the delimiter after the column, or the length of the raw record for the last column.
+     */
+    public int getRawFieldEnd(int columnIndex) {
+        return rawBounds[columnIndex * 3 + 2];
+    }
+
+    private int getRawOffset(int dataBufferPosition) {
+        return rawBuffer.Position + dataBufferPosition - dataBuffer.LineStart;
+    }
+
+    private String getLazyValue(int columnIndex) {
+        if (isLazy[columnIndex]) {
+            int start = rawBounds[columnIndex * 3];
+            int end = rawBounds[columnIndex * 3 + 1];
+            values[columnIndex] = start == end && !isQualified[columnIndex] ? null : rawRecord.substring(start, end);
+            isLazy[columnIndex] = false;
+        }
+        return values[columnIndex];
+    }
+
     /**
      * Gets whether leading and trailing whitespace characters are being trimmed from non-textqualified column data. Default is true.
      * 
@@ -442,7 +507,9 @@ public class CsvReader implements AutoCloseable {
         // need to return a clone, and can't use clone because values.Length
         // might be greater than columnsCount
         String[] clone = new String[columnsCount];
-        System.arraycopy(values, 0, clone, 0, columnsCount);
+        for (int i = 0; i < columnsCount; i++) {
+            clone[i] = getLazyValue(i);
+        }
         return clone;
     }
 
@@ -458,7 +525,7 @@ public class CsvReader implements AutoCloseable {
     public String get(int columnIndex) throws IOException {
         checkClosed();
         if (columnIndex > -1 && columnIndex < columnsCount) {
-            return values[columnIndex];
+            return getLazyValue(columnIndex);
         } else {
             return "";
         }
@@ -526,6 +593,7 @@ public class CsvReader implements AutoCloseable {
                         // read qualified
                         startedColumn = true;
                         dataBuffer.ColumnStart = dataBuffer.Position + 1;
+                        columnRawStart = getRawOffset(dataBuffer.Position + 1);
                         startedWithQualifier = true;
                         boolean lastLetterWasQualifier = false;
                         char escapeChar = userSettings.TextQualifier;
@@ -596,6 +664,11 @@ public class CsvReader implements AutoCloseable {
                                         lastLetterWasEscape = false;
                                         lastLetterWasQualifier = false;
                                     } else {
+                                        if (lastLetterWasQualifier) {
+                                            columnComplex = true;
+                                        } else {
+                                            columnRawEnd = getRawOffset(dataBuffer.Position);
+                                        }
                                         updateCurrentValue();
                                         if (userSettings.EscapeMode == ESCAPE_MODE_DOUBLED) {
                                             lastLetterWasEscape = true;
@@ -681,6 +754,7 @@ public class CsvReader implements AutoCloseable {
                                 } else if (currentLetter == escapeChar) {
                                     updateCurrentValue();
                                     lastLetterWasEscape = true;
+                                    columnComplex = true;
                                 } else {
                                     if (lastLetterWasQualifier) {
                                         if (currentLetter == userSettings.Delimiter) {
@@ -692,6 +766,7 @@ public class CsvReader implements AutoCloseable {
                                         } else {
                                             dataBuffer.ColumnStart = dataBuffer.Position + 1;
                                             eatingTrailingJunk = true;
+                                            columnComplex = true;
                                         }
                                         // make sure to clear the flag for next
                                         // run of the loop
@@ -760,6 +835,7 @@ public class CsvReader implements AutoCloseable {
                         // will be the first letter of our current column
                         startedColumn = true;
                         dataBuffer.ColumnStart = dataBuffer.Position;
+                        columnRawStart = getRawOffset(dataBuffer.Position);
                         boolean lastLetterWasBackslash = false;
                         boolean readingComplexEscape = false;
                         int escape = ComplexEscape.UNICODE;
@@ -781,6 +857,7 @@ public class CsvReader implements AutoCloseable {
                                     } else {
                                         updateCurrentValue();
                                         lastLetterWasBackslash = true;
+                                        columnComplex = true;
                                     }
                                 } else if (readingComplexEscape) {
                                     escapeLength++;
@@ -973,6 +1050,10 @@ public class CsvReader implements AutoCloseable {
             initialized = true;
         }
         updateCurrentValue();
+        if (startedColumn && !startedWithQualifier) {
+            // the trailing whitespace of a column that spans buffers is trimmed from the column buffer
+            columnComplex = true;
+        }
         if (userSettings.CaptureRawRecord && dataBuffer.Count > 0) {
             if (rawBuffer.Buffer.length - rawBuffer.Position < dataBuffer.Count - dataBuffer.LineStart) {
                 int newLength = Math.max(rawBuffer.Buffer.length + dataBuffer.Count
@@ -1064,8 +1145,21 @@ public class CsvReader implements AutoCloseable {
      */
     private void endColumn() throws IOException {
         String currentValue = "";
+        boolean lazy = columnsCount >= lazyColumnStart && startedColumn && columnRawStart >= 0 && !columnComplex
+                && (!startedWithQualifier || columnRawEnd >= 0);
+        int valueEnd = columnRawEnd;
+        if (lazy && !startedWithQualifier) {
+            int lastLetter = dataBuffer.Position - 1;
+            if (userSettings.TrimWhitespace) {
+                while (lastLetter >= dataBuffer.ColumnStart
+                        && (dataBuffer.Buffer[lastLetter] == Letters.SPACE || dataBuffer.Buffer[lastLetter] == Letters.TAB)) {
+                    lastLetter--;
+                }
+            }
+            valueEnd = getRawOffset(lastLetter + 1);
+        }
         // must be called before setting startedColumn = false
-        if (startedColumn) {
+        if (startedColumn && !lazy) {
             if (columnBuffer.Position == 0) {
                 if (dataBuffer.ColumnStart < dataBuffer.Position) {
                     int lastLetter = dataBuffer.Position - 1;
@@ -1091,7 +1185,10 @@ public class CsvReader implements AutoCloseable {
             }
         }
         columnBuffer.Position = 0;
-        columnBuffer.Buffer = new char[StaticSettings.INITIAL_COLUMN_BUFFER_SIZE];
+        // reuse the column buffer unless a large value made it grow
+        if (columnBuffer.Buffer.length > StaticSettings.INITIAL_COLUMN_BUFFER_SIZE) {
+            columnBuffer.Buffer = new char[StaticSettings.INITIAL_COLUMN_BUFFER_SIZE];
+        }
         startedColumn = false;
         if (columnsCount >= 100000 && userSettings.SafetySwitch) {
             close();
@@ -1113,13 +1210,27 @@ public class CsvReader implements AutoCloseable {
             System.arraycopy(isQualified, 0, qualifiedHolder, 0, isQualified.length);
             isQualified = qualifiedHolder;
         }
+        if (columnsCount == isLazy.length) {
+            int newLength = newLength(isLazy.length);
+            rawBounds = Arrays.copyOf(rawBounds, newLength * 3);
+            isLazy = Arrays.copyOf(isLazy, newLength);
+        }
+        if (lazy) {
+            rawBounds[columnsCount * 3] = columnRawStart;
+            rawBounds[columnsCount * 3 + 1] = valueEnd;
+        }
+        rawBounds[columnsCount * 3 + 2] = getRawOffset(dataBuffer.Position);
+        isLazy[columnsCount] = lazy;
+        columnRawStart = -1;
+        columnRawEnd = -1;
+        columnComplex = false;
         // BEGIN <erilong@users.sourceforge.net>
         // An unquoted empty element string means null
         if (!startedWithQualifier && currentValue.equals("")) {
             currentValue = null;
         }
         // END
-        values[columnsCount] = currentValue;
+        values[columnsCount] = lazy ? null : currentValue;
         isQualified[columnsCount] = startedWithQualifier;
         currentValue = "";
         startedWithQualifier = false;
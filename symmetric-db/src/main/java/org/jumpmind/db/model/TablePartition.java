@@ -0,0 +1,72 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.db.model;
+
+import java.io.Serializable;
+
+/**
+ * A range partition of a table. The bounds are on the partition key, with the lower bound inclusive and the upper bound exclusive. A null
+ * bound is unbounded, as in a MAXVALUE or default partition.
+ */
+public class TablePartition implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private String name;
+    private Long lowerBound;
+    private Long upperBound;
+
+    public TablePartition() {
+    }
+
+    public TablePartition(String name, Long lowerBound, Long upperBound) {
+        this.name = name;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getLowerBound() {
+        return lowerBound;
+    }
+
+    public void setLowerBound(Long lowerBound) {
+        this.lowerBound = lowerBound;
+    }
+
+    public Long getUpperBound() {
+        return upperBound;
+    }
+
+    public void setUpperBound(Long upperBound) {
+        this.upperBound = upperBound;
+    }
+
+    @Override
+    public String toString() {
+        return name + " [" + (lowerBound != null ? lowerBound : "") + ", " + (upperBound != null ? upperBound : "") + ")";
+    }
+}
@@ -55,6 +55,7 @@ import java.sql.Array;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -435,6 +436,38 @@ public abstract class AbstractDatabasePlatform implements IDatabasePlatform {
         return retTable;
     }
 
+    @Override
+    public int cacheTableSnapshot(String catalogName, String schemaName, Collection<String> tableNames) {
+        if (System.currentTimeMillis() - lastTimeCachedModelClearedInMs > clearCacheModelTimeoutInMs) {
+            resetCachedTableModel();
+        }
+        String defaultedCatalogName = catalogName == null ? getDefaultCatalog() : catalogName;
+        String defaultedSchemaName = schemaName == null ? getDefaultSchema() : schemaName;
+        List<Table> tables = ddlReader.readTableSnapshot(defaultedCatalogName, defaultedSchemaName);
+        if (tables == null) {
+            return 0;
+        }
+        Map<String, Table> tablesByName = new HashMap<String, Table>(tables.size());
+        Map<String, Table> tablesByUpperCaseName = new HashMap<String, Table>(tables.size());
+        for (Table table : tables) {
+            tablesByName.put(table.getName(), table);
+            tablesByUpperCaseName.putIfAbsent(table.getName().toUpperCase(), table);
+        }
+        Map<String, Table> model = tableCache;
+        int count = 0;
+        for (String tableName : tableNames) {
+            Table table = tablesByName.get(tableName);
+            if (table == null && metadataIgnoreCase) {
+                table = tablesByUpperCaseName.get(tableName.toUpperCase());
+            }
+            if (table != null) {
+                model.put(Table.getFullyQualifiedTableName(catalogName, schemaName, tableName), table);
+                count++;
+            }
+        }
+        return count;
+    }
+
     @Override
     public Object[] getObjectValues(BinaryEncoding encoding, Table table, String[] columnNames, String[] values) {
         Column[] metaData = Table.orderColumns(columnNames, table, false);
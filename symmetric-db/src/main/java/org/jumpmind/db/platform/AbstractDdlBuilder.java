@@ -93,6 +93,7 @@ import org.jumpmind.db.model.ModelException;
 import org.jumpmind.db.model.PlatformColumn;
 import org.jumpmind.db.model.Reference;
 import org.jumpmind.db.model.Table;
+import org.jumpmind.db.model.TablePartition;
 import org.jumpmind.db.model.TypeMap;
 import org.jumpmind.db.util.MultiInstanceofPredicate;
 import org.slf4j.Logger;
@@ -1299,6 +1300,14 @@ public abstract class AbstractDdlBuilder implements IDdlBuilder {
      * @param recreate
      *            TODO
      */
+    public String createTablePartition(Table table, String partitionName, long lowerBound, long upperBound) {
+        return null;
+    }
+
+    public String dropTablePartition(Table table, TablePartition partition) {
+        return null;
+    }
+
     protected void dropTable(Table table, StringBuilder ddl, boolean temporary, boolean recreate) {
         ddl.append("DROP TABLE ");
         ddl.append(getFullyQualifiedTableNameShorten(table));
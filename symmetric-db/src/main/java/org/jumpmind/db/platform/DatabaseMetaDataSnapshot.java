@@ -0,0 +1,118 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.db.platform;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Database meta data for a whole catalog and schema that was read in bulk. Rows are kept by table name so a table can be built
+ * without querying the database meta data again. When a kind of row was not read in bulk its lookup returns null and the table
+ * reader queries the database for that table instead.
+ */
+public class DatabaseMetaDataSnapshot extends DatabaseMetaDataWrapper {
+    private Map<String, List<Map<String, Object>>> columnRows;
+    private Map<String, List<Map<String, Object>>> primaryKeyRows;
+    private Map<String, List<Map<String, Object>>> foreignKeyRows;
+    private Map<String, List<Map<String, Object>>> indexRows;
+    private Map<String, Map<String, Object>> tableAttributes = new HashMap<String, Map<String, Object>>();
+
+    public static void addRow(Map<String, List<Map<String, Object>>> rows, String tableName, Map<String, Object> values) {
+        if (tableName != null) {
+            List<Map<String, Object>> tableRows = rows.get(tableName);
+            if (tableRows == null) {
+                tableRows = new ArrayList<Map<String, Object>>();
+                rows.put(tableName, tableRows);
+            }
+            tableRows.add(values);
+        }
+    }
+
+    public void setColumnRows(Map<String, List<Map<String, Object>>> columnRows) {
+        this.columnRows = columnRows;
+    }
+
+    public List<Map<String, Object>> getColumnRows(String tableName) {
+        return getRows(columnRows, tableName);
+    }
+
+    public boolean hasPrimaryKeyRows() {
+        return primaryKeyRows != null;
+    }
+
+    public void setPrimaryKeyRows(Map<String, List<Map<String, Object>>> primaryKeyRows) {
+        this.primaryKeyRows = primaryKeyRows;
+    }
+
+    public List<Map<String, Object>> getPrimaryKeyRows(String tableName) {
+        return getRows(primaryKeyRows, tableName);
+    }
+
+    public boolean hasForeignKeyRows() {
+        return foreignKeyRows != null;
+    }
+
+    public void setForeignKeyRows(Map<String, List<Map<String, Object>>> foreignKeyRows) {
+        this.foreignKeyRows = foreignKeyRows;
+    }
+
+    public List<Map<String, Object>> getForeignKeyRows(String tableName) {
+        return getRows(foreignKeyRows, tableName);
+    }
+
+    public boolean hasIndexRows() {
+        return indexRows != null;
+    }
+
+    public void setIndexRows(Map<String, List<Map<String, Object>>> indexRows) {
+        this.indexRows = indexRows;
+    }
+
+    public List<Map<String, Object>> getIndexRows(String tableName) {
+        return getRows(indexRows, tableName);
+    }
+
+    public void putTableAttribute(String tableName, String name, Object value) {
+        Map<String, Object> attributes = tableAttributes.get(tableName);
+        if (attributes == null) {
+            attributes = new HashMap<String, Object>();
+            tableAttributes.put(tableName, attributes);
+        }
+        attributes.put(name, value);
+    }
+
+    /**
+     * Returns the platform specific attributes read in bulk for a table, or null when none were read for it.
+     */
+    public Map<String, Object> getTableAttributes(String tableName) {
+        return tableAttributes.get(tableName);
+    }
+
+    protected List<Map<String, Object>> getRows(Map<String, List<Map<String, Object>>> rows, String tableName) {
+        if (rows == null) {
+            return null;
+        }
+        List<Map<String, Object>> tableRows = rows.get(tableName);
+        return tableRows != null ? tableRows : new ArrayList<Map<String, Object>>(0);
+    }
+}
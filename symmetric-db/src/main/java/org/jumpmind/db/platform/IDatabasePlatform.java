@@ -40,6 +40,7 @@ package org.jumpmind.db.platform;
  */
 
 import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -121,6 +122,14 @@ public interface IDatabasePlatform {
     public Table getTableFromCache(String catalogName, String schemaName, String tableName,
             boolean forceReread);
 
+    /**
+     * Reads all tables in a catalog and schema in bulk and puts the named tables into the table cache, so later calls to
+     * {@link #getTableFromCache(String, String, String, boolean)} with the same names do not query the database per table. Table
+     * names are matched the same way a single table read matches them, but are cached under the names given. Returns the number of tables cached,
+     * which is zero when the platform cannot read a schema in bulk.
+     */
+    public int cacheTableSnapshot(String catalogName, String schemaName, Collection<String> tableNames);
+
     public void createDatabase(Database targetDatabase, boolean dropTablesFirst,
             boolean continueOnError);
 
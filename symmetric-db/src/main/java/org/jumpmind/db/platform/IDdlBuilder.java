@@ -28,6 +28,7 @@ import org.jumpmind.db.model.Database;
 import org.jumpmind.db.model.ForeignKey;
 import org.jumpmind.db.model.IIndex;
 import org.jumpmind.db.model.Table;
+import org.jumpmind.db.model.TablePartition;
 
 public interface IDdlBuilder {
     public String createTables(Database database, boolean dropTables);
@@ -50,6 +51,17 @@ public interface IDdlBuilder {
 
     public String dropTables(Database database);
 
+    /**
+     * Outputs the DDL to add a range partition covering the lower bound (inclusive) up to the upper bound (exclusive) to a table that is
+     * already partitioned on a numeric column. Returns null when the platform does not support it.
+     */
+    public String createTablePartition(Table table, String partitionName, long lowerBound, long upperBound);
+
+    /**
+     * Outputs the DDL to drop a partition and all of its rows. Returns null when the platform does not support it.
+     */
+    public String dropTablePartition(Table table, TablePartition partition);
+
     /*
      * Determines whether delimited identifiers are used or normal SQL92 identifiers (which may only contain alpha numerical characters and the underscore, must
      * start with a letter and cannot be a reserved keyword). Per default, delimited identifiers are not used
@@ -28,6 +28,7 @@ import org.jumpmind.db.model.Database;
 import org.jumpmind.db.model.ForeignKey;
 import org.jumpmind.db.model.PlatformTrigger;
 import org.jumpmind.db.model.Table;
+import org.jumpmind.db.model.TablePartition;
 import org.jumpmind.db.model.Trigger;
 import org.jumpmind.db.sql.ISqlTransaction;
 import org.jumpmind.db.util.BinaryEncoding;
@@ -40,6 +41,12 @@ public interface IDdlReader {
 
     public Table readTable(ISqlTransaction transaction, String catalog, String schema, String table);
 
+    /**
+     * Reads every table in a catalog and schema using a handful of bulk metadata queries instead of several queries per table, or
+     * returns null when the platform does not support reading a schema in bulk.
+     */
+    public List<Table> readTableSnapshot(String catalog, String schema);
+
     public List<String> getTableTypes();
 
     public List<String> getCatalogNames();
@@ -51,6 +58,12 @@ public interface IDdlReader {
     public List<String> getColumnNames(String catalog, String schema, String tableName);
 
     public List<Trigger> getTriggers(String catalog, String schema, String tableName);
+
+    /**
+     * Returns the range partitions of a table that is partitioned on a single numeric column, ordered by their bounds, or an empty list when
+     * the table is not partitioned or the platform does not support reading partitions.
+     */
+    public List<TablePartition> getTablePartitions(String catalog, String schema, String tableName);
     
     public List<Trigger> getApplicationTriggersForModel(String catalog, String schema, String tableName, String triggerPrefix);
 
@@ -29,6 +29,7 @@ import org.jumpmind.db.model.Database;
 import org.jumpmind.db.model.ForeignKey;
 import org.jumpmind.db.model.PlatformTrigger;
 import org.jumpmind.db.model.Table;
+import org.jumpmind.db.model.TablePartition;
 import org.jumpmind.db.model.Trigger;
 import org.jumpmind.db.platform.IDatabasePlatform;
 import org.jumpmind.db.platform.IDdlReader;
@@ -83,6 +84,16 @@ public class KafkaDdlReader implements IDdlReader {
         return null;
     }
 
+    @Override
+    public List<Table> readTableSnapshot(String catalog, String schema) {
+        return null;
+    }
+
+    @Override
+    public List<TablePartition> getTablePartitions(String catalog, String schema, String tableName) {
+        return new ArrayList<TablePartition>(0);
+    }
+
     @Override
     public List<Trigger> getTriggers(String catalog, String schema, String tableName) {
         return null;
@@ -65,6 +65,7 @@ import org.jumpmind.db.model.ForeignKey.ForeignKeyAction;
 import org.jumpmind.db.model.IIndex;
 import org.jumpmind.db.model.PlatformColumn;
 import org.jumpmind.db.model.Table;
+import org.jumpmind.db.model.TablePartition;
 import org.jumpmind.db.platform.AbstractDdlBuilder;
 import org.jumpmind.db.platform.DatabaseNamesConstants;
 import org.jumpmind.db.platform.PlatformUtils;
@@ -634,4 +635,28 @@ public class OracleDdlBuilder extends AbstractDdlBuilder {
             super.writeCascadeAttributesForForeignKeyDelete(key, ddl);
         }
     }
+
+    @Override
+    public String createTablePartition(Table table, String partitionName, long lowerBound, long upperBound) {
+        StringBuilder ddl = new StringBuilder();
+        ddl.append("ALTER TABLE ");
+        ddl.append(getFullyQualifiedTableNameShorten(table));
+        ddl.append(" ADD PARTITION ");
+        printIdentifier(partitionName, ddl);
+        ddl.append(" VALUES LESS THAN (").append(upperBound).append(")");
+        printEndOfStatement(ddl);
+        return ddl.toString();
+    }
+
+    @Override
+    public String dropTablePartition(Table table, TablePartition partition) {
+        StringBuilder ddl = new StringBuilder();
+        ddl.append("ALTER TABLE ");
+        ddl.append(getFullyQualifiedTableNameShorten(table));
+        ddl.append(" DROP PARTITION ");
+        printIdentifier(partition.getName(), ddl);
+        ddl.append(" UPDATE GLOBAL INDEXES");
+        printEndOfStatement(ddl);
+        return ddl.toString();
+    }
 }
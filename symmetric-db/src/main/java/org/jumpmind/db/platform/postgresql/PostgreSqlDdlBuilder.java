@@ -43,6 +43,7 @@ import java.sql.Types;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BooleanSupplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -67,6 +68,7 @@ import org.jumpmind.db.model.Database;
 import org.jumpmind.db.model.IIndex;
 import org.jumpmind.db.model.PlatformColumn;
 import org.jumpmind.db.model.Table;
+import org.jumpmind.db.model.TablePartition;
 import org.jumpmind.db.platform.AbstractDdlBuilder;
 import org.jumpmind.db.platform.DatabaseNamesConstants;
 
@@ -74,6 +76,8 @@ import org.jumpmind.db.platform.DatabaseNamesConstants;
  * The SQL Builder for PostgresSql.
  */
 public class PostgreSqlDdlBuilder extends AbstractDdlBuilder {
+    protected BooleanSupplier detachPartitionConcurrently;
+
     public PostgreSqlDdlBuilder() {
         super(DatabaseNamesConstants.POSTGRESQL);
         // this is the default length though it might be changed when building
@@ -656,4 +660,43 @@ public class PostgreSqlDdlBuilder extends AbstractDdlBuilder {
         }
         return type;
     }
+
+    @Override
+    public String createTablePartition(Table table, String partitionName, long lowerBound, long upperBound) {
+        StringBuilder ddl = new StringBuilder();
+        ddl.append("CREATE TABLE ");
+        ddl.append(getFullyQualifiedTableNameShorten(new Table(table.getCatalog(), table.getSchema(), partitionName)));
+        ddl.append(" PARTITION OF ");
+        ddl.append(getFullyQualifiedTableNameShorten(table));
+        ddl.append(" FOR VALUES FROM (").append(lowerBound).append(") TO (").append(upperBound).append(")");
+        printEndOfStatement(ddl);
+        return ddl.toString();
+    }
+
+    /**
+     * Dropping a partition takes an access exclusive lock on the parent table, which blocks the triggers that insert into it. On PostgreSQL 14 and
+     * later the partition is first detached concurrently, which only needs a share update exclusive lock on the parent, and the detached table is
+     * dropped after that. The statements must be run with auto commit, because a concurrent detach cannot run inside a transaction block.
+     */
+    @Override
+    public String dropTablePartition(Table table, TablePartition partition) {
+        Table partitionTable = new Table(table.getCatalog(), table.getSchema(), partition.getName());
+        StringBuilder ddl = new StringBuilder();
+        if (detachPartitionConcurrently != null && detachPartitionConcurrently.getAsBoolean()) {
+            ddl.append("ALTER TABLE ");
+            ddl.append(getFullyQualifiedTableNameShorten(table));
+            ddl.append(" DETACH PARTITION ");
+            ddl.append(getFullyQualifiedTableNameShorten(partitionTable));
+            ddl.append(" CONCURRENTLY");
+            printEndOfStatement(ddl);
+        }
+        ddl.append("DROP TABLE ");
+        ddl.append(getFullyQualifiedTableNameShorten(partitionTable));
+        printEndOfStatement(ddl);
+        return ddl.toString();
+    }
+
+    public void setDetachPartitionConcurrently(BooleanSupplier detachPartitionConcurrently) {
+        this.detachPartitionConcurrently = detachPartitionConcurrently;
+    }
 }
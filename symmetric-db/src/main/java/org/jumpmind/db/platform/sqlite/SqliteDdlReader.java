@@ -40,6 +40,7 @@ import org.jumpmind.db.model.NonUniqueIndex;
 import org.jumpmind.db.model.PlatformTrigger;
 import org.jumpmind.db.model.Reference;
 import org.jumpmind.db.model.Table;
+import org.jumpmind.db.model.TablePartition;
 import org.jumpmind.db.model.Trigger;
 import org.jumpmind.db.model.TypeMap;
 import org.jumpmind.db.model.UniqueIndex;
@@ -274,6 +275,16 @@ public class SqliteDdlReader implements IDdlReader {
         return trigger;
     }
 
+    @Override
+    public List<Table> readTableSnapshot(String catalog, String schema) {
+        return null;
+    }
+
+    @Override
+    public List<TablePartition> getTablePartitions(String catalog, String schema, String tableName) {
+        return new ArrayList<TablePartition>(0);
+    }
+
     public List<Trigger> getTriggers(final String catalog, final String schema, final String tableName) throws SqlException {
         List<Trigger> triggers = new ArrayList<Trigger>();
         String sql = "SELECT " + "name AS trigger_name, " + "tbl_name AS table_name, " + "rootpage, " + "sql, " + "type AS object_type "
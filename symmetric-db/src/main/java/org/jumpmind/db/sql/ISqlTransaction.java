@@ -80,4 +80,14 @@ public interface ISqlTransaction {
             Object[] args, int[] types);
 
     public void clearBatch();
+
+    /**
+     * Number of times {@link #prepare(String)} reused a statement from the transaction's statement cache
+     */
+    public long getStatementCacheHits();
+
+    /**
+     * Number of times {@link #prepare(String)} had to prepare a new statement
+     */
+    public long getStatementCacheMisses();
 }
@@ -0,0 +1,199 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.db.sql;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.jumpmind.util.FormatUtils;
+
+/**
+ * A read only {@link Row} backed by an array of values that is reused for every row of a result set. Column names are resolved to indexes
+ * once when the view is created, so reading a row only stores the column values. Lookups by name are case insensitive and return the same
+ * values a {@link Row} built from the same columns would.
+ */
+public class RowView extends Row {
+    private static final long serialVersionUID = 1L;
+    protected String[] columnNames;
+    protected Object[] values;
+    protected String[] keys;
+    protected int[] keyIndexes;
+    protected Map<String, Integer> columnIndexes;
+    protected Set<String> keySet;
+    protected List<Object> valueList;
+
+    public RowView(String[] columnNames) {
+        super(0);
+        this.columnNames = columnNames;
+        this.values = new Object[columnNames.length];
+        Map<String, Integer> lastIndexByName = new LinkedHashMap<String, Integer>(columnNames.length);
+        Map<String, Integer> lastIndexByKey = new HashMap<String, Integer>(columnNames.length * 2);
+        for (int i = 0; i < columnNames.length; i++) {
+            lastIndexByName.put(columnNames[i], i);
+            String key = convertKey(columnNames[i]);
+            lastIndexByKey.put(key, i);
+            if (FormatUtils.isInfamousTurkey()) {
+                lastIndexByKey.put(FormatUtils.stripTurkeyDottedI(key), i);
+            }
+        }
+        this.keys = lastIndexByName.keySet().toArray(new String[lastIndexByName.size()]);
+        this.keyIndexes = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keyIndexes[i] = lastIndexByName.get(keys[i]);
+        }
+        this.columnIndexes = new HashMap<String, Integer>(lastIndexByKey);
+        for (String name : columnNames) {
+            Integer index = lastIndexByKey.get(convertKey(name));
+            columnIndexes.putIfAbsent(name, index);
+            columnIndexes.putIfAbsent(name.toUpperCase(Locale.getDefault()), index);
+        }
+        this.keySet = Collections.unmodifiableSet(new LinkedHashSet<String>(lastIndexByName.keySet()));
+        this.valueList = new AbstractList<Object>() {
+            @Override
+            public Object get(int index) {
+                return values[keyIndexes[index]];
+            }
+
+            @Override
+            public int size() {
+                return keyIndexes.length;
+            }
+        };
+    }
+
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    public String getColumnName(int index) {
+        return columnNames[index];
+    }
+
+    /**
+     * @return the zero based position of the column in the result set, or -1 if the result set does not have the column
+     */
+    public int getColumnIndex(String columnName) {
+        Integer index = columnIndexes.get(columnName);
+        if (index == null) {
+            index = columnIndexes.get(convertKey(columnName));
+        }
+        return index != null ? index : -1;
+    }
+
+    public Object getValue(int index) {
+        return values[index];
+    }
+
+    public void setValue(int index, Object value) {
+        values[index] = value;
+    }
+
+    /**
+     * @return a standalone copy of the current row that is safe to keep after the cursor moves on
+     */
+    public Row toRow() {
+        Row row = new Row(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            row.put(keys[i], values[keyIndexes[i]]);
+        }
+        return row;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (key instanceof String) {
+            int index = getColumnIndex((String) key);
+            return index >= 0 ? values[index] : null;
+        }
+        return null;
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        return containsKey(key) ? get(key) : defaultValue;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && getColumnIndex((String) key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return valueList.contains(value);
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return keySet;
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return valueList;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return Collections.unmodifiableSet(toRow().entrySet());
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        for (int i = 0; i < keys.length; i++) {
+            action.accept(keys[i], values[keyIndexes[i]]);
+        }
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object remove(Object key) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+}
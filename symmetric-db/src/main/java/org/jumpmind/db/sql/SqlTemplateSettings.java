@@ -30,6 +30,7 @@ public class SqlTemplateSettings {
     protected int fetchSize = 1000;
     protected int queryTimeout;
     protected int batchSize = 100;
+    protected int statementCacheSize = 10;
     protected int batchBulkLoaderSize = 25;
     protected boolean readStringsAsBytes;
     protected boolean treatBinaryAsLob;
@@ -70,6 +71,14 @@ public class SqlTemplateSettings {
         return batchSize;
     }
 
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
     public void setReadStringsAsBytes(boolean readStringsAsBytes) {
         this.readStringsAsBytes = readStringsAsBytes;
     }
@@ -22,11 +22,19 @@ package org.jumpmind.db.platform;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.Arrays;
 import java.util.Date;
 
+import org.jumpmind.db.model.Table;
 import org.jumpmind.db.platform.h2.H2DdlBuilder;
 import org.jumpmind.db.sql.ISqlTemplate;
 import org.jumpmind.db.sql.SqlTemplateSettings;
@@ -80,6 +88,24 @@ public class AbstractDatabasePlatformTest {
         assertEquals(3, testDatabasePlatform.parseQualifiedTableName("\"CATALOG\".\"SCHEMA\".\"TABLE\"").size());
     }
 
+    @Test
+    public void testCacheTableSnapshotUsesRequestedTableNames() {
+        IDdlReader ddlReader = mock(IDdlReader.class);
+        Table orders = new Table("ORDERS");
+        Table audit = new Table("AUDIT");
+        when(ddlReader.readTableSnapshot("", "default Schema.")).thenReturn(Arrays.asList(orders, audit, new Table("OTHER")));
+        testDatabasePlatform.ddlReader = ddlReader;
+        testDatabasePlatform.resetCachedTableModel();
+        assertEquals(2, testDatabasePlatform.cacheTableSnapshot("", "default Schema.", Arrays.asList("orders", "AUDIT", "missing")));
+        assertSame(orders, testDatabasePlatform.getTableFromCache("", "default Schema.", "orders", false));
+        assertSame(audit, testDatabasePlatform.getTableFromCache("", "default Schema.", "AUDIT", false));
+        verify(ddlReader, never()).readTable(anyString(), anyString(), anyString());
+        testDatabasePlatform.setMetadataIgnoreCase(false);
+        testDatabasePlatform.resetCachedTableModel();
+        assertEquals(1, testDatabasePlatform.cacheTableSnapshot("", "default Schema.", Arrays.asList("orders", "AUDIT")));
+        testDatabasePlatform.setMetadataIgnoreCase(true);
+    }
+
     private AbstractDatabasePlatform testDatabasePlatform = new AbstractDatabasePlatform(new SqlTemplateSettings()) {
         @Override
         public String getName() {
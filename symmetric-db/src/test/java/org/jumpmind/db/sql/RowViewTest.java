@@ -0,0 +1,79 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.db.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+public class RowViewTest {
+    @Test
+    public void testLookupIsCaseInsensitive() {
+        RowView row = new RowView(new String[] { "data_id", "TABLE_NAME", "Row_Data" });
+        row.setValue(0, 10L);
+        row.setValue(1, "sym_node");
+        row.setValue(2, "1,2");
+        assertEquals(10L, row.getLong("DATA_ID"));
+        assertEquals("sym_node", row.getString("table_name"));
+        assertEquals("1,2", row.getString("ROW_DATA"));
+        assertTrue(row.containsKey("Data_Id"));
+        assertFalse(row.containsKey("old_data"));
+        assertNull(row.getString("OLD_DATA", false));
+        assertThrows(ColumnNotFoundException.class, () -> row.getString("OLD_DATA"));
+        assertEquals(2, row.getColumnIndex("row_data"));
+        assertEquals(-1, row.getColumnIndex("pk_data"));
+    }
+
+    @Test
+    public void testReuseMatchesRow() {
+        String[] names = new String[] { "id", "name", "Other", "name" };
+        RowView view = new RowView(names);
+        for (int r = 0; r < 3; r++) {
+            Object[] values = new Object[] { r, "a" + r, r * 10, "b" + r };
+            Row row = new Row(names.length);
+            for (int i = 0; i < names.length; i++) {
+                view.setValue(i, values[i]);
+                row.put(names[i], values[i]);
+            }
+            assertEquals(row, view);
+            assertEquals(row.size(), view.size());
+            assertEquals(new ArrayList<String>(row.keySet()), new ArrayList<String>(view.keySet()));
+            assertEquals(new ArrayList<Object>(row.values()), new ArrayList<Object>(view.values()));
+            assertEquals(row.csvValue(), view.csvValue());
+            assertEquals(row.get("OTHER"), view.get("OTHER"));
+            assertEquals(row.get("name"), view.get("NAME"));
+            assertEquals(row, view.toRow());
+        }
+    }
+
+    @Test
+    public void testReadOnly() {
+        RowView row = new RowView(new String[] { "id" });
+        assertThrows(UnsupportedOperationException.class, () -> row.put("id", 1));
+        assertThrows(UnsupportedOperationException.class, () -> row.remove("id"));
+    }
+}
@@ -20,6 +20,7 @@
  */
 package org.jumpmind.symmetric.io.data;
 
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.HashMap;
@@ -28,6 +29,8 @@ import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 import org.jumpmind.db.model.Column;
 import org.jumpmind.db.model.Table;
+import org.jumpmind.exception.IoException;
+import org.jumpmind.symmetric.csv.CsvReader;
 import org.jumpmind.util.LinkedCaseInsensitiveMap;
 
 /**
@@ -50,6 +53,7 @@ public class CsvData {
     public static final String ATTRIBUTE_CREATE_TIME = "createTime";
     private Map<String, String[]> parsedCsvData = null;
     private Map<String, String> csvData = null;
+    private Map<String, LazyCsvRow> lazyCsvData = null;
     private Map<String, Object> attributes;
     private boolean noBinaryOldData = false;
     protected DataEventType dataEventType;
@@ -83,7 +87,8 @@ public class CsvData {
 
     public boolean contains(String key) {
         return (parsedCsvData != null && parsedCsvData.get(key) != null)
-                || (csvData != null && csvData.get(key) != null);
+                || (csvData != null && csvData.get(key) != null)
+                || (lazyCsvData != null && lazyCsvData.get(key) != null);
     }
 
     public void setDataEventType(DataEventType dataEventType) {
@@ -110,6 +115,9 @@ public class CsvData {
         if (csvData != null) {
             csvData.remove(key);
         }
+        if (lazyCsvData != null) {
+            lazyCsvData.remove(key);
+        }
     }
 
     public void removeParsedData(String key) {
@@ -132,11 +140,39 @@ public class CsvData {
         csvData.put(key, data);
     }
 
+    /**
+     * Hold a range of columns from the record a {@link CsvReader} just read without splitting them into strings. The reader
+     * must read those columns lazily, see {@link CsvReader#setLazyColumnStart(int)}. Values are materialized on first access.
+     */
+    public void putCsvData(String key, CsvReader csvReader, int fromColumn, int toColumn) {
+        removeAllData(key);
+        try {
+            LazyCsvRow row = LazyCsvRow.fromRecord(csvReader, fromColumn, toColumn);
+            if (lazyCsvData == null) {
+                lazyCsvData = new HashMap<String, LazyCsvRow>(2);
+            }
+            changedDataIndicators = null;
+            lazyCsvData.put(key, row);
+        } catch (IOException e) {
+            throw new IoException(e);
+        }
+    }
+
     public String getCsvData(String key) {
         String data = null;
         if (csvData != null) {
             data = csvData.get(key);
         }
+        if (data == null && lazyCsvData != null) {
+            LazyCsvRow row = lazyCsvData.get(key);
+            if (row != null) {
+                data = row.getCsv();
+                if (csvData == null) {
+                    csvData = new HashMap<String, String>(2);
+                }
+                csvData.put(key, data);
+            }
+        }
         if (data == null && parsedCsvData != null) {
             String[] parsedData = parsedCsvData.get(key);
             if (parsedData != null) {
@@ -185,27 +221,86 @@ public class CsvData {
         String[] values = null;
         if (parsedCsvData != null && parsedCsvData.containsKey(key)) {
             values = parsedCsvData.get(key);
-        } else if (csvData != null && csvData.containsKey(key)) {
-            String data = csvData.get(key);
-            if (data != null) {
-                values = CsvUtils.tokenizeCsvData(data);
+        } else {
+            LazyCsvRow row = lazyCsvData != null ? lazyCsvData.get(key) : null;
+            if (row != null) {
+                values = row.toArray();
                 putParsedData(key, values);
+            } else if (csvData != null && csvData.containsKey(key)) {
+                String data = csvData.get(key);
+                if (data != null) {
+                    values = CsvUtils.tokenizeCsvData(data);
+                    putParsedData(key, values);
+                }
             }
         }
         return values;
     }
 
+    /**
+     * Get a single parsed value without splitting the whole row. When the data is only held as CSV, the columns are indexed
+     * and just the requested value is materialized. This helps rows held as CSV text, like sym_data rows read for routing, and
+     * rows read by ProtocolDataReader, which keeps the columns of each record unsplit until they are used.
+     */
+    public String getParsedValue(String key, int index) {
+        String[] values = null;
+        if (parsedCsvData != null && parsedCsvData.containsKey(key)) {
+            values = parsedCsvData.get(key);
+        } else {
+            LazyCsvRow row = getLazyCsvRow(key);
+            if (row != null) {
+                return row.get(index);
+            }
+            values = getParsedData(key);
+        }
+        return values != null && index >= 0 && index < values.length ? values[index] : null;
+    }
+
+    protected int getParsedValueCount(String key) {
+        String[] values = null;
+        if (parsedCsvData != null && parsedCsvData.containsKey(key)) {
+            values = parsedCsvData.get(key);
+        } else {
+            LazyCsvRow row = getLazyCsvRow(key);
+            if (row != null) {
+                return row.size();
+            }
+            values = getParsedData(key);
+        }
+        return values != null ? values.length : -1;
+    }
+
+    private LazyCsvRow getLazyCsvRow(String key) {
+        LazyCsvRow row = lazyCsvData != null ? lazyCsvData.get(key) : null;
+        if (row == null && csvData != null) {
+            String data = csvData.get(key);
+            if (data != null) {
+                row = LazyCsvRow.index(data);
+                if (row != null) {
+                    if (lazyCsvData == null) {
+                        lazyCsvData = new HashMap<String, LazyCsvRow>(2);
+                    }
+                    lazyCsvData.put(key, row);
+                }
+            }
+        }
+        return row;
+    }
+
     public Map<String, String> toKeyColumnValuePairs(Table table) {
         Map<String, String> data = toColumnNameValuePairs(table.getPrimaryKeyColumnNames(), CsvData.PK_DATA);
         if (data.size() == 0) {
-            data = toColumnNameValuePairs(table.getColumnNames(), CsvData.OLD_DATA);
-            if (data.size() == 0) {
-                data = toColumnNameValuePairs(table.getColumnNames(), CsvData.ROW_DATA);
-            }
             Column[] columns = table.getColumns();
-            for (Column column : columns) {
-                if (!column.isPrimaryKey()) {
-                    data.remove(column.getName());
+            String key = CsvData.OLD_DATA;
+            if (columns.length == 0 || getParsedValueCount(key) < columns.length) {
+                key = CsvData.ROW_DATA;
+            }
+            data = new LinkedCaseInsensitiveMap<String>();
+            if (columns.length > 0 && getParsedValueCount(key) >= columns.length) {
+                for (int i = 0; i < columns.length; i++) {
+                    if (columns[i].isPrimaryKey()) {
+                        data.put(columns[i].getName(), getParsedValue(key, i));
+                    }
                 }
             }
         }
@@ -218,11 +313,11 @@ public class CsvData {
     }
 
     public Map<String, String> toColumnNameValuePairs(String[] keyNames, String key) {
-        String[] values = getParsedData(key);
-        if (values != null && keyNames != null && values.length >= keyNames.length) {
+        int count = getParsedValueCount(key);
+        if (count >= 0 && keyNames != null && count >= keyNames.length) {
             Map<String, String> map = new LinkedCaseInsensitiveMap<String>(keyNames.length);
             for (int i = 0; i < keyNames.length; i++) {
-                map.put(keyNames[i], values[i]);
+                map.put(keyNames[i], getParsedValue(key, i));
             }
             return map;
         } else {
@@ -0,0 +1,201 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.io.data;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.jumpmind.symmetric.csv.CsvReader;
+
+/**
+ * Column offsets into a single CSV record so individual values can be materialized on demand. Only records made up of plain
+ * quoted or unquoted values are indexed. Records that use escapes or other constructs return null from {@link #index(String)} so
+ * the caller can fall back to {@link CsvUtils#tokenizeCsvData(String)}. Rows can also be taken from the record a {@link CsvReader}
+ * just read with {@link #fromRecord(CsvReader, int, int)}, where the columns that used escapes are already materialized.
+ */
+final class LazyCsvRow {
+    private static final int INITIAL_COLUMN_COUNT = 16;
+    private static final int NULL_VALUE = -1;
+    private static final int MATERIALIZED = -2;
+    private final String csv;
+    private final int csvStart;
+    private final int csvEnd;
+    // start and end offset of each value, a start of NULL_VALUE or MATERIALIZED marks values that need no substring
+    private final int[] bounds;
+    private final int size;
+    private String[] values;
+    private boolean unescaped;
+
+    private LazyCsvRow(String csv, int csvStart, int csvEnd, int[] bounds, int size) {
+        this.csv = csv;
+        this.csvStart = csvStart;
+        this.csvEnd = csvEnd;
+        this.bounds = bounds;
+        this.size = size;
+    }
+
+    static LazyCsvRow index(String csv) {
+        int length = csv.length();
+        if (length == 0) {
+            return null;
+        }
+        int[] bounds = new int[INITIAL_COLUMN_COUNT * 2];
+        int size = 0;
+        int pos = 0;
+        while (true) {
+            if (size * 2 == bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            int start = pos;
+            int end;
+            boolean qualified = false;
+            if (pos < length && csv.charAt(pos) == '"') {
+                start = pos + 1;
+                end = csv.indexOf('"', start);
+                if (end < 0) {
+                    return null;
+                }
+                for (int i = start; i < end; i++) {
+                    if (csv.charAt(i) == '\\') {
+                        return null;
+                    }
+                }
+                qualified = true;
+                pos = end + 1;
+            } else {
+                end = pos;
+                while (end < length) {
+                    char c = csv.charAt(end);
+                    if (c == ',' || c == '\r' || c == '\n') {
+                        break;
+                    } else if (c == '"' || c == '\\') {
+                        return null;
+                    }
+                    end++;
+                }
+                if (end > start && (isWhitespace(csv.charAt(start)) || isWhitespace(csv.charAt(end - 1)))) {
+                    return null;
+                }
+                pos = end;
+            }
+            bounds[size * 2] = start == end && !qualified ? NULL_VALUE : start;
+            bounds[size * 2 + 1] = end;
+            size++;
+            if (pos == length) {
+                break;
+            }
+            char c = csv.charAt(pos);
+            if (c == ',') {
+                pos++;
+            } else if (c == '\r' || c == '\n') {
+                if (size == 1 && bounds[0] == NULL_VALUE) {
+                    // an empty line is skipped by the csv reader
+                    return null;
+                }
+                break;
+            } else {
+                return null;
+            }
+        }
+        return new LazyCsvRow(csv, 0, length, bounds, size);
+    }
+
+    /**
+     * Take a range of columns from the current record of a reader that reads columns lazily, see
+     * {@link CsvReader#setLazyColumnStart(int)}. The row shares the raw record with other rows taken from it.
+     */
+    static LazyCsvRow fromRecord(CsvReader csvReader, int fromColumn, int toColumn) throws IOException {
+        String csv = csvReader.getRawRecord();
+        int size = Math.max(toColumn - fromColumn, 0);
+        int csvStart = 0;
+        int csvEnd = 0;
+        if (size > 0) {
+            csvStart = fromColumn == 0 ? 0 : csvReader.getRawFieldEnd(fromColumn - 1) + 1;
+            csvEnd = csvReader.getRawFieldEnd(toColumn - 1);
+        }
+        LazyCsvRow row = new LazyCsvRow(csv, csvStart, csvEnd, new int[size * 2], size);
+        int[] bounds = row.bounds;
+        for (int i = 0; i < size; i++) {
+            int column = fromColumn + i;
+            if (csvReader.isLazy(column)) {
+                int start = csvReader.getRawValueStart(column);
+                int end = csvReader.getRawValueEnd(column);
+                bounds[i * 2] = start == end && !csvReader.isQualified(column) ? NULL_VALUE : start;
+                bounds[i * 2 + 1] = end;
+            } else {
+                if (row.values == null) {
+                    row.values = new String[size];
+                }
+                row.values[i] = csvReader.get(column);
+                bounds[i * 2] = MATERIALIZED;
+                row.unescaped = true;
+            }
+        }
+        return row;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the CSV text of the columns in this row, written again when the reader had to unescape any of them
+     */
+    String getCsv() {
+        if (unescaped) {
+            return CsvUtils.escapeCsvData(toArray());
+        }
+        return csvStart == 0 && csvEnd == csv.length() ? csv : csv.substring(csvStart, csvEnd);
+    }
+
+    String get(int index) {
+        if (index < 0 || index >= size) {
+            return null;
+        }
+        int start = bounds[index * 2];
+        if (start == MATERIALIZED) {
+            return values[index];
+        }
+        if (values == null) {
+            values = new String[size];
+        }
+        values[index] = start == NULL_VALUE ? null : csv.substring(start, bounds[index * 2 + 1]);
+        bounds[index * 2] = MATERIALIZED;
+        return values[index];
+    }
+
+    String[] toArray() {
+        String[] array = new String[size];
+        for (int i = 0; i < size; i++) {
+            int start = bounds[i * 2];
+            if (start == MATERIALIZED) {
+                array[i] = values[i];
+            } else if (start != NULL_VALUE) {
+                array[i] = csv.substring(start, bounds[i * 2 + 1]);
+            }
+        }
+        return array;
+    }
+}
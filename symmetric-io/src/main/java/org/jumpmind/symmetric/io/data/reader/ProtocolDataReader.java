@@ -132,6 +132,7 @@ public class ProtocolDataReader extends AbstractDataReader implements IDataReade
         this.lineNumber = 0;
         this.context = context;
         this.csvReader = CsvUtils.getCsvReader(reader);
+        this.csvReader.setLazyColumnStart(1);
         this.next = readNext();
     }
 
@@ -140,7 +141,7 @@ public class ProtocolDataReader extends AbstractDataReader implements IDataReade
             Set<String> keys = null;
             String schemaName = null;
             String catalogName = null;
-            String[] parsedOldData = null;
+            CsvData oldData = null;
             long bytesRead = 0;
             String[] statsColumns = null;
             String[] statsValues = null;
@@ -149,9 +150,9 @@ public class ProtocolDataReader extends AbstractDataReader implements IDataReade
                 lineNumber++;
                 context.put(CTX_LINE_NUMBER, lineNumber);
                 if (tokens == null) {
-                    tokens = csvReader.getValues();
+                    tokens = readTokens();
                 }
-                bytesRead += logDebugAndCountBytes(tokens);
+                bytesRead += logDebugAndCountBytes(csvReader);
                 Statistics stats = null;
                 if (batch != null) {
                     stats = statistics.get(batch);
@@ -170,7 +171,7 @@ public class ProtocolDataReader extends AbstractDataReader implements IDataReade
                     CsvData data = new CsvData();
                     data.setNoBinaryOldData(noBinaryOldData);
                     data.setDataEventType(DataEventType.INSERT);
-                    data.putParsedData(CsvData.ROW_DATA, CollectionUtils.copyOfRange(tokens, 1, tokens.length));
+                    data.putCsvData(CsvData.ROW_DATA, csvReader, 1, csvReader.getColumnCount());
                     if (createTime != null) {
                         data.putAttribute(CsvData.ATTRIBUTE_CREATE_TIME, createTime);
                     }
@@ -180,23 +181,24 @@ public class ProtocolDataReader extends AbstractDataReader implements IDataReade
                     tokens = null;
                     return data;
                 } else if (tokens[0].equals(CsvConstants.OLD)) {
-                    parsedOldData = CollectionUtils.copyOfRange(tokens, 1, tokens.length);
+                    oldData = new CsvData();
+                    oldData.putCsvData(CsvData.OLD_DATA, csvReader, 1, csvReader.getColumnCount());
                 } else if (tokens[0].equals(CsvConstants.UPDATE)) {
-                    CsvData data = new CsvData();
+                    CsvData data = oldData != null ? oldData : new CsvData();
                     data.setNoBinaryOldData(noBinaryOldData);
                     data.setDataEventType(DataEventType.UPDATE);
                     int columnCount = context.getLastParsedTable().getColumnCount();
-                    if (tokens.length <= columnCount) {
+                    int tokenCount = csvReader.getColumnCount();
+                    if (tokenCount <= columnCount) {
                         String msg = String.format(
                                 "Invalid state while parsing csv data.  "
                                         + "The number of columns (%d) reported for table '%s' doesn't match up with the token count (%d) data: %s",
-                                columnCount, context.getLastParsedTable().getFullyQualifiedTableName(), tokens.length,
-                                ArrayUtils.toString(tokens));
+                                columnCount, context.getLastParsedTable().getFullyQualifiedTableName(), tokenCount,
+                                ArrayUtils.toString(csvReader.getValues()));
                         throw new ProtocolException(msg);
                     }
-                    data.putParsedData(CsvData.ROW_DATA, CollectionUtils.copyOfRange(tokens, 1, columnCount + 1));
-                    data.putParsedData(CsvData.PK_DATA, CollectionUtils.copyOfRange(tokens, columnCount + 1, tokens.length));
-                    data.putParsedData(CsvData.OLD_DATA, parsedOldData);
+                    data.putCsvData(CsvData.ROW_DATA, csvReader, 1, columnCount + 1);
+                    data.putCsvData(CsvData.PK_DATA, csvReader, columnCount + 1, tokenCount);
                     if (createTime != null) {
                         data.putAttribute(CsvData.ATTRIBUTE_CREATE_TIME, createTime);
                     }
@@ -206,11 +208,10 @@ public class ProtocolDataReader extends AbstractDataReader implements IDataReade
                     tokens = null;
                     return data;
                 } else if (tokens[0].equals(CsvConstants.DELETE)) {
-                    CsvData data = new CsvData();
+                    CsvData data = oldData != null ? oldData : new CsvData();
                     data.setNoBinaryOldData(noBinaryOldData);
                     data.setDataEventType(DataEventType.DELETE);
-                    data.putParsedData(CsvData.PK_DATA, CollectionUtils.copyOfRange(tokens, 1, tokens.length));
-                    data.putParsedData(CsvData.OLD_DATA, parsedOldData);
+                    data.putCsvData(CsvData.PK_DATA, csvReader, 1, csvReader.getColumnCount());
                     if (createTime != null) {
                         data.putAttribute(CsvData.ATTRIBUTE_CREATE_TIME, createTime);
                     }
@@ -320,6 +321,35 @@ public class ProtocolDataReader extends AbstractDataReader implements IDataReade
         return null;
     }
 
+    /**
+     * Split the current record into tokens. The values of insert, update, delete and old lines are left in the csv reader, which
+     * only indexes them, and are handed to {@link CsvData} without being split.
+     */
+    protected String[] readTokens() throws IOException {
+        String type = csvReader.get(0);
+        if (type.equals(CsvConstants.INSERT) || type.equals(CsvConstants.UPDATE) || type.equals(CsvConstants.DELETE)
+                || type.equals(CsvConstants.OLD)) {
+            return new String[] { type };
+        }
+        return csvReader.getValues();
+    }
+
+    protected long logDebugAndCountBytes(CsvReader csvReader) throws IOException {
+        if (log.isDebugEnabled()) {
+            return logDebugAndCountBytes(csvReader.getValues());
+        }
+        long bytesRead = 0;
+        for (int i = 0; i < csvReader.getColumnCount(); i++) {
+            if (csvReader.isLazy(i)) {
+                bytesRead += csvReader.getRawValueEnd(i) - csvReader.getRawValueStart(i);
+            } else {
+                String value = csvReader.get(i);
+                bytesRead += value != null ? value.length() : 0;
+            }
+        }
+        return bytesRead;
+    }
+
     public Batch nextBatch() {
         if (next instanceof Batch) {
             this.batch = (Batch) next;
@@ -0,0 +1,41 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.io.data.transform;
+
+import java.util.List;
+import java.util.Map;
+
+import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.symmetric.io.data.DataContext;
+
+/**
+ * A column transform that can resolve its values for a group of rows at once. When prefetching is enabled, the transform writer buffers rows of
+ * the same source table and calls {@link #prefetch} before it transforms them one at a time. The source values at each index of the lists belong
+ * to the same row. The old source values are null for rows that did not capture old data. Prefetched values are released with
+ * {@link #clearPrefetch} once the buffered rows have been transformed.
+ */
+public interface IPrefetchColumnTransform {
+
+    public void prefetch(IDatabasePlatform platform, DataContext context, TransformColumn column, List<Map<String, String>> sourceValues,
+            List<Map<String, String>> oldSourceValues);
+
+    public void clearPrefetch(DataContext context, TransformColumn column);
+}
@@ -42,4 +42,6 @@ abstract public class DataWriterStatisticConstants {
     public static final String IGNOREROWCOUNT = "IGNOREROWCOUNT";
     public static final String LINENUMBER = "LINENUMBER";
     public static final String STARTTIME = "STARTTIME";
+    public static final String STATEMENTCACHEHITS = "STATEMENTCACHEHITS";
+    public static final String STATEMENTCACHEMISSES = "STATEMENTCACHEMISSES";
 }
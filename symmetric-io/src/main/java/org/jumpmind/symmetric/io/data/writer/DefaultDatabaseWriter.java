@@ -68,6 +68,7 @@ import org.jumpmind.symmetric.io.data.writer.Conflict.DetectConflict;
 import org.jumpmind.symmetric.io.data.writer.Conflict.DetectExpressionKey;
 import org.jumpmind.util.CollectionUtils;
 import org.jumpmind.util.FormatUtils;
+import org.jumpmind.util.Statistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -88,6 +89,8 @@ public class DefaultDatabaseWriter extends AbstractDatabaseWriter {
     protected LogSqlBuilder logSqlBuilder = new LogSqlBuilder();
     protected Boolean isCteExpression;
     protected boolean hasUncommittedDdl;
+    protected long batchStartStatementCacheHits;
+    protected long batchStartStatementCacheMisses;
 
     public DefaultDatabaseWriter(IDatabasePlatform platform) {
         this(platform, null, null);
@@ -142,6 +145,15 @@ public class DefaultDatabaseWriter extends AbstractDatabaseWriter {
         transaction = platform.getSqlTemplate().startSqlTransaction();
     }
 
+    @Override
+    public void start(Batch batch) {
+        super.start(batch);
+        if (transaction != null) {
+            batchStartStatementCacheHits = transaction.getStatementCacheHits();
+            batchStartStatementCacheMisses = transaction.getStatementCacheMisses();
+        }
+    }
+
     @Override
     public boolean start(Table table) {
         currentDmlStatement = null;
@@ -168,6 +180,13 @@ public class DefaultDatabaseWriter extends AbstractDatabaseWriter {
         if (inError) {
             allowInsertIntoAutoIncrementColumns(false, targetTable);
         }
+        Statistics batchStatistics = statistics.get(batch);
+        if (transaction != null && batchStatistics != null) {
+            batchStatistics.set(DataWriterStatisticConstants.STATEMENTCACHEHITS,
+                    transaction.getStatementCacheHits() - batchStartStatementCacheHits);
+            batchStatistics.set(DataWriterStatisticConstants.STATEMENTCACHEMISSES,
+                    transaction.getStatementCacheMisses() - batchStartStatementCacheMisses);
+        }
         super.end(batch, inError);
     }
 
@@ -0,0 +1,512 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.io.data.writer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import org.jumpmind.db.model.ForeignKey;
+import org.jumpmind.db.model.Table;
+import org.jumpmind.db.platform.IDatabasePlatform;
+import org.jumpmind.exception.InterruptedException;
+import org.jumpmind.symmetric.io.data.Batch;
+import org.jumpmind.symmetric.io.data.CsvData;
+import org.jumpmind.symmetric.io.data.DataContext;
+import org.jumpmind.symmetric.io.data.DataEventType;
+import org.jumpmind.symmetric.io.data.IDataWriter;
+import org.jumpmind.symmetric.io.data.writer.Conflict.ResolveConflict;
+import org.jumpmind.util.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spreads the rows of a batch across worker writers that each load on their own thread and their own database transaction. Rows are assigned to a
+ * worker by table, or by table and primary key, so changes to the same row are always applied in order by the same worker. This is meant for
+ * channels where the order of rows across tables does not matter, like reload channels.
+ * <p>
+ * The primary writer loads everything that is not an insert, update or delete, and the rows of tables that reference themselves or that are not
+ * found at the target. Once it loads something, the workers are drained and the rest of the batch is loaded by the primary writer in order. The
+ * other connections cannot see the uncommitted rows of the workers and could wait on their locks, so a {@link ParallelLoadException} is raised
+ * when a table with a foreign key relationship to a table already loaded by the workers arrives, or when an event that is not an insert, update or
+ * delete follows rows loaded by the workers. The batch is then loaded on a single connection when it is retried.
+ * <p>
+ * At the end of the batch the workers end their tables before anything is committed, so an error from any of them rolls back the primary writer
+ * and all workers. The primary writer then commits first and the workers commit after it. Because the commits are not atomic across
+ * connections, only tables whose conflicts are resolved by fallback or ignore are loaded by the workers. Loading their rows again converges on
+ * the same result, so a batch that fails while committing is safely retried on a single connection.
+ */
+public class ParallelDataWriter implements IDataWriter {
+    private static final Logger log = LoggerFactory.getLogger(ParallelDataWriter.class);
+    protected static final int QUEUE_SIZE = 1000;
+    protected IDatabasePlatform platform;
+    protected IDataWriter primaryWriter;
+    protected Worker[] workers;
+    protected boolean partitionByKey;
+    protected ExecutorService executor;
+    protected DataContext context;
+    protected Batch batch;
+    protected Table table;
+    protected Table targetTable;
+    protected boolean tableParallel;
+    protected boolean primaryTableStarted;
+    protected boolean sequential;
+    protected boolean workersEnded;
+    protected boolean primaryEnded;
+    protected Map<String, Table> workerTables = new HashMap<String, Table>();
+
+    /**
+     * @param platform
+     *            used to look up the foreign keys of the tables at the target, or null to use the foreign keys of the tables that are written
+     * @param executor
+     *            runs the workers, and is shut down when the writer is closed
+     */
+    public ParallelDataWriter(IDatabasePlatform platform, IDataWriter primaryWriter, List<IDataWriter> workerWriters, boolean partitionByKey,
+            ExecutorService executor) {
+        this.platform = platform;
+        this.primaryWriter = primaryWriter;
+        this.partitionByKey = partitionByKey;
+        this.executor = executor;
+        this.workers = new Worker[workerWriters.size()];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(workerWriters.get(i));
+        }
+    }
+
+    public void open(DataContext context) {
+        this.context = context;
+        primaryWriter.open(context);
+    }
+
+    public void start(Batch batch) {
+        this.batch = batch;
+        this.sequential = false;
+        this.workersEnded = false;
+        this.primaryEnded = false;
+        this.workerTables.clear();
+        primaryWriter.start(batch);
+    }
+
+    public boolean start(Table table) {
+        this.table = table;
+        this.primaryTableStarted = false;
+        this.targetTable = lookupTargetTable(table);
+        checkForeignKeys();
+        this.tableParallel = targetTable != null && !references(targetTable, targetTable.getName()) && isReplayable(table);
+        if (sequential) {
+            primaryTableStarted = primaryWriter.start(table);
+            return primaryTableStarted;
+        }
+        return true;
+    }
+
+    public void write(CsvData data) {
+        if (!sequential && tableParallel && isParallel(data.getDataEventType())) {
+            checkForWorkerError();
+            getWorker(data).write(table, data);
+            workerTables.put(targetTable.getName().toLowerCase(), targetTable);
+        } else {
+            if (!isParallel(data.getDataEventType()) && workerTables.size() > 0) {
+                throw new ParallelLoadException("The %s event in batch %s followed rows that were loaded in parallel.  "
+                        + "The batch will be loaded on a single connection when it is retried", data.getDataEventType(), batch.getNodeBatchId());
+            }
+            if (!sequential) {
+                sequential = true;
+                drainWorkers();
+                if (table != null) {
+                    primaryTableStarted = primaryWriter.start(table);
+                }
+            }
+            if (primaryTableStarted || !data.requiresTable()) {
+                primaryWriter.write(data);
+            }
+        }
+    }
+
+    public void end(Table table) {
+        if (primaryTableStarted) {
+            primaryWriter.end(table);
+            primaryTableStarted = false;
+        }
+        this.table = null;
+        this.targetTable = null;
+    }
+
+    public void end(Batch batch, boolean inError) {
+        if (!inError) {
+            drainWorkers();
+            prepareWorkers();
+            try {
+                primaryWriter.end(batch, false);
+            } catch (RuntimeException | Error ex) {
+                endWorkers(true);
+                throw ex;
+            }
+            primaryEnded = true;
+            endWorkers(false);
+            mergeWorkerStatistics();
+        } else {
+            endWorkers(true);
+            if (!primaryEnded) {
+                primaryWriter.end(batch, true);
+            }
+        }
+    }
+
+    public void close() {
+        try {
+            for (Worker worker : workers) {
+                worker.close();
+            }
+        } finally {
+            try {
+                primaryWriter.close();
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    public Map<Batch, Statistics> getStatistics() {
+        return primaryWriter.getStatistics();
+    }
+
+    protected boolean isParallel(DataEventType eventType) {
+        return eventType == DataEventType.INSERT || eventType == DataEventType.UPDATE || eventType == DataEventType.DELETE;
+    }
+
+    /**
+     * Rows can only be loaded by the workers when loading them again after a partial commit gives the same result, which is the case when
+     * conflicts are resolved by falling back or ignoring the row.
+     */
+    protected boolean isReplayable(Table table) {
+        if (primaryWriter instanceof AbstractDatabaseWriter) {
+            Conflict conflict = ((AbstractDatabaseWriter) primaryWriter).getWriterSettings().pickConflict(table, batch);
+            return conflict.getResolveType() == ResolveConflict.FALLBACK || conflict.getResolveType() == ResolveConflict.IGNORE;
+        }
+        return true;
+    }
+
+    protected Table lookupTargetTable(Table table) {
+        if (table == null || platform == null) {
+            return table;
+        }
+        return platform.getTableFromCache(table.getCatalog(), table.getSchema(), table.getName(), false);
+    }
+
+    /**
+     * Make sure the table being started has no foreign key to a table the workers loaded in this batch, and that none of those tables has a
+     * foreign key to it, because the rows of the workers are not visible to other connections until the end of the batch.
+     */
+    protected void checkForeignKeys() {
+        if (targetTable != null && workerTables.size() > 0) {
+            String tableName = targetTable.getName().toLowerCase();
+            for (Map.Entry<String, Table> workerTable : workerTables.entrySet()) {
+                if (!workerTable.getKey().equals(tableName)
+                        && (references(targetTable, workerTable.getKey()) || references(workerTable.getValue(), tableName))) {
+                    throw new ParallelLoadException("Table %s in batch %s has a foreign key relationship with table %s, which was loaded in parallel.  "
+                            + "The batch will be loaded on a single connection when it is retried", targetTable.getName(), batch.getNodeBatchId(),
+                            workerTable.getValue().getName());
+                }
+            }
+        }
+    }
+
+    protected boolean references(Table table, String tableName) {
+        ForeignKey[] foreignKeys = table.getForeignKeys();
+        if (foreignKeys != null) {
+            for (ForeignKey foreignKey : foreignKeys) {
+                if (tableName.equalsIgnoreCase(foreignKey.getForeignTableName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    protected Worker getWorker(CsvData data) {
+        int hash = table.getFullyQualifiedTableNameLowerCase().hashCode();
+        if (partitionByKey) {
+            hash = 31 * hash + Arrays.hashCode(data.getPkData(table));
+        }
+        return workers[(hash & Integer.MAX_VALUE) % workers.length];
+    }
+
+    protected void drainWorkers() {
+        for (Worker worker : workers) {
+            worker.await(null);
+        }
+        checkForWorkerError();
+    }
+
+    /**
+     * End the current table of each worker so that all of their rows are flushed, and raise any error before the primary writer commits.
+     */
+    protected void prepareWorkers() {
+        for (Worker worker : workers) {
+            worker.prepare();
+        }
+        checkForWorkerError();
+    }
+
+    protected void endWorkers(boolean inError) {
+        if (!workersEnded) {
+            workersEnded = true;
+            Throwable error = null;
+            for (Worker worker : workers) {
+                if (worker.open) {
+                    worker.await(inError || error != null || worker.error != null ? Boolean.TRUE : Boolean.FALSE);
+                    if (error == null && worker.error != null) {
+                        error = worker.error;
+                    }
+                }
+            }
+            if (error != null && !inError) {
+                throwWorkerError(error);
+            }
+        }
+    }
+
+    protected void checkForWorkerError() {
+        for (Worker worker : workers) {
+            if (worker.error != null) {
+                endWorkers(true);
+                throwWorkerError(worker.error);
+            }
+        }
+    }
+
+    protected void throwWorkerError(Throwable error) {
+        for (Worker worker : workers) {
+            if (worker.error == error) {
+                context.setTable(worker.failedTable);
+                context.setData(worker.failedData);
+            }
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error instanceof Error) {
+            throw (Error) error;
+        } else {
+            throw new RuntimeException(error);
+        }
+    }
+
+    protected void mergeWorkerStatistics() {
+        Statistics statistics = primaryWriter.getStatistics().get(batch);
+        if (statistics != null) {
+            long startTime = statistics.get(DataWriterStatisticConstants.STARTTIME);
+            for (Worker worker : workers) {
+                if (worker.open) {
+                    Statistics workerStatistics = worker.writer.getStatistics().get(batch);
+                    if (workerStatistics != null) {
+                        statistics.add(workerStatistics);
+                    }
+                }
+            }
+            statistics.set(DataWriterStatisticConstants.STARTTIME, startTime);
+        }
+    }
+
+    class Worker implements Runnable {
+        IDataWriter writer;
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<Runnable>(QUEUE_SIZE);
+        boolean open;
+        boolean running;
+        Table sourceTable;
+        Table currentTable;
+        boolean currentTableStarted;
+        volatile Throwable error;
+        Table failedTable;
+        CsvData failedData;
+
+        Worker(IDataWriter writer) {
+            this.writer = writer;
+        }
+
+        void write(final Table table, final CsvData data) {
+            if (!open) {
+                open = true;
+                final DataContext workerContext = new DataContext(context.getReader());
+                workerContext.getContext().putAll(context.getContext());
+                workerContext.setBatch(batch);
+                if (!running) {
+                    running = true;
+                    executor.execute(this);
+                }
+                put(new Runnable() {
+                    public void run() {
+                        writer.open(workerContext);
+                        writer.start(batch);
+                    }
+                });
+            }
+            put(new Runnable() {
+                public void run() {
+                    if (sourceTable != table) {
+                        endTable();
+                        sourceTable = table;
+                        currentTable = table.copy();
+                        currentTableStarted = writer.start(currentTable);
+                    }
+                    if (currentTableStarted) {
+                        failedTable = currentTable;
+                        failedData = data;
+                        writer.write(data);
+                    }
+                }
+            });
+        }
+
+        void endTable() {
+            if (currentTableStarted) {
+                writer.end(currentTable);
+            }
+            sourceTable = null;
+            currentTable = null;
+            currentTableStarted = false;
+        }
+
+        /**
+         * Wait for the queued rows to be written. When inError is not null, the worker also ends the batch by committing or rolling back.
+         */
+        void await(final Boolean inError) {
+            if (open) {
+                final CountDownLatch latch = new CountDownLatch(1);
+                put(new Barrier() {
+                    public void run() {
+                        try {
+                            if (inError != null) {
+                                if (!inError) {
+                                    endTable();
+                                }
+                                writer.end(batch, inError);
+                            }
+                        } catch (Throwable ex) {
+                            if (error == null) {
+                                error = ex;
+                            }
+                        } finally {
+                            latch.countDown();
+                        }
+                    }
+                });
+                waitFor(latch);
+            }
+        }
+
+        void prepare() {
+            if (open) {
+                final CountDownLatch latch = new CountDownLatch(1);
+                put(new Barrier() {
+                    public void run() {
+                        try {
+                            if (error == null) {
+                                endTable();
+                            }
+                        } catch (Throwable ex) {
+                            error = ex;
+                        } finally {
+                            latch.countDown();
+                        }
+                    }
+                });
+                waitFor(latch);
+            }
+        }
+
+        /**
+         * Close the writer on the worker thread and give the thread back to the executor.
+         */
+        void close() {
+            if (running) {
+                final CountDownLatch latch = new CountDownLatch(1);
+                final RuntimeException[] closeError = new RuntimeException[1];
+                put(new Stop() {
+                    public void run() {
+                        try {
+                            writer.close();
+                        } catch (RuntimeException ex) {
+                            closeError[0] = ex;
+                        } finally {
+                            latch.countDown();
+                        }
+                    }
+                });
+                waitFor(latch);
+                running = false;
+                if (closeError[0] != null) {
+                    throw closeError[0];
+                }
+            } else {
+                writer.close();
+            }
+        }
+
+        void waitFor(CountDownLatch latch) {
+            try {
+                latch.await();
+            } catch (java.lang.InterruptedException ex) {
+                throw new InterruptedException(ex);
+            }
+        }
+
+        void put(Runnable runnable) {
+            try {
+                queue.put(runnable);
+            } catch (java.lang.InterruptedException ex) {
+                throw new InterruptedException(ex);
+            }
+        }
+
+        public void run() {
+            try {
+                while (true) {
+                    Runnable runnable = queue.take();
+                    if (error == null || runnable instanceof Barrier || runnable instanceof Stop) {
+                        try {
+                            runnable.run();
+                        } catch (Throwable ex) {
+                            log.debug("Parallel load failed for batch {}", batch.getNodeBatchId(), ex);
+                            error = ex;
+                        }
+                    }
+                    if (runnable instanceof Stop) {
+                        break;
+                    }
+                }
+            } catch (java.lang.InterruptedException ex) {
+                // the executor was shut down
+            }
+        }
+    }
+
+    abstract class Barrier implements Runnable {
+    }
+
+    abstract class Stop implements Runnable {
+    }
+}
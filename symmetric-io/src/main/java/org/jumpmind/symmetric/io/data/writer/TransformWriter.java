@@ -35,8 +35,10 @@ import org.jumpmind.symmetric.io.data.CsvData;
 import org.jumpmind.symmetric.io.data.DataContext;
 import org.jumpmind.symmetric.io.data.DataEventType;
 import org.jumpmind.symmetric.io.data.IDataWriter;
+import org.jumpmind.symmetric.io.data.reader.ExtractDataReader;
 import org.jumpmind.symmetric.io.data.transform.IColumnTransform;
 import org.jumpmind.symmetric.io.data.transform.IgnoreColumnException;
+import org.jumpmind.symmetric.io.data.transform.IPrefetchColumnTransform;
 import org.jumpmind.symmetric.io.data.transform.IgnoreRowException;
 import org.jumpmind.symmetric.io.data.transform.NewAndOldValue;
 import org.jumpmind.symmetric.io.data.transform.TargetDmlAction;
@@ -61,6 +63,10 @@ public class TransformWriter extends NestedDataWriter {
     protected Batch batch;
     protected Map<String, IColumnTransform<?>> columnTransforms;
     protected Table lastTransformedTable;
+    protected int prefetchSize;
+    protected boolean prefetchActive;
+    protected List<CsvData> prefetchData = new ArrayList<CsvData>();
+    protected List<Object> prefetchCurrentData = new ArrayList<Object>();
 
     public TransformWriter(IDatabasePlatform platform, TransformPoint transformPoint,
             IDataWriter targetWriter, Map<String, IColumnTransform<?>> columnTransforms,
@@ -90,6 +96,14 @@ public class TransformWriter extends NestedDataWriter {
         return transformsByTable;
     }
 
+    public void setPrefetchSize(int prefetchSize) {
+        this.prefetchSize = prefetchSize;
+    }
+
+    public int getPrefetchSize() {
+        return prefetchSize;
+    }
+
     @Override
     public void start(Batch batch) {
         this.batch = batch;
@@ -98,6 +112,7 @@ public class TransformWriter extends NestedDataWriter {
 
     @Override
     public boolean start(Table table) {
+        flushPrefetch();
         List<TransformTable> activeTransformsTemp = transformsBySourceTable.get(table.getFullyQualifiedTableNameLowerCase());
         if (activeTransformsTemp != null && activeTransformsTemp.size() > 0) {
             this.sourceTable = table;
@@ -107,9 +122,11 @@ public class TransformWriter extends NestedDataWriter {
                         this.sourceTable.getPrimaryKeyColumnNames(),
                         this.sourceTable.getColumnNames()));
             }
+            prefetchActive = prefetchSize > 1 && hasPrefetchColumnTransform();
             return true;
         } else {
             this.sourceTable = null;
+            prefetchActive = false;
             return super.start(table);
         }
     }
@@ -120,7 +137,101 @@ public class TransformWriter extends NestedDataWriter {
                         || eventType == DataEventType.SQL);
     }
 
+    protected boolean hasPrefetchColumnTransform() {
+        if (columnTransforms != null) {
+            for (TransformTable transformation : activeTransforms) {
+                for (TransformColumn transformColumn : transformation.getTransformColumns()) {
+                    if (columnTransforms.get(transformColumn.getTransformType()) instanceof IPrefetchColumnTransform) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
     public void write(CsvData data) {
+        DataEventType eventType = data.getDataEventType();
+        if (prefetchActive && sourceTable != null && activeTransforms != null && isTransformable(eventType)
+                && eventType != DataEventType.SQL) {
+            prefetchData.add(data);
+            prefetchCurrentData.add(context.get(ExtractDataReader.DATA_CONTEXT_CURRENT_CSV_DATA));
+            if (prefetchData.size() >= prefetchSize) {
+                flushPrefetch();
+            }
+        } else {
+            flushPrefetch();
+            transformAndWrite(data);
+        }
+    }
+
+    /**
+     * Transform and write the buffered rows, after giving the prefetch capable column transforms a chance to resolve their values for all of
+     * the rows at once. The current data in the context is restored for each row so that transforms see the row they are working on.
+     */
+    protected void flushPrefetch() {
+        if (prefetchData.size() > 0) {
+            List<CsvData> datas = prefetchData;
+            List<Object> currentDatas = prefetchCurrentData;
+            prefetchData = new ArrayList<CsvData>(datas.size());
+            prefetchCurrentData = new ArrayList<Object>(datas.size());
+            Object currentData = context.get(ExtractDataReader.DATA_CONTEXT_CURRENT_CSV_DATA);
+            List<TransformColumn> prefetchColumns = new ArrayList<TransformColumn>();
+            try {
+                prefetch(datas, prefetchColumns);
+                for (int i = 0; i < datas.size(); i++) {
+                    if (currentDatas.get(i) != null) {
+                        context.put(ExtractDataReader.DATA_CONTEXT_CURRENT_CSV_DATA, currentDatas.get(i));
+                    }
+                    transformAndWrite(datas.get(i));
+                }
+            } finally {
+                for (TransformColumn transformColumn : prefetchColumns) {
+                    ((IPrefetchColumnTransform) columnTransforms.get(transformColumn.getTransformType())).clearPrefetch(context, transformColumn);
+                }
+                if (currentData != null) {
+                    context.put(ExtractDataReader.DATA_CONTEXT_CURRENT_CSV_DATA, currentData);
+                }
+            }
+        }
+    }
+
+    protected void prefetch(List<CsvData> datas, List<TransformColumn> prefetchColumns) {
+        List<Map<String, String>> sourceValuesList = new ArrayList<Map<String, String>>(datas.size());
+        List<Map<String, String>> oldSourceValuesList = new ArrayList<Map<String, String>>(datas.size());
+        for (CsvData data : datas) {
+            Map<String, String> sourceValues = data.toColumnNameValuePairs(this.sourceTable.getColumnNames(), CsvData.ROW_DATA);
+            Map<String, String> oldSourceValues = null;
+            if (data.contains(CsvData.OLD_DATA)) {
+                oldSourceValues = data.toColumnNameValuePairs(this.sourceTable.getColumnNames(), CsvData.OLD_DATA);
+            }
+            if (data.getDataEventType() == DataEventType.DELETE) {
+                sourceValues = oldSourceValues;
+                if ((sourceValues == null || sourceValues.size() == 0) && data.contains(CsvData.PK_DATA)) {
+                    sourceValues = data.toKeyColumnValuePairs(this.sourceTable);
+                }
+            }
+            sourceValuesList.add(sourceValues);
+            oldSourceValuesList.add(oldSourceValues);
+        }
+        for (TransformTable transformation : activeTransforms) {
+            for (TransformColumn transformColumn : transformation.getTransformColumns()) {
+                IColumnTransform<?> transform = columnTransforms.get(transformColumn.getTransformType());
+                if (transform instanceof IPrefetchColumnTransform) {
+                    prefetchColumns.add(transformColumn);
+                    try {
+                        ((IPrefetchColumnTransform) transform).prefetch(platform, context, transformColumn, sourceValuesList,
+                                oldSourceValuesList);
+                    } catch (RuntimeException ex) {
+                        log.warn("Column transform prefetch failed {}.{}.  Values will be transformed one row at a time. {}",
+                                transformColumn.getTransformId(), transformColumn.getTargetColumnName(), ex.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    protected void transformAndWrite(CsvData data) {
         DataEventType eventType = data.getDataEventType();
         if (activeTransforms != null && activeTransforms.size() > 0 && isTransformable(eventType)) {
             if (data.requiresTable() && sourceTable == null &&
@@ -469,6 +580,7 @@ public class TransformWriter extends NestedDataWriter {
     }
 
     public void end(Table table) {
+        flushPrefetch();
         if (this.lastTransformedTable != null) {
             this.nestedWriter.end(lastTransformedTable);
             this.lastTransformedTable = null;
@@ -479,4 +591,15 @@ public class TransformWriter extends NestedDataWriter {
             super.end(table);
         }
     }
+
+    @Override
+    public void end(Batch batch, boolean inError) {
+        if (inError) {
+            prefetchData.clear();
+            prefetchCurrentData.clear();
+        } else {
+            flushPrefetch();
+        }
+        super.end(batch, inError);
+    }
 }
@@ -53,6 +53,11 @@ public interface IStagedResource {
 
     public long getSize();
 
+    /**
+     * The size the resource takes in staging, which is less than {@link #getSize()} when the file is compressed.
+     */
+    public long getFileSize();
+
     public State getState();
 
     public String getPath();
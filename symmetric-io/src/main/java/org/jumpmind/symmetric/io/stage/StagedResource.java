@@ -231,7 +231,8 @@ public class StagedResource implements IStagedResource {
     }
 
     protected BufferedReader createReader() throws IOException {
-        return new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8.name()));
+        InputStream is = StagingCodecs.decompress(new BufferedInputStream(new FileInputStream(file)));
+        return new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8.name()));
     }
 
     private synchronized final void createReadersMap() {
@@ -383,10 +384,21 @@ public class StagedResource implements IStagedResource {
     }
 
     protected BufferedWriter createWriter(long threshold) {
-        return new BufferedWriter(new ThresholdFileWriter(threshold, this.memoryBuffer, file));
+        return new BufferedWriter(new ThresholdFileWriter(threshold, this.memoryBuffer, file, stagingManager.getCodec()));
     }
 
     public long getSize() {
+        if (file != null && file.exists()) {
+            long size = StagingCodecs.getUncompressedSize(file);
+            return size >= 0 ? size : file.length();
+        } else if (memoryBuffer != null) {
+            return memoryBuffer.length();
+        } else {
+            return 0;
+        }
+    }
+
+    public long getFileSize() {
         if (file != null && file.exists()) {
             return file.length();
         } else if (memoryBuffer != null) {
@@ -0,0 +1,184 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.io.stage;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jumpmind.exception.IoException;
+
+/**
+ * Reads and writes the header that marks a staged file as compressed. The header is a magic number that can't start a protocol file, followed by the
+ * length and name of the codec and the uncompressed size of the content. The size is -1 until the file has been completely written.
+ */
+final public class StagingCodecs {
+    protected static final byte[] MAGIC = { 0, 'S', 'Y', 'M' };
+    private static final Map<String, IStagingCodec> codecs = new ConcurrentHashMap<String, IStagingCodec>();
+    static {
+        register(new DeflateStagingCodec());
+    }
+
+    private StagingCodecs() {
+    }
+
+    public static void register(IStagingCodec codec) {
+        codecs.put(codec.getName(), codec);
+        codecs.put(codec.getClass().getName(), codec);
+    }
+
+    /**
+     * Look up a codec by its name or by the name of a class that implements {@link IStagingCodec}. Returns null when the name is blank.
+     */
+    public static IStagingCodec getCodec(String name) {
+        if (StringUtils.isBlank(name)) {
+            return null;
+        }
+        name = name.trim();
+        IStagingCodec codec = codecs.get(name);
+        if (codec == null) {
+            try {
+                codec = (IStagingCodec) Class.forName(name).getDeclaredConstructor().newInstance();
+                register(codec);
+            } catch (Exception ex) {
+                throw new IllegalStateException("Could not find the staging codec named " + name, ex);
+            }
+        }
+        return codec;
+    }
+
+    public static OutputStream compress(OutputStream out, IStagingCodec codec) throws IOException {
+        byte[] name = codec.getName().getBytes(StandardCharsets.UTF_8);
+        if (name.length == 0 || name.length > 255) {
+            throw new IllegalStateException("The staging codec name must be between 1 and 255 bytes: " + codec.getName());
+        }
+        out.write(MAGIC);
+        out.write(name.length);
+        out.write(name);
+        out.write(toBytes(-1));
+        return codec.compress(out);
+    }
+
+    /**
+     * Record the uncompressed size of the content in the header of a compressed file after it has been written and closed.
+     */
+    public static void writeUncompressedSize(File file, long size) {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            byte[] magic = new byte[MAGIC.length];
+            raf.readFully(magic);
+            if (Arrays.equals(MAGIC, magic)) {
+                raf.seek(MAGIC.length + 1 + raf.read());
+                raf.writeLong(size);
+            }
+        } catch (IOException ex) {
+            throw new IoException(ex);
+        }
+    }
+
+    /**
+     * Return the uncompressed size of the content of a compressed file, or -1 if the file isn't compressed or is still being written.
+     */
+    public static long getUncompressedSize(File file) {
+        if (file != null && file.exists()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 512))) {
+                if (Arrays.equals(MAGIC, in.readNBytes(MAGIC.length))) {
+                    int length = in.read();
+                    if (length > 0 && in.readNBytes(length).length == length) {
+                        return in.readLong();
+                    }
+                }
+            } catch (EOFException ex) {
+                return -1;
+            } catch (IOException ex) {
+                throw new IoException(ex);
+            }
+        }
+        return -1;
+    }
+
+    protected static byte[] toBytes(long value) {
+        byte[] bytes = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+        return bytes;
+    }
+
+    /**
+     * Decompress the stream if it starts with a codec header, otherwise return it positioned at the start of the content.
+     */
+    public static InputStream decompress(InputStream in) throws IOException {
+        if (!in.markSupported()) {
+            in = new BufferedInputStream(in);
+        }
+        String name = readCodecName(in);
+        if (name != null) {
+            return getCodec(name).decompress(in);
+        }
+        return in;
+    }
+
+    /**
+     * Return the name of the codec that compressed the file, or null if the file isn't compressed.
+     */
+    public static String getCodecName(File file) {
+        if (file != null && file.exists()) {
+            try (InputStream in = new BufferedInputStream(new FileInputStream(file), 256)) {
+                return readCodecName(in);
+            } catch (IOException ex) {
+                throw new IoException(ex);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read the codec name from the header and leave the stream positioned at the compressed content, or return null and leave the stream
+     * positioned at the start when there is no header. The stream stays marked at the start of the header.
+     */
+    protected static String readCodecName(InputStream in) throws IOException {
+        in.mark(MAGIC.length + 1 + 255 + 8);
+        byte[] magic = in.readNBytes(MAGIC.length);
+        if (Arrays.equals(MAGIC, magic)) {
+            int length = in.read();
+            if (length > 0) {
+                byte[] name = in.readNBytes(length);
+                if (name.length == length && in.readNBytes(8).length == 8) {
+                    return new String(name, StandardCharsets.UTF_8);
+                }
+            }
+        }
+        in.reset();
+        return null;
+    }
+}
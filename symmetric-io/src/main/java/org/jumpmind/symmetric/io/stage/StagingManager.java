@@ -48,6 +48,7 @@ public class StagingManager implements IStagingManager {
     protected Map<String, IStagedResource> inUse = new ConcurrentHashMap<String, IStagedResource>();
     protected boolean clusterEnabled;
     protected long lowFreeSpaceThresholdMegabytes;
+    protected IStagingCodec codec;
 
     public StagingManager(String directory, boolean clusterEnabled, long lowFreeSpaceThresholdMegabytes) {
         log.info("The staging directory was initialized at the following location: " + directory);
@@ -134,7 +135,7 @@ public class StagingManager implements IStagingManager {
                                     context.addPurgedMemoryBytes(resource.getSize());
                                 } else {
                                     context.incrementPurgedFileCount();
-                                    context.addPurgedFileBytes(resource.getSize());
+                                    context.addPurgedFileBytes(resource.getFileSize());
                                 }
                                 cleanPath(resource, ttlInMs, context);
                             } else {
@@ -303,6 +304,18 @@ public class StagingManager implements IStagingManager {
         return directory;
     }
 
+    /**
+     * Set the codec used to compress files written by resources from this manager, or null to write them uncompressed. Files are read using the
+     * codec named in their header, so changing the codec does not affect files already staged.
+     */
+    public void setCodec(IStagingCodec codec) {
+        this.codec = codec;
+    }
+
+    public IStagingCodec getCodec() {
+        return codec;
+    }
+
     protected static final DirectoryStream.Filter<Path> STAGING_FILE_FILTER = new DirectoryStream.Filter<Path>() {
         @Override
         public boolean accept(Path entry) {
@@ -20,18 +20,24 @@
  */
 package org.jumpmind.symmetric.io.stage;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.StringReader;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 
+import org.apache.commons.io.output.CountingOutputStream;
+
 /**
  * Write to an internal buffer up until the threshold. When the threshold is reached, flush the buffer to the file and write to the file from that point
  * forward.
@@ -41,6 +47,8 @@ public class ThresholdFileWriter extends Writer {
     protected BufferedWriter fileWriter;
     protected StringBuilder buffer;
     protected long threshhold;
+    protected IStagingCodec codec;
+    protected CountingOutputStream uncompressedCounter;
 
     /**
      * @param threshold
@@ -54,6 +62,15 @@ public class ThresholdFileWriter extends Writer {
         this.threshhold = threshold;
     }
 
+    /**
+     * @param codec
+     *            The codec used to compress the file, or null to write it uncompressed
+     */
+    public ThresholdFileWriter(long threshold, StringBuilder buffer, File file, IStagingCodec codec) {
+        this(threshold, buffer, file);
+        this.codec = codec;
+    }
+
     public File getFile() {
         return file;
     }
@@ -67,6 +84,10 @@ public class ThresholdFileWriter extends Writer {
         if (fileWriter != null) {
             fileWriter.close();
             fileWriter = null;
+            if (uncompressedCounter != null) {
+                StagingCodecs.writeUncompressedSize(file, uncompressedCounter.getByteCount());
+                uncompressedCounter = null;
+            }
         }
     }
 
@@ -97,12 +118,18 @@ public class ThresholdFileWriter extends Writer {
     }
 
     protected BufferedWriter getWriter() throws IOException {
+        if (codec != null) {
+            OutputStream os = StagingCodecs.compress(new BufferedOutputStream(new FileOutputStream(file)), codec);
+            uncompressedCounter = new CountingOutputStream(os);
+            return new BufferedWriter(new OutputStreamWriter(uncompressedCounter, StandardCharsets.UTF_8.name()));
+        }
         return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8.name()));
     }
 
     public BufferedReader getReader() throws IOException {
         if (file != null && file.exists()) {
-            return new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8.name()));
+            InputStream is = StagingCodecs.decompress(new BufferedInputStream(new FileInputStream(file)));
+            return new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8.name()));
         } else {
             return new BufferedReader(new StringReader(buffer.toString()));
         }
@@ -0,0 +1,69 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.io.data;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+
+import org.jumpmind.db.model.Table;
+import org.junit.jupiter.api.Test;
+
+public class CsvDataTest {
+    @Test
+    public void testParsedValueFromCsv() {
+        CsvData data = new CsvData(DataEventType.INSERT);
+        data.putCsvData(CsvData.ROW_DATA, "\"1\",,\"\",\"line\nfeed\",\"a,b\"");
+        assertEquals("1", data.getParsedValue(CsvData.ROW_DATA, 0));
+        assertNull(data.getParsedValue(CsvData.ROW_DATA, 1));
+        assertEquals("", data.getParsedValue(CsvData.ROW_DATA, 2));
+        assertEquals("line\nfeed", data.getParsedValue(CsvData.ROW_DATA, 3));
+        assertEquals("a,b", data.getParsedValue(CsvData.ROW_DATA, 4));
+        assertNull(data.getParsedValue(CsvData.ROW_DATA, 5));
+        assertEquals("\"1\",,\"\",\"line\nfeed\",\"a,b\"", data.getCsvData(CsvData.ROW_DATA));
+        assertArrayEquals(new String[] { "1", null, "", "line\nfeed", "a,b" }, data.getParsedData(CsvData.ROW_DATA));
+    }
+
+    @Test
+    public void testParsedValueWithEscapes() {
+        CsvData data = new CsvData(DataEventType.INSERT);
+        String[] values = new String[] { "quote\"d", "back\\slash", null };
+        data.putCsvData(CsvData.ROW_DATA, CsvUtils.escapeCsvData(values));
+        assertEquals("quote\"d", data.getParsedValue(CsvData.ROW_DATA, 0));
+        assertEquals("back\\slash", data.getParsedValue(CsvData.ROW_DATA, 1));
+        assertNull(data.getParsedValue(CsvData.ROW_DATA, 2));
+        assertArrayEquals(values, data.getParsedData(CsvData.ROW_DATA));
+    }
+
+    @Test
+    public void testKeyColumnValuePairsFromRowData() {
+        Table table = Table.buildTable("test", new String[] { "id" }, new String[] { "name", "id", "text" });
+        CsvData data = new CsvData(DataEventType.UPDATE);
+        data.putCsvData(CsvData.ROW_DATA, "\"n\",\"5\",\"t\"");
+        Map<String, String> pairs = data.toKeyColumnValuePairs(table);
+        assertEquals(1, pairs.size());
+        assertEquals("5", pairs.get("ID"));
+        data.putCsvData(CsvData.OLD_DATA, "\"n\",\"4\",\"t\"");
+        assertEquals("4", data.toKeyColumnValuePairs(table).get("id"));
+        data.putCsvData(CsvData.PK_DATA, "\"3\"");
+        assertEquals("3", data.toKeyColumnValuePairs(table).get("id"));
+    }
+}
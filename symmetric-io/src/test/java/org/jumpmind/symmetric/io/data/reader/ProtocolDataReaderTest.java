@@ -27,6 +27,7 @@ import org.jumpmind.db.util.BinaryEncoding;
 import org.jumpmind.symmetric.io.data.Batch;
 import org.jumpmind.symmetric.io.data.CsvConstants;
 import org.jumpmind.symmetric.io.data.CsvData;
+import org.jumpmind.symmetric.io.data.CsvUtils;
 import org.jumpmind.symmetric.io.data.DataContext;
 import org.jumpmind.symmetric.io.data.DataEventType;
 import org.jumpmind.symmetric.io.data.Batch.BatchType;
@@ -148,6 +149,41 @@ public class ProtocolDataReaderTest {
         assertEquals(2, dataCount);
     }
 
+    @Test
+    public void testReadRowsWithoutSplitting() {
+        StringBuilder builder = beginCsv("1");
+        beginBatch(builder, 1, "test");
+        putTableN(builder, 1, true);
+        builder.append(String.format("%s,%s,%s\n", CsvConstants.OLD, "\"5\"", "\"old \\\"text\\\"\""));
+        builder.append(String.format("%s,%s,%s,%s\n", CsvConstants.UPDATE, "\"5\"", "\"\"", "\"5\""));
+        builder.append(String.format("%s,%s\n", CsvConstants.DELETE, "\"6\""));
+        builder.append(String.format("%s,%s,\n", CsvConstants.INSERT, "\"7\""));
+        endCsv(builder);
+        ProtocolDataReader reader = new ProtocolDataReader(BatchType.LOAD, "test", builder);
+        DataContext ctx = new DataContext(reader);
+        reader.open(ctx);
+        assertNotNull(reader.nextBatch());
+        assertNotNull(reader.nextTable());
+        CsvData data = reader.nextData();
+        assertEquals(DataEventType.UPDATE, data.getDataEventType());
+        assertEquals("5", data.getParsedValue(CsvData.PK_DATA, 0));
+        assertEquals("\"5\",\"\"", data.getCsvData(CsvData.ROW_DATA));
+        assertArrayEquals(new String[] { "5", "" }, data.getParsedData(CsvData.ROW_DATA));
+        assertArrayEquals(new String[] { "5", "old \"text\"" }, data.getParsedData(CsvData.OLD_DATA));
+        assertArrayEquals(new String[] { "5", "old \"text\"" }, CsvUtils.tokenizeCsvData(data.getCsvData(CsvData.OLD_DATA)));
+        data = reader.nextData();
+        assertEquals(DataEventType.DELETE, data.getDataEventType());
+        assertArrayEquals(new String[] { "6" }, data.getParsedData(CsvData.PK_DATA));
+        assertFalse(data.contains(CsvData.OLD_DATA));
+        assertNull(data.getParsedData(CsvData.OLD_DATA));
+        data = reader.nextData();
+        assertEquals(DataEventType.INSERT, data.getDataEventType());
+        assertTrue(data.contains(CsvData.ROW_DATA));
+        assertArrayEquals(new String[] { "7", null }, data.getParsedData(CsvData.ROW_DATA));
+        assertNull(reader.nextData());
+        reader.close();
+    }
+
     protected StringBuilder beginCsv(String nodeId) {
         StringBuilder builder = new StringBuilder();
         builder.append(String.format("%s,%s\n", CsvConstants.NODEID, nodeId));
@@ -0,0 +1,319 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.io.data.writer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jumpmind.db.model.Column;
+import org.jumpmind.db.model.ForeignKey;
+import org.jumpmind.db.model.Table;
+import org.jumpmind.symmetric.io.data.Batch;
+import org.jumpmind.symmetric.io.data.Batch.BatchType;
+import org.jumpmind.symmetric.io.data.CsvData;
+import org.jumpmind.symmetric.io.data.DataContext;
+import org.jumpmind.symmetric.io.data.DataEventType;
+import org.jumpmind.symmetric.io.data.IDataWriter;
+import org.jumpmind.util.CustomizableThreadFactory;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+public class ParallelDataWriterTest {
+    protected ExecutorService executor = Executors.newCachedThreadPool(new CustomizableThreadFactory("test-parallel"));
+    protected MockDataWriter primaryWriter = new MockDataWriter();
+    protected List<CountingDataWriter> workerWriters = new ArrayList<CountingDataWriter>();
+
+    @Test
+    public void testRowsOfATableAreLoadedInOrderByOneWorker() {
+        ParallelDataWriter writer = buildWriter(3, false);
+        Batch batch = startBatch(writer);
+        for (int t = 1; t <= 4; t++) {
+            writeInserts(writer, new Table("t" + t, new Column("id", true)), 1, 50);
+        }
+        writer.end(batch, false);
+        writer.close();
+        Assert.assertEquals(0, primaryWriter.writtenDatas.size());
+        for (int t = 1; t <= 4; t++) {
+            int workersWithTable = 0;
+            for (CountingDataWriter workerWriter : workerWriters) {
+                List<CsvData> datas = workerWriter.writtenDatas.get("t" + t);
+                if (datas != null) {
+                    workersWithTable++;
+                    Assert.assertEquals(50, datas.size());
+                    for (int i = 0; i < datas.size(); i++) {
+                        Assert.assertEquals(Integer.toString(i + 1), datas.get(i).getParsedData(CsvData.ROW_DATA)[0]);
+                    }
+                }
+            }
+            Assert.assertEquals(1, workersWithTable);
+        }
+        Assert.assertEquals(200, primaryWriter.getStatistics().get(batch).get(DataWriterStatisticConstants.ROWCOUNT));
+        for (CountingDataWriter workerWriter : workerWriters) {
+            Assert.assertTrue(workerWriter.closeCalled);
+            Assert.assertEquals(workerWriter.writtenDatas.size() > 0 ? Boolean.FALSE : null, workerWriter.endInError);
+        }
+    }
+
+    @Test
+    public void testRowsArePartitionedByKey() {
+        ParallelDataWriter writer = buildWriter(2, true);
+        Batch batch = startBatch(writer);
+        Table table = new Table("t1", new Column("id", true));
+        writeInserts(writer, table, 1, 100);
+        writer.end(batch, false);
+        writer.close();
+        int rowCount = 0;
+        for (CountingDataWriter workerWriter : workerWriters) {
+            List<CsvData> datas = workerWriter.writtenDatas.get("t1");
+            Assert.assertNotNull(datas);
+            rowCount += datas.size();
+        }
+        Assert.assertEquals(100, rowCount);
+    }
+
+    @Test
+    public void testSqlEventLoadsRestOfBatchOnPrimary() {
+        ParallelDataWriter writer = buildWriter(2, false);
+        Batch batch = startBatch(writer);
+        Table table = new Table("t1", new Column("id", true));
+        writer.start(table);
+        writer.write(new CsvData(DataEventType.SQL, new String[] { "delete from t1" }));
+        writer.write(new CsvData(DataEventType.INSERT, new String[] { "1" }));
+        writer.end(table);
+        writer.end(batch, false);
+        writer.close();
+        List<CsvData> datas = primaryWriter.writtenDatas.get("t1");
+        Assert.assertEquals(2, datas.size());
+        Assert.assertEquals(DataEventType.SQL, datas.get(0).getDataEventType());
+        Assert.assertEquals("1", datas.get(1).getParsedData(CsvData.ROW_DATA)[0]);
+        for (CountingDataWriter workerWriter : workerWriters) {
+            Assert.assertEquals(0, workerWriter.writtenDatas.size());
+        }
+    }
+
+    @Test
+    public void testSqlEventAfterParallelRowsFailsBatch() {
+        ParallelDataWriter writer = buildWriter(2, false);
+        Batch batch = startBatch(writer);
+        Table table = new Table("t1", new Column("id", true));
+        writer.start(table);
+        writer.write(new CsvData(DataEventType.INSERT, new String[] { "1" }));
+        try {
+            writer.write(new CsvData(DataEventType.SQL, new String[] { "delete from t1 where id=1" }));
+            Assert.fail("Expected the batch to be retried on one connection");
+        } catch (ParallelLoadException ex) {
+            writer.end(batch, true);
+        }
+        writer.close();
+        Assert.assertEquals(0, primaryWriter.writtenDatas.size());
+        assertWorkersRolledBack();
+    }
+
+    @Test
+    public void testForeignKeyRelatedTableFailsBatch() {
+        ParallelDataWriter writer = buildWriter(2, true);
+        Batch batch = startBatch(writer);
+        writeInserts(writer, new Table("parent", new Column("id", true)), 1, 10);
+        writeInserts(writer, new Table("other", new Column("id", true)), 1, 10);
+        Table child = new Table("child", new Column("id", true));
+        child.addForeignKey(new ForeignKey("fk_child_parent", "parent"));
+        try {
+            writer.start(child);
+            Assert.fail("Expected the batch to be retried on one connection");
+        } catch (ParallelLoadException ex) {
+            writer.end(batch, true);
+        }
+        writer.close();
+        assertWorkersRolledBack();
+    }
+
+    @Test
+    public void testSelfReferencingTableLoadsOnPrimary() {
+        ParallelDataWriter writer = buildWriter(2, true);
+        Batch batch = startBatch(writer);
+        Table table = new Table("t1", new Column("id", true));
+        table.addForeignKey(new ForeignKey("fk_t1_t1", "t1"));
+        writeInserts(writer, table, 1, 10);
+        writer.end(batch, false);
+        writer.close();
+        Assert.assertEquals(10, primaryWriter.writtenDatas.get("t1").size());
+        for (CountingDataWriter workerWriter : workerWriters) {
+            Assert.assertEquals(0, workerWriter.writtenDatas.size());
+        }
+    }
+
+    @Test
+    public void testPrimaryErrorRollsBackWorkers() {
+        primaryWriter = new MockDataWriter() {
+            @Override
+            public void end(Batch batch, boolean inError) {
+                if (!inError) {
+                    throw new IllegalStateException("Failed to commit");
+                }
+            }
+        };
+        ParallelDataWriter writer = buildWriter(2, true);
+        Batch batch = startBatch(writer);
+        writeInserts(writer, new Table("t1", new Column("id", true)), 1, 20);
+        try {
+            writer.end(batch, false);
+            Assert.fail("Expected the primary error to be raised");
+        } catch (IllegalStateException ex) {
+            writer.end(batch, true);
+        }
+        writer.close();
+        assertWorkersRolledBack();
+    }
+
+    @Test
+    public void testWorkerErrorEndingTableRollsBackPrimary() {
+        final List<Boolean> primaryEnds = new ArrayList<Boolean>();
+        primaryWriter = new MockDataWriter() {
+            @Override
+            public void end(Batch batch, boolean inError) {
+                primaryEnds.add(inError);
+            }
+        };
+        ParallelDataWriter writer = buildWriter(2, false);
+        Batch batch = startBatch(writer);
+        for (CountingDataWriter workerWriter : workerWriters) {
+            workerWriter.failOnEndTable = true;
+        }
+        writer.start(new Table("t1", new Column("id", true)));
+        writer.write(new CsvData(DataEventType.INSERT, new String[] { "1" }));
+        try {
+            writer.end(batch, false);
+            Assert.fail("Expected the worker error to be raised");
+        } catch (IllegalStateException ex) {
+            writer.end(batch, true);
+        }
+        writer.close();
+        Assert.assertEquals(1, primaryEnds.size());
+        Assert.assertEquals(Boolean.TRUE, primaryEnds.get(0));
+        assertWorkersRolledBack();
+    }
+
+    @Test
+    public void testCloseShutsDownExecutor() {
+        ParallelDataWriter writer = buildWriter(2, false);
+        Batch batch = startBatch(writer);
+        writeInserts(writer, new Table("t1", new Column("id", true)), 1, 10);
+        writer.end(batch, false);
+        writer.close();
+        Assert.assertTrue(executor.isShutdown());
+    }
+
+    @Test
+    public void testWorkerErrorRollsBackWorkers() {
+        ParallelDataWriter writer = buildWriter(2, false);
+        Batch batch = startBatch(writer);
+        for (CountingDataWriter workerWriter : workerWriters) {
+            workerWriter.failOnId = "3";
+        }
+        Table table = new Table("t1", new Column("id", true));
+        writeInserts(writer, table, 1, 5);
+        try {
+            writer.end(batch, false);
+            Assert.fail("Expected the worker error to be raised");
+        } catch (IllegalStateException ex) {
+            writer.end(batch, true);
+        }
+        writer.close();
+        for (CountingDataWriter workerWriter : workerWriters) {
+            if (workerWriter.writtenDatas.size() > 0) {
+                Assert.assertEquals(Boolean.TRUE, workerWriter.endInError);
+            }
+        }
+    }
+
+    protected ParallelDataWriter buildWriter(int threads, boolean partitionByKey) {
+        List<IDataWriter> writers = new ArrayList<IDataWriter>(threads);
+        for (int i = 0; i < threads; i++) {
+            CountingDataWriter workerWriter = new CountingDataWriter();
+            workerWriters.add(workerWriter);
+            writers.add(workerWriter);
+        }
+        return new ParallelDataWriter(null, primaryWriter, writers, partitionByKey, executor);
+    }
+
+    protected void assertWorkersRolledBack() {
+        int workersUsed = 0;
+        for (CountingDataWriter workerWriter : workerWriters) {
+            if (workerWriter.writtenDatas.size() > 0) {
+                workersUsed++;
+                Assert.assertEquals(Boolean.TRUE, workerWriter.endInError);
+            }
+            Assert.assertTrue(workerWriter.closeCalled);
+        }
+        Assert.assertTrue(workersUsed > 0);
+    }
+
+    protected Batch startBatch(ParallelDataWriter writer) {
+        Batch batch = new Batch(BatchType.LOAD, 1, "reload", null, "00000", "00001", false);
+        writer.open(new DataContext(batch));
+        writer.start(batch);
+        return batch;
+    }
+
+    protected void writeInserts(ParallelDataWriter writer, Table table, int fromId, int toId) {
+        writer.start(table);
+        for (int id = fromId; id <= toId; id++) {
+            writer.write(new CsvData(DataEventType.INSERT, new String[] { Integer.toString(id) }));
+        }
+        writer.end(table);
+    }
+
+    static class CountingDataWriter extends MockDataWriter {
+        Batch batch;
+        Boolean endInError;
+        String failOnId;
+        boolean failOnEndTable;
+
+        @Override
+        public void start(Batch batch) {
+            super.start(batch);
+            this.batch = batch;
+        }
+
+        @Override
+        public void write(CsvData data) {
+            if (failOnId != null && failOnId.equals(data.getParsedData(CsvData.ROW_DATA)[0])) {
+                throw new IllegalStateException("Failed to load " + failOnId);
+            }
+            super.write(data);
+            statistics.get(batch).increment(DataWriterStatisticConstants.ROWCOUNT);
+        }
+
+        @Override
+        public void end(Table table) {
+            if (failOnEndTable) {
+                throw new IllegalStateException("Failed to end " + table.getName());
+            }
+        }
+
+        @Override
+        public void end(Batch batch, boolean inError) {
+            endInError = inError;
+        }
+    }
+}
@@ -29,6 +29,7 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -40,7 +41,10 @@ import org.jumpmind.symmetric.io.data.Batch.BatchType;
 import org.jumpmind.symmetric.io.data.DataContext;
 import org.jumpmind.symmetric.io.data.DataProcessor;
 import org.jumpmind.symmetric.io.data.reader.ProtocolDataReader;
+import org.jumpmind.symmetric.io.stage.DeflateStagingCodec;
 import org.jumpmind.symmetric.io.stage.IStagedResource;
+import org.jumpmind.symmetric.io.stage.IStagingCodec;
+import org.jumpmind.symmetric.io.stage.StagingCodecs;
 import org.jumpmind.symmetric.io.stage.StagingManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -70,11 +74,21 @@ public class StagingDataWriterTest {
         readThenWrite(10000000);
     }
 
+    @Test
+    public void testReadThenWriteToCompressedFile() throws Exception {
+        readThenWrite(0, new DeflateStagingCodec());
+    }
+
     public void readThenWrite(long threshold) throws Exception {
+        readThenWrite(threshold, null);
+    }
+
+    public void readThenWrite(long threshold, IStagingCodec codec) throws Exception {
         InputStreamReader is = new InputStreamReader(getClass().getResourceAsStream("FileCsvDataWriterTest.1.csv"));
         String origCsv = IOUtils.toString(is);
         is.close();
         StagingManager stagingManager = new StagingManager(DIR.getAbsolutePath(), false);
+        stagingManager.setCodec(codec);
         ProtocolDataReader reader = new ProtocolDataReader(BatchType.LOAD, "test", origCsv);
         StagingDataWriter writer = new StagingDataWriter(threshold, false, "aaa", "test", stagingManager, false, false, new BatchListener());
         DataProcessor processor = new DataProcessor(reader, writer, "test");
@@ -87,6 +101,15 @@ public class StagingDataWriterTest {
             assertFalse(resource.getFile().exists());
         } else {
             assertTrue(resource.getFile().exists());
+            assertEquals(codec == null ? null : codec.getName(), StagingCodecs.getCodecName(resource.getFile()));
+            String stagedCsv = IOUtils.toString(resource.getReader());
+            assertEquals(convertEol(origCsv), convertEol(stagedCsv));
+            assertEquals(stagedCsv.getBytes(StandardCharsets.UTF_8).length, resource.getSize());
+            assertEquals(resource.getFile().length(), resource.getFileSize());
+            if (codec != null) {
+                assertTrue(resource.getFileSize() < resource.getSize());
+            }
+            resource.close();
         }
         resource.delete();
         assertFalse(resource.getFile().exists());
@@ -20,6 +20,7 @@
  */
 package org.jumpmind.symmetric.io.data.writer;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +28,7 @@ import java.util.Map;
 import org.jumpmind.db.DbTestUtils;
 import org.jumpmind.db.model.Column;
 import org.jumpmind.db.model.Table;
+import org.jumpmind.db.platform.IDatabasePlatform;
 import org.jumpmind.symmetric.io.AbstractWriterTest;
 import org.jumpmind.symmetric.io.data.*;
 import org.jumpmind.symmetric.io.data.transform.*;
@@ -118,6 +120,35 @@ public class TransformWriterTest extends AbstractWriterTest {
         Assert.assertEquals("1", pkData[0]);
     }
 
+    @Test
+    public void testPrefetch() throws Exception {
+        mockWriter.reset();
+        MockPrefetchColumnTransform prefetchTransform = new MockPrefetchColumnTransform();
+        Map<String, IColumnTransform<?>> columnTransforms = buildDefaultColumnTransforms();
+        addColumnTransform(MockPrefetchColumnTransform.NAME, columnTransforms, prefetchTransform);
+        TransformWriter transformWriter = new TransformWriter(platform, TransformPoint.LOAD, mockWriter, columnTransforms,
+                new TransformTable("s5", "t5", TransformPoint.LOAD, new TransformColumn("id", "id", true),
+                        new TransformColumn("id", "col2", false, MockPrefetchColumnTransform.NAME, null)));
+        transformWriter.setPrefetchSize(3);
+        Table table = new Table("s5", new Column("id"));
+        writeData(transformWriter, new TableCsvData(table,
+                new CsvData(DataEventType.INSERT, new String[] { "1" }),
+                new CsvData(DataEventType.INSERT, new String[] { "2" }),
+                new CsvData(DataEventType.INSERT, new String[] { "3" }),
+                new CsvData(DataEventType.INSERT, new String[] { "4" }),
+                new CsvData(DataEventType.INSERT, new String[] { "5" })));
+        Assert.assertEquals(2, prefetchTransform.prefetchSizes.size());
+        Assert.assertEquals(3, prefetchTransform.prefetchSizes.get(0).intValue());
+        Assert.assertEquals(2, prefetchTransform.prefetchSizes.get(1).intValue());
+        Assert.assertEquals(0, prefetchTransform.rowsTransformedWithoutPrefetch);
+        List<CsvData> datas = mockWriter.writtenDatas.get("t5");
+        Assert.assertEquals(5, datas.size());
+        for (int i = 0; i < datas.size(); i++) {
+            Assert.assertEquals(Integer.toString(i + 1), datas.get(i).getParsedData(CsvData.ROW_DATA)[0]);
+            Assert.assertEquals("prefetched " + (i + 1), datas.get(i).getParsedData(CsvData.ROW_DATA)[1]);
+        }
+    }
+
     @Test
     public void testSimpleTableBeanShellMapping() throws Exception {
     }
@@ -173,4 +204,45 @@ public class TransformWriterTest extends AbstractWriterTest {
     public static void addColumnTransform(String name, Map<String, IColumnTransform<?>> columnTransforms, IColumnTransform<?> columnTransform) {
         columnTransforms.put(name, columnTransform);
     }
+
+    static class MockPrefetchColumnTransform implements ISingleValueColumnTransform, IPrefetchColumnTransform {
+        static final String NAME = "mockPrefetch";
+        List<Integer> prefetchSizes = new ArrayList<Integer>();
+        Map<String, String> prefetched;
+        int rowsTransformedWithoutPrefetch;
+
+        public String getName() {
+            return NAME;
+        }
+
+        public boolean isExtractColumnTransform() {
+            return true;
+        }
+
+        public boolean isLoadColumnTransform() {
+            return true;
+        }
+
+        public void prefetch(IDatabasePlatform platform, DataContext context, TransformColumn column, List<Map<String, String>> sourceValues,
+                List<Map<String, String>> oldSourceValues) {
+            prefetchSizes.add(sourceValues.size());
+            prefetched = new HashMap<String, String>();
+            for (Map<String, String> values : sourceValues) {
+                prefetched.put(values.get("id"), "prefetched " + values.get("id"));
+            }
+        }
+
+        public void clearPrefetch(DataContext context, TransformColumn column) {
+            prefetched = null;
+        }
+
+        public String transform(IDatabasePlatform platform, DataContext context, TransformColumn column, TransformedData data,
+                Map<String, String> sourceValues, String newValue, String oldValue) throws IgnoreColumnException, IgnoreRowException {
+            if (prefetched != null && prefetched.containsKey(newValue)) {
+                return prefetched.get(newValue);
+            }
+            rowsTransformedWithoutPrefetch++;
+            return newValue;
+        }
+    }
 }
@@ -76,6 +76,7 @@ import org.jumpmind.db.model.PlatformColumn;
 import org.jumpmind.db.model.PlatformTrigger;
 import org.jumpmind.db.model.Reference;
 import org.jumpmind.db.model.Table;
+import org.jumpmind.db.model.TablePartition;
 import org.jumpmind.db.model.Trigger;
 import org.jumpmind.db.model.TypeMap;
 import org.jumpmind.db.model.UniqueIndex;
@@ -149,6 +150,11 @@ public abstract class AbstractJdbcDdlReader implements IDdlReader {
         _columnsForIndex = initColumnsForIndex();
     }
 
+    @Override
+    public List<TablePartition> getTablePartitions(String catalog, String schema, String tableName) {
+        return Collections.emptyList();
+    }
+
     @Override
     public List<Trigger> getTriggers(String catalog, String schema,
             String tableName) {
@@ -625,6 +631,126 @@ public abstract class AbstractJdbcDdlReader implements IDdlReader {
         }
     }
 
+    @Override
+    public List<Table> readTableSnapshot(final String catalog, final String schema) {
+        JdbcSqlTemplate sqlTemplate = (JdbcSqlTemplate) platform.getSqlTemplateDirty();
+        return sqlTemplate.execute(new IConnectionCallback<List<Table>>() {
+            public List<Table> execute(Connection connection) throws SQLException {
+                return readTableSnapshot(connection, catalog, schema);
+            }
+        });
+    }
+
+    /*
+     * Reads every table of a catalog and schema with one query for the tables and one for the columns, plus whatever the platform
+     * reads in bulk through readMetaDataSnapshot(). Tables are then built from the snapshot with the same readTable() logic that is
+     * used for a single table.
+     */
+    protected List<Table> readTableSnapshot(Connection connection, String catalog, String schema) throws SQLException {
+        long startTime = System.currentTimeMillis();
+        DatabaseMetaDataSnapshot metaData = new DatabaseMetaDataSnapshot();
+        metaData.setMetaData(connection.getMetaData());
+        if (isNotBlank(catalog)) {
+            metaData.setCatalog(catalog);
+        }
+        if (isNotBlank(schema)) {
+            metaData.setSchemaPattern(schema);
+        }
+        metaData.setTableTypes(null);
+        List<Map<String, Object>> tableRows = new ArrayList<Map<String, Object>>();
+        ResultSet rs = null;
+        try {
+            rs = metaData.getTables(getDefaultTablePattern());
+            while (rs.next()) {
+                Map<String, Object> values = readMetaData(rs, initColumnsForTable());
+                if (isInSnapshot(values, catalog, schema)) {
+                    tableRows.add(values);
+                }
+            }
+        } finally {
+            close(rs);
+        }
+        Map<String, List<Map<String, Object>>> columnRows = new HashMap<String, List<Map<String, Object>>>();
+        try {
+            rs = metaData.getColumns(getDefaultTablePattern(), getDefaultColumnPattern());
+            while (rs.next()) {
+                Map<String, Object> values = readMetaData(rs, getColumnsForColumn());
+                if (isInSnapshot(values, catalog, schema)) {
+                    DatabaseMetaDataSnapshot.addRow(columnRows, (String) values.get(getName("TABLE_NAME")), values);
+                }
+            }
+        } finally {
+            close(rs);
+        }
+        metaData.setColumnRows(columnRows);
+        readMetaDataSnapshot(connection, metaData);
+        if (tableRows.size() > 0) {
+            if (!metaData.hasPrimaryKeyRows()) {
+                metaData.setPrimaryKeyRows(readSnapshotRows("primary keys", "TABLE_NAME", getColumnsForPK(),
+                        () -> metaData.getPrimaryKeys(null)));
+            }
+            if (!metaData.hasForeignKeyRows() && getPlatformInfo().isForeignKeysSupported()) {
+                metaData.setForeignKeyRows(readSnapshotRows("foreign keys", "FKTABLE_NAME", getColumnsForFK(),
+                        () -> metaData.getForeignKeys(null)));
+            }
+            if (!metaData.hasIndexRows() && getPlatformInfo().isIndicesSupported()) {
+                metaData.setIndexRows(readSnapshotRows("indices", "TABLE_NAME", getColumnsForIndex(),
+                        () -> metaData.getIndices(null, false, false)));
+            }
+        }
+        List<Table> tables = new ArrayList<Table>(tableRows.size());
+        for (Map<String, Object> values : tableRows) {
+            Table table = postprocessTableFromDatabase(readTable(connection, metaData, values));
+            if (table != null) {
+                tables.add(table);
+            }
+        }
+        log.info("Read {} tables from {} in bulk in {} ms", tables.size(), Table.getFullyQualifiedTablePrefix(catalog, schema),
+                System.currentTimeMillis() - startTime);
+        return tables;
+    }
+
+    /*
+     * Allows the platform to read primary keys, foreign keys, indices or its own table attributes for the whole schema at once using
+     * its system catalog. Anything left unset on the snapshot is queried per table.
+     */
+    protected void readMetaDataSnapshot(Connection connection, DatabaseMetaDataSnapshot metaData) throws SQLException {
+    }
+
+    /*
+     * Reads the primary keys, foreign keys or indices of every table at once by passing a null table name to the database meta data.
+     * Drivers that require a table name fail or return no rows, so null is returned and they are read per table instead.
+     */
+    protected Map<String, List<Map<String, Object>>> readSnapshotRows(String kind, String tableNameColumn,
+            List<MetaDataColumnDescriptor> columns, IMetaDataQuery query) {
+        Map<String, List<Map<String, Object>>> rows = new HashMap<String, List<Map<String, Object>>>();
+        ResultSet rs = null;
+        try {
+            rs = query.execute();
+            while (rs.next()) {
+                Map<String, Object> values = readMetaData(rs, columns);
+                DatabaseMetaDataSnapshot.addRow(rows, (String) values.get(getName(tableNameColumn)), values);
+            }
+        } catch (Exception e) {
+            log.debug("Unable to read {} in bulk, so they will be read per table", kind, e);
+            return null;
+        } finally {
+            close(rs);
+        }
+        return rows.size() > 0 ? rows : null;
+    }
+
+    protected interface IMetaDataQuery {
+        public ResultSet execute() throws SQLException;
+    }
+
+    protected boolean isInSnapshot(Map<String, Object> values, String catalog, String schema) {
+        String rowCatalog = (String) values.get(getName(getResultSetCatalogName()));
+        String rowSchema = (String) values.get(getName(getResultSetSchemaName()));
+        return (isBlank(catalog) || rowCatalog == null || catalog.equals(rowCatalog))
+                && (isBlank(schema) || rowSchema == null || schema.equals(rowSchema));
+    }
+
     protected Table postprocessTableFromDatabase(Table table) {
         if (table != null) {
             for (int columnIdx = 0; columnIdx < table.getColumnCount(); columnIdx++) {
@@ -892,21 +1018,23 @@ public abstract class AbstractJdbcDdlReader implements IDdlReader {
      */
     protected Collection<Column> readColumns(DatabaseMetaDataWrapper metaData, String tableName)
             throws SQLException {
+        Set<String> columnNames = new HashSet<String>();
+        List<Column> columns = new ArrayList<Column>();
+        List<Map<String, Object>> rows = metaData instanceof DatabaseMetaDataSnapshot
+                ? ((DatabaseMetaDataSnapshot) metaData).getColumnRows(tableName) : null;
+        if (rows != null) {
+            for (Map<String, Object> values : rows) {
+                readColumn(metaData, values, columnNames, columns);
+            }
+            return columns;
+        }
         ResultSet columnData = null;
         try {
-            Set<String> columnNames = new HashSet<String>();
             columnData = metaData.getColumns(getTableNamePattern(tableName),
                     getDefaultColumnPattern());
-            List<Column> columns = new ArrayList<Column>();
             while (columnData.next()) {
                 Map<String, Object> values = readMetaData(columnData, getColumnsForColumn());
-                // TODO Pass connection to readColumn(...)
-                Column column = readColumn(metaData, values);
-                if (!columnNames.contains(column.getName())) {
-                    columnNames.add(column.getName());
-                    columns.add(column);
-                }
-                genericizeDefaultValuesAndUpdatePlatformColumn(column);
+                readColumn(metaData, values, columnNames, columns);
             }
             return columns;
         } finally {
@@ -914,6 +1042,17 @@ public abstract class AbstractJdbcDdlReader implements IDdlReader {
         }
     }
 
+    private void readColumn(DatabaseMetaDataWrapper metaData, Map<String, Object> values, Set<String> columnNames,
+            List<Column> columns) throws SQLException {
+        // TODO Pass connection to readColumn(...)
+        Column column = readColumn(metaData, values);
+        if (!columnNames.contains(column.getName())) {
+            columnNames.add(column.getName());
+            columns.add(column);
+        }
+        genericizeDefaultValuesAndUpdatePlatformColumn(column);
+    }
+
     protected void genericizeDefaultValuesAndUpdatePlatformColumn(Column column) {
         PlatformColumn platformColumn = column.findPlatformColumn(platform.getName());
         platformColumn.setDefaultValue(column.getDefaultValue());
@@ -1015,22 +1154,29 @@ public abstract class AbstractJdbcDdlReader implements IDdlReader {
     protected Collection<String> readPrimaryKeyNames(DatabaseMetaDataWrapper metaData,
             String tableName) throws SQLException {
         TreeMap<Integer, String> pks = new TreeMap<Integer, String>();
-        ResultSet pkData = null;
-        try {
-            pkData = metaData.getPrimaryKeys(getTableNamePatternForConstraints(tableName));
-            int i = 1;
-            while (pkData.next()) {
-                Map<String, Object> values = readMetaData(pkData, getColumnsForPK());
-                Integer pkSequence = readPrimaryKeySequence(values);
-                if (pkSequence != null) {
-                    pks.put(pkSequence, readPrimaryKeyName(metaData, values));
-                } else {
-                    pks.put(i, readPrimaryKeyName(metaData, values));
-                    i++;
+        List<Map<String, Object>> rows = metaData instanceof DatabaseMetaDataSnapshot
+                ? ((DatabaseMetaDataSnapshot) metaData).getPrimaryKeyRows(tableName) : null;
+        if (rows == null) {
+            rows = new ArrayList<Map<String, Object>>();
+            ResultSet pkData = null;
+            try {
+                pkData = metaData.getPrimaryKeys(getTableNamePatternForConstraints(tableName));
+                while (pkData.next()) {
+                    rows.add(readMetaData(pkData, getColumnsForPK()));
                 }
+            } finally {
+                close(pkData);
+            }
+        }
+        int i = 1;
+        for (Map<String, Object> values : rows) {
+            Integer pkSequence = readPrimaryKeySequence(values);
+            if (pkSequence != null) {
+                pks.put(pkSequence, readPrimaryKeyName(metaData, values));
+            } else {
+                pks.put(i, readPrimaryKeyName(metaData, values));
+                i++;
             }
-        } finally {
-            close(pkData);
         }
         return pks.values();
     }
@@ -1080,6 +1226,14 @@ public abstract class AbstractJdbcDdlReader implements IDdlReader {
             DatabaseMetaDataWrapper metaData, String tableName) throws SQLException {
         Map<String, ForeignKey> fks = new LinkedHashMap<String, ForeignKey>();
         if (getPlatformInfo().isForeignKeysSupported()) {
+            List<Map<String, Object>> rows = metaData instanceof DatabaseMetaDataSnapshot
+                    ? ((DatabaseMetaDataSnapshot) metaData).getForeignKeyRows(tableName) : null;
+            if (rows != null) {
+                for (Map<String, Object> values : rows) {
+                    readForeignKey(metaData, values, fks);
+                }
+                return fks.values();
+            }
             ResultSet fkData = null;
             try {
                 fkData = metaData.getForeignKeys(getTableNamePatternForConstraints(tableName));
@@ -1222,6 +1376,14 @@ public abstract class AbstractJdbcDdlReader implements IDdlReader {
             DatabaseMetaDataWrapper metaData, String tableName) throws SQLException {
         Map<String, IIndex> indices = new LinkedHashMap<String, IIndex>();
         if (getPlatformInfo().isIndicesSupported()) {
+            List<Map<String, Object>> rows = metaData instanceof DatabaseMetaDataSnapshot
+                    ? ((DatabaseMetaDataSnapshot) metaData).getIndexRows(tableName) : null;
+            if (rows != null) {
+                for (Map<String, Object> values : rows) {
+                    readIndex(metaData, values, indices);
+                }
+                return indices.values();
+            }
             ResultSet indexData = null;
             try {
                 indexData = metaData.getIndices(getTableNamePatternForConstraints(tableName), false, false);
@@ -69,6 +69,7 @@ import org.jumpmind.db.model.ForeignKey.ForeignKeyAction;
 import org.jumpmind.db.model.IIndex;
 import org.jumpmind.db.model.PlatformColumn;
 import org.jumpmind.db.model.Table;
+import org.jumpmind.db.model.TablePartition;
 import org.jumpmind.db.model.Trigger;
 import org.jumpmind.db.model.Trigger.TriggerType;
 import org.jumpmind.db.model.TypeMap;
@@ -459,6 +460,30 @@ public class OracleDdlReader extends AbstractJdbcDdlReader {
         return tableNames;
     }
 
+    @Override
+    public List<TablePartition> getTablePartitions(String catalog, String schema, String tableName) {
+        List<TablePartition> partitions = new ArrayList<TablePartition>();
+        String sql = "select PARTITION_NAME, HIGH_VALUE from ALL_TAB_PARTITIONS where TABLE_NAME=? and TABLE_OWNER=? order by PARTITION_POSITION";
+        try {
+            List<Row> rows = platform.getSqlTemplate().query(sql, new Object[] { tableName,
+                    StringUtils.isNotBlank(schema) ? schema : platform.getDefaultSchema() });
+            Long lowerBound = null;
+            for (Row row : rows) {
+                String highValue = StringUtils.trim(row.getString("HIGH_VALUE"));
+                Long upperBound = null;
+                if (!"MAXVALUE".equalsIgnoreCase(highValue)) {
+                    upperBound = Long.valueOf(highValue);
+                }
+                partitions.add(new TablePartition(row.getString("PARTITION_NAME"), lowerBound, upperBound));
+                lowerBound = upperBound;
+            }
+        } catch (Exception e) {
+            log.debug("Unable to read partitions for table " + tableName, e);
+            return new ArrayList<TablePartition>(0);
+        }
+        return partitions;
+    }
+
     public List<Trigger> getTriggers(final String catalog, final String schema,
             final String tableName) throws SqlException {
         List<Trigger> triggers = new ArrayList<Trigger>();
@@ -95,6 +95,9 @@ public class PostgreSqlDatabasePlatform extends AbstractJdbcDatabasePlatform {
             log.info("Detected driver is using auto savepoints");
             getDatabaseInfo().setRequiresSavePointsInTransaction(false);
         }
+        if (ddlBuilder instanceof PostgreSqlDdlBuilder) {
+            ((PostgreSqlDdlBuilder) ddlBuilder).setDetachPartitionConcurrently(() -> getSqlTemplate().getDatabaseMajorVersion() >= 14);
+        }
     }
 
     protected static SqlTemplateSettings overrideSettings(SqlTemplateSettings settings) {
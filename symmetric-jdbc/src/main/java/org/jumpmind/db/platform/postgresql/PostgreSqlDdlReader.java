@@ -29,6 +29,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jumpmind.db.model.Column;
@@ -41,10 +43,12 @@ import org.jumpmind.db.model.PlatformFunction;
 import org.jumpmind.db.model.PlatformTrigger;
 import org.jumpmind.db.model.Reference;
 import org.jumpmind.db.model.Table;
+import org.jumpmind.db.model.TablePartition;
 import org.jumpmind.db.model.Trigger;
 import org.jumpmind.db.model.Trigger.TriggerType;
 import org.jumpmind.db.model.TypeMap;
 import org.jumpmind.db.platform.AbstractJdbcDdlReader;
+import org.jumpmind.db.platform.DatabaseMetaDataSnapshot;
 import org.jumpmind.db.platform.DatabaseMetaDataWrapper;
 import org.jumpmind.db.platform.IDatabasePlatform;
 import org.jumpmind.db.sql.ISqlRowMapper;
@@ -55,6 +59,11 @@ import org.jumpmind.db.sql.Row;
  * Reads a database model from a PostgreSql database.
  */
 public class PostgreSqlDdlReader extends AbstractJdbcDdlReader {
+    private static final Pattern PARTITION_RANGE_PATTERN = Pattern.compile("FOR VALUES FROM \\((.+?)\\) TO \\((.+?)\\)",
+            Pattern.CASE_INSENSITIVE);
+    private static final String ATTRIBUTE_LOGGING = "logging";
+    private static final String ATTRIBUTE_PRIMARY_KEY_NAME = "primaryKeyName";
+
     public PostgreSqlDdlReader(IDatabasePlatform platform) {
         super(platform);
         setDefaultCatalogPattern(null);
@@ -70,10 +79,69 @@ public class PostgreSqlDdlReader extends AbstractJdbcDdlReader {
             return null;
         }
         detectAutoIncrementColumnsInUniqueIndices(table);
-        readMetaDataAndPrimaryKeyConstraint(connection, table);
+        Map<String, Object> attributes = metaData instanceof DatabaseMetaDataSnapshot
+                ? ((DatabaseMetaDataSnapshot) metaData).getTableAttributes(table.getName()) : null;
+        if (attributes != null) {
+            table.setLogging(Boolean.TRUE.equals(attributes.get(ATTRIBUTE_LOGGING)));
+            if (attributes.containsKey(ATTRIBUTE_PRIMARY_KEY_NAME)) {
+                table.setPrimaryKeyConstraintName((String) attributes.get(ATTRIBUTE_PRIMARY_KEY_NAME));
+            }
+        } else {
+            readMetaDataAndPrimaryKeyConstraint(connection, table);
+        }
         return table;
     }
 
+    /**
+     * Reads the primary keys, primary key constraint names and LOGGED mode of every table in the schema in two round-trips, so
+     * building the snapshot does not need the per table queries done by {@link #readMetaDataAndPrimaryKeyConstraint(Connection, Table)}.
+     */
+    @Override
+    protected void readMetaDataSnapshot(Connection connection, DatabaseMetaDataSnapshot metaData) throws SQLException {
+        String schema = metaData.getSchemaPattern();
+        if (StringUtils.isBlank(schema)) {
+            return;
+        }
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            ps = connection.prepareStatement("select t.relname, t.relpersistence from pg_catalog.pg_class t "
+                    + "join pg_catalog.pg_namespace n on n.oid = t.relnamespace where n.nspname = ?");
+            ps.setString(1, schema);
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                metaData.putTableAttribute(rs.getString(1), ATTRIBUTE_LOGGING, "p".equals(rs.getString(2)));
+            }
+        } finally {
+            JdbcSqlTemplate.close(rs);
+            JdbcSqlTemplate.close(ps);
+        }
+        Map<String, List<Map<String, Object>>> primaryKeyRows = new HashMap<String, List<Map<String, Object>>>();
+        try {
+            ps = connection.prepareStatement("select k.table_name, a.attname, k.key_seq, k.conname from "
+                    + "(select t.oid as table_oid, t.relname as table_name, c.conname, c.conkey, generate_subscripts(c.conkey, 1) as key_seq "
+                    + "from pg_catalog.pg_constraint c join pg_catalog.pg_class t on t.oid = c.conrelid "
+                    + "join pg_catalog.pg_namespace n on n.oid = t.relnamespace where c.contype = 'p' and n.nspname = ?) k "
+                    + "join pg_catalog.pg_attribute a on a.attrelid = k.table_oid and a.attnum = k.conkey[k.key_seq]");
+            ps.setString(1, schema);
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                String tableName = rs.getString(1);
+                Map<String, Object> values = new HashMap<String, Object>();
+                values.put(getName("TABLE_NAME"), tableName);
+                values.put(getName("COLUMN_NAME"), rs.getString(2));
+                values.put(getName("KEY_SEQ"), rs.getInt(3));
+                values.put(getName("PK_NAME"), rs.getString(4));
+                DatabaseMetaDataSnapshot.addRow(primaryKeyRows, tableName, values);
+                metaData.putTableAttribute(tableName, ATTRIBUTE_PRIMARY_KEY_NAME, rs.getString(4));
+            }
+        } finally {
+            JdbcSqlTemplate.close(rs);
+            JdbcSqlTemplate.close(ps);
+        }
+        metaData.setPrimaryKeyRows(primaryKeyRows);
+    }
+
     /**
      * Detect and filter out PostgreSQL-specific unique indices for non-pk auto-increment columns which are of the form "[table]_[column]_key"
      */
@@ -367,6 +435,61 @@ public class PostgreSqlDdlReader extends AbstractJdbcDdlReader {
         return list;
     }
 
+    @Override
+    public List<TablePartition> getTablePartitions(String catalog, String schema, String tableName) {
+        List<TablePartition> partitions = new ArrayList<TablePartition>();
+        String sql = "select c.relname as partition_name, pg_get_expr(c.relpartbound, c.oid) as partition_bound "
+                + "from pg_catalog.pg_inherits i "
+                + "inner join pg_catalog.pg_class c on c.oid = i.inhrelid "
+                + "inner join pg_catalog.pg_class p on p.oid = i.inhparent "
+                + "inner join pg_catalog.pg_namespace n on n.oid = p.relnamespace "
+                + "where p.relname = ? and n.nspname = ?";
+        try {
+            List<Row> rows = platform.getSqlTemplate().query(sql, new Object[] { tableName,
+                    StringUtils.isNotBlank(schema) ? schema : platform.getDefaultSchema() });
+            for (Row row : rows) {
+                TablePartition partition = parsePartitionBound(row.getString("partition_name"), row.getString("partition_bound"));
+                if (partition == null) {
+                    return new ArrayList<TablePartition>(0);
+                }
+                partitions.add(partition);
+            }
+        } catch (Exception e) {
+            log.debug("Unable to read partitions for table " + tableName, e);
+            return new ArrayList<TablePartition>(0);
+        }
+        partitions.sort((p1, p2) -> Long.compare(p1.getLowerBound() != null ? p1.getLowerBound() : Long.MIN_VALUE,
+                p2.getLowerBound() != null ? p2.getLowerBound() : Long.MIN_VALUE));
+        return partitions;
+    }
+
+    /**
+     * Parses a range partition bound like FOR VALUES FROM ('1') TO ('1000001'). The default partition is returned with no bounds. Null is
+     * returned for bounds that are not a numeric range, such as list or multi-column partitions.
+     */
+    protected static TablePartition parsePartitionBound(String name, String bound) {
+        if (bound != null && bound.trim().equalsIgnoreCase("DEFAULT")) {
+            return new TablePartition(name, null, null);
+        }
+        Matcher matcher = bound != null ? PARTITION_RANGE_PATTERN.matcher(bound) : null;
+        if (matcher == null || !matcher.find()) {
+            return null;
+        }
+        try {
+            return new TablePartition(name, parseBoundValue(matcher.group(1)), parseBoundValue(matcher.group(2)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    protected static Long parseBoundValue(String value) {
+        value = StringUtils.strip(value.trim(), "'");
+        if (value.equalsIgnoreCase("MINVALUE") || value.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        return Long.valueOf(value);
+    }
+
     @Override
     public List<Trigger> getTriggers(final String catalog, final String schema,
             final String tableName) {
@@ -40,6 +40,7 @@ public class JdbcSqlReadCursor<T> implements ISqlReadCursor<T> {
     protected int rsColumnCount;
     protected IConnectionHandler connectionHandler;
     protected boolean returnLobObjects;
+    protected RowView rowView;
 
     public JdbcSqlReadCursor() {
     }
@@ -112,7 +113,16 @@ public class JdbcSqlReadCursor<T> implements ISqlReadCursor<T> {
                     rsMetaData = rs.getMetaData();
                     rsColumnCount = rsMetaData.getColumnCount();
                 }
-                Row row = getMapForRow(rs, rsMetaData, rsColumnCount, sqlTemplate.getSettings().isReadStringsAsBytes(), returnLobObjects);
+                boolean readStringsAsBytes = sqlTemplate.getSettings().isReadStringsAsBytes();
+                Row row = null;
+                if (mapper instanceof ISqlRowViewMapper) {
+                    if (rowView == null) {
+                        rowView = createRowView(rsMetaData, rsColumnCount);
+                    }
+                    row = readRowView(rs, rsMetaData, rowView, readStringsAsBytes, returnLobObjects);
+                } else {
+                    row = getMapForRow(rs, rsMetaData, rsColumnCount, readStringsAsBytes, returnLobObjects);
+                }
                 T value = mapper.mapRow(row);
                 if (value != null) {
                     return value;
@@ -137,6 +147,23 @@ public class JdbcSqlReadCursor<T> implements ISqlReadCursor<T> {
         return mapOfColValues;
     }
 
+    protected static RowView createRowView(ResultSetMetaData argResultSetMetaData, int columnCount) throws SQLException {
+        String[] columnNames = new String[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            columnNames[i - 1] = JdbcSqlTemplate.lookupColumnName(argResultSetMetaData, i);
+        }
+        return new RowView(columnNames);
+    }
+
+    protected static RowView readRowView(ResultSet rs, ResultSetMetaData argResultSetMetaData, RowView rowView,
+            boolean readStringsAsBytes, boolean returnLobObjects) throws SQLException {
+        int columnCount = rowView.getColumnCount();
+        for (int i = 1; i <= columnCount; i++) {
+            rowView.setValue(i - 1, JdbcSqlTemplate.getResultSetValue(rs, argResultSetMetaData, i, readStringsAsBytes, returnLobObjects));
+        }
+        return rowView;
+    }
+
     public final void close() {
         if (this.connectionHandler != null) {
             this.connectionHandler.after(c);
@@ -29,6 +29,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -55,6 +56,10 @@ public class JdbcSqlTransaction implements ISqlTransaction {
     protected LogSqlBuilder logSqlBuilder;
     protected List<ISqlTransactionListener> listeners = new ArrayList<ISqlTransactionListener>();
     protected int batchSize = 100;
+    protected int statementCacheSize;
+    protected Map<String, PreparedStatement> statementCache;
+    protected long statementCacheHits;
+    protected long statementCacheMisses;
 
     public JdbcSqlTransaction(JdbcSqlTemplate jdbcSqlTemplate) {
         this(jdbcSqlTemplate, false);
@@ -65,6 +70,7 @@ public class JdbcSqlTransaction implements ISqlTransaction {
         this.jdbcSqlTemplate = jdbcSqlTemplate;
         this.logSqlBuilder = jdbcSqlTemplate.logSqlBuilder;
         this.batchSize = jdbcSqlTemplate.getSettings().getBatchSize();
+        this.statementCacheSize = jdbcSqlTemplate.getSettings().getStatementCacheSize();
         this.init();
     }
 
@@ -141,7 +147,7 @@ public class JdbcSqlTransaction implements ISqlTransaction {
 
     public void close() {
         if (connection != null) {
-            JdbcSqlTemplate.close(pstmt);
+            closeStatements();
             try {
                 connection.setAutoCommit(this.oldAutoCommitValue);
             } catch (SQLException ex) {
@@ -263,9 +269,18 @@ public class JdbcSqlTransaction implements ISqlTransaction {
                     List<T> list = new ArrayList<T>();
                     ResultSetMetaData rsMetaData = rs.getMetaData();
                     int columnCount = rsMetaData.getColumnCount();
+                    boolean readStringsAsBytes = jdbcSqlTemplate.getSettings().isReadStringsAsBytes();
+                    RowView rowView = null;
+                    if (mapper instanceof ISqlRowViewMapper) {
+                        rowView = JdbcSqlReadCursor.createRowView(rsMetaData, columnCount);
+                    }
                     while (rs.next()) {
-                        Row row = JdbcSqlReadCursor.getMapForRow(rs, rsMetaData, columnCount,
-                                jdbcSqlTemplate.getSettings().isReadStringsAsBytes(), false);
+                        Row row = null;
+                        if (rowView != null) {
+                            row = JdbcSqlReadCursor.readRowView(rs, rsMetaData, rowView, readStringsAsBytes, false);
+                        } else {
+                            row = JdbcSqlReadCursor.getMapForRow(rs, rsMetaData, columnCount, readStringsAsBytes, false);
+                        }
                         T value = mapper.mapRow(row);
                         list.add(value);
                     }
@@ -410,14 +425,80 @@ public class JdbcSqlTransaction implements ISqlTransaction {
                 throw new IllegalStateException(
                         "Cannot prepare a new batch before the last batch has been flushed.");
             }
-            JdbcSqlTemplate.close(pstmt);
-            pstmt = connection.prepareStatement(sql);
+            if (statementCacheSize > 0) {
+                pstmt = getCachedStatement(sql);
+            } else {
+                JdbcSqlTemplate.close(pstmt);
+                pstmt = connection.prepareStatement(sql);
+            }
             psql = sql;
         } catch (SQLException ex) {
             throw jdbcSqlTemplate.translate(new SqlException("Exception while preparing sql [" + sql + "]", ex));
         }
     }
 
+    /**
+     * Returns the open statement for the SQL, preparing it if it is not cached yet. Statements are kept in least recently used order
+     * and the eldest is closed once the cache holds more than statementCacheSize statements, so a transaction that alternates
+     * between tables and DML types reuses its statements instead of parsing them again.
+     */
+    protected PreparedStatement getCachedStatement(String sql) throws SQLException {
+        if (statementCache == null) {
+            statementCache = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() > statementCacheSize) {
+                        JdbcSqlTemplate.close(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+        PreparedStatement statement = statementCache.get(sql);
+        if (statement != null) {
+            statementCacheHits++;
+            if (inBatchMode) {
+                statement.clearBatch();
+            }
+        } else {
+            statementCacheMisses++;
+            statement = connection.prepareStatement(sql);
+            statementCache.put(sql, statement);
+        }
+        return statement;
+    }
+
+    protected void closeStatements() {
+        if (statementCache != null) {
+            for (PreparedStatement statement : statementCache.values()) {
+                JdbcSqlTemplate.close(statement);
+            }
+            statementCache.clear();
+        }
+        JdbcSqlTemplate.close(pstmt);
+        pstmt = null;
+        psql = null;
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
     public int addRow(Object marker, Object[] args, int[] argTypes) {
         int rowsUpdated = 0;
         try {
@@ -21,6 +21,8 @@
 package org.jumpmind.db.platform.postgresql;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -36,6 +38,7 @@ import java.sql.Types;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.regex.Pattern;
 
@@ -48,11 +51,13 @@ import org.jumpmind.db.model.IndexColumn;
 import org.jumpmind.db.model.NonUniqueIndex;
 import org.jumpmind.db.model.PlatformColumn;
 import org.jumpmind.db.model.Table;
+import org.jumpmind.db.model.TablePartition;
 import org.jumpmind.db.model.Trigger;
 import org.jumpmind.db.model.Trigger.TriggerType;
 import org.jumpmind.db.model.UniqueIndex;
 import org.jumpmind.db.platform.AbstractJdbcDdlReader;
 import org.jumpmind.db.platform.DatabaseInfo;
+import org.jumpmind.db.platform.DatabaseMetaDataSnapshot;
 import org.jumpmind.db.platform.IDatabasePlatform;
 import org.jumpmind.db.sql.ISqlTransaction;
 import org.jumpmind.db.sql.Row;
@@ -1176,6 +1181,55 @@ class PostgreSqlDdlReaderTest {
         assertEquals(expectedTable, testTable);
     }
 
+    @Test
+    void testParsePartitionBound() throws Exception {
+        TablePartition partition = PostgreSqlDdlReader.parsePartitionBound("sym_data_p1", "FOR VALUES FROM ('1') TO ('10000001')");
+        assertEquals("sym_data_p1", partition.getName());
+        assertEquals(Long.valueOf(1), partition.getLowerBound());
+        assertEquals(Long.valueOf(10000001), partition.getUpperBound());
+        partition = PostgreSqlDdlReader.parsePartitionBound("sym_data_p0", "FOR VALUES FROM (MINVALUE) TO (100)");
+        assertNull(partition.getLowerBound());
+        assertEquals(Long.valueOf(100), partition.getUpperBound());
+        partition = PostgreSqlDdlReader.parsePartitionBound("sym_data_default", "DEFAULT");
+        assertNull(partition.getLowerBound());
+        assertNull(partition.getUpperBound());
+        assertNull(PostgreSqlDdlReader.parsePartitionBound("sym_data_list", "FOR VALUES IN ('a')"));
+        assertNull(PostgreSqlDdlReader.parsePartitionBound("sym_data_time", "FOR VALUES FROM ('2024-01-01') TO ('2024-02-01')"));
+    }
+
+    @Test
+    void testReadMetaDataSnapshot() throws Exception {
+        PreparedStatement persistenceStatement = mock(PreparedStatement.class);
+        ResultSet persistenceRs = mock(ResultSet.class);
+        when(persistenceStatement.executeQuery()).thenReturn(persistenceRs);
+        when(persistenceRs.next()).thenReturn(true, true, false);
+        when(persistenceRs.getString(1)).thenReturn("orders", "audit");
+        when(persistenceRs.getString(2)).thenReturn("p", "u");
+        PreparedStatement pkStatement = mock(PreparedStatement.class);
+        ResultSet pkRs = mock(ResultSet.class);
+        when(pkStatement.executeQuery()).thenReturn(pkRs);
+        when(pkRs.next()).thenReturn(true, true, false);
+        when(pkRs.getString(1)).thenReturn("orders", "orders");
+        when(pkRs.getString(2)).thenReturn("order_id", "region");
+        when(pkRs.getInt(3)).thenReturn(1, 2);
+        when(pkRs.getString(4)).thenReturn("orders_pk", "orders_pk");
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(ArgumentMatchers.anyString())).thenReturn(persistenceStatement, pkStatement);
+        PostgreSqlDdlReader testReader = new PostgreSqlDdlReader(platform);
+        DatabaseMetaDataSnapshot metaData = new DatabaseMetaDataSnapshot();
+        metaData.setSchemaPattern("public");
+        testReader.readMetaDataSnapshot(connection, metaData);
+        List<Map<String, Object>> pkRows = metaData.getPrimaryKeyRows("orders");
+        assertEquals(2, pkRows.size());
+        assertEquals("order_id", pkRows.get(0).get("COLUMN_NAME"));
+        assertEquals(2, pkRows.get(1).get("KEY_SEQ"));
+        assertTrue(metaData.getPrimaryKeyRows("audit").isEmpty());
+        assertEquals(Boolean.TRUE, metaData.getTableAttributes("orders").get("logging"));
+        assertEquals("orders_pk", metaData.getTableAttributes("orders").get("primaryKeyName"));
+        assertEquals(Boolean.FALSE, metaData.getTableAttributes("audit").get("logging"));
+        assertNull(metaData.getColumnRows("orders"));
+    }
+
     protected String getResultSetSchemaName() {
         return DdlReaderTestConstants.TABLE_SCHEM;
     }
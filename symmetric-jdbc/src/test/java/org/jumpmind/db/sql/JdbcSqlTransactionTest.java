@@ -0,0 +1,96 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.db.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+public class JdbcSqlTransactionTest {
+    @Test
+    public void testStatementCache() throws Exception {
+        Map<String, PreparedStatement> statements = new HashMap<String, PreparedStatement>();
+        Connection connection = mockConnection(statements);
+        JdbcSqlTransaction transaction = new JdbcSqlTransaction(mockTemplate(connection, 2));
+        transaction.prepare("insert into a values (?)");
+        transaction.prepare("insert into b values (?)");
+        transaction.prepare("insert into a values (?)");
+        assertEquals(1, transaction.getStatementCacheHits());
+        assertEquals(2, transaction.getStatementCacheMisses());
+        transaction.prepare("insert into c values (?)");
+        verify(statements.get("insert into b values (?)")).close();
+        verify(statements.get("insert into a values (?)"), never()).close();
+        transaction.prepare("insert into b values (?)");
+        assertEquals(1, transaction.getStatementCacheHits());
+        assertEquals(4, transaction.getStatementCacheMisses());
+        verify(connection, times(2)).prepareStatement("insert into b values (?)");
+        transaction.close();
+        verify(statements.get("insert into a values (?)")).close();
+        verify(statements.get("insert into c values (?)")).close();
+    }
+
+    @Test
+    public void testStatementCacheDisabled() throws Exception {
+        Map<String, PreparedStatement> statements = new HashMap<String, PreparedStatement>();
+        Connection connection = mockConnection(statements);
+        JdbcSqlTransaction transaction = new JdbcSqlTransaction(mockTemplate(connection, 0));
+        transaction.prepare("insert into a values (?)");
+        transaction.prepare("insert into a values (?)");
+        verify(connection, times(2)).prepareStatement("insert into a values (?)");
+        assertEquals(0, transaction.getStatementCacheHits());
+        assertEquals(0, transaction.getStatementCacheMisses());
+        transaction.close();
+    }
+
+    protected Connection mockConnection(Map<String, PreparedStatement> statements) throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            PreparedStatement statement = mock(PreparedStatement.class);
+            statements.put(invocation.getArgument(0), statement);
+            return statement;
+        });
+        return connection;
+    }
+
+    protected JdbcSqlTemplate mockTemplate(Connection connection, int statementCacheSize) throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        SqlTemplateSettings settings = new SqlTemplateSettings();
+        settings.setStatementCacheSize(statementCacheSize);
+        JdbcSqlTemplate template = mock(JdbcSqlTemplate.class);
+        when(template.getSettings()).thenReturn(settings);
+        when(template.getDataSource()).thenReturn(dataSource);
+        return template;
+    }
+}
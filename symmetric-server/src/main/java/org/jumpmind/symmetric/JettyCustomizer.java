@@ -20,6 +20,7 @@
  */
 package org.jumpmind.symmetric;
 
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
 import org.eclipse.jetty.server.AbstractConnector;
 import org.eclipse.jetty.server.ConnectionFactory;
 import org.eclipse.jetty.server.Connector;
@@ -99,6 +100,9 @@ public class JettyCustomizer implements WebServerFactoryCustomizer<JettyServletW
             httpConfig.setSendServerVersion(false);
             ServerConnector connector = new ServerConnector(server);
             connector.addConnectionFactory(new HttpConnectionFactory(httpConfig));
+            if (sysProps.is(ServerConstants.HTTPS2_ENABLE, false)) {
+                connector.addConnectionFactory(new HTTP2CServerConnectionFactory(httpConfig));
+            }
             connector.setPort(sysProps.getInt(ServerConstants.HTTP_PORT, Integer.parseInt(SymmetricWebServer.DEFAULT_HTTP_PORT)));
             server.addConnector(connector);
         }
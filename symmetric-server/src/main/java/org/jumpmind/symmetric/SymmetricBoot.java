@@ -77,6 +77,7 @@ public class SymmetricBoot extends SpringBootServletInitializer {
         ServletRegistrationBean<SymmetricServlet> bean = new ServletRegistrationBean<>(new SymmetricServlet(),
                 "/sync/*");
         bean.setLoadOnStartup(1);
+        bean.setAsyncSupported(true);
         return bean;
     }
 
@@ -69,6 +69,7 @@ public class SymmetricBootPropertySetupListener implements ApplicationListener<A
         }
         if (httpEnabled && !httpsEnabled) {
             bootProps.put("server.port", String.valueOf(httpPort));
+            setIfNotBlank(ServerConstants.HTTPS2_ENABLE, "server.http2.enabled", sysProps, bootProps);
         } else if (httpsEnabled) {
             bootProps.put("server.port", String.valueOf(httpsPort));
             bootProps.put("server.ssl.enabled", Boolean.toString(true));
@@ -107,7 +107,7 @@ public class SymmetricWebServer {
             throw new IllegalStateException("Either an http or https port needs to be set and enabled before starting the server.");
         }
         SymmetricUtils.logNotices();
-        String protocolName = httpEnabled ? "HTTP/1.1" : httpsEnabled && https2Enabled ? "HTTPS/2" : "HTTPS/1.1";
+        String protocolName = httpEnabled ? https2Enabled ? "HTTP/2" : "HTTP/1.1" : httpsEnabled && https2Enabled ? "HTTPS/2" : "HTTPS/1.1";
         int port = httpEnabled ? httpPort : httpsPort;
         log.info("About to start {} web server on {}:{}:{} with context path {}", name, host == null ? "default" : host,
                 port, protocolName, webHome);
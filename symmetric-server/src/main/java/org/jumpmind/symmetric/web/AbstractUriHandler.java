@@ -42,6 +42,7 @@ abstract public class AbstractUriHandler implements IUriHandler {
     private List<IInterceptor> interceptors;
     protected IParameterService parameterService;
     private boolean enabled = true;
+    private boolean longRunning;
 
     public AbstractUriHandler(String uriPattern, IParameterService parameterService,
             IInterceptor... interceptors) {
@@ -97,6 +98,17 @@ abstract public class AbstractUriHandler implements IUriHandler {
         return enabled;
     }
 
+    /**
+     * A long running handler transfers batches, so it can be run asynchronously off the web server worker thread.
+     */
+    public boolean isLongRunning() {
+        return longRunning;
+    }
+
+    public void setLongRunning(boolean longRunning) {
+        this.longRunning = longRunning;
+    }
+
     public void setParameterService(IParameterService parameterService) {
         this.parameterService = parameterService;
     }
@@ -40,6 +40,7 @@ public class FileSyncPullUriHandler extends AbstractUriHandler {
 
     public FileSyncPullUriHandler(ISymmetricEngine engine, IInterceptor... interceptors) {
         super("/filesync/pull/*", engine.getParameterService(), interceptors);
+        setLongRunning(true);
         this.engine = engine;
     }
 
@@ -38,6 +38,7 @@ public class FileSyncPushUriHandler extends AbstractUriHandler {
 
     public FileSyncPushUriHandler(ISymmetricEngine engine, IInterceptor... interceptors) {
         super("/filesync/push/*", engine.getParameterService(), interceptors);
+        setLongRunning(true);
         this.engine = engine;
     }
 
@@ -0,0 +1,169 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.web;
+
+import java.io.IOException;
+import java.util.Map;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.model.NodeCommunication.CommunicationType;
+import org.jumpmind.symmetric.service.INodeCommunicationService;
+import org.jumpmind.symmetric.statistic.ChannelStats;
+import org.jumpmind.symmetric.statistic.IStatisticManager;
+import org.jumpmind.symmetric.statistic.LatencyHistogram;
+import org.jumpmind.symmetric.statistic.LatencyHistogram.Stage;
+
+/**
+ * Exposes batch latency histograms, batch queue depths and thread pool usage in the Prometheus text format.
+ */
+public class MetricsUriHandler extends AbstractUriHandler {
+    protected static final String PREFIX = "symmetricds_";
+    private ISymmetricEngine engine;
+    private volatile BatchCounts batchCounts;
+
+    public MetricsUriHandler(ISymmetricEngine engine, IInterceptor... interceptors) {
+        super("/metrics/*", engine.getParameterService(), interceptors);
+        this.engine = engine;
+    }
+
+    public void handle(HttpServletRequest req, HttpServletResponse res) throws IOException,
+            ServletException {
+        if (!parameterService.is(ParameterConstants.WEB_METRICS_ENABLED)) {
+            ServletUtils.sendError(res, HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        res.setContentType("text/plain; version=0.0.4");
+        res.setCharacterEncoding("UTF-8");
+        res.getWriter().write(buildMetrics());
+        res.flushBuffer();
+    }
+
+    protected String buildMetrics() {
+        StringBuilder out = new StringBuilder();
+        String engineLabel = label("engine", parameterService.getEngineName());
+        IStatisticManager statisticManager = engine.getStatisticManager();
+        String name = PREFIX + "batch_channel_latency_seconds";
+        writeHeader(out, name, "histogram", "Time spent in each stage by acknowledged outgoing batches, by channel");
+        for (Stage stage : Stage.values()) {
+            for (Map.Entry<String, LatencyHistogram> entry : statisticManager.getChannelLatencies(stage).entrySet()) {
+                writeHistogram(out, name, engineLabel + "," + label("stage", stage.name().toLowerCase()) + "," + label("channel", entry.getKey()),
+                        entry.getValue());
+            }
+        }
+        name = PREFIX + "batch_node_latency_seconds";
+        writeHeader(out, name, "histogram", "Time spent in each stage by acknowledged outgoing batches, by target node");
+        for (Stage stage : Stage.values()) {
+            for (Map.Entry<String, LatencyHistogram> entry : statisticManager.getNodeLatencies(stage).entrySet()) {
+                writeHistogram(out, name, engineLabel + "," + label("stage", stage.name().toLowerCase()) + "," + label("node", entry.getKey()),
+                        entry.getValue());
+            }
+        }
+        name = PREFIX + "data_unrouted";
+        writeHeader(out, name, "gauge", "Captured data waiting to be routed, by channel");
+        for (ChannelStats stats : statisticManager.getWorkingChannelStats().values()) {
+            writeSample(out, name, engineLabel + "," + label("channel", stats.getChannelId()), stats.getDataUnRouted());
+        }
+        BatchCounts counts = getBatchCounts();
+        name = PREFIX + "outgoing_batches_unsent";
+        writeHeader(out, name, "gauge", "Outgoing batches waiting to be sent");
+        writeSample(out, name, engineLabel, counts.outgoingUnsent);
+        name = PREFIX + "outgoing_batches_in_error";
+        writeHeader(out, name, "gauge", "Outgoing batches in error");
+        writeSample(out, name, engineLabel, counts.outgoingInError);
+        name = PREFIX + "incoming_batches_in_error";
+        writeHeader(out, name, "gauge", "Incoming batches in error");
+        writeSample(out, name, engineLabel, counts.incomingInError);
+        INodeCommunicationService nodeCommunicationService = engine.getNodeCommunicationService();
+        String activeName = PREFIX + "node_communication_threads_active";
+        writeHeader(out, activeName, "gauge", "Threads busy with node communication, by communication type");
+        for (CommunicationType type : CommunicationType.values()) {
+            writeSample(out, activeName, engineLabel + "," + label("type", type.name().toLowerCase()), nodeCommunicationService.getActiveThreads(type));
+        }
+        String maxName = PREFIX + "node_communication_threads_max";
+        writeHeader(out, maxName, "gauge", "Maximum threads for node communication, by communication type");
+        for (CommunicationType type : CommunicationType.values()) {
+            writeSample(out, maxName, engineLabel + "," + label("type", type.name().toLowerCase()), nodeCommunicationService.getMaxThreads(type));
+        }
+        return out.toString();
+    }
+
+    /**
+     * The batch counts are queried at most once per web.metrics.batch.counts.cache.ms, so frequent scrapes do not run count queries against
+     * the batch tables each time.
+     */
+    protected BatchCounts getBatchCounts() {
+        BatchCounts counts = batchCounts;
+        long now = System.currentTimeMillis();
+        if (counts == null || now - counts.queryTime >= parameterService.getLong(ParameterConstants.WEB_METRICS_BATCH_COUNTS_CACHE_MS, 60000)) {
+            counts = new BatchCounts(engine.getOutgoingBatchService().countOutgoingBatchesUnsent(),
+                    engine.getOutgoingBatchService().countOutgoingBatchesInError(), engine.getIncomingBatchService().countIncomingBatchesInError(), now);
+            batchCounts = counts;
+        }
+        return counts;
+    }
+
+    protected void writeHeader(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(" ").append(help).append("\n");
+        out.append("# TYPE ").append(name).append(" ").append(type).append("\n");
+    }
+
+    protected void writeHistogram(StringBuilder out, String name, String labels, LatencyHistogram histogram) {
+        long[] counts = histogram.getBucketCounts();
+        long cumulative = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKET_BOUNDS_MILLIS.length; i++) {
+            cumulative += counts[i];
+            writeSample(out, name + "_bucket", labels + "," + label("le", Double.toString(LatencyHistogram.BUCKET_BOUNDS_MILLIS[i] / 1000d)),
+                    cumulative);
+        }
+        cumulative += counts[counts.length - 1];
+        writeSample(out, name + "_bucket", labels + "," + label("le", "+Inf"), cumulative);
+        out.append(name).append("_sum{").append(labels).append("} ").append(histogram.getSumMillis() / 1000d).append("\n");
+        writeSample(out, name + "_count", labels, cumulative);
+    }
+
+    protected void writeSample(StringBuilder out, String name, String labels, long value) {
+        out.append(name).append("{").append(labels).append("} ").append(value).append("\n");
+    }
+
+    protected String label(String name, String value) {
+        String escaped = value == null ? "" : value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        return name + "=\"" + escaped + "\"";
+    }
+
+    static class BatchCounts {
+        final int outgoingUnsent;
+        final int outgoingInError;
+        final int incomingInError;
+        final long queryTime;
+
+        BatchCounts(int outgoingUnsent, int outgoingInError, int incomingInError, long queryTime) {
+            this.outgoingUnsent = outgoingUnsent;
+            this.outgoingInError = outgoingInError;
+            this.incomingInError = incomingInError;
+            this.queryTime = queryTime;
+        }
+    }
+}
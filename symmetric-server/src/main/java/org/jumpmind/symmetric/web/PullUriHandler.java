@@ -66,6 +66,7 @@ public class PullUriHandler extends AbstractCompressionUriHandler {
             IRegistrationService registrationService, IStatisticManager statisticManager, IOutgoingBatchService outgoingBatchService,
             IInterceptor... interceptors) {
         super("/pull/*", parameterService, interceptors);
+        setLongRunning(true);
         this.nodeService = nodeService;
         this.configurationService = configurationService;
         this.dataExtractorService = dataExtractorService;
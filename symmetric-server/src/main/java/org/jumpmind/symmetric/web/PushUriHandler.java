@@ -48,6 +48,7 @@ public class PushUriHandler extends AbstractUriHandler {
             IStatisticManager statisticManager, INodeService nodeService,
             IInterceptor... interceptors) {
         super("/push/*", parameterService, interceptors);
+        setLongRunning(true);
         this.dataLoaderService = dataLoaderService;
         this.statisticManager = statisticManager;
         this.nodeService = nodeService;
@@ -60,7 +61,8 @@ public class PushUriHandler extends AbstractUriHandler {
         InputStream inputStream = createInputStream(req);
         OutputStream outputStream = res.getOutputStream();
         String threadChannel = req.getHeader(WebConstants.CHANNEL_QUEUE);
-        int rc = push(nodeId, threadChannel, inputStream, outputStream);
+        boolean streamAcks = Boolean.parseBoolean(req.getHeader(WebConstants.HEADER_STREAM_ACKS));
+        int rc = push(nodeId, threadChannel, inputStream, outputStream, streamAcks);
         if (rc != WebConstants.SC_OK) {
             res.sendError(rc);
         }
@@ -69,10 +71,15 @@ public class PushUriHandler extends AbstractUriHandler {
     }
 
     protected int push(String sourceNodeId, String channelId, InputStream inputStream, OutputStream outputStream) throws IOException {
+        return push(sourceNodeId, channelId, inputStream, outputStream, false);
+    }
+
+    protected int push(String sourceNodeId, String channelId, InputStream inputStream, OutputStream outputStream, boolean streamAcks)
+            throws IOException {
         long ts = System.currentTimeMillis();
         try {
             Node sourceNode = nodeService.findNode(sourceNodeId, true);
-            dataLoaderService.loadDataFromPush(sourceNode, channelId, inputStream, outputStream);
+            dataLoaderService.loadDataFromPush(sourceNode, channelId, inputStream, outputStream, streamAcks);
         } catch (RegistrationPendingException e) {
             return WebConstants.REGISTRATION_PENDING;
         } catch (RegistrationRequiredException e) {
@@ -26,7 +26,12 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
 
+import jakarta.servlet.AsyncContext;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
@@ -35,6 +40,8 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.util.AppUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -65,6 +72,8 @@ public class SymmetricServlet extends HttpServlet {
     private static final int MAX_NETWORK_ERROR_FOR_LOGGING = 5;
     protected final Logger log = LoggerFactory.getLogger(getClass());
     protected Map<String, Integer> rejectionStatusByEngine = new HashMap<String, Integer>();
+    protected transient ExecutorService asyncExecutor;
+    protected transient boolean isAsyncUnavailable;
 
     @Override
     protected void service(HttpServletRequest req, HttpServletResponse res) throws ServletException, IOException {
@@ -86,8 +95,8 @@ public class SymmetricServlet extends HttpServlet {
             if (handler != null) {
                 List<IInterceptor> beforeInterceptors = handler.getInterceptors();
                 List<IInterceptor> afterInterceptors = null;
+                boolean isDispatched = false;
                 try {
-                    String nodeId = req.getParameter(WebConstants.NODE_ID);
                     if (beforeInterceptors != null) {
                         afterInterceptors = new ArrayList<IInterceptor>(beforeInterceptors.size());
                         for (IInterceptor interceptor : beforeInterceptors) {
@@ -98,15 +107,19 @@ public class SymmetricServlet extends HttpServlet {
                             }
                         }
                     }
-                    handler.handle(req, res);
-                    engine.resetErrorCountForNode(nodeId);
+                    if (isAsync(engine, handler, req)) {
+                        dispatchAsync(engine, handler, req, res, afterInterceptors);
+                        isDispatched = true;
+                    } else {
+                        handle(engine, handler, req, res);
+                    }
                 } catch (Exception e) {
                     logException(req, engine, e);
                     if (!res.isCommitted()) {
                         ServletUtils.sendError(res, WebConstants.SC_INTERNAL_ERROR, "Internal error occurred, see log file");
                     }
                 } finally {
-                    if (afterInterceptors != null) {
+                    if (afterInterceptors != null && !isDispatched) {
                         for (IInterceptor interceptor : afterInterceptors) {
                             interceptor.after(req, res);
                         }
@@ -133,6 +146,91 @@ public class SymmetricServlet extends HttpServlet {
         }
     }
 
+    @Override
+    public void destroy() {
+        synchronized (this) {
+            if (asyncExecutor != null) {
+                asyncExecutor.shutdown();
+                asyncExecutor = null;
+            }
+        }
+        super.destroy();
+    }
+
+    protected void handle(ServerSymmetricEngine engine, IUriHandler handler, HttpServletRequest req, HttpServletResponse res)
+            throws Exception {
+        handler.handle(req, res);
+        engine.resetErrorCountForNode(req.getParameter(WebConstants.NODE_ID));
+    }
+
+    /**
+     * Requests are only handled asynchronously on virtual threads. Without them the request would just move from a web server thread to
+     * another platform thread, so it is handled on the web server thread instead.
+     */
+    protected boolean isAsync(ServerSymmetricEngine engine, IUriHandler handler, HttpServletRequest req) {
+        return req.isAsyncSupported() && handler instanceof AbstractUriHandler && ((AbstractUriHandler) handler).isLongRunning()
+                && engine.getParameterService().is(ParameterConstants.TRANSPORT_HTTP_ASYNC_SERVLET_ENABLED, false)
+                && getAsyncExecutor() != null;
+    }
+
+    /**
+     * Release the web server worker thread by handling the request on another thread, which runs the after interceptors and completes the
+     * request when the transfer is done.
+     */
+    protected void dispatchAsync(final ServerSymmetricEngine engine, final IUriHandler handler, final HttpServletRequest req,
+            final HttpServletResponse res, final List<IInterceptor> afterInterceptors) {
+        final AsyncContext asyncContext = req.startAsync();
+        asyncContext.setTimeout(0);
+        Runnable runnable = new Runnable() {
+            public void run() {
+                MDC.put("engineName", engine.getEngineName());
+                try {
+                    handle(engine, handler, req, res);
+                } catch (Exception e) {
+                    logException(req, engine, e);
+                    if (!res.isCommitted()) {
+                        try {
+                            ServletUtils.sendError(res, WebConstants.SC_INTERNAL_ERROR, "Internal error occurred, see log file");
+                        } catch (IOException ex) {
+                        }
+                    }
+                } finally {
+                    if (afterInterceptors != null) {
+                        for (IInterceptor interceptor : afterInterceptors) {
+                            try {
+                                interceptor.after(req, res);
+                            } catch (Exception e) {
+                                log.error("Failed to run interceptor after async request", e);
+                            }
+                        }
+                    }
+                    asyncContext.complete();
+                }
+            }
+        };
+        try {
+            getAsyncExecutor().execute(runnable);
+        } catch (RejectedExecutionException e) {
+            runnable.run();
+        }
+    }
+
+    /**
+     * @return an executor that runs each request on a virtual thread, or null when the JVM does not support virtual threads
+     */
+    protected synchronized ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null && !isAsyncUnavailable) {
+            ThreadFactory threadFactory = AppUtils.newVirtualThreadFactory("symmetric-web-async-");
+            if (threadFactory != null) {
+                asyncExecutor = Executors.newCachedThreadPool(threadFactory);
+            } else {
+                isAsyncUnavailable = true;
+                log.info("Push and pull requests are handled on the web server thread because the JVM does not support virtual threads");
+            }
+        }
+        return asyncExecutor;
+    }
+
     protected Collection<IUriHandler> getUriHandlersFrom(ServerSymmetricEngine engine) {
         if (engine != null) {
             return engine.getUriHandlers();
@@ -0,0 +1,82 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.web;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.jumpmind.symmetric.ISymmetricEngine;
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.service.IIncomingBatchService;
+import org.jumpmind.symmetric.service.INodeCommunicationService;
+import org.jumpmind.symmetric.service.IOutgoingBatchService;
+import org.jumpmind.symmetric.service.IParameterService;
+import org.jumpmind.symmetric.statistic.IStatisticManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MetricsUriHandlerTest {
+    IParameterService parameterService;
+    IOutgoingBatchService outgoingBatchService;
+    IIncomingBatchService incomingBatchService;
+    MetricsUriHandler handler;
+
+    @BeforeEach
+    public void setup() {
+        ISymmetricEngine engine = mock(ISymmetricEngine.class);
+        parameterService = mock(IParameterService.class);
+        outgoingBatchService = mock(IOutgoingBatchService.class);
+        incomingBatchService = mock(IIncomingBatchService.class);
+        when(engine.getParameterService()).thenReturn(parameterService);
+        when(engine.getStatisticManager()).thenReturn(mock(IStatisticManager.class));
+        when(engine.getNodeCommunicationService()).thenReturn(mock(INodeCommunicationService.class));
+        when(engine.getOutgoingBatchService()).thenReturn(outgoingBatchService);
+        when(engine.getIncomingBatchService()).thenReturn(incomingBatchService);
+        when(parameterService.getEngineName()).thenReturn("test");
+        when(outgoingBatchService.countOutgoingBatchesUnsent()).thenReturn(3);
+        handler = new MetricsUriHandler(engine);
+    }
+
+    @Test
+    public void testBatchCountsCached() {
+        when(parameterService.getLong(eq(ParameterConstants.WEB_METRICS_BATCH_COUNTS_CACHE_MS), anyLong())).thenReturn(60000l);
+        String metrics = handler.buildMetrics();
+        assertTrue(metrics.contains("symmetricds_outgoing_batches_unsent{engine=\"test\"} 3\n"));
+        handler.buildMetrics();
+        verify(outgoingBatchService, times(1)).countOutgoingBatchesUnsent();
+        verify(outgoingBatchService, times(1)).countOutgoingBatchesInError();
+        verify(incomingBatchService, times(1)).countIncomingBatchesInError();
+    }
+
+    @Test
+    public void testBatchCountsQueriedAfterCacheExpires() {
+        when(parameterService.getLong(eq(ParameterConstants.WEB_METRICS_BATCH_COUNTS_CACHE_MS), anyLong())).thenReturn(0l);
+        handler.buildMetrics();
+        handler.buildMetrics();
+        verify(outgoingBatchService, times(2)).countOutgoingBatchesUnsent();
+        verify(incomingBatchService, times(2)).countIncomingBatchesInError();
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Licensed to JumpMind Inc under one or more contributor
+ * license agreements.  See the NOTICE file distributed
+ * with this work for additional information regarding
+ * copyright ownership.  JumpMind Inc licenses this file
+ * to you under the GNU General Public License, version 3.0 (GPLv3)
+ * (the "License"); you may not use this file except in compliance
+ * with the License.
+ *
+ * You should have received a copy of the GNU General Public License,
+ * version 3.0 (GPLv3) along with this library; if not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jumpmind.symmetric.web;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.jumpmind.symmetric.common.ParameterConstants;
+import org.jumpmind.symmetric.service.IParameterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SymmetricServletTest {
+    ServerSymmetricEngine engine;
+    HttpServletRequest req;
+    HttpServletResponse res;
+    AsyncContext asyncContext;
+    TestUriHandler handler;
+
+    @BeforeEach
+    public void setup() {
+        engine = mock(ServerSymmetricEngine.class);
+        IParameterService parameterService = mock(IParameterService.class);
+        when(engine.getParameterService()).thenReturn(parameterService);
+        when(engine.getEngineName()).thenReturn("test");
+        when(parameterService.is(ParameterConstants.TRANSPORT_HTTP_ASYNC_SERVLET_ENABLED, false)).thenReturn(true);
+        req = mock(HttpServletRequest.class);
+        res = mock(HttpServletResponse.class);
+        asyncContext = mock(AsyncContext.class);
+        when(req.isAsyncSupported()).thenReturn(true);
+        when(req.startAsync()).thenReturn(asyncContext);
+        handler = new TestUriHandler(parameterService);
+        handler.setLongRunning(true);
+    }
+
+    @Test
+    public void testDispatchOnVirtualThreadExecutor() throws Exception {
+        List<Runnable> tasks = new ArrayList<Runnable>();
+        SymmetricServlet servlet = new SymmetricServlet() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected synchronized ExecutorService getAsyncExecutor() {
+                return new QueuedExecutorService(tasks);
+            }
+        };
+        assertTrue(servlet.isAsync(engine, handler, req));
+        servlet.dispatchAsync(engine, handler, req, res, new ArrayList<IInterceptor>());
+        verify(asyncContext, never()).complete();
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertEquals(1, handler.handleCount);
+        verify(asyncContext).complete();
+    }
+
+    @Test
+    public void testHandledOnWebServerThreadWithoutVirtualThreads() throws Exception {
+        SymmetricServlet servlet = new SymmetricServlet() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected synchronized ExecutorService getAsyncExecutor() {
+                return null;
+            }
+        };
+        assertFalse(servlet.isAsync(engine, handler, req));
+        verify(req, never()).startAsync();
+    }
+
+    @Test
+    public void testNotAsyncForShortRequests() throws Exception {
+        handler.setLongRunning(false);
+        SymmetricServlet servlet = new SymmetricServlet();
+        assertFalse(servlet.isAsync(engine, handler, req));
+    }
+
+    static class TestUriHandler extends AbstractUriHandler {
+        int handleCount;
+
+        public TestUriHandler(IParameterService parameterService) {
+            super("/test/*", parameterService);
+        }
+
+        public void handle(HttpServletRequest req, HttpServletResponse res) throws IOException, ServletException {
+            handleCount++;
+        }
+    }
+
+    static class QueuedExecutorService extends AbstractExecutorService {
+        List<Runnable> tasks;
+
+        QueuedExecutorService(List<Runnable> tasks) {
+            this.tasks = tasks;
+        }
+
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        public void shutdown() {
+        }
+
+        public List<Runnable> shutdownNow() {
+            return new ArrayList<Runnable>();
+        }
+
+        public boolean isShutdown() {
+            return false;
+        }
+
+        public boolean isTerminated() {
+            return false;
+        }
+
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
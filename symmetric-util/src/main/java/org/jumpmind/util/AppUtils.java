@@ -37,6 +37,7 @@ import java.util.Date;
 import java.util.Enumeration;
 import java.util.Properties;
 import java.util.TimeZone;
+import java.util.concurrent.ThreadFactory;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -218,6 +219,21 @@ public class AppUtils {
         }
     }
 
+    /**
+     * Create a thread factory for virtual threads named with the prefix and a counter, or return null when the JVM does not support
+     * virtual threads (they were added in Java 21).
+     */
+    public static ThreadFactory newVirtualThreadFactory(String namePrefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     public static boolean isSystemPropertySet(String propName, boolean defaultValue) {
         return "true"
                 .equalsIgnoreCase(System.getProperty(propName, Boolean.toString(defaultValue)));
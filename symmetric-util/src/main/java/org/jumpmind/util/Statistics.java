@@ -74,6 +74,17 @@ public class Statistics {
         tableStats.put(tableName, tableStatMap);
     }
 
+    public void add(Statistics statistics) {
+        for (Map.Entry<String, Long> entry : statistics.stats.entrySet()) {
+            increment(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, Map<String, Long>> tableEntry : statistics.tableStats.entrySet()) {
+            for (Map.Entry<String, Long> entry : tableEntry.getValue().entrySet()) {
+                incrementTableStats(tableEntry.getKey(), entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
     public Map<String, Map<String, Long>> getTableStats() {
         return this.tableStats;
     }